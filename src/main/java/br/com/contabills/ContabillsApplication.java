@@ -2,16 +2,18 @@ package br.com.contabills;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Classe principal da aplicação Contabills.
  * 
- * Esta classe inicia a aplicação Spring Boot.
+ * Esta classe inicia a aplicação Spring Boot e habilita as tarefas agendadas.
  * 
  * @author Gerson
  * @version 1.0
  */
 @SpringBootApplication
+@EnableScheduling
 public class ContabillsApplication {
 
     /**
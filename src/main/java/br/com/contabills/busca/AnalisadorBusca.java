@@ -0,0 +1,39 @@
+package br.com.contabills.busca;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+
+/**
+ * Analisador dos campos de texto do índice de busca.
+ *
+ * Separa as palavras pelas regras do Unicode, converte para minúsculas e
+ * remove os acentos, com o mesmo efeito de {@link TextoNormalizado} sobre
+ * cada palavra. Não remove palavras comuns nem reduz as palavras ao radical,
+ * para que registros e nomes próprios sejam encontrados como foram digitados.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public final class AnalisadorBusca extends Analyzer {
+
+    /**
+     * Cria o analisador.
+     */
+    public AnalisadorBusca() {
+    }
+
+    @Override
+    protected TokenStreamComponents createComponents(String campo) {
+        StandardTokenizer tokenizer = new StandardTokenizer();
+        TokenStream filtro = new ASCIIFoldingFilter(new LowerCaseFilter(tokenizer));
+        return new TokenStreamComponents(tokenizer, filtro);
+    }
+
+    @Override
+    protected TokenStream normalize(String campo, TokenStream entrada) {
+        return new ASCIIFoldingFilter(new LowerCaseFilter(entrada));
+    }
+}
@@ -0,0 +1,296 @@
+package br.com.contabills.busca;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import br.com.contabills.model.Sugestao;
+import br.com.contabills.model.TipoEntidade;
+
+/**
+ * Índice invertido de trigramas para o autocompletar.
+ *
+ * Cada item recebe um número sequencial e tem o rótulo normalizado por
+ * {@link TextoNormalizado}, acrescido dos dígitos do CPF ou CNPJ. Para cada
+ * trigrama do texto é mantida uma lista de postagens em um {@code int[]}
+ * ordenado. A busca intersecta as listas dos trigramas da consulta, começando
+ * pela menor, confere se a consulta ocorre no texto e ordena os resultados:
+ * primeiro os que começam com a consulta, depois os que têm uma palavra que
+ * começa com ela e por último os demais, sempre dos textos mais curtos para os
+ * mais longos.
+ *
+ * Itens removidos ou substituídos são apenas marcados; as postagens são
+ * reconstruídas quando os itens marcados passam a metade dos vivos.
+ *
+ * A classe não é thread-safe.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public final class IndiceTrigramas {
+
+    private static final int COMPACTACAO_MINIMA = 1024;
+
+    private final Map<Long, Postagens> postagens = new HashMap<>();
+
+    private final Map<TipoEntidade, Map<Long, Integer>> porEntidade = new EnumMap<>(TipoEntidade.class);
+
+    private final BitSet removidos = new BitSet();
+
+    private Sugestao[] itens = new Sugestao[1024];
+
+    private String[] textos = new String[1024];
+
+    private int tamanho;
+
+    private int quantidadeRemovidos;
+
+    /**
+     * Cria um índice vazio.
+     */
+    public IndiceTrigramas() {
+    }
+
+    /**
+     * Indexa o item, substituindo a versão anterior da mesma entidade.
+     *
+     * @param sugestao item a ser indexado
+     */
+    public void adicionar(Sugestao sugestao) {
+        remover(sugestao.tipo(), sugestao.id());
+        String texto = texto(sugestao);
+        if (tamanho == itens.length) {
+            itens = Arrays.copyOf(itens, tamanho + (tamanho >> 1));
+            textos = Arrays.copyOf(textos, itens.length);
+        }
+        int item = tamanho++;
+        itens[item] = sugestao;
+        textos[item] = texto;
+        porEntidade.computeIfAbsent(sugestao.tipo(), t -> new HashMap<>()).put(sugestao.id(), item);
+        indexar(item, texto);
+    }
+
+    /**
+     * Remove a entidade do índice, se estiver indexada.
+     *
+     * @param tipo tipo da entidade
+     * @param id   identificador da entidade
+     */
+    public void remover(TipoEntidade tipo, Long id) {
+        Map<Long, Integer> ids = porEntidade.get(tipo);
+        Integer item = ids != null ? ids.remove(id) : null;
+        if (item == null) {
+            return;
+        }
+        removidos.set(item);
+        itens[item] = null;
+        textos[item] = null;
+        if (++quantidadeRemovidos > Math.max(COMPACTACAO_MINIMA, (tamanho - quantidadeRemovidos) / 2)) {
+            compactar();
+        }
+    }
+
+    /**
+     * Retorna a quantidade de itens indexados.
+     *
+     * @return quantidade de itens vivos
+     */
+    public int tamanho() {
+        return tamanho - quantidadeRemovidos;
+    }
+
+    /**
+     * Busca os itens cujo texto contém a consulta.
+     *
+     * Consultas com menos de dois caracteres normalizados não retornam
+     * resultados e as de dois caracteres só encontram itens com uma palavra
+     * que comece por eles; consultas sem letras são tratadas como parte de um
+     * CPF ou CNPJ.
+     *
+     * @param consulta texto digitado
+     * @param limite   quantidade máxima de resultados
+     * @return itens mais relevantes, em ordem de relevância
+     */
+    public List<Sugestao> buscar(String consulta, int limite) {
+        String termo = termo(consulta);
+        if (termo.length() < 2 || limite < 1) {
+            return List.of();
+        }
+        String prefixo = " " + termo;
+        int[] candidatos = intersectar(termo.length() >= 3 ? termo : prefixo);
+        if (candidatos == null) {
+            return List.of();
+        }
+        Comparator<Resultado> relevancia = Comparator.comparingInt(Resultado::posicao)
+                .thenComparingInt(Resultado::comprimento)
+                .thenComparingInt(Resultado::item);
+        PriorityQueue<Resultado> melhores = new PriorityQueue<>(limite + 1, relevancia.reversed());
+        for (int item : candidatos) {
+            if (removidos.get(item)) {
+                continue;
+            }
+            String texto = textos[item];
+            int posicao;
+            if (texto.startsWith(prefixo)) {
+                posicao = 0;
+            } else if (texto.contains(prefixo)) {
+                posicao = 1;
+            } else if (texto.contains(termo)) {
+                posicao = 2;
+            } else {
+                continue;
+            }
+            melhores.add(new Resultado(item, posicao, texto.length()));
+            if (melhores.size() > limite) {
+                melhores.poll();
+            }
+        }
+        List<Resultado> ordenados = new ArrayList<>(melhores);
+        ordenados.sort(relevancia);
+        return ordenados.stream().map(r -> itens[r.item()]).toList();
+    }
+
+    private int[] intersectar(String termo) {
+        int quantidade = termo.length() - 2;
+        Postagens[] listas = new Postagens[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            Postagens lista = postagens.get(trigrama(termo, i));
+            if (lista == null) {
+                return null;
+            }
+            listas[i] = lista;
+        }
+        Arrays.sort(listas, Comparator.comparingInt(p -> p.tamanho));
+        int[] resultado = Arrays.copyOf(listas[0].itens, listas[0].tamanho);
+        int tamanhoResultado = resultado.length;
+        for (int i = 1; i < listas.length && tamanhoResultado > 0; i++) {
+            if (listas[i] == listas[i - 1]) {
+                continue;
+            }
+            tamanhoResultado = listas[i].intersectar(resultado, tamanhoResultado);
+        }
+        return Arrays.copyOf(resultado, tamanhoResultado);
+    }
+
+    private void indexar(int item, String texto) {
+        for (int i = 0; i + 3 <= texto.length(); i++) {
+            Postagens lista = postagens.computeIfAbsent(trigrama(texto, i), t -> new Postagens());
+            lista.adicionar(item);
+        }
+    }
+
+    private void compactar() {
+        Sugestao[] vivos = Arrays.copyOf(itens, tamanho);
+        postagens.clear();
+        porEntidade.clear();
+        removidos.clear();
+        itens = new Sugestao[Math.max(1024, tamanho - quantidadeRemovidos)];
+        textos = new String[itens.length];
+        tamanho = 0;
+        quantidadeRemovidos = 0;
+        for (Sugestao sugestao : vivos) {
+            if (sugestao != null) {
+                adicionar(sugestao);
+            }
+        }
+    }
+
+    private static String texto(Sugestao sugestao) {
+        StringBuilder texto = new StringBuilder(" ").append(TextoNormalizado.normalizar(sugestao.rotulo()));
+        if (sugestao.tipo() != TipoEntidade.USUARIO && sugestao.detalhe() != null) {
+            String digitos = digitos(sugestao.detalhe());
+            if (!digitos.isEmpty()) {
+                texto.append(' ').append(digitos);
+            }
+        }
+        return texto.toString();
+    }
+
+    private static String termo(String consulta) {
+        String normalizado = TextoNormalizado.normalizar(consulta);
+        if (normalizado == null) {
+            return "";
+        }
+        for (int i = 0; i < normalizado.length(); i++) {
+            if (Character.isLetter(normalizado.charAt(i))) {
+                return normalizado;
+            }
+        }
+        return digitos(normalizado);
+    }
+
+    private static String digitos(String texto) {
+        StringBuilder digitos = new StringBuilder(texto.length());
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            }
+        }
+        return digitos.toString();
+    }
+
+    private static long trigrama(String texto, int inicio) {
+        return ((long) texto.charAt(inicio) << 32) | ((long) texto.charAt(inicio + 1) << 16)
+                | texto.charAt(inicio + 2);
+    }
+
+    private record Resultado(int item, int posicao, int comprimento) {
+    }
+
+    /**
+     * Lista de postagens de um trigrama, em ordem crescente e sem repetições.
+     */
+    private static final class Postagens {
+
+        private int[] itens = new int[4];
+
+        private int tamanho;
+
+        void adicionar(int item) {
+            if (tamanho > 0 && itens[tamanho - 1] == item) {
+                return;
+            }
+            if (tamanho == itens.length) {
+                itens = Arrays.copyOf(itens, tamanho + (tamanho >> 1) + 1);
+            }
+            itens[tamanho++] = item;
+        }
+
+        /**
+         * Mantém em {@code candidatos} somente os itens presentes nesta lista.
+         *
+         * @return nova quantidade de candidatos
+         */
+        int intersectar(int[] candidatos, int quantidade) {
+            int mantidos = 0;
+            int j = 0;
+            for (int i = 0; i < quantidade && j < tamanho; i++) {
+                int candidato = candidatos[i];
+                j = buscarAPartirDe(candidato, j);
+                if (j < tamanho && itens[j] == candidato) {
+                    candidatos[mantidos++] = candidato;
+                }
+            }
+            return mantidos;
+        }
+
+        private int buscarAPartirDe(int valor, int inicio) {
+            int salto = 1;
+            int fim = inicio;
+            while (fim < tamanho && itens[fim] < valor) {
+                inicio = fim;
+                fim += salto;
+                salto <<= 1;
+            }
+            int posicao = Arrays.binarySearch(itens, inicio, Math.min(fim + 1, tamanho), valor);
+            return posicao >= 0 ? posicao : -posicao - 1;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package br.com.contabills.busca;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Normalização de textos para busca.
+ *
+ * O texto normalizado fica em minúsculas, sem acentos e com as palavras
+ * separadas por um único espaço: qualquer caractere que não seja letra ou
+ * dígito é tratado como separador. Assim, "João  da Silva-ME" vira
+ * {@code "joao da silva me"}, e o resultado nunca contém os curingas
+ * {@code %} e {@code _} do LIKE.
+ *
+ * Os termos de busca de um texto normalizado são os trechos que começam em
+ * cada uma de suas palavras e vão até o fim: {@code "joao da silva"} gera
+ * {@code "joao da silva"}, {@code "da silva"} e {@code "silva"}. A busca pelo
+ * início de qualquer palavra do texto passa a ser a busca pelo início de um
+ * termo, uma varredura de faixa no índice da tabela de termos.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public final class TextoNormalizado {
+
+    private TextoNormalizado() {
+    }
+
+    /**
+     * Normaliza o texto informado.
+     *
+     * @param texto texto original
+     * @return texto normalizado, vazio se não houver letras ou dígitos, ou
+     *         {@code null} se o texto for nulo
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        String decomposto = Normalizer.normalize(texto, Normalizer.Form.NFD);
+        StringBuilder normalizado = new StringBuilder(decomposto.length());
+        boolean separar = false;
+        for (int i = 0; i < decomposto.length(); i++) {
+            char c = decomposto.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                if (separar && normalizado.length() > 0) {
+                    normalizado.append(' ');
+                }
+                normalizado.append(Character.toLowerCase(c));
+                separar = false;
+            } else {
+                separar = true;
+            }
+        }
+        return normalizado.toString();
+    }
+
+    /**
+     * Gera os termos de busca de um texto já normalizado.
+     *
+     * @param normalizado texto normalizado por {@link #normalizar(String)}
+     * @return trechos do texto a partir do início de cada palavra, vazio se o
+     *         texto for nulo ou vazio
+     */
+    public static Set<String> termos(String normalizado) {
+        Set<String> termos = new LinkedHashSet<>();
+        if (normalizado == null || normalizado.isEmpty()) {
+            return termos;
+        }
+        termos.add(normalizado);
+        for (int i = normalizado.indexOf(' '); i >= 0; i = normalizado.indexOf(' ', i + 1)) {
+            termos.add(normalizado.substring(i + 1));
+        }
+        return termos;
+    }
+}
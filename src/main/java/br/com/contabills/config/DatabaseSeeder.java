@@ -6,6 +6,7 @@ import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.annotation.Transactional;
 
 import br.com.contabills.model.Empresa;
 import br.com.contabills.model.EmpresaSocio;
@@ -54,10 +55,14 @@ public class DatabaseSeeder implements CommandLineRunner {
     /**
      * Executa o processo de inserção dos dados no banco de dados ao iniciar a aplicação.
      *
+     * A inserção ocorre em uma única transação, para que os sócios já salvos
+     * continuem gerenciados ao serem vinculados às empresas.
+     *
      * @param args argumentos da linha de comando
      * @throws Exception em caso de erro durante a inserção
      */
     @Override
+    @Transactional
     public void run(String... args) throws Exception {
         Endereco endereco1 = Endereco.builder()
                 .logradouro("Rua das Flores")
@@ -102,12 +107,12 @@ public class DatabaseSeeder implements CommandLineRunner {
         Socio socio1 = Socio.builder()
                 .nome("João Silva")
                 .dataNascimento(LocalDate.of(1980, 5, 20))
-                .cpf("123.456.789-01")
+                .cpf("123.456.789-09")
                 .rg("MG1234567")
                 .dataDeEmissaoRg(LocalDate.of(2000, 5, 30))
                 .cnh("AB123456")
                 .dataDeEmissaoCnh(LocalDate.of(2015, 6, 15))
-                .dataDeValidadeCnh(LocalDate.of(2025, 6, 15))
+                .dataDeValidadeCnh(LocalDate.of(2030, 6, 15))
                 .nomeDaMae("Maria Silva")
                 .nomeDoPai("José Silva")
                 .nacionalidade("Brasileira")
@@ -143,7 +148,7 @@ public class DatabaseSeeder implements CommandLineRunner {
                 .apelidoId(1L)
                 .razaoSocial("Tech Solutions LTDA")
                 .tipoEmpresa("TI")
-                .cnpj("12.345.678/0001-99")
+                .cnpj("12.345.678/0001-95")
                 .iptu("123456789")
                 .email("contato@techsolutions.com")
                 .telefone("(31) 99999-8888")
@@ -157,7 +162,7 @@ public class DatabaseSeeder implements CommandLineRunner {
                 .apelidoId(2L)
                 .razaoSocial("Construtora Alfa S/A")
                 .tipoEmpresa("Construção Civil")
-                .cnpj("98.765.432/0001-11")
+                .cnpj("98.765.432/0001-98")
                 .iptu("987654321")
                 .email("contato@construtoraalfa.com")
                 .telefone("(41) 98888-7777")
@@ -0,0 +1,134 @@
+package br.com.contabills.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.ThreadPoolTaskExecutorBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuração dos executores usados para disparar consultas independentes em
+ * paralelo.
+ *
+ * Os executores têm quantidade de threads e fila limitadas, para que picos de
+ * requisições não esgotem o pool de conexões do banco de dados. Quando a fila
+ * do painel está cheia, a tarefa é executada na própria thread da requisição;
+ * a da busca global é recusada e tratada como um ramo sem resposta.
+ *
+ * Os e-mails de alerta são enviados em um executor próprio, fora da
+ * transação e do streaming das varreduras de vencimento que os publicam. Com
+ * a fila cheia, o envio é recusado e registrado no log; no encerramento da
+ * aplicação, os envios pendentes são concluídos.
+ *
+ * As cargas paralelas das reconstruções dos índices em memória (capital
+ * social e busca) também usam um executor próprio, em vez de criar threads a
+ * cada reconstrução.
+ *
+ * Como esses executores ocupam o lugar do executor padrão do Spring Boot, o
+ * executor da aplicação também é declarado aqui, com as propriedades
+ * {@code spring.task.execution.*}. Ele atende as requisições assíncronas do
+ * Spring MVC, como as exportações em streaming.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@Configuration
+public class ExecutorConfig {
+
+    /**
+     * Construtor padrão.
+     */
+    public ExecutorConfig() {
+    }
+
+    /**
+     * Executor da aplicação, usado pelas requisições assíncronas do Spring MVC.
+     *
+     * @param builder construtor configurado com {@code spring.task.execution.*}
+     * @return executor limitado
+     */
+    @Bean(name = { "applicationTaskExecutor", "taskExecutor" })
+    public ThreadPoolTaskExecutor applicationTaskExecutor(ThreadPoolTaskExecutorBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * Executor das consultas do painel de empresa.
+     *
+     * @param threads quantidade máxima de threads
+     * @param fila    capacidade da fila de tarefas aguardando thread
+     * @return executor limitado
+     */
+    @Bean
+    public ThreadPoolTaskExecutor painelExecutor(@Value("${contabills.painel.threads:8}") int threads,
+            @Value("${contabills.painel.fila:100}") int fila) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(fila);
+        executor.setThreadNamePrefix("painel-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+
+    /**
+     * Executor das consultas disparadas pela busca global.
+     *
+     * @param threads quantidade máxima de threads
+     * @param fila    capacidade da fila de tarefas aguardando thread
+     * @return executor limitado
+     */
+    @Bean
+    public ThreadPoolTaskExecutor buscaGlobalExecutor(@Value("${contabills.busca-global.threads:8}") int threads,
+            @Value("${contabills.busca-global.fila:100}") int fila) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(fila);
+        executor.setThreadNamePrefix("busca-global-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    /**
+     * Executor das cargas paralelas das reconstruções dos índices em memória.
+     *
+     * @param threads quantidade máxima de threads
+     * @param fila    capacidade da fila de cargas aguardando thread
+     * @return executor limitado
+     */
+    @Bean
+    public ThreadPoolTaskExecutor cargaExecutor(@Value("${contabills.carga.threads:4}") int threads,
+            @Value("${contabills.carga.fila:100}") int fila) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(fila);
+        executor.setThreadNamePrefix("carga-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        return executor;
+    }
+
+    /**
+     * Executor do envio dos e-mails de alerta.
+     *
+     * @param threads quantidade máxima de threads
+     * @param fila    capacidade da fila de envios aguardando thread
+     * @return executor limitado
+     */
+    @Bean
+    public ThreadPoolTaskExecutor alertaExecutor(@Value("${contabills.alertas.threads:2}") int threads,
+            @Value("${contabills.alertas.fila:1000}") int fila) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(fila);
+        executor.setThreadNamePrefix("alerta-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        return executor;
+    }
+}
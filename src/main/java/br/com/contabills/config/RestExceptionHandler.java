@@ -3,6 +3,7 @@ package br.com.contabills.config;
 import java.util.Set;
 
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
@@ -24,6 +25,7 @@ import lombok.extern.slf4j.Slf4j;
  * <ul>
  * <li>Valida campos de entrada com {@link MethodArgumentNotValidException} e {@link ConstraintViolationException}</li>
  * <li>Lida com problemas de integridade do banco de dados com {@link DataIntegrityViolationException}</li>
+ * <li>Converte conflitos de versão ({@link OptimisticLockingFailureException}) em status 412</li>
  * <li>Intercepta erros de parsing de JSON com {@link HttpMessageNotReadableException}</li>
  * <li>Trata {@link ResponseStatusException} personalizada com código de status HTTP</li>
  * </ul>
@@ -101,6 +103,20 @@ public class RestExceptionHandler {
                 new RestError(409, "Erro de integridade de dados: " + errorMessage));
     }
 
+    /**
+     * Trata conflitos de concorrência otimista, quando o registro foi alterado por
+     * outra requisição entre a leitura e a gravação.
+     *
+     * @param ex exceção de falha de bloqueio otimista
+     * @return ResponseEntity com mensagem de erro e status 412
+     */
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<RestError> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex) {
+        log.error("Conflito de versão: {}", ex.getMessage());
+        return ResponseEntity.status(412).body(
+                new RestError(412, "O registro foi alterado por outro usuário. Recarregue os dados e tente novamente"));
+    }
+
     /**
      * Trata violações diretas de constraints, como anotações de validação @NotBlank, @Size, etc.
      *
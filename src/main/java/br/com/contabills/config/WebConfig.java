@@ -1,6 +1,10 @@
 package br.com.contabills.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
@@ -12,6 +16,9 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  * 
  * Define os métodos e headers permitidos para comunicação entre domínios diferentes.
  * 
+ * Também define o tempo limite das requisições assíncronas, usadas pelas
+ * exportações em streaming.
+ * 
  * @author Gerson
  * @version 1.0
  */
@@ -24,6 +31,9 @@ public class WebConfig implements WebMvcConfigurer {
     public WebConfig() {
     }
 
+    @Value("${contabills.exportacao.tempo-limite:PT30M}")
+    private Duration tempoLimiteExportacao;
+
     /**
      * Configura as permissões de CORS para todos os endpoints da aplicação.
      *
@@ -34,6 +44,25 @@ public class WebConfig implements WebMvcConfigurer {
         registry.addMapping("/**")
                 .allowedOrigins("http://localhost:4200")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "PATCH")
-                .allowedHeaders("*");
+                .allowedHeaders("*")
+                .exposedHeaders("ETag");
+    }
+
+    /**
+     * Define o tempo limite das requisições assíncronas.
+     *
+     * As exportações em streaming ({@code StreamingResponseBody}) de empresas,
+     * sócios, parcelas e do arquivo de parcelamentos são escritas fora da
+     * thread da requisição. Sem um tempo limite explícito vale o padrão do
+     * servidor (30 segundos no Tomcat), que interromperia as exportações
+     * grandes. Ao atingir o tempo limite a escrita da exportação é
+     * interrompida e a requisição é encerrada.
+     *
+     * @param configurer objeto {@link AsyncSupportConfigurer} usado para
+     *                   configurar as requisições assíncronas
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(tempoLimiteExportacao.toMillis());
     }
 }
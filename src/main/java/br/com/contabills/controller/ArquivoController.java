@@ -0,0 +1,86 @@
+package br.com.contabills.controller;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import br.com.contabills.service.ArquivoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controlador responsável pelas operações do arquivo de parcelamentos
+ * quitados.
+ *
+ * Permite executar o arquivamento sob demanda e exportar os dados arquivados.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@RestController
+@Slf4j
+@RequestMapping("arquivo")
+@Tag(name = "Arquivo", description = "Arquivamento e exportação de parcelamentos quitados")
+public class ArquivoController {
+
+    /**
+     * Construtor padrão da classe ArquivoController.
+     */
+    public ArquivoController() {
+    }
+
+    @Autowired
+    private ArquivoService arquivoService;
+
+    /**
+     * Executa imediatamente o arquivamento dos parcelamentos quitados.
+     *
+     * @return quantidade de parcelamentos arquivados
+     */
+    @PostMapping("/executar")
+    @SecurityRequirement(name = "bearer-key")
+    @Operation(summary = "Arquivar parcelamentos quitados", description = "Move para o arquivo os parcelamentos quitados há mais tempo que o período de retenção, sem aguardar o agendamento")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Arquivamento realizado com sucesso"),
+            @ApiResponse(responseCode = "409", description = "Já existe um arquivamento em andamento")
+    })
+    public ResponseEntity<Integer> executar() {
+        log.info("Executando arquivamento de parcelamentos quitados");
+        return ResponseEntity.ok(arquivoService.arquivarQuitados());
+    }
+
+    /**
+     * Exporta todas as parcelas arquivadas em formato CSV.
+     *
+     * A geração é limitada pelo tempo limite das requisições assíncronas
+     * ({@code contabills.exportacao.tempo-limite}).
+     *
+     * @return arquivo CSV gerado em streaming
+     */
+    @GetMapping("/exportar")
+    @SecurityRequirement(name = "bearer-key")
+    @Operation(summary = "Exportar arquivo", description = "Exporta em CSV os parcelamentos arquivados e suas parcelas")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Exportação gerada com sucesso")
+    })
+    public ResponseEntity<StreamingResponseBody> exportar() {
+        log.info("Exportando parcelamentos arquivados");
+        StreamingResponseBody corpo = arquivoService::exportarCsv;
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"parcelamentos-arquivados.csv\"")
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(corpo);
+    }
+}
@@ -0,0 +1,61 @@
+package br.com.contabills.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.contabills.model.Sugestao;
+import br.com.contabills.service.AutocompleteService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controlador responsável pelo autocompletar.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@RestController
+@Slf4j
+@RequestMapping("autocomplete")
+@Tag(name = "Autocompletar", description = "Sugestões de empresas, sócios e usuários")
+public class AutocompleteController {
+
+    /**
+     * Construtor padrão da classe AutocompleteController.
+     */
+    public AutocompleteController() {
+    }
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    /**
+     * Sugere empresas, sócios e usuários a partir do texto digitado.
+     *
+     * @param q      parte da razão social, do nome, do CPF ou do CNPJ
+     * @param limite quantidade máxima de sugestões
+     * @return sugestões em ordem de relevância
+     */
+    @GetMapping
+    @SecurityRequirement(name = "bearer-key")
+    @Operation(summary = "Autocompletar", description = "Retorna as empresas, sócios e usuários cuja razão social, nome, CPF ou CNPJ contém o texto digitado, sem diferenciar acentos e maiúsculas, a partir de um índice em memória")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Sugestões retornadas com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Limite inválido")
+    })
+    public ResponseEntity<List<Sugestao>> sugerir(@RequestParam String q,
+            @RequestParam(defaultValue = "10") int limite) {
+        log.debug("Autocompletando '{}'", q);
+        return ResponseEntity.ok(autocompleteService.sugerir(q, limite));
+    }
+}
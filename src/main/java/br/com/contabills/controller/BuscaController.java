@@ -0,0 +1,111 @@
+package br.com.contabills.controller;
+
+import java.util.Map;
+
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.contabills.model.BuscaGlobal;
+import br.com.contabills.model.FiltroBusca;
+import br.com.contabills.model.ResultadoBusca;
+import br.com.contabills.service.BuscaGlobalService;
+import br.com.contabills.service.BuscaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controlador responsável pela busca textual.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@RestController
+@Slf4j
+@RequestMapping("busca")
+@Tag(name = "Busca", description = "Busca textual e busca global em empresas, sócios, usuários e parcelamentos")
+public class BuscaController {
+
+    /**
+     * Construtor padrão da classe BuscaController.
+     */
+    public BuscaController() {
+    }
+
+    @Autowired
+    private BuscaService buscaService;
+
+    @Autowired
+    private BuscaGlobalService buscaGlobalService;
+
+    /**
+     * Busca empresas, sócios e parcelamentos pelo texto e pelos filtros
+     * informados.
+     *
+     * @param filtro   texto e filtros da busca
+     * @param pageable informações de paginação
+     * @return página de resultados em ordem de relevância
+     */
+    @GetMapping
+    @SecurityRequirement(name = "bearer-key")
+    @Operation(summary = "Buscar", description = "Busca em razão social, nome, registro do parcelamento, CPF, CNPJ, tipo, profissão e endereço, sem diferenciar acentos e maiúsculas, com filtros por tipo de entidade, categoria, UF, cidade e empresa. Os trechos encontrados são retornados com os termos em destaque")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Página além da quantidade máxima de resultados")
+    })
+    public ResponseEntity<Page<ResultadoBusca>> buscar(@ParameterObject FiltroBusca filtro,
+            @ParameterObject @PageableDefault(size = 10) Pageable pageable) {
+        log.info("Buscando {}", filtro);
+        return ResponseEntity.ok(buscaService.buscar(filtro, pageable));
+    }
+
+    /**
+     * Busca empresas, sócios, usuários e parcelamentos em uma única chamada.
+     *
+     * @param q      início de uma palavra da razão social, do nome ou do
+     *               registro do parcelamento
+     * @param limite quantidade máxima de itens
+     * @return itens encontrados e indicação de resultado parcial
+     */
+    @GetMapping("/global")
+    @SecurityRequirement(name = "bearer-key")
+    @Operation(summary = "Busca global", description = "Consulta em paralelo empresas, sócios, usuários e parcelamentos e retorna os itens combinados em ordem de relevância. Os tipos que não respondem dentro do tempo limite ficam de fora e o resultado é marcado como parcial")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Busca realizada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Limite inválido ou termo sem letras nem dígitos")
+    })
+    public ResponseEntity<BuscaGlobal> buscarGlobal(@RequestParam String q,
+            @RequestParam(defaultValue = "10") int limite) {
+        log.info("Busca global por '{}'", q);
+        return ResponseEntity.ok(buscaGlobalService.buscar(q, limite));
+    }
+
+    /**
+     * Reconstrói o índice de busca a partir do banco de dados.
+     *
+     * @return quantidade de documentos indexados
+     */
+    @PostMapping("/reconstruir")
+    @SecurityRequirement(name = "bearer-key")
+    @Operation(summary = "Reconstruir índice de busca", description = "Recria, em paralelo, o índice de busca a partir das empresas, sócios e parcelamentos gravados, corrigindo eventuais desvios")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Índice reconstruído com sucesso"),
+            @ApiResponse(responseCode = "409", description = "Já existe uma reconstrução em andamento")
+    })
+    public ResponseEntity<Map<String, Integer>> reconstruir() {
+        log.info("Reconstruindo índice de busca");
+        return ResponseEntity.ok(Map.of("documentos", buscaService.reconstruir()));
+    }
+}
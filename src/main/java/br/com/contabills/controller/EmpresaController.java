@@ -1,10 +1,13 @@
 package br.com.contabills.controller;
 
+import java.util.List;
+
 import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -13,12 +16,28 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.contabills.model.ComponenteSocietario;
+import br.com.contabills.model.DadosEmpresa;
+import br.com.contabills.model.DivergenciaCapital;
 import br.com.contabills.model.Empresa;
+import br.com.contabills.model.EmpresaRelacionada;
+import br.com.contabills.model.FiltroEmpresa;
+import br.com.contabills.model.PainelEmpresa;
+import br.com.contabills.model.ResumoParcelas;
 import br.com.contabills.repository.EmpresaRepository;
+import br.com.contabills.service.CapitalSocialService;
+import br.com.contabills.service.ControleVersao;
 import br.com.contabills.service.EmpresaService;
+import br.com.contabills.service.GrafoSocietarioService;
+import br.com.contabills.service.PainelEmpresaService;
+import br.com.contabills.service.ResumoParcelasService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -55,46 +74,194 @@ public class EmpresaController {
     @Autowired
     private EmpresaService empresaService;
 
+    @Autowired
+    private ResumoParcelasService resumoParcelasService;
+
+    @Autowired
+    private GrafoSocietarioService grafoSocietarioService;
+
+    @Autowired
+    private CapitalSocialService capitalSocialService;
+
+    @Autowired
+    private PainelEmpresaService painelEmpresaService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
-     * Lista todas as empresas com suporte à paginação.
+     * Lista as empresas com suporte à paginação e filtros opcionais.
      *
+     * @param filtro   critérios opcionais de razão social, tipo, UF, cidade,
+     *                 procuração e certificado
      * @param pageable parâmetros de paginação
-     * @return página de empresas
+     * @return página com os dados cadastrais das empresas, sem sócios e
+     *         parcelamentos
      */
     @GetMapping
     @SecurityRequirement(name = "bearer-key")
-    @Operation(summary = "Listar empresas", description = "Retorna todas as empresas cadastradas")
+    @Operation(summary = "Listar empresas", description = "Retorna as empresas cadastradas, opcionalmente filtradas por razão social, tipo, UF, cidade, procuração e certificado")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Listagem feita com sucesso"),
             @ApiResponse(responseCode = "404", description = "Lista não encontrada")
     })
-    public ResponseEntity<Page<Empresa>> index(@ParameterObject @PageableDefault(size = 10) Pageable pageable) {
-        log.info("Listando todas as empresas com paginação");
-        Page<Empresa> empresasPage = empresaService.listarEmpresas(pageable);
+    public ResponseEntity<Page<DadosEmpresa>> index(@ParameterObject FiltroEmpresa filtro,
+            @ParameterObject @PageableDefault(size = 10) Pageable pageable) {
+        log.info("Listando empresas com paginação e filtro {}", filtro);
+        Page<DadosEmpresa> empresasPage = empresaService.listarEmpresas(filtro, pageable);
         return ResponseEntity.ok(empresasPage);
     }
 
     /**
      * Busca uma empresa pelo seu ID.
      *
-     * @param id identificador da empresa
-     * @return empresa encontrada ou 404 se não existir
+     * @param id          identificador da empresa
+     * @param ifNoneMatch ETag já conhecida pelo cliente (opcional)
+     * @return empresa encontrada, 304 se não houve alteração ou 404 se não existir
      */
     @GetMapping("/{id}")
     @Operation(summary = "Detalhes empresa", description = "Retorna a empresa cadastrada com o id informado")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Empresa encontrada com sucesso"),
+            @ApiResponse(responseCode = "304", description = "Empresa não modificada"),
             @ApiResponse(responseCode = "404", description = "Empresa não encontrada")
     })
-    public ResponseEntity<Empresa> get(@PathVariable Long id) {
+    public ResponseEntity<Empresa> get(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Buscar empresa por id: {}", id);
 
         return empresaRepository
                 .findById(id)
-                .map(ResponseEntity::ok)
+                .map(empresa -> ControleVersao.responder(empresa, ControleVersao.etag(empresa, objectMapper),
+                        ifNoneMatch))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Busca uma empresa pelo seu CNPJ, com ou sem máscara.
+     *
+     * @param cnpj CNPJ da empresa
+     * @return empresa encontrada
+     */
+    @GetMapping("/cnpj/{cnpj}")
+    @SecurityRequirement(name = "bearer-key")
+    @Operation(summary = "Buscar empresa por CNPJ", description = "Retorna a empresa cadastrada com o CNPJ informado, com ou sem máscara")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Empresa encontrada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "O CNPJ não tem 14 dígitos"),
+            @ApiResponse(responseCode = "404", description = "Empresa não encontrada")
+    })
+    public ResponseEntity<Empresa> buscarPorCnpj(@PathVariable String cnpj) {
+        log.info("Buscar empresa por CNPJ: {}", cnpj);
+        return ResponseEntity.ok(empresaService.buscarEmpresaPorCnpj(cnpj));
+    }
+
+    /**
+     * Retorna os totais de parcelas enviadas e pendentes de uma empresa.
+     *
+     * @param id identificador da empresa
+     * @return resumo das parcelas da empresa
+     */
+    @GetMapping("/{id}/resumo-parcelas")
+    @SecurityRequirement(name = "bearer-key")
+    @Operation(summary = "Resumo de parcelas da empresa", description = "Retorna a quantidade e o valor das parcelas enviadas e pendentes da empresa, calculados em memória")
+    @ApiResponse(responseCode = "200", description = "Resumo retornado com sucesso")
+    public ResponseEntity<ResumoParcelas> resumoParcelas(@PathVariable Long id) {
+        log.info("Buscar resumo de parcelas da empresa: {}", id);
+        return ResponseEntity.ok(resumoParcelasService.resumoPorEmpresa(id));
+    }
+
+    /**
+     * Retorna a visão consolidada da empresa: dados cadastrais, sócios,
+     * parcelamentos e totais de parcelas.
+     *
+     * @param id identificador da empresa
+     * @return painel da empresa
+     */
+    @GetMapping("/{id}/painel")
+    @SecurityRequirement(name = "bearer-key")
+    @Operation(summary = "Painel da empresa", description = "Retorna os dados da empresa, o resumo dos sócios, os parcelamentos com os totais das parcelas e os totais de parcelas pendentes, com uma quantidade fixa de consultas executadas em paralelo")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Painel retornado com sucesso"),
+            @ApiResponse(responseCode = "404", description = "Empresa não encontrada")
+    })
+    public ResponseEntity<PainelEmpresa> painel(@PathVariable Long id) {
+        log.info("Montar painel da empresa: {}", id);
+        return ResponseEntity.ok(painelEmpresaService.montar(id));
+    }
+
+    /**
+     * Lista as empresas ligadas à empresa informada por sócios em comum.
+     *
+     * @param id     identificador da empresa de origem
+     * @param saltos quantidade máxima de saltos empresa-sócio-empresa
+     * @return empresas relacionadas, em ordem de distância
+     */
+    @GetMapping("/{id}/relacionadas")
+    @SecurityRequirement(name = "bearer-key")
+    @Operation(summary = "Empresas relacionadas", description = "Retorna as empresas alcançadas a partir da empresa informada por meio de sócios em comum, até a quantidade de saltos informada, consultando o grafo societário em memória")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Empresas relacionadas retornadas com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Quantidade de saltos inválida"),
+            @ApiResponse(responseCode = "404", description = "Empresa não encontrada")
+    })
+    public ResponseEntity<List<EmpresaRelacionada>> relacionadas(@PathVariable Long id,
+            @RequestParam(defaultValue = "2") int saltos) {
+        log.info("Buscar empresas relacionadas à empresa {} com até {} saltos", id, saltos);
+        return ResponseEntity.ok(grafoSocietarioService.relacionadas(id, saltos));
+    }
+
+    /**
+     * Lista os grupos de empresas ligadas entre si por sócios em comum.
+     *
+     * @param minimo quantidade mínima de empresas por grupo
+     * @param limite quantidade máxima de grupos retornados
+     * @return grupos em ordem decrescente de tamanho
+     */
+    @GetMapping("/componentes")
+    @SecurityRequirement(name = "bearer-key")
+    @Operation(summary = "Grupos societários", description = "Retorna os componentes conexos do grafo societário: grupos de empresas ligadas direta ou indiretamente por sócios em comum")
+    @ApiResponse(responseCode = "200", description = "Grupos retornados com sucesso")
+    public ResponseEntity<List<ComponenteSocietario>> componentes(@RequestParam(defaultValue = "2") int minimo,
+            @RequestParam(defaultValue = "50") int limite) {
+        log.info("Listar grupos societários com no mínimo {} empresas", minimo);
+        return ResponseEntity.ok(grafoSocietarioService.componentes(minimo, limite));
+    }
+
+    /**
+     * Lista as empresas cujo capital social não corresponde ao capital
+     * investido pelos sócios.
+     *
+     * @return empresas com divergência de capital
+     */
+    @GetMapping("/divergencias-capital")
+    @SecurityRequirement(name = "bearer-key")
+    @Operation(summary = "Divergências de capital social", description = "Retorna as empresas cujo capital social declarado difere da soma do capital investido pelos sócios, calculadas em memória")
+    @ApiResponse(responseCode = "200", description = "Divergências retornadas com sucesso")
+    public ResponseEntity<List<DivergenciaCapital>> divergenciasCapital() {
+        log.info("Listar divergências de capital social");
+        return ResponseEntity.ok(capitalSocialService.divergencias());
+    }
+
+    /**
+     * Reconstrói o índice de capital social a partir do banco de dados e
+     * retorna as divergências encontradas.
+     *
+     * @return empresas com divergência de capital
+     */
+    @PostMapping("/divergencias-capital/reconstruir")
+    @SecurityRequirement(name = "bearer-key")
+    @Operation(summary = "Reconstruir índice de capital social", description = "Recalcula, em paralelo, o capital declarado e investido de todas as empresas, corrigindo eventuais desvios do índice em memória")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Índice reconstruído com sucesso"),
+            @ApiResponse(responseCode = "409", description = "Já existe uma reconstrução em andamento")
+    })
+    public ResponseEntity<List<DivergenciaCapital>> reconstruirCapital() {
+        log.info("Reconstruindo índice de capital social");
+        capitalSocialService.reconstruir();
+        return ResponseEntity.ok(capitalSocialService.divergencias());
+    }
+
     /**
      * Cadastra uma nova empresa.
      *
@@ -119,6 +286,7 @@ public class EmpresaController {
      *
      * @param id      identificador da empresa
      * @param empresa objeto com os dados atualizados
+     * @param ifMatch ETag esperada da empresa (opcional)
      * @return empresa atualizada ou 404 se não encontrada
      */
     @PutMapping("/{id}")
@@ -126,12 +294,17 @@ public class EmpresaController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Empresa atualizada com sucesso"),
             @ApiResponse(responseCode = "400", description = "Dados inválidos para atualização"),
-            @ApiResponse(responseCode = "404", description = "Empresa não encontrada")
+            @ApiResponse(responseCode = "404", description = "Empresa não encontrada"),
+            @ApiResponse(responseCode = "409", description = "O CNPJ já pertence a outra empresa"),
+            @ApiResponse(responseCode = "412", description = "A empresa foi alterada por outro usuário")
     })
-    public ResponseEntity<Empresa> update(@PathVariable Long id, @RequestBody Empresa empresa) {
+    public ResponseEntity<Empresa> update(@PathVariable Long id, @RequestBody Empresa empresa,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Atualizando empresa id {} para {}", id, empresa);
-        Empresa empresaAtualizada = empresaService.atualizarEmpresa(id, empresa);
-        return ResponseEntity.ok(empresaAtualizada);
+        Empresa empresaAtualizada = empresaService.atualizarEmpresa(id, empresa, ifMatch);
+        return ResponseEntity.ok()
+                .eTag(ControleVersao.etag(empresaAtualizada, objectMapper))
+                .body(empresaAtualizada);
     }
 
     /**
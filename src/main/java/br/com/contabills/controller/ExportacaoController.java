@@ -0,0 +1,117 @@
+package br.com.contabills.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import br.com.contabills.service.ExportacaoService;
+import br.com.contabills.service.ExportacaoService.Formato;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controlador responsável pela exportação completa de empresas, sócios e
+ * parcelas.
+ *
+ * Os arquivos são gerados em streaming diretamente na resposta, sem paginação.
+ * A geração é limitada pelo tempo limite das requisições assíncronas
+ * ({@code contabills.exportacao.tempo-limite}, configurado em
+ * {@link br.com.contabills.config.WebConfig}).
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@RestController
+@Slf4j
+@RequestMapping("exportacao")
+@Tag(name = "Exportação", description = "Exportação completa de empresas, sócios e parcelas em CSV ou NDJSON")
+public class ExportacaoController {
+
+    /**
+     * Construtor padrão da classe ExportacaoController.
+     */
+    public ExportacaoController() {
+    }
+
+    @Autowired
+    private ExportacaoService exportacaoService;
+
+    /**
+     * Exporta todas as empresas.
+     *
+     * @param formato formato do arquivo (csv ou ndjson)
+     * @return arquivo gerado em streaming
+     */
+    @GetMapping("/empresas")
+    @SecurityRequirement(name = "bearer-key")
+    @Operation(summary = "Exportar empresas", description = "Exporta todas as empresas em CSV ou NDJSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Exportação gerada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Formato não suportado")
+    })
+    public ResponseEntity<StreamingResponseBody> exportarEmpresas(
+            @Parameter(description = "csv ou ndjson") @RequestParam(defaultValue = "csv") String formato) {
+        log.info("Exportando empresas em {}", formato);
+        Formato tipo = Formato.de(formato);
+        return responder("empresas", tipo, saida -> exportacaoService.exportarEmpresas(tipo, saida));
+    }
+
+    /**
+     * Exporta todos os sócios.
+     *
+     * @param formato formato do arquivo (csv ou ndjson)
+     * @return arquivo gerado em streaming
+     */
+    @GetMapping("/socios")
+    @SecurityRequirement(name = "bearer-key")
+    @Operation(summary = "Exportar sócios", description = "Exporta todos os sócios em CSV ou NDJSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Exportação gerada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Formato não suportado")
+    })
+    public ResponseEntity<StreamingResponseBody> exportarSocios(
+            @Parameter(description = "csv ou ndjson") @RequestParam(defaultValue = "csv") String formato) {
+        log.info("Exportando sócios em {}", formato);
+        Formato tipo = Formato.de(formato);
+        return responder("socios", tipo, saida -> exportacaoService.exportarSocios(tipo, saida));
+    }
+
+    /**
+     * Exporta todas as parcelas ativas.
+     *
+     * @param formato formato do arquivo (csv ou ndjson)
+     * @return arquivo gerado em streaming
+     */
+    @GetMapping("/parcelas")
+    @SecurityRequirement(name = "bearer-key")
+    @Operation(summary = "Exportar parcelas", description = "Exporta todas as parcelas ativas, com o parcelamento e a empresa, em CSV ou NDJSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Exportação gerada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Formato não suportado")
+    })
+    public ResponseEntity<StreamingResponseBody> exportarParcelas(
+            @Parameter(description = "csv ou ndjson") @RequestParam(defaultValue = "csv") String formato) {
+        log.info("Exportando parcelas em {}", formato);
+        Formato tipo = Formato.de(formato);
+        return responder("parcelas", tipo, saida -> exportacaoService.exportarParcelas(tipo, saida));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> responder(String nome, Formato formato,
+            StreamingResponseBody corpo) {
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"" + nome + "." + formato.getExtensao() + "\"")
+                .contentType(formato.getMediaType())
+                .body(corpo);
+    }
+}
@@ -0,0 +1,98 @@
+package br.com.contabills.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.contabills.model.RelatorioImportacao;
+import br.com.contabills.service.ImportacaoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controlador responsável pela importação em lote de empresas e sócios a partir
+ * de arquivos CSV.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@RestController
+@Slf4j
+@RequestMapping("importacao")
+@Tag(name = "Importação", description = "Importação em lote de empresas e sócios")
+public class ImportacaoController {
+
+    /**
+     * Construtor padrão da classe ImportacaoController.
+     */
+    public ImportacaoController() {
+    }
+
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    /**
+     * Importa sócios a partir de um arquivo CSV.
+     *
+     * @param file arquivo CSV com os sócios
+     * @return relatório da importação com os erros por linha
+     */
+    @PostMapping(value = "/socios", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @SecurityRequirement(name = "bearer-key")
+    @Operation(summary = "Importar sócios", description = "Importa sócios de um arquivo CSV separado por ponto e vírgula, com cabeçalho. Colunas: nome; dataNascimento; cpf; rg; dataDeEmissaoRg; cnh; dataDeEmissaoCnh; dataDeValidadeCnh; nomeDaMae; nomeDoPai; nacionalidade; estadoCivil; tipoDeComunhao; profissao; logradouro; numero; complemento; bairro; cidade; uf; cep")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Importação processada; linhas rejeitadas constam no relatório"),
+            @ApiResponse(responseCode = "400", description = "Arquivo não informado ou ilegível")
+    })
+    public ResponseEntity<RelatorioImportacao> importarSocios(@RequestParam("file") MultipartFile file) {
+        log.info("Importando sócios do arquivo {}", file.getOriginalFilename());
+        try (InputStream entrada = abrir(file)) {
+            return ResponseEntity.ok(importacaoService.importarSocios(entrada));
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Não foi possível ler o arquivo");
+        }
+    }
+
+    /**
+     * Importa empresas a partir de um arquivo CSV.
+     *
+     * @param file arquivo CSV com as empresas
+     * @return relatório da importação com os erros por linha
+     */
+    @PostMapping(value = "/empresas", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @SecurityRequirement(name = "bearer-key")
+    @Operation(summary = "Importar empresas", description = "Importa empresas de um arquivo CSV separado por ponto e vírgula, com cabeçalho. Colunas: apelidoId; razaoSocial; tipoEmpresa; cnpj; iptu; email; telefone; capitalSocialEmpresa; possuiProcuracao; possuiCertificado; logradouro; numero; complemento; bairro; cidade; uf; cep; socios (cpf:capitalInvestido:cargo separados por |)")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Importação processada; linhas rejeitadas constam no relatório"),
+            @ApiResponse(responseCode = "400", description = "Arquivo não informado ou ilegível")
+    })
+    public ResponseEntity<RelatorioImportacao> importarEmpresas(@RequestParam("file") MultipartFile file) {
+        log.info("Importando empresas do arquivo {}", file.getOriginalFilename());
+        try (InputStream entrada = abrir(file)) {
+            return ResponseEntity.ok(importacaoService.importarEmpresas(entrada));
+        } catch (IOException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Não foi possível ler o arquivo");
+        }
+    }
+
+    private static InputStream abrir(MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O arquivo está vazio");
+        }
+        return file.getInputStream();
+    }
+}
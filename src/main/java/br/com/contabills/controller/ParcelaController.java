@@ -7,12 +7,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import br.com.contabills.model.Parcela;
+import br.com.contabills.model.ResumoParcela;
+import br.com.contabills.service.ControleVersao;
 import br.com.contabills.service.EmailService;
 import br.com.contabills.service.ParcelaService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -50,10 +55,14 @@ public class ParcelaController {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Lista todas as parcelas com suporte à paginação.
      *
-     * @param pageable parâmetros de paginação
+     * @param pageable        parâmetros de paginação
+     * @param includeArchived se verdadeiro, inclui as parcelas arquivadas
      * @return página contendo as parcelas
      */
     @GetMapping
@@ -63,28 +72,35 @@ public class ParcelaController {
             @ApiResponse(responseCode = "200", description = "Listagem feita com sucesso"),
             @ApiResponse(responseCode = "404", description = "Lista não encontrada")
     })
-    public ResponseEntity<Page<Parcela>> index(@ParameterObject @PageableDefault(size = 10) Pageable pageable) {
+    public ResponseEntity<Page<ResumoParcela>> index(@ParameterObject @PageableDefault(size = 10) Pageable pageable,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
         log.info("Listando todas as parcelas paginadas");
-        Page<Parcela> parcelasPage = parcelaService.listarParcelas(pageable);
+        Page<ResumoParcela> parcelasPage = parcelaService.listarParcelas(pageable, includeArchived);
         return ResponseEntity.ok(parcelasPage);
     }
 
     /**
      * Retorna os detalhes de uma parcela pelo ID.
      *
-     * @param id identificador da parcela
-     * @return parcela encontrada ou erro 404
+     * @param id          identificador da parcela
+     * @param ifNoneMatch     ETag já conhecida pelo cliente (opcional)
+     * @param includeArchived se verdadeiro, procura também no arquivo
+     * @return parcela encontrada, 304 se não houve alteração ou erro 404
      */
     @GetMapping("/{id}")
     @SecurityRequirement(name = "bearer-key")
     @Operation(summary = "Detalhar Parcela", description = "Retorna a parcela com o id informado")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Parcela encontrada"),
+            @ApiResponse(responseCode = "304", description = "Parcela não modificada"),
             @ApiResponse(responseCode = "404", description = "Parcela não encontrada")
     })
-    public ResponseEntity<Parcela> get(@PathVariable Long id) {
+    public ResponseEntity<Parcela> get(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestParam(defaultValue = "false") boolean includeArchived) {
         log.info("Buscando parcela com id: {}", id);
-        return ResponseEntity.ok(parcelaService.buscarParcelaPorId(id));
+        Parcela parcela = parcelaService.buscarParcelaPorId(id, includeArchived);
+        return ControleVersao.responder(parcela, ControleVersao.etag(parcela, objectMapper), ifNoneMatch);
     }
 
     /**
@@ -136,7 +152,7 @@ public class ParcelaController {
             emailService.sendEmailWithAttachment(email, subject, text, file);
 
             parcela.setEnviadoMesAtual(true);
-            parcelaService.atualizarParcela(idParcela, parcela);
+            parcelaService.atualizarParcela(idParcela, parcela, null);
 
             return ResponseEntity.ok("E-mail enviado com sucesso e parcela marcada como enviada!");
         } catch (MessagingException e) {
@@ -155,6 +171,7 @@ public class ParcelaController {
      *
      * @param id      identificador da parcela
      * @param parcela nova versão da parcela
+     * @param ifMatch ETag esperada da parcela (opcional)
      * @return parcela atualizada
      */
     @PutMapping("/{id}")
@@ -162,11 +179,16 @@ public class ParcelaController {
     @Operation(summary = "Atualizar Parcela", description = "Atualiza os dados da parcela existente")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Parcela atualizada com sucesso"),
-            @ApiResponse(responseCode = "404", description = "Parcela não encontrada")
+            @ApiResponse(responseCode = "404", description = "Parcela não encontrada"),
+            @ApiResponse(responseCode = "412", description = "A parcela foi alterada por outro usuário")
     })
-    public ResponseEntity<Parcela> update(@PathVariable Long id, @RequestBody Parcela parcela) {
+    public ResponseEntity<Parcela> update(@PathVariable Long id, @RequestBody Parcela parcela,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Atualizando parcela com id {} para {}", id, parcela);
-        return ResponseEntity.ok(parcelaService.atualizarParcela(id, parcela));
+        Parcela parcelaAtualizada = parcelaService.atualizarParcela(id, parcela, ifMatch);
+        return ResponseEntity.ok()
+                .eTag(ControleVersao.etag(parcelaAtualizada, objectMapper))
+                .body(parcelaAtualizada);
     }
 
     /**
@@ -174,6 +196,7 @@ public class ParcelaController {
      *
      * @param id      identificador da parcela
      * @param updates mapa contendo os campos a serem atualizados
+     * @param ifMatch ETag esperada da parcela (opcional)
      * @return parcela atualizada parcialmente
      */
     @PatchMapping("/{id}")
@@ -181,12 +204,15 @@ public class ParcelaController {
     @Operation(summary = "Atualizar Dados da Parcela", description = "Atualiza parcialmente os dados de uma parcela")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Parcela atualizada com sucesso"),
-            @ApiResponse(responseCode = "400", description = "Dados inválidos para atualização")
+            @ApiResponse(responseCode = "400", description = "Dados inválidos para atualização"),
+            @ApiResponse(responseCode = "412", description = "A parcela foi alterada por outro usuário")
     })
     public ResponseEntity<Parcela> updateParcel(@PathVariable Long id,
-            @RequestBody Map<String, Object> updates) {
+            @RequestBody Map<String, Object> updates,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Atualizando dados da parcela de id {} com: {}", id, updates);
-        return ResponseEntity.ok(parcelaService.atualizarDadosParcialmente(id, updates));
+        Parcela parcela = parcelaService.atualizarDadosParcialmente(id, updates, ifMatch);
+        return ResponseEntity.ok().eTag(ControleVersao.etag(parcela, objectMapper)).body(parcela);
     }
 
     /**
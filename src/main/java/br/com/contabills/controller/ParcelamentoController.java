@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -16,11 +17,21 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.contabills.model.PaginaCursor;
 import br.com.contabills.model.Parcelamento;
+import br.com.contabills.model.ResumoParcela;
+import br.com.contabills.model.ResumoParcelamento;
+import br.com.contabills.model.ResumoParcelas;
+import br.com.contabills.service.ControleVersao;
 import br.com.contabills.service.ParcelamentoService;
+import br.com.contabills.service.ResumoParcelasService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -53,24 +64,34 @@ public class ParcelamentoController {
         @Autowired
         private ParcelamentoService parcelamentoService;
 
+        @Autowired
+        private ResumoParcelasService resumoParcelasService;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
         /**
-         * Lista todos os parcelamentos com suporte à paginação.
+         * Lista todos os parcelamentos com suporte à paginação, retornando para
+         * cada um os totais das suas parcelas em vez da coleção completa.
          *
-         * @param pageable parâmetros de paginação
-         * @return página com lista de parcelamentos
+         * @param pageable        parâmetros de paginação
+         * @param includeArchived se verdadeiro, inclui os parcelamentos arquivados
+         * @return página com os resumos dos parcelamentos
          */
         @GetMapping
         @SecurityRequirement(name = "bearer-key")
-        @Operation(summary = "Listar Parcelamentos", description = "Retorna todos os parcelamentos cadastrados")
+        @Operation(summary = "Listar Parcelamentos", description = "Retorna todos os parcelamentos cadastrados com a quantidade de parcelas, a quantidade enviada, o valor total e o próximo vencimento")
         @ApiResponses({
                         @ApiResponse(responseCode = "200", description = "Listagem feita com sucesso"),
                         @ApiResponse(responseCode = "404", description = "Lista não encontrada")
         })
-        public ResponseEntity<Page<Parcelamento>> index(
-                        @ParameterObject @PageableDefault(size = 10) Pageable pageable) {
+        public ResponseEntity<Page<ResumoParcelamento>> index(
+                        @ParameterObject @PageableDefault(size = 10) Pageable pageable,
+                        @RequestParam(defaultValue = "false") boolean includeArchived) {
                 log.info("Listando todos os parcelamentos");
 
-                Page<Parcelamento> parcelamentosPage = parcelamentoService.listarParcelamentos(pageable);
+                Page<ResumoParcelamento> parcelamentosPage = parcelamentoService.listarResumos(pageable,
+                                includeArchived);
 
                 return ResponseEntity.ok(parcelamentosPage);
         }
@@ -78,19 +99,65 @@ public class ParcelamentoController {
         /**
          * Busca um parcelamento pelo seu ID.
          *
-         * @param id identificador do parcelamento
-         * @return parcelamento encontrado
+         * @param id          identificador do parcelamento
+         * @param ifNoneMatch     ETag já conhecida pelo cliente (opcional)
+         * @param includeArchived se verdadeiro, procura também no arquivo
+         * @return parcelamento encontrado ou 304 se não houve alteração
          */
         @GetMapping("/{id}")
         @SecurityRequirement(name = "bearer-key")
         @Operation(summary = "Detalhes do Parcelamento", description = "Retorna o parcelamento cadastrado com o id informado")
         @ApiResponses({
                         @ApiResponse(responseCode = "200", description = "Os dados foram retornados com sucesso"),
+                        @ApiResponse(responseCode = "304", description = "Parcelamento não modificado"),
                         @ApiResponse(responseCode = "404", description = "Parcelamento não encontrado")
         })
-        public ResponseEntity<Parcelamento> get(@PathVariable Long id) {
+        public ResponseEntity<Parcelamento> get(@PathVariable Long id,
+                        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                        @RequestParam(defaultValue = "false") boolean includeArchived) {
                 log.info("Buscando parcelamento com id: {}", id);
-                return ResponseEntity.ok(parcelamentoService.buscarParcelamentoPorId(id));
+                Parcelamento parcelamento = parcelamentoService.buscarParcelamentoPorId(id, includeArchived);
+                return ControleVersao.responder(parcelamento, ControleVersao.etag(parcelamento, objectMapper),
+                                ifNoneMatch);
+        }
+
+        /**
+         * Lista as parcelas de um parcelamento com paginação por cursor.
+         *
+         * @param id     identificador do parcelamento
+         * @param cursor identificador da última parcela já recebida (opcional)
+         * @param limite quantidade máxima de parcelas por página
+         * @return parcelas e cursor da próxima página
+         */
+        @GetMapping("/{id}/parcelas")
+        @SecurityRequirement(name = "bearer-key")
+        @Operation(summary = "Parcelas do Parcelamento", description = "Retorna as parcelas do parcelamento em ordem de id. Para obter a próxima página, informe o proximoCursor recebido no parâmetro cursor")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Parcelas retornadas com sucesso"),
+                        @ApiResponse(responseCode = "404", description = "Parcelamento não encontrado")
+        })
+        public ResponseEntity<PaginaCursor<ResumoParcela>> parcelas(@PathVariable Long id,
+                        @RequestParam(required = false) Long cursor,
+                        @RequestParam(defaultValue = "20") int limite) {
+                log.info("Listando parcelas do parcelamento {} a partir do cursor {}", id, cursor);
+                return ResponseEntity.ok(parcelamentoService.listarParcelas(id, cursor, limite));
+        }
+
+        /**
+         * Retorna os totais de parcelas enviadas e pendentes de um parcelamento.
+         *
+         * @param id identificador do parcelamento
+         * @return resumo das parcelas do parcelamento
+         */
+        @GetMapping("/{id}/resumo-parcelas")
+        @SecurityRequirement(name = "bearer-key")
+        @Operation(summary = "Resumo de parcelas do parcelamento", description = "Retorna a quantidade e o valor das parcelas enviadas e pendentes do parcelamento, calculados em memória")
+        @ApiResponses({
+                        @ApiResponse(responseCode = "200", description = "Resumo retornado com sucesso")
+        })
+        public ResponseEntity<ResumoParcelas> resumoParcelas(@PathVariable Long id) {
+                log.info("Buscando resumo de parcelas do parcelamento com id: {}", id);
+                return ResponseEntity.ok(resumoParcelasService.resumoPorParcelamento(id));
         }
 
         /**
@@ -116,6 +183,7 @@ public class ParcelamentoController {
          *
          * @param id           identificador do parcelamento
          * @param parcelamento dados atualizados
+         * @param ifMatch      ETag esperada do parcelamento (opcional)
          * @return parcelamento atualizado
          */
         @PutMapping("/{id}")
@@ -124,11 +192,14 @@ public class ParcelamentoController {
         @ApiResponses({
                         @ApiResponse(responseCode = "200", description = "Alteração realizada com sucesso"),
                         @ApiResponse(responseCode = "404", description = "Parcelamento não encontrado"),
-                        @ApiResponse(responseCode = "400", description = "Dados inválidos para alteração")
+                        @ApiResponse(responseCode = "400", description = "Dados inválidos para alteração"),
+                        @ApiResponse(responseCode = "412", description = "O parcelamento foi alterado por outro usuário")
         })
-        public ResponseEntity<Parcelamento> update(@PathVariable Long id, @RequestBody Parcelamento parcelamento) {
+        public ResponseEntity<Parcelamento> update(@PathVariable Long id, @RequestBody Parcelamento parcelamento,
+                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
                 log.info("Atualizando parcelamento com id {} para {}", id, parcelamento);
-                return ResponseEntity.ok(parcelamentoService.atualizarParcelamento(id, parcelamento));
+                Parcelamento atualizado = parcelamentoService.atualizarParcelamento(id, parcelamento, ifMatch);
+                return ResponseEntity.ok().eTag(ControleVersao.etag(atualizado, objectMapper)).body(atualizado);
         }
 
         /**
@@ -136,6 +207,7 @@ public class ParcelamentoController {
          *
          * @param id      identificador do parcelamento
          * @param updates mapa com os campos a serem atualizados
+         * @param ifMatch ETag esperada do parcelamento (opcional)
          * @return parcelamento atualizado
          */
         @PatchMapping("/{id}")
@@ -143,12 +215,15 @@ public class ParcelamentoController {
         @Operation(summary = "Atualizar Dados do Parcelamento", description = "Atualiza parcialmente os dados de um parcelamento")
         @ApiResponses({
                         @ApiResponse(responseCode = "200", description = "Parcelamento atualizado com sucesso"),
-                        @ApiResponse(responseCode = "400", description = "Dados inválidos para atualização")
+                        @ApiResponse(responseCode = "400", description = "Dados inválidos para atualização"),
+                        @ApiResponse(responseCode = "412", description = "O parcelamento foi alterado por outro usuário")
         })
         public ResponseEntity<Parcelamento> updateParcelamento(@PathVariable Long id,
-                        @RequestBody Map<String, Object> updates) {
+                        @RequestBody Map<String, Object> updates,
+                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
                 log.info("Atualizando parcelamento id {} com dados {}", id, updates);
-                return ResponseEntity.ok(parcelamentoService.atualizarDadosParcialmente(id, updates));
+                Parcelamento atualizado = parcelamentoService.atualizarDadosParcialmente(id, updates, ifMatch);
+                return ResponseEntity.ok().eTag(ControleVersao.etag(atualizado, objectMapper)).body(atualizado);
         }
 
         /**
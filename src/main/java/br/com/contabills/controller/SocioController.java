@@ -5,6 +5,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,14 +13,20 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.contabills.model.ResumoSocio;
 import br.com.contabills.model.Socio;
+import br.com.contabills.service.ControleVersao;
 import br.com.contabills.service.SocioService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
@@ -48,18 +55,21 @@ public class SocioController {
     @Autowired
     private SocioService socioService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * Lista todos os sócios com suporte a busca por nome/termo e paginação.
      *
      * @param busca termo de busca opcional
      * @param pageable parâmetros de paginação
-     * @return página com os sócios encontrados
+     * @return página com o resumo dos sócios encontrados
      */
     @GetMapping
     @SecurityRequirement(name = "bearer-key")
     @Operation(summary = "Listar sócios", description = "Retorna todos os sócios cadastrados")
     @ApiResponse(responseCode = "200", description = "Listagem feita com sucesso")
-    public Page<Socio> index(@RequestParam(required = false) String busca,
+    public Page<ResumoSocio> index(@RequestParam(required = false) String busca,
             @ParameterObject @PageableDefault(size = 10) Pageable pageable) {
         log.info("Buscar Sócios");
         return socioService.listarSocios(busca, pageable);
@@ -68,16 +78,20 @@ public class SocioController {
     /**
      * Retorna os dados de um sócio específico.
      *
-     * @param id identificador do sócio
-     * @return sócio encontrado
+     * @param id          identificador do sócio
+     * @param ifNoneMatch ETag já conhecida pelo cliente (opcional)
+     * @return sócio encontrado ou 304 se não houve alteração
      */
     @GetMapping("/{id}")
     @SecurityRequirement(name = "bearer-key")
     @Operation(summary = "Detalhes do sócio", description = "Retorna o sócio cadastrado com o id informado")
     @ApiResponse(responseCode = "200", description = "Dados retornados com sucesso")
-    public Socio show(@PathVariable Long id) {
+    @ApiResponse(responseCode = "304", description = "Sócio não modificado")
+    public ResponseEntity<Socio> show(@PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         log.info("Buscar Sócio " + id);
-        return socioService.buscarPorId(id);
+        Socio socio = socioService.buscarPorId(id);
+        return ControleVersao.responder(socio, ControleVersao.etag(socio, objectMapper), ifNoneMatch);
     }
 
     /**
@@ -100,15 +114,19 @@ public class SocioController {
      *
      * @param id identificador do sócio
      * @param socio dados atualizados
+     * @param ifMatch ETag esperada do sócio (opcional)
      * @return sócio atualizado
      */
     @PutMapping("/{id}")
     @SecurityRequirement(name = "bearer-key")
     @Operation(summary = "Atualizar sócio", description = "Atualiza os dados do sócio com o id informado")
     @ApiResponse(responseCode = "200", description = "Alteração realizada com sucesso")
-    public Socio update(@PathVariable Long id, @RequestBody Socio socio) {
+    @ApiResponse(responseCode = "412", description = "O sócio foi alterado por outro usuário")
+    public ResponseEntity<Socio> update(@PathVariable Long id, @RequestBody Socio socio,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         log.info("Atualizando Sócio " + id);
-        return socioService.atualizar(id, socio);
+        Socio socioAtualizado = socioService.atualizar(id, socio, ifMatch);
+        return ResponseEntity.ok().eTag(ControleVersao.etag(socioAtualizado, objectMapper)).body(socioAtualizado);
     }
 
     /**
@@ -128,15 +146,19 @@ public class SocioController {
     }
 
     /**
-     * Busca um sócio pelo seu CPF.
+     * Busca um sócio pelo seu CPF, com ou sem máscara.
      *
      * @param cpf CPF do sócio
      * @return sócio encontrado
      */
-    @GetMapping("/buscarPorCpf/{cpf}") 
+    @GetMapping({ "/cpf/{cpf}", "/buscarPorCpf/{cpf}" })
     @SecurityRequirement(name = "bearer-key")
-    @Operation(summary = "Buscar sócio por CPF", description = "Retorna o sócio cadastrado com o CPF informado")
-    @ApiResponse(responseCode = "200", description = "Dados retornados com sucesso")
+    @Operation(summary = "Buscar sócio por CPF", description = "Retorna o sócio cadastrado com o CPF informado, com ou sem máscara")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Dados retornados com sucesso"),
+            @ApiResponse(responseCode = "400", description = "O CPF não tem 11 dígitos"),
+            @ApiResponse(responseCode = "404", description = "Sócio não encontrado")
+    })
     public Socio buscarPorCpf(@PathVariable String cpf) {
         log.info("Buscar Sócio por CPF: " + cpf);
         return socioService.buscarPorCpf(cpf);
@@ -0,0 +1,59 @@
+package br.com.contabills.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import br.com.contabills.model.ResultadoValidacao;
+import br.com.contabills.service.ValidacaoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Controlador responsável pela validação de documentos.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@RestController
+@Slf4j
+@RequestMapping("validacao")
+@Tag(name = "Validação", description = "Validação de CPFs e CNPJs")
+public class ValidacaoController {
+
+    /**
+     * Construtor padrão da classe ValidacaoController.
+     */
+    public ValidacaoController() {
+    }
+
+    @Autowired
+    private ValidacaoService validacaoService;
+
+    /**
+     * Valida em lote uma lista de CPFs e CNPJs.
+     *
+     * @param documentos CPFs e CNPJs, com ou sem máscara
+     * @return totais e documentos inválidos
+     */
+    @PostMapping("/documentos")
+    @SecurityRequirement(name = "bearer-key")
+    @Operation(summary = "Validar documentos", description = "Confere os dígitos verificadores de uma lista de CPFs e CNPJs, com ou sem máscara, e retorna os inválidos com a sua posição na lista")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Validação realizada com sucesso"),
+            @ApiResponse(responseCode = "400", description = "Lista maior que o tamanho máximo permitido")
+    })
+    public ResponseEntity<ResultadoValidacao> validarDocumentos(@RequestBody List<String> documentos) {
+        log.info("Validando {} documentos", documentos.size());
+        return ResponseEntity.ok(validacaoService.validarDocumentos(documentos));
+    }
+}
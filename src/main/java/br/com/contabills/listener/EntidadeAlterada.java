@@ -0,0 +1,39 @@
+package br.com.contabills.listener;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.ResolvableTypeProvider;
+
+/**
+ * Evento publicado sempre que uma entidade monitorada é criada, atualizada ou
+ * removida no banco de dados.
+ *
+ * Implementa {@link ResolvableTypeProvider} para que os ouvintes possam
+ * declarar o tipo da entidade de interesse, por exemplo
+ * {@code EntidadeAlterada<Parcela>}.
+ *
+ * @param <T>       tipo da entidade alterada
+ * @param entidade  entidade alterada
+ * @param operacao  operação realizada sobre a entidade
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record EntidadeAlterada<T>(T entidade, Operacao operacao) implements ResolvableTypeProvider {
+
+    /**
+     * Operações de persistência que originam o evento.
+     */
+    public enum Operacao {
+        /** Entidade inserida. */
+        CRIADA,
+        /** Entidade atualizada. */
+        ATUALIZADA,
+        /** Entidade removida. */
+        REMOVIDA
+    }
+
+    @Override
+    public ResolvableType getResolvableType() {
+        return ResolvableType.forClassWithGenerics(getClass(), ResolvableType.forInstance(entidade));
+    }
+}
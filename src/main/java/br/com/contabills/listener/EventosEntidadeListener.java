@@ -0,0 +1,64 @@
+package br.com.contabills.listener;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import br.com.contabills.listener.EntidadeAlterada.Operacao;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Listener JPA que converte os callbacks de persistência das entidades em
+ * eventos {@link EntidadeAlterada} do Spring.
+ *
+ * Os serviços interessados devem consumir os eventos com
+ * {@code @TransactionalEventListener}, de modo que as alterações só sejam
+ * refletidas após o commit da transação.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@Component
+public class EventosEntidadeListener {
+
+    @Autowired
+    private ApplicationEventPublisher publisher;
+
+    /**
+     * Construtor padrão.
+     */
+    public EventosEntidadeListener() {
+    }
+
+    /**
+     * Publica o evento de criação da entidade.
+     *
+     * @param entidade entidade inserida
+     */
+    @PostPersist
+    public void aoCriar(Object entidade) {
+        publisher.publishEvent(new EntidadeAlterada<>(entidade, Operacao.CRIADA));
+    }
+
+    /**
+     * Publica o evento de atualização da entidade.
+     *
+     * @param entidade entidade atualizada
+     */
+    @PostUpdate
+    public void aoAtualizar(Object entidade) {
+        publisher.publishEvent(new EntidadeAlterada<>(entidade, Operacao.ATUALIZADA));
+    }
+
+    /**
+     * Publica o evento de remoção da entidade.
+     *
+     * @param entidade entidade removida
+     */
+    @PostRemove
+    public void aoRemover(Object entidade) {
+        publisher.publishEvent(new EntidadeAlterada<>(entidade, Operacao.REMOVIDA));
+    }
+}
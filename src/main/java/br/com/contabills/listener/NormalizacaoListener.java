@@ -0,0 +1,34 @@
+package br.com.contabills.listener;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Listener JPA que recalcula as colunas de busca normalizadas das entidades
+ * {@link Normalizavel} antes de cada inserção e atualização, mantendo-as
+ * sempre sincronizadas com os campos de origem.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public class NormalizacaoListener {
+
+    /**
+     * Construtor padrão.
+     */
+    public NormalizacaoListener() {
+    }
+
+    /**
+     * Normaliza a entidade antes de gravá-la.
+     *
+     * @param entidade entidade a ser inserida ou atualizada
+     */
+    @PrePersist
+    @PreUpdate
+    public void normalizar(Object entidade) {
+        if (entidade instanceof Normalizavel normalizavel) {
+            normalizavel.normalizar();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package br.com.contabills.listener;
+
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+import br.com.contabills.busca.TextoNormalizado;
+
+/**
+ * Entidade que mantém colunas de busca normalizadas, derivadas de outros
+ * campos, atualizadas pelo {@link NormalizacaoListener} antes de cada
+ * gravação.
+ *
+ * Os termos de busca são mantidos em tabelas de coleção. Para que apenas as
+ * linhas que mudaram sejam gravadas, a coleção carregada é alterada no lugar,
+ * e somente quando o texto normalizado muda; assim uma alteração de outro
+ * campo não carrega a coleção.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public interface Normalizavel {
+
+    /**
+     * Recalcula as colunas normalizadas a partir dos campos de origem.
+     */
+    void normalizar();
+
+    /**
+     * Atualiza os termos de busca atuais para os termos do texto normalizado.
+     *
+     * @param atuais      termos gravados, ou {@code null} em uma entidade nova
+     * @param anterior    texto normalizado antes da alteração
+     * @param normalizado texto normalizado atual
+     * @return a coleção atual, alterada se necessário, ou uma nova coleção
+     *         quando não houver coleção atual
+     */
+    static Set<String> atualizar(Set<String> atuais, String anterior, String normalizado) {
+        if (atuais != null && Objects.equals(anterior, normalizado)) {
+            return atuais;
+        }
+        Set<String> novos = TextoNormalizado.termos(normalizado);
+        if (atuais == null) {
+            return new HashSet<>(novos);
+        }
+        if (!atuais.equals(novos)) {
+            atuais.retainAll(novos);
+            atuais.addAll(novos);
+        }
+        return atuais;
+    }
+}
@@ -0,0 +1,23 @@
+package br.com.contabills.model;
+
+import java.util.List;
+
+/**
+ * Alerta com os sócios de uma empresa cuja CNH vence nos próximos dias. É
+ * publicado como evento da aplicação pela varredura diária de CNHs.
+ *
+ * @param empresaId   identificador da empresa, ou null para os sócios sem
+ *                    empresa
+ * @param razaoSocial razão social da empresa
+ * @param email       e-mail da empresa
+ * @param socios      sócios com CNH próxima do vencimento
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record AlertaCnh(
+        Long empresaId,
+        String razaoSocial,
+        String email,
+        List<VencimentoCnh> socios) {
+}
@@ -0,0 +1,23 @@
+package br.com.contabills.model;
+
+import java.util.List;
+
+/**
+ * Alerta com as parcelas pendentes de uma empresa que vencem nos próximos
+ * dias. É publicado como evento da aplicação pela varredura diária de
+ * vencimentos.
+ *
+ * @param empresaId   identificador da empresa
+ * @param razaoSocial razão social da empresa
+ * @param email       e-mail da empresa
+ * @param parcelas    parcelas pendentes com vencimento próximo
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record AlertaVencimento(
+        Long empresaId,
+        String razaoSocial,
+        String email,
+        List<VencimentoParcela> parcelas) {
+}
@@ -0,0 +1,20 @@
+package br.com.contabills.model;
+
+import java.util.List;
+
+/**
+ * Resultado da busca global em empresas, sócios, usuários e parcelamentos.
+ *
+ * @param resultados  itens encontrados, em ordem de relevância
+ * @param parcial     indica se algum tipo de entidade não respondeu dentro do
+ *                    tempo limite
+ * @param incompletos tipos de entidade sem resposta
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record BuscaGlobal(
+        List<Sugestao> resultados,
+        boolean parcial,
+        List<TipoEntidade> incompletos) {
+}
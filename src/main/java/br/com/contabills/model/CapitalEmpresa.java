@@ -0,0 +1,17 @@
+package br.com.contabills.model;
+
+/**
+ * Projeção com o capital social declarado de uma empresa.
+ *
+ * @param empresaId     identificador (apelido) da empresa
+ * @param razaoSocial   razão social da empresa
+ * @param capitalSocial capital social declarado
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record CapitalEmpresa(
+        Long empresaId,
+        String razaoSocial,
+        double capitalSocial) {
+}
@@ -0,0 +1,17 @@
+package br.com.contabills.model;
+
+/**
+ * Projeção com o capital investido por um sócio em uma empresa.
+ *
+ * @param empresaId        identificador (apelido) da empresa
+ * @param socioId          identificador do sócio
+ * @param capitalInvestido capital investido pelo sócio
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record CapitalVinculo(
+        Long empresaId,
+        Long socioId,
+        double capitalInvestido) {
+}
@@ -0,0 +1,21 @@
+package br.com.contabills.model;
+
+import java.util.List;
+
+/**
+ * Grupo de empresas ligadas entre si, direta ou indiretamente, por sócios em
+ * comum.
+ *
+ * @param quantidadeEmpresas quantidade de empresas do grupo
+ * @param quantidadeSocios   quantidade de sócios do grupo
+ * @param empresaIds         identificadores das empresas do grupo, em ordem
+ *                           crescente
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record ComponenteSocietario(
+        int quantidadeEmpresas,
+        int quantidadeSocios,
+        List<Long> empresaIds) {
+}
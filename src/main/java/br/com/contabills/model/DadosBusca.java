@@ -0,0 +1,59 @@
+package br.com.contabills.model;
+
+/**
+ * Projeção de uma entidade para indexação na busca textual.
+ *
+ * @param id        identificador da entidade
+ * @param titulo    razão social, nome ou registro do parcelamento
+ * @param documento CNPJ da empresa ou CPF do sócio
+ * @param categoria tipo da empresa ou do parcelamento
+ * @param profissao profissão do sócio
+ * @param endereco  endereço da empresa ou do sócio
+ * @param empresaId empresa do parcelamento
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record DadosBusca(
+        Long id,
+        String titulo,
+        String documento,
+        String categoria,
+        String profissao,
+        Endereco endereco,
+        Long empresaId) {
+
+    /**
+     * Cria a projeção de uma empresa.
+     *
+     * @param empresa empresa a ser indexada
+     * @return dados de busca da empresa
+     */
+    public static DadosBusca de(Empresa empresa) {
+        return new DadosBusca(empresa.getApelidoId(), empresa.getRazaoSocial(), empresa.getCnpj(),
+                empresa.getTipoEmpresa(), null, empresa.getEnderecoEmpresa(), null);
+    }
+
+    /**
+     * Cria a projeção de um sócio.
+     *
+     * @param socio sócio a ser indexado
+     * @return dados de busca do sócio
+     */
+    public static DadosBusca de(Socio socio) {
+        return new DadosBusca(socio.getId(), socio.getNome(), socio.getCpf(), null, socio.getProfissao(),
+                socio.getEnderecoSocio(), null);
+    }
+
+    /**
+     * Cria a projeção de um parcelamento.
+     *
+     * @param parcelamento parcelamento a ser indexado
+     * @return dados de busca do parcelamento
+     */
+    public static DadosBusca de(Parcelamento parcelamento) {
+        Empresa empresa = parcelamento.getEmpresa();
+        return new DadosBusca(parcelamento.getId(), parcelamento.getRegistroDoParcelamento(), null,
+                parcelamento.getTipoParcelamento(), null, null, empresa != null ? empresa.getApelidoId() : null);
+    }
+}
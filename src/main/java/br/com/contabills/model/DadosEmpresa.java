@@ -0,0 +1,36 @@
+package br.com.contabills.model;
+
+/**
+ * Dados cadastrais de uma empresa, sem as coleções de sócios e
+ * parcelamentos, carregados por uma única consulta de projeção.
+ *
+ * @param id                 identificador (apelido) da empresa
+ * @param razaoSocial        razão social
+ * @param tipoEmpresa        tipo da empresa
+ * @param cnpj               CNPJ
+ * @param iptu               inscrição do IPTU
+ * @param email              e-mail de contato
+ * @param telefone           telefone de contato
+ * @param capitalSocial      capital social declarado
+ * @param possuiProcuracao   indica se a empresa possui procuração
+ * @param possuiCertificado  indica se a empresa possui certificado digital
+ * @param versao             versão atual do registro
+ * @param endereco           endereço da empresa
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record DadosEmpresa(
+        Long id,
+        String razaoSocial,
+        String tipoEmpresa,
+        String cnpj,
+        String iptu,
+        String email,
+        String telefone,
+        double capitalSocial,
+        boolean possuiProcuracao,
+        boolean possuiCertificado,
+        Long versao,
+        Endereco endereco) {
+}
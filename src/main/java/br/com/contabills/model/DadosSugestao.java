@@ -0,0 +1,17 @@
+package br.com.contabills.model;
+
+/**
+ * Projeção de uma entidade para montagem do índice do autocompletar.
+ *
+ * @param id      identificador da entidade
+ * @param rotulo  razão social ou nome
+ * @param detalhe CNPJ da empresa, CPF do sócio ou e-mail do usuário
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record DadosSugestao(
+        Long id,
+        String rotulo,
+        String detalhe) {
+}
@@ -0,0 +1,26 @@
+package br.com.contabills.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Empresa cujo capital social declarado não corresponde à soma do capital
+ * investido pelos sócios.
+ *
+ * @param empresaId        identificador (apelido) da empresa
+ * @param razaoSocial      razão social da empresa
+ * @param capitalSocial    capital social declarado na empresa
+ * @param capitalInvestido soma do capital investido pelos sócios
+ * @param diferenca        capital declarado menos o capital investido
+ * @param quantidadeSocios quantidade de sócios vinculados
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record DivergenciaCapital(
+        Long empresaId,
+        String razaoSocial,
+        BigDecimal capitalSocial,
+        BigDecimal capitalInvestido,
+        BigDecimal diferenca,
+        int quantidadeSocios) {
+}
@@ -0,0 +1,15 @@
+package br.com.contabills.model;
+
+/**
+ * Documento rejeitado na validação em lote.
+ *
+ * @param indice    posição do documento na lista enviada, a partir de zero
+ * @param documento documento informado
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record DocumentoInvalido(
+        int indice,
+        String documento) {
+}
@@ -2,28 +2,50 @@ package br.com.contabills.model;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Persistable;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import br.com.contabills.controller.EmpresaController;
 import br.com.contabills.controller.ParcelamentoController;
 import br.com.contabills.controller.SocioController;
+import br.com.contabills.busca.TextoNormalizado;
+import br.com.contabills.listener.EventosEntidadeListener;
+import br.com.contabills.listener.NormalizacaoListener;
+import br.com.contabills.listener.Normalizavel;
+import br.com.contabills.validacao.Cadastro;
+import br.com.contabills.validacao.Cnpj;
+import br.com.contabills.validacao.Documentos;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 /**
  * Classe que representa uma Empresa dentro do sistema Contabills.
@@ -31,6 +53,10 @@ import lombok.Data;
  * Esta entidade possui dados como razão social, CNPJ, endereço, sócios e
  * parcelamentos.
  * Ela também é usada em conjunto com Spring HATEOAS para expor links RESTful.
+ *
+ * Como o identificador ({@code apelidoId}) é informado pelo cliente, a
+ * entidade implementa {@link Persistable} para que o repositório saiba, pela
+ * versão, quando ela é nova e faça o INSERT direto, sem o SELECT do merge.
  * 
  * @author Gerson
  * @version 1.0
@@ -39,8 +65,15 @@ import lombok.Data;
 @Entity
 @Builder
 @AllArgsConstructor
-@Table(name = "T_C_EMPRESA")
-public class Empresa {
+@Table(name = "T_C_EMPRESA", indexes = {
+                @Index(name = "IDX_EMPRESA_UF_CIDADE_TIPO", columnList = "uf, cidade, tipoEmpresa"),
+                @Index(name = "IDX_EMPRESA_TIPO_FLAGS", columnList = "tipoEmpresa, possuiProcuracao, possuiCertificado"),
+                @Index(name = "IDX_EMPRESA_FLAGS", columnList = "possuiProcuracao, possuiCertificado"),
+                @Index(name = "IDX_EMPRESA_RAZAO_SOCIAL_NORM", columnList = "razaoSocialNormalizada"),
+                @Index(name = "IDX_EMPRESA_CNPJ_DIGITOS", columnList = "cnpjDigitos", unique = true)
+})
+@EntityListeners({ EventosEntidadeListener.class, NormalizacaoListener.class })
+public class Empresa implements Persistable<Long>, Normalizavel {
 
         /**
          * Construtor padrão necessário para frameworks e serialização.
@@ -55,13 +88,33 @@ public class Empresa {
         @NotBlank(message = "A razão social é obrigatória")
         private String razaoSocial;
 
+        @JsonIgnore
+        private String razaoSocialNormalizada;
+
+        @JsonIgnore
+        @ToString.Exclude
+        @EqualsAndHashCode.Exclude
+        @ElementCollection
+        @CollectionTable(name = "T_C_EMPRESA_TERMO",
+                        joinColumns = @JoinColumn(name = "empresa_id"),
+                        foreignKey = @ForeignKey(name = "FK_EMPRESA_TERMO_EMPRESA"),
+                        indexes = @Index(name = "IDX_EMPRESA_TERMO", columnList = "termo, empresa_id"))
+        @Column(name = "termo", nullable = false)
+        @OnDelete(action = OnDeleteAction.CASCADE)
+        private Set<String> termosBusca;
+
         @NotBlank(message = "O tipo de empresa é obrigatório")
         private String tipoEmpresa;
 
         @NotBlank(message = "O CNPJ é obrigatório")
-        @Pattern(regexp = "^[0-9]{2}\\.([0-9]{3})\\.([0-9]{3})\\/([0-9]{4})-([0-9]{2})$", message = "CNPJ inválido")
+        @Cnpj(digitosVerificadores = false)
+        @Cnpj(groups = Cadastro.class)
         private String cnpj;
 
+        @JsonIgnore
+        @Column(length = 14)
+        private String cnpjDigitos;
+
         @NotBlank(message = "O IPTU é obrigatório")
         private String iptu;
 
@@ -82,6 +135,10 @@ public class Empresa {
         @NotNull(message = "A informação de certificado é obrigatória")
         private boolean possuiCertificado;
 
+        @Version
+        @Column(nullable = false)
+        private Long versao;
+
         @Embedded
         @NotNull(message = "O endereço da empresa é obrigatório")
         private Endereco enderecoEmpresa;
@@ -94,6 +151,45 @@ public class Empresa {
         @JsonIgnoreProperties("empresa")
         private List<Parcelamento> parcelamentos;
 
+        /**
+         * Recalcula a razão social normalizada, os termos de busca da razão
+         * social e os dígitos do CNPJ usados nas buscas.
+         */
+        @Override
+        public void normalizar() {
+                String anterior = razaoSocialNormalizada;
+                razaoSocialNormalizada = TextoNormalizado.normalizar(razaoSocial);
+                termosBusca = Normalizavel.atualizar(termosBusca, anterior, razaoSocialNormalizada);
+                cnpjDigitos = Documentos.digitos(cnpj);
+        }
+
+        /**
+         * Retorna o identificador da empresa.
+         *
+         * @return o apelido da empresa
+         */
+        @Override
+        @JsonIgnore
+        public Long getId() {
+                return apelidoId;
+        }
+
+        /**
+         * Indica se a empresa ainda não foi persistida, o que ocorre enquanto
+         * ela não possui versão.
+         *
+         * Toda empresa gravada possui versão: as anteriores ao controle de
+         * versão recebem a versão 0 na migração V2, e o cadastro sempre limpa
+         * a versão recebida para que a empresa seja inserida.
+         *
+         * @return true se a empresa for nova
+         */
+        @Override
+        @JsonIgnore
+        public boolean isNew() {
+                return versao == null;
+        }
+
         /**
          * Adiciona um vínculo entre empresa e sócio. Também atualiza a referência
          * inversa.
@@ -119,7 +215,7 @@ public class Empresa {
                                 this,
                                 WebMvcLinkBuilder
                                                 .linkTo(WebMvcLinkBuilder.methodOn(EmpresaController.class)
-                                                                .get(apelidoId))
+                                                                .get(apelidoId, null))
                                                 .withSelfRel(),
                                 WebMvcLinkBuilder
                                                 .linkTo(WebMvcLinkBuilder.methodOn(EmpresaController.class)
@@ -127,7 +223,7 @@ public class Empresa {
                                                 .withRel("delete"),
                                 WebMvcLinkBuilder
                                                 .linkTo(WebMvcLinkBuilder.methodOn(EmpresaController.class)
-                                                                .index(Pageable.unpaged()))
+                                                                .index(null, Pageable.unpaged()))
                                                 .withRel("all"),
                                 WebMvcLinkBuilder
                                                 .linkTo(WebMvcLinkBuilder.methodOn(SocioController.class).index(null,
@@ -135,7 +231,7 @@ public class Empresa {
                                                 .withRel("socios"),
                                 WebMvcLinkBuilder
                                                 .linkTo(WebMvcLinkBuilder.methodOn(ParcelamentoController.class)
-                                                                .index(Pageable.unpaged()))
+                                                                .index(Pageable.unpaged(), false))
                                                 .withRel("parcelamentos"));
         }
 }
@@ -0,0 +1,17 @@
+package br.com.contabills.model;
+
+/**
+ * Empresa alcançada a partir de outra por meio de sócios em comum.
+ *
+ * @param empresaId  identificador (apelido) da empresa alcançada
+ * @param distancia  quantidade de saltos empresa-sócio-empresa até a origem
+ * @param viaSocioId sócio que liga a empresa à anterior no caminho mais curto
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record EmpresaRelacionada(
+        Long empresaId,
+        int distancia,
+        Long viaSocioId) {
+}
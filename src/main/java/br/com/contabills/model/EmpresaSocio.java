@@ -2,8 +2,12 @@ package br.com.contabills.model;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import br.com.contabills.listener.EventosEntidadeListener;
 import jakarta.persistence.EmbeddedId;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.ForeignKey;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.MapsId;
@@ -28,7 +32,8 @@ import lombok.Data;
 @Entity
 @Builder
 @AllArgsConstructor
-@Table(name = "T_C_EMPRESA_SOCIO")
+@Table(name = "T_C_EMPRESA_SOCIO", indexes = @Index(name = "IDX_EMPRESA_SOCIO_SOCIO", columnList = "socio_id"))
+@EntityListeners(EventosEntidadeListener.class)
 public class EmpresaSocio {
 
     /**
@@ -42,13 +47,13 @@ public class EmpresaSocio {
 
     @ManyToOne
     @MapsId("empresaId")
-    @JoinColumn(name = "empresa_id")
+    @JoinColumn(name = "empresa_id", foreignKey = @ForeignKey(name = "FK_EMPRESA_SOCIO_EMPRESA"))
     @JsonIgnoreProperties("empresaSocios")
     private Empresa empresa;
 
     @ManyToOne
     @MapsId("socioId")
-    @JoinColumn(name = "socio_id")
+    @JoinColumn(name = "socio_id", foreignKey = @ForeignKey(name = "FK_EMPRESA_SOCIO_SOCIO"))
     @JsonIgnoreProperties("empresaSocios")
     private Socio socio;
 
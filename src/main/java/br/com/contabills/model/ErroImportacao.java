@@ -0,0 +1,13 @@
+package br.com.contabills.model;
+
+/**
+ * Erro encontrado em uma linha do arquivo de importação.
+ *
+ * @param linha    número da linha no arquivo
+ * @param mensagem descrição dos problemas encontrados na linha
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record ErroImportacao(long linha, String mensagem) {
+}
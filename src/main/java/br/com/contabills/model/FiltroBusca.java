@@ -0,0 +1,28 @@
+package br.com.contabills.model;
+
+/**
+ * Critérios da busca textual. Os filtros informados são combinados com "e";
+ * os nulos são ignorados.
+ *
+ * @param q         texto buscado na razão social, nome, registro, CPF, CNPJ,
+ *                  tipo, profissão e endereço, ignorando acentos e
+ *                  maiúsculas. Aceita frases entre aspas, prefixos com
+ *                  {@code *}, exclusões com {@code -} e alternativas com
+ *                  {@code |}
+ * @param tipo      tipo da entidade
+ * @param categoria tipo da empresa ou do parcelamento
+ * @param uf        UF do endereço
+ * @param cidade    cidade do endereço
+ * @param empresaId empresa dos parcelamentos
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record FiltroBusca(
+        String q,
+        TipoEntidade tipo,
+        String categoria,
+        String uf,
+        String cidade,
+        Long empresaId) {
+}
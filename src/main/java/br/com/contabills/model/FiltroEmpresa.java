@@ -0,0 +1,39 @@
+package br.com.contabills.model;
+
+/**
+ * Critérios opcionais de filtragem da listagem de empresas. Os critérios
+ * informados são combinados com "e"; os nulos são ignorados.
+ *
+ * @param busca             termo buscado no início das palavras da razão
+ *                          social, ignorando acentos e maiúsculas
+ * @param tipoEmpresa       tipo da empresa
+ * @param uf                UF do endereço da empresa
+ * @param cidade            cidade do endereço da empresa
+ * @param possuiProcuracao  indica se a empresa possui procuração
+ * @param possuiCertificado indica se a empresa possui certificado digital
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record FiltroEmpresa(
+        String busca,
+        String tipoEmpresa,
+        String uf,
+        String cidade,
+        Boolean possuiProcuracao,
+        Boolean possuiCertificado) {
+
+    /**
+     * Indica se nenhum critério foi informado.
+     *
+     * @return {@code true} se todos os critérios forem nulos ou vazios
+     */
+    public boolean vazio() {
+        return isBlank(busca) && isBlank(tipoEmpresa) && isBlank(uf) && isBlank(cidade) && possuiProcuracao == null
+                && possuiCertificado == null;
+    }
+
+    private static boolean isBlank(String valor) {
+        return valor == null || valor.isBlank();
+    }
+}
@@ -0,0 +1,32 @@
+package br.com.contabills.model;
+
+import java.time.LocalDate;
+
+/**
+ * Linha da exportação do arquivo: uma parcela arquivada acompanhada dos dados
+ * do seu parcelamento.
+ *
+ * @param parcelamentoId         identificador do parcelamento
+ * @param registroDoParcelamento registro do parcelamento
+ * @param tipoParcelamento       tipo do parcelamento
+ * @param empresaId              identificador da empresa
+ * @param dataQuitacao           data de quitação do parcelamento
+ * @param parcelaId              identificador da parcela (nulo se não houver)
+ * @param numero                 número da parcela
+ * @param valor                  valor da parcela
+ * @param enviadoMesAtual        indica se a parcela foi enviada
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record LinhaArquivo(
+        Long parcelamentoId,
+        String registroDoParcelamento,
+        String tipoParcelamento,
+        Long empresaId,
+        LocalDate dataQuitacao,
+        Long parcelaId,
+        Integer numero,
+        Double valor,
+        Boolean enviadoMesAtual) {
+}
@@ -0,0 +1,18 @@
+package br.com.contabills.model;
+
+import java.util.List;
+
+/**
+ * Página de resultados navegada por cursor (keyset): a próxima página é obtida
+ * informando o {@code proximoCursor} recebido, sem o custo de deslocamento
+ * (offset) das páginas numeradas.
+ *
+ * @param <T>           tipo dos itens
+ * @param itens         itens da página
+ * @param proximoCursor cursor para a próxima página (nulo se não houver)
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record PaginaCursor<T>(List<T> itens, Long proximoCursor) {
+}
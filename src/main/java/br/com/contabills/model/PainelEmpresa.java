@@ -0,0 +1,27 @@
+package br.com.contabills.model;
+
+import java.util.List;
+
+/**
+ * Visão consolidada de uma empresa, montada com uma quantidade fixa de
+ * consultas independentemente da quantidade de sócios, parcelamentos e
+ * parcelas.
+ *
+ * @param empresa          dados cadastrais da empresa
+ * @param quantidadeSocios quantidade de sócios vinculados
+ * @param capitalInvestido soma do capital investido pelos sócios
+ * @param socios           sócios da empresa, em ordem de nome
+ * @param parcelamentos    parcelamentos da empresa com os totais das parcelas
+ * @param parcelas         totais de parcelas enviadas e pendentes da empresa
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record PainelEmpresa(
+        DadosEmpresa empresa,
+        int quantidadeSocios,
+        double capitalInvestido,
+        List<SocioEmpresa> socios,
+        List<ResumoParcelamento> parcelamentos,
+        ResumoParcelas parcelas) {
+}
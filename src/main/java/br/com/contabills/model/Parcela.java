@@ -1,5 +1,6 @@
 package br.com.contabills.model;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 import org.hibernate.annotations.CreationTimestamp;
@@ -11,13 +12,20 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import br.com.contabills.controller.ParcelaController;
 import br.com.contabills.controller.ParcelamentoController;
+import br.com.contabills.listener.EventosEntidadeListener;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -35,7 +43,11 @@ import lombok.Data;
 @Entity
 @Builder
 @AllArgsConstructor
-@Table(name = "T_C_PARCELA")
+@Table(name = "T_C_PARCELA", indexes = {
+        @Index(name = "IDX_PARCELA_VENCIMENTO", columnList = "dataVencimento"),
+        @Index(name = "IDX_PARCELA_PARCELAMENTO", columnList = "parcelamento_id")
+})
+@EntityListeners(EventosEntidadeListener.class)
 public class Parcela {
 
     /**
@@ -57,10 +69,19 @@ public class Parcela {
     @CreationTimestamp
     private LocalDateTime createdAt;
 
+    private LocalDate dataVencimento;
+
     private boolean enviadoMesAtual;
 
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
+    @Transient
+    private boolean arquivado;
+
     @ManyToOne
-    @JoinColumn(name = "parcelamento_id")
+    @JoinColumn(name = "parcelamento_id", foreignKey = @ForeignKey(name = "FK_PARCELA_PARCELAMENTO"))
     @JsonIgnoreProperties("parcelas")
     private Parcelamento parcelamento;
 
@@ -72,10 +93,10 @@ public class Parcela {
     public EntityModel<Parcela> toEntityModel() {
         return EntityModel.of(
             this,
-            WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(ParcelaController.class).get(id)).withSelfRel(),
+            WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(ParcelaController.class).get(id, null, false)).withSelfRel(),
             WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(ParcelaController.class).delete(id)).withRel("delete"),
-            WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(ParcelaController.class).index(Pageable.unpaged())).withRel("all"),
-            WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(ParcelamentoController.class).get(parcelamento.getId())).withRel("parcelamento")
+            WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(ParcelaController.class).index(Pageable.unpaged(), false)).withRel("all"),
+            WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(ParcelamentoController.class).get(parcelamento.getId(), null, false)).withRel("parcelamento")
         );
     }
 }
@@ -0,0 +1,47 @@
+package br.com.contabills.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Cópia de uma {@link Parcela} pertencente a um parcelamento arquivado.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@Data
+@Entity
+@Builder
+@AllArgsConstructor
+@Table(name = "T_C_PARCELA_ARQUIVO", indexes = @Index(name = "IDX_PARCELA_ARQUIVO_PARCELAMENTO", columnList = "parcelamentoId"))
+public class ParcelaArquivada {
+
+    /**
+     * Construtor padrão da classe ParcelaArquivada.
+     */
+    public ParcelaArquivada() {
+    }
+
+    @Id
+    private Long id;
+
+    private Integer numero;
+
+    private double valor;
+
+    private LocalDateTime createdAt;
+
+    private LocalDate dataVencimento;
+
+    private boolean enviadoMesAtual;
+
+    private Long parcelamentoId;
+}
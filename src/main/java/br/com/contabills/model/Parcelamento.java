@@ -1,5 +1,6 @@
 package br.com.contabills.model;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -11,14 +12,22 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 import br.com.contabills.controller.EmpresaController;
 import br.com.contabills.controller.ParcelamentoController;
+import br.com.contabills.listener.EventosEntidadeListener;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -29,6 +38,10 @@ import lombok.Data;
  * Representa um parcelamento de valores relacionado a uma {@link Empresa}.
  *
  * Contém o tipo de parcelamento, o registro e as parcelas vinculadas.
+ *
+ * Parcelamentos quitados há mais tempo que o período de retenção são movidos
+ * para o arquivo ({@link ParcelamentoArquivado}) pelo
+ * {@link br.com.contabills.service.ArquivoService}.
  * 
  * @author Gerson
  * @version 1.0
@@ -37,7 +50,11 @@ import lombok.Data;
 @Entity
 @Builder
 @AllArgsConstructor
-@Table(name = "T_C_PARCELAMENTO")
+@Table(name = "T_C_PARCELAMENTO", indexes = {
+                @Index(name = "IDX_PARCELAMENTO_EMPRESA", columnList = "empresa_apelido_id"),
+                @Index(name = "IDX_PARCELAMENTO_QUITACAO", columnList = "dataQuitacao")
+})
+@EntityListeners(EventosEntidadeListener.class)
 public class Parcelamento {
 
         /**
@@ -56,7 +73,17 @@ public class Parcelamento {
         @NotBlank(message = "O tipo de parcelamento é obrigatório")
         private String tipoParcelamento;
 
+        private LocalDate dataQuitacao;
+
+        @Version
+        @Column(nullable = false)
+        private Long versao;
+
+        @Transient
+        private boolean arquivado;
+
         @ManyToOne
+        @JoinColumn(foreignKey = @ForeignKey(name = "FK_PARCELAMENTO_EMPRESA"))
         @JsonIgnoreProperties("parcelamentos")
         private Empresa empresa;
 
@@ -73,18 +100,18 @@ public class Parcelamento {
                 return EntityModel.of(
                                 this,
                                 WebMvcLinkBuilder.linkTo(
-                                                WebMvcLinkBuilder.methodOn(ParcelamentoController.class).get(id))
+                                                WebMvcLinkBuilder.methodOn(ParcelamentoController.class).get(id, null, false))
                                                 .withSelfRel(),
                                 WebMvcLinkBuilder.linkTo(
                                                 WebMvcLinkBuilder.methodOn(ParcelamentoController.class).destroy(id))
                                                 .withRel("delete"),
                                 WebMvcLinkBuilder.linkTo(
                                                 WebMvcLinkBuilder.methodOn(ParcelamentoController.class)
-                                                                .index(Pageable.unpaged()))
+                                                                .index(Pageable.unpaged(), false))
                                                 .withRel("all"),
                                 WebMvcLinkBuilder.linkTo(
                                                 WebMvcLinkBuilder.methodOn(EmpresaController.class)
-                                                                .get(this.getEmpresa().getApelidoId()))
+                                                                .get(this.getEmpresa().getApelidoId(), null))
                                                 .withRel("empresa"));
         }
 }
@@ -0,0 +1,49 @@
+package br.com.contabills.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Cópia de um {@link Parcelamento} quitado que foi movido para o arquivo.
+ *
+ * Mantém o mesmo identificador do registro original e guarda apenas o
+ * identificador da empresa, para que o arquivo não dependa das tabelas
+ * principais.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@Data
+@Entity
+@Builder
+@AllArgsConstructor
+@Table(name = "T_C_PARCELAMENTO_ARQUIVO", indexes = @Index(name = "IDX_PARCELAMENTO_ARQUIVO_EMPRESA", columnList = "empresaId"))
+public class ParcelamentoArquivado {
+
+    /**
+     * Construtor padrão da classe ParcelamentoArquivado.
+     */
+    public ParcelamentoArquivado() {
+    }
+
+    @Id
+    private Long id;
+
+    private String registroDoParcelamento;
+
+    private String tipoParcelamento;
+
+    private Long empresaId;
+
+    private LocalDate dataQuitacao;
+
+    private LocalDateTime dataArquivamento;
+}
@@ -0,0 +1,23 @@
+package br.com.contabills.model;
+
+import java.util.List;
+
+/**
+ * Resultado de uma importação em lote.
+ *
+ * @param linhasProcessadas quantidade de linhas de dados lidas do arquivo
+ * @param linhasImportadas  quantidade de linhas gravadas com sucesso
+ * @param linhasComErro     quantidade de linhas rejeitadas
+ * @param erros             erros por linha, limitados ao máximo configurado
+ * @param errosTruncados    indica se parte dos erros foi omitida do relatório
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record RelatorioImportacao(
+        long linhasProcessadas,
+        long linhasImportadas,
+        long linhasComErro,
+        List<ErroImportacao> erros,
+        boolean errosTruncados) {
+}
@@ -0,0 +1,26 @@
+package br.com.contabills.model;
+
+import java.util.Map;
+
+/**
+ * Item encontrado pela busca textual.
+ *
+ * @param tipo       tipo da entidade
+ * @param id         identificador da entidade
+ * @param titulo     razão social, nome ou registro do parcelamento
+ * @param empresaId  empresa do parcelamento
+ * @param relevancia pontuação do item na busca
+ * @param destaques  trechos de cada campo encontrado, com os termos buscados
+ *                   entre {@code <b>} e {@code </b>}
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record ResultadoBusca(
+        TipoEntidade tipo,
+        Long id,
+        String titulo,
+        Long empresaId,
+        float relevancia,
+        Map<String, String> destaques) {
+}
@@ -0,0 +1,22 @@
+package br.com.contabills.model;
+
+import java.util.List;
+
+/**
+ * Resultado da validação em lote de CPFs e CNPJs.
+ *
+ * @param total               quantidade de documentos recebidos
+ * @param validos             quantidade de documentos válidos
+ * @param invalidos           quantidade de documentos inválidos
+ * @param documentosInvalidos documentos inválidos, na ordem em que foram
+ *                            enviados
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record ResultadoValidacao(
+        int total,
+        int validos,
+        int invalidos,
+        List<DocumentoInvalido> documentosInvalidos) {
+}
@@ -0,0 +1,36 @@
+package br.com.contabills.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Linha da listagem de parcelas, com o parcelamento identificado pelo ID e
+ * pelo registro, carregada por uma consulta de projeção em vez de serializar
+ * a entidade com o parcelamento e a empresa.
+ *
+ * @param id                     identificador da parcela
+ * @param numero                 número da parcela
+ * @param valor                  valor da parcela
+ * @param createdAt              data de criação
+ * @param dataVencimento         data de vencimento
+ * @param enviadoMesAtual        indica se a parcela do mês já foi enviada
+ * @param parcelamentoId         identificador do parcelamento
+ * @param registroDoParcelamento registro do parcelamento
+ * @param empresaId              identificador da empresa do parcelamento
+ * @param arquivado              indica se a parcela está no arquivo
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record ResumoParcela(
+        Long id,
+        Integer numero,
+        double valor,
+        LocalDateTime createdAt,
+        LocalDate dataVencimento,
+        boolean enviadoMesAtual,
+        Long parcelamentoId,
+        String registroDoParcelamento,
+        Long empresaId,
+        boolean arquivado) {
+}
@@ -0,0 +1,38 @@
+package br.com.contabills.model;
+
+import java.time.LocalDate;
+
+/**
+ * Linha da listagem de parcelamentos com os totais das suas parcelas,
+ * calculados por uma única consulta agrupada em vez de carregar a coleção de
+ * parcelas de cada parcelamento.
+ *
+ * @param id                     identificador do parcelamento
+ * @param registroDoParcelamento registro do parcelamento
+ * @param tipoParcelamento       tipo do parcelamento
+ * @param dataQuitacao           data de quitação (nula se não quitado)
+ * @param empresaId              identificador da empresa
+ * @param razaoSocial            razão social da empresa
+ * @param quantidadeParcelas     quantidade de parcelas
+ * @param quantidadeEnviadas     quantidade de parcelas enviadas
+ * @param valorTotal             soma dos valores das parcelas
+ * @param proximoVencimento      menor data de vencimento entre as parcelas
+ *                               pendentes
+ * @param arquivado              indica se o parcelamento está no arquivo
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record ResumoParcelamento(
+        Long id,
+        String registroDoParcelamento,
+        String tipoParcelamento,
+        LocalDate dataQuitacao,
+        Long empresaId,
+        String razaoSocial,
+        long quantidadeParcelas,
+        long quantidadeEnviadas,
+        double valorTotal,
+        LocalDate proximoVencimento,
+        boolean arquivado) {
+}
@@ -0,0 +1,22 @@
+package br.com.contabills.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Totais de parcelas de uma empresa ou de um parcelamento, separados pelo
+ * status de envio.
+ *
+ * @param quantidadeEnviadas quantidade de parcelas enviadas no mês atual
+ * @param quantidadePendentes quantidade de parcelas ainda não enviadas
+ * @param valorEnviado       soma dos valores das parcelas enviadas
+ * @param valorPendente      soma dos valores das parcelas pendentes
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record ResumoParcelas(
+        long quantidadeEnviadas,
+        long quantidadePendentes,
+        BigDecimal valorEnviado,
+        BigDecimal valorPendente) {
+}
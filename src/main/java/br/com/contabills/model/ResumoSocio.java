@@ -0,0 +1,33 @@
+package br.com.contabills.model;
+
+import java.time.LocalDate;
+
+/**
+ * Linha da listagem de sócios, com apenas as colunas exibidas na listagem,
+ * carregada por uma consulta de projeção em vez de serializar a entidade e os
+ * seus vínculos com empresas.
+ *
+ * @param id                identificador do sócio
+ * @param nome              nome do sócio
+ * @param cpf               CPF do sócio
+ * @param dataNascimento    data de nascimento
+ * @param profissao         profissão
+ * @param dataDeValidadeCnh data de validade da CNH
+ * @param cidade            cidade do endereço
+ * @param uf                UF do endereço
+ * @param versao            versão atual do registro
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record ResumoSocio(
+        Long id,
+        String nome,
+        String cpf,
+        LocalDate dataNascimento,
+        String profissao,
+        LocalDate dataDeValidadeCnh,
+        String cidade,
+        String uf,
+        Long versao) {
+}
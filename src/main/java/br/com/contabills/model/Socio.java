@@ -2,32 +2,52 @@ package br.com.contabills.model;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import org.springframework.data.domain.Pageable;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
+import br.com.contabills.busca.TextoNormalizado;
 import br.com.contabills.controller.EmpresaController;
 import br.com.contabills.controller.SocioController;
+import br.com.contabills.listener.EventosEntidadeListener;
+import br.com.contabills.listener.NormalizacaoListener;
+import br.com.contabills.listener.Normalizavel;
+import br.com.contabills.validacao.Cadastro;
+import br.com.contabills.validacao.Cpf;
+import br.com.contabills.validacao.Documentos;
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import jakarta.persistence.Version;
 import jakarta.validation.constraints.Future;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 /**
  * Representa um sócio de uma {@link Empresa}, contendo dados pessoais e
@@ -43,8 +63,13 @@ import lombok.NoArgsConstructor;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "T_C_SOCIO")
-public class Socio {
+@Table(name = "T_C_SOCIO", indexes = {
+        @Index(name = "IDX_SOCIO_VALIDADE_CNH", columnList = "dataDeValidadeCnh"),
+        @Index(name = "IDX_SOCIO_NOME_NORM", columnList = "nomeNormalizado"),
+        @Index(name = "IDX_SOCIO_CPF_DIGITOS", columnList = "cpfDigitos", unique = true)
+}, uniqueConstraints = @UniqueConstraint(name = "UK_SOCIO_CPF", columnNames = "cpf"))
+@EntityListeners({ EventosEntidadeListener.class, NormalizacaoListener.class })
+public class Socio implements Normalizavel {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -53,14 +78,33 @@ public class Socio {
     @NotBlank(message = "O nome é obrigatório")
     private String nome;
 
+    @JsonIgnore
+    private String nomeNormalizado;
+
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ElementCollection
+    @CollectionTable(name = "T_C_SOCIO_TERMO",
+            joinColumns = @JoinColumn(name = "socio_id"),
+            foreignKey = @ForeignKey(name = "FK_SOCIO_TERMO_SOCIO"),
+            indexes = @Index(name = "IDX_SOCIO_TERMO", columnList = "termo, socio_id"))
+    @Column(name = "termo", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Set<String> termosBusca;
+
     @NotNull(message = "A data de nascimento é obrigatória")
     private LocalDate dataNascimento;
 
     @NotBlank(message = "O CPF é obrigatório")
-    @Pattern(regexp = "^\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2}$", message = "CPF inválido")
-    @Column(unique = true)
+    @Cpf(digitosVerificadores = false)
+    @Cpf(groups = Cadastro.class)
     private String cpf;
 
+    @JsonIgnore
+    @Column(length = 11)
+    private String cpfDigitos;
+
     @NotBlank(message = "O RG é obrigatório")
     private String rg;
 
@@ -91,6 +135,10 @@ public class Socio {
     @NotBlank(message = "A profissão é obrigatória")
     private String profissao;
 
+    @Version
+    @Column(nullable = false)
+    private Long versao;
+
     @Embedded
     @NotNull(message = "O endereço do sócio é obrigatório")
     private Endereco enderecoSocio;
@@ -110,6 +158,18 @@ public class Socio {
         this.cpf = cpf;
     }
 
+    /**
+     * Recalcula o nome normalizado, os termos de busca do nome e os dígitos
+     * do CPF usados nas buscas.
+     */
+    @Override
+    public void normalizar() {
+        String anterior = nomeNormalizado;
+        nomeNormalizado = TextoNormalizado.normalizar(nome);
+        termosBusca = Normalizavel.atualizar(termosBusca, anterior, nomeNormalizado);
+        cpfDigitos = Documentos.digitos(cpf);
+    }
+
     /**
      * Constrói um modelo HATEOAS da entidade socio, incluindo os links
      * relacionados.
@@ -120,7 +180,7 @@ public class Socio {
     public EntityModel<Socio> toEntityModel() {
         EntityModel<Socio> entityModel = EntityModel.of(
                 this,
-                WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(SocioController.class).show(id)).withSelfRel(),
+                WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(SocioController.class).show(id, null)).withSelfRel(),
                 WebMvcLinkBuilder.linkTo(WebMvcLinkBuilder.methodOn(SocioController.class).delete(id))
                         .withRel("delete"),
                 WebMvcLinkBuilder
@@ -132,7 +192,7 @@ public class Socio {
             if (primeiraAssociacao != null && primeiraAssociacao.getEmpresa() != null) {
                 entityModel.add(WebMvcLinkBuilder
                         .linkTo(WebMvcLinkBuilder.methodOn(EmpresaController.class)
-                                .get(primeiraAssociacao.getEmpresa().getApelidoId()))
+                                .get(primeiraAssociacao.getEmpresa().getApelidoId(), null))
                         .withRel("empresa"));
             }
         }
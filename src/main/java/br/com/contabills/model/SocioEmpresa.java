@@ -0,0 +1,26 @@
+package br.com.contabills.model;
+
+import java.time.LocalDate;
+
+/**
+ * Sócio de uma empresa com os dados do seu vínculo, carregado por uma única
+ * consulta de projeção.
+ *
+ * @param socioId           identificador do sócio
+ * @param nome              nome do sócio
+ * @param cpf               CPF do sócio
+ * @param cargo             cargo do sócio na empresa
+ * @param capitalInvestido  capital investido pelo sócio na empresa
+ * @param dataDeValidadeCnh data de validade da CNH do sócio
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record SocioEmpresa(
+        Long socioId,
+        String nome,
+        String cpf,
+        String cargo,
+        double capitalInvestido,
+        LocalDate dataDeValidadeCnh) {
+}
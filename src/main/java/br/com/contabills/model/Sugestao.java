@@ -0,0 +1,19 @@
+package br.com.contabills.model;
+
+/**
+ * Item sugerido pelo autocompletar.
+ *
+ * @param tipo    tipo da entidade
+ * @param id      identificador da entidade
+ * @param rotulo  razão social ou nome
+ * @param detalhe CNPJ da empresa, CPF do sócio ou e-mail do usuário
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record Sugestao(
+        TipoEntidade tipo,
+        Long id,
+        String rotulo,
+        String detalhe) {
+}
@@ -0,0 +1,15 @@
+package br.com.contabills.model;
+
+/**
+ * Texto de um registro cuja coluna normalizada ainda não foi preenchida.
+ *
+ * @param id    identificador do registro
+ * @param texto texto original a ser normalizado
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record TextoPendente(
+        Long id,
+        String texto) {
+}
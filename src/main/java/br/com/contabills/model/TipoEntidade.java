@@ -0,0 +1,18 @@
+package br.com.contabills.model;
+
+/**
+ * Tipos de entidade retornados pelas buscas.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public enum TipoEntidade {
+    /** {@link Empresa}. */
+    EMPRESA,
+    /** {@link Socio}. */
+    SOCIO,
+    /** {@link Usuario}. */
+    USUARIO,
+    /** {@link Parcelamento}. */
+    PARCELAMENTO
+}
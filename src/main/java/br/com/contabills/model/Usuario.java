@@ -6,21 +6,37 @@ import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
 import java.time.LocalDate;
 import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 import org.springframework.data.domain.Pageable;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import br.com.contabills.busca.TextoNormalizado;
 import br.com.contabills.controller.UsuarioController;
+import br.com.contabills.listener.EventosEntidadeListener;
+import br.com.contabills.listener.NormalizacaoListener;
+import br.com.contabills.listener.Normalizavel;
+import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import jakarta.persistence.Transient;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
@@ -30,6 +46,8 @@ import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 /**
  * Entidade que representa um usuário do sistema.
@@ -46,8 +64,10 @@ import lombok.Data;
 @AllArgsConstructor
 @Builder
 @Entity
-@Table(name = "T_C_USUARIO")
-public class Usuario implements UserDetails {
+@Table(name = "T_C_USUARIO", indexes = @Index(name = "IDX_USUARIO_NOME_NORM", columnList = "nm_usuario_normalizado"),
+        uniqueConstraints = @UniqueConstraint(name = "UK_USUARIO_EMAIL", columnNames = "ds_email"))
+@EntityListeners({ EventosEntidadeListener.class, NormalizacaoListener.class })
+public class Usuario implements UserDetails, Normalizavel {
 
     /**
      * Construtor padrão
@@ -67,10 +87,28 @@ public class Usuario implements UserDetails {
     /** Nome completo do usuário. */
     private String nome;
 
+    @JsonIgnore
+    @Column(name = "nm_usuario_normalizado", length = 40)
+    /** Nome em minúsculas e sem acentos, mantido para as buscas. */
+    private String nomeNormalizado;
+
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ElementCollection
+    @CollectionTable(name = "T_C_USUARIO_TERMO",
+            joinColumns = @JoinColumn(name = "cd_usuario"),
+            foreignKey = @ForeignKey(name = "FK_USUARIO_TERMO_USUARIO"),
+            indexes = @Index(name = "IDX_USUARIO_TERMO", columnList = "termo, cd_usuario"))
+    @Column(name = "termo", length = 40, nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    /** Trechos do nome normalizado a partir de cada palavra, usados nas buscas. */
+    private Set<String> termosBusca;
+
     @NotBlank(message = "O email é obrigatório")
     @Email
     @Size(max = 100)
-    @Column(name = "ds_email", unique = true)
+    @Column(name = "ds_email")
     /** Endereço de e-mail do usuário, utilizado para login. */
     private String email;
 
@@ -114,6 +152,16 @@ public class Usuario implements UserDetails {
                 linkTo(methodOn(UsuarioController.class).index(null, Pageable.unpaged())).withRel("all"));
     }
 
+    /**
+     * Recalcula o nome normalizado e os termos de busca do nome.
+     */
+    @Override
+    public void normalizar() {
+        String anterior = nomeNormalizado;
+        nomeNormalizado = TextoNormalizado.normalizar(nome);
+        termosBusca = Normalizavel.atualizar(termosBusca, anterior, nomeNormalizado);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority("ROLE_USUARIO"));
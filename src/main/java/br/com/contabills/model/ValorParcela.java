@@ -0,0 +1,22 @@
+package br.com.contabills.model;
+
+/**
+ * Projeção enxuta de uma {@link Parcela} com os dados necessários para compor
+ * os totais de parcelas por empresa e por parcelamento.
+ *
+ * @param parcelaId       identificador da parcela
+ * @param parcelamentoId  identificador do parcelamento (pode ser nulo)
+ * @param empresaId       identificador da empresa (pode ser nulo)
+ * @param valor           valor da parcela
+ * @param enviadoMesAtual indica se a parcela foi enviada no mês atual
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record ValorParcela(
+        Long parcelaId,
+        Long parcelamentoId,
+        Long empresaId,
+        double valor,
+        boolean enviadoMesAtual) {
+}
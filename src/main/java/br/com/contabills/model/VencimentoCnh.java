@@ -0,0 +1,31 @@
+package br.com.contabills.model;
+
+import java.time.LocalDate;
+
+/**
+ * Projeção de um {@link Socio} com CNH próxima do vencimento, utilizada pela
+ * varredura de alertas de CNH.
+ *
+ * @param socioId           identificador do sócio
+ * @param nome              nome do sócio
+ * @param cpf               CPF do sócio
+ * @param cnh               número da CNH
+ * @param dataDeValidadeCnh data de validade da CNH
+ * @param empresaId         identificador da empresa vinculada, ou null se o
+ *                          sócio não possuir empresa
+ * @param razaoSocial       razão social da empresa
+ * @param email             e-mail da empresa
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record VencimentoCnh(
+        Long socioId,
+        String nome,
+        String cpf,
+        String cnh,
+        LocalDate dataDeValidadeCnh,
+        Long empresaId,
+        String razaoSocial,
+        String email) {
+}
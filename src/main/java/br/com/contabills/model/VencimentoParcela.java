@@ -0,0 +1,32 @@
+package br.com.contabills.model;
+
+import java.time.LocalDate;
+
+/**
+ * Projeção de uma {@link Parcela} pendente com vencimento próximo, utilizada
+ * pela varredura de alertas de vencimento.
+ *
+ * @param parcelaId              identificador da parcela
+ * @param numero                 número da parcela
+ * @param valor                  valor da parcela
+ * @param dataVencimento         data de vencimento da parcela
+ * @param parcelamentoId         identificador do parcelamento
+ * @param registroDoParcelamento registro do parcelamento
+ * @param empresaId              identificador da empresa
+ * @param razaoSocial            razão social da empresa
+ * @param email                  e-mail da empresa
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public record VencimentoParcela(
+        Long parcelaId,
+        Integer numero,
+        double valor,
+        LocalDate dataVencimento,
+        Long parcelamentoId,
+        String registroDoParcelamento,
+        Long empresaId,
+        String razaoSocial,
+        String email) {
+}
@@ -0,0 +1,32 @@
+package br.com.contabills.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import br.com.contabills.model.DadosEmpresa;
+import br.com.contabills.model.Empresa;
+
+/**
+ * Fragmento do {@link EmpresaRepository} para a listagem de empresas por
+ * projeção combinada com {@link Specification}.
+ *
+ * O {@code JpaSpecificationExecutor} sempre carrega as entidades; aqui a
+ * consulta seleciona apenas as colunas de {@link DadosEmpresa}, com os mesmos
+ * critérios de {@link EmpresaSpecifications}.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public interface EmpresaListagemRepository {
+
+    /**
+     * Lista os dados cadastrais das empresas que atendem à especificação, sem
+     * carregar as coleções de sócios e parcelamentos.
+     *
+     * @param especificacao critérios de filtragem, ou {@code null} para todas
+     * @param pageable      informações de paginação e ordenação
+     * @return página de {@link DadosEmpresa}
+     */
+    Page<DadosEmpresa> listarDados(Specification<Empresa> especificacao, Pageable pageable);
+}
@@ -0,0 +1,78 @@
+package br.com.contabills.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import br.com.contabills.model.DadosEmpresa;
+import br.com.contabills.model.Empresa;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Implementação do {@link EmpresaListagemRepository} com a Criteria API.
+ *
+ * A página é lida por uma consulta de projeção e o total por uma contagem com
+ * os mesmos critérios, omitida quando a própria página já determina o total.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public class EmpresaListagemRepositoryImpl implements EmpresaListagemRepository {
+
+    /**
+     * Construtor padrão.
+     */
+    public EmpresaListagemRepositoryImpl() {
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<DadosEmpresa> listarDados(Specification<Empresa> especificacao, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<DadosEmpresa> query = cb.createQuery(DadosEmpresa.class);
+        Root<Empresa> e = query.from(Empresa.class);
+        query.select(cb.construct(DadosEmpresa.class, e.get("apelidoId"), e.get("razaoSocial"),
+                e.get("tipoEmpresa"), e.get("cnpj"), e.get("iptu"), e.get("email"), e.get("telefone"),
+                e.get("capitalSocialEmpresa"), e.get("possuiProcuracao"), e.get("possuiCertificado"),
+                e.get("versao"), e.get("enderecoEmpresa")));
+        filtrar(query, e, cb, especificacao);
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), e, cb));
+        }
+        TypedQuery<DadosEmpresa> consulta = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            consulta.setFirstResult((int) pageable.getOffset()).setMaxResults(pageable.getPageSize());
+        }
+        List<DadosEmpresa> dados = consulta.getResultList();
+        return PageableExecutionUtils.getPage(dados, pageable, () -> contar(especificacao));
+    }
+
+    private long contar(Specification<Empresa> especificacao) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<Empresa> e = query.from(Empresa.class);
+        query.select(cb.count(e));
+        filtrar(query, e, cb, especificacao);
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static void filtrar(CriteriaQuery<?> query, Root<Empresa> e, CriteriaBuilder cb,
+            Specification<Empresa> especificacao) {
+        Predicate predicado = especificacao != null ? especificacao.toPredicate(e, query, cb) : null;
+        if (predicado != null) {
+            query.where(predicado);
+        }
+    }
+}
@@ -1,29 +1,313 @@
 package br.com.contabills.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import br.com.contabills.model.CapitalEmpresa;
+import br.com.contabills.model.DadosBusca;
+import br.com.contabills.model.DadosEmpresa;
+import br.com.contabills.model.DadosSugestao;
 import br.com.contabills.model.Empresa;
+import br.com.contabills.model.TextoPendente;
+import jakarta.persistence.QueryHint;
 
 /**
  * Interface de repositório para a entidade {@link Empresa}.
  * 
- * Fornece métodos para operações de persistência e consultas personalizadas.
+ * Fornece métodos para operações de persistência e consultas personalizadas,
+ * além da listagem filtrada pelas especificações de
+ * {@link EmpresaSpecifications}, feita por projeção em
+ * {@link EmpresaListagemRepository}.
  * 
  * 
  * @author Gerson
  * @version 1.0
  */
-public interface EmpresaRepository extends JpaRepository<Empresa, Long> {
+public interface EmpresaRepository
+        extends JpaRepository<Empresa, Long>, JpaSpecificationExecutor<Empresa>, EmpresaListagemRepository {
 
     /**
-     * Busca empresas cuja razão social contenha a string fornecida.
+     * Busca empresas em que alguma palavra da razão social começa com o termo
+     * informado, ignorando acentos e maiúsculas.
+     * 
+     * A comparação usa a tabela de termos da razão social
+     * ({@code termosBusca}), cujo índice atende a busca por prefixo com uma
+     * varredura de faixa.
      * 
-     * @param nome     parte do nome (razão social) a ser buscado
+     * @param termo    termo normalizado, sem acentos e em minúsculas e não
+     *                 vazio
      * @param pageable objeto para paginação dos resultados
      * @return página contendo as empresas encontradas
      */
-    Page<Empresa> findByRazaoSocialContaining(String nome, Pageable pageable);
+    @Query("""
+            select e from Empresa e
+            where e.apelidoId in (select t.apelidoId from Empresa t join t.termosBusca b
+                where b like concat(:termo, '%'))
+            """)
+    Page<Empresa> buscarPorRazaoSocial(@Param("termo") String termo, Pageable pageable);
+
+    /**
+     * Busca as empresas em que alguma palavra da razão social começa com o
+     * termo, retornando apenas os dados usados na busca global.
+     *
+     * @param termo  termo normalizado e não vazio
+     * @param limite quantidade máxima de empresas
+     * @return razão social e CNPJ das empresas encontradas
+     */
+    @Query("""
+            select new br.com.contabills.model.DadosSugestao(e.apelidoId, e.razaoSocial, e.cnpj)
+            from Empresa e
+            where e.apelidoId in (select t.apelidoId from Empresa t join t.termosBusca b
+                where b like concat(:termo, '%'))
+            order by e.razaoSocialNormalizada
+            """)
+    List<DadosSugestao> buscarSugestoes(@Param("termo") String termo, Limit limite);
+
+    /**
+     * Busca as empresas cuja razão social normalizada ainda não foi
+     * preenchida.
+     * 
+     * @param limite quantidade máxima de registros
+     * @return ID e razão social das empresas pendentes
+     */
+    @Query("""
+            select new br.com.contabills.model.TextoPendente(e.apelidoId, e.razaoSocial) from Empresa e
+            where e.razaoSocialNormalizada is null and e.razaoSocial is not null order by e.apelidoId
+            """)
+    List<TextoPendente> findRazoesSociaisNaoNormalizadas(Limit limite);
+
+    /**
+     * Grava a razão social normalizada da empresa sem passar pelo controle de
+     * versão.
+     * 
+     * @param id          ID da empresa
+     * @param normalizada razão social normalizada
+     * @return quantidade de registros atualizados
+     */
+    @Modifying
+    @Query("update Empresa e set e.razaoSocialNormalizada = :normalizada where e.apelidoId = :id")
+    int atualizarRazaoSocialNormalizada(@Param("id") Long id, @Param("normalizada") String normalizada);
+
+    /**
+     * Exclui os termos de busca da razão social da empresa sem passar pelo
+     * controle de versão.
+     * 
+     * @param id ID da empresa
+     * @return quantidade de termos excluídos
+     */
+    @Modifying
+    @Query(value = "delete from t_c_empresa_termo where empresa_id = :id", nativeQuery = true)
+    int excluirTermosBusca(@Param("id") Long id);
+
+    /**
+     * Grava um termo de busca da razão social da empresa sem passar pelo
+     * controle de versão.
+     * 
+     * @param id    ID da empresa
+     * @param termo trecho da razão social normalizada
+     * @return quantidade de termos gravados
+     */
+    @Modifying
+    @Query(value = "insert into t_c_empresa_termo (empresa_id, termo) values (:id, :termo)", nativeQuery = true)
+    int inserirTermoBusca(@Param("id") Long id, @Param("termo") String termo);
+
+    /**
+     * Busca as empresas cujos dígitos do CNPJ ainda não foram preenchidos.
+     * 
+     * @param limite quantidade máxima de registros
+     * @return ID e CNPJ das empresas pendentes
+     */
+    @Query("""
+            select new br.com.contabills.model.TextoPendente(e.apelidoId, e.cnpj) from Empresa e
+            where e.cnpjDigitos is null and e.cnpj is not null order by e.apelidoId
+            """)
+    List<TextoPendente> findCnpjsSemDigitos(Limit limite);
+
+    /**
+     * Grava os dígitos do CNPJ da empresa sem passar pelo controle de versão.
+     * 
+     * @param id      ID da empresa
+     * @param digitos somente os dígitos do CNPJ
+     * @return quantidade de registros atualizados
+     */
+    @Modifying
+    @Query("update Empresa e set e.cnpjDigitos = :digitos where e.apelidoId = :id")
+    int atualizarCnpjDigitos(@Param("id") Long id, @Param("digitos") String digitos);
+
+    /**
+     * Busca uma empresa pelos dígitos do CNPJ, usando o índice único da coluna
+     * {@code cnpjDigitos}.
+     * 
+     * @param cnpjDigitos somente os dígitos do CNPJ
+     * @return Optional contendo a empresa, se encontrada
+     */
+    Optional<Empresa> findByCnpjDigitos(String cnpjDigitos);
+
+    /**
+     * Verifica se já existe uma empresa cadastrada com o CNPJ informado, em
+     * qualquer formato.
+     * 
+     * @param cnpjDigitos somente os dígitos do CNPJ
+     * @return true se existir, false caso contrário
+     */
+    boolean existsByCnpjDigitos(String cnpjDigitos);
+
+    /**
+     * Verifica se já existe outra empresa cadastrada com o CNPJ informado, em
+     * qualquer formato.
+     * 
+     * @param cnpjDigitos somente os dígitos do CNPJ
+     * @param apelidoId   ID da empresa a desconsiderar
+     * @return true se existir, false caso contrário
+     */
+    boolean existsByCnpjDigitosAndApelidoIdNot(String cnpjDigitos, Long apelidoId);
+
+    /**
+     * Retorna, entre os dígitos de CNPJ informados, os que já pertencem a
+     * alguma empresa.
+     * 
+     * @param cnpjsDigitos somente os dígitos dos CNPJs a verificar
+     * @return dígitos dos CNPJs já cadastrados
+     */
+    @Query("select e.cnpjDigitos from Empresa e where e.cnpjDigitos in :cnpjs")
+    List<String> findCnpjsDigitosExistentes(@Param("cnpjs") Collection<String> cnpjsDigitos);
+
+    /**
+     * Retorna, entre os IDs informados, os que já pertencem a alguma empresa.
+     * 
+     * @param ids IDs (apelidos) a verificar
+     * @return IDs já cadastrados
+     */
+    @Query("select e.apelidoId from Empresa e where e.apelidoId in :ids")
+    List<Long> findIdsExistentes(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Percorre todas as empresas em modo streaming, ordenadas pelo ID, para
+     * exportação.
+     * 
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * 
+     * @return stream com as empresas
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select e from Empresa e order by e.apelidoId")
+    Stream<Empresa> streamTodas();
+
+    /**
+     * Retorna o menor ID de empresa cadastrado.
+     * 
+     * @return menor ID, ou null se não houver empresas
+     */
+    @Query("select min(e.apelidoId) from Empresa e")
+    Long findMenorId();
 
+    /**
+     * Retorna o maior ID de empresa cadastrado.
+     * 
+     * @return maior ID, ou null se não houver empresas
+     */
+    @Query("select max(e.apelidoId) from Empresa e")
+    Long findMaiorId();
+
+    /**
+     * Percorre em modo streaming o capital social declarado das empresas com ID
+     * na faixa informada.
+     * 
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * 
+     * @param inicio menor ID da faixa (inclusivo)
+     * @param fim    maior ID da faixa (inclusivo)
+     * @return stream com a projeção {@link CapitalEmpresa} de cada empresa
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new br.com.contabills.model.CapitalEmpresa(e.apelidoId, e.razaoSocial, e.capitalSocialEmpresa)
+            from Empresa e where e.apelidoId between :inicio and :fim
+            """)
+    Stream<CapitalEmpresa> streamCapitais(@Param("inicio") Long inicio, @Param("fim") Long fim);
+
+
+    /**
+     * Busca os dados cadastrais da empresa, sem carregar as coleções de
+     * sócios e parcelamentos.
+     * 
+     * @param id ID da empresa
+     * @return Optional contendo os dados da empresa, se encontrada
+     */
+    @Query("""
+            select new br.com.contabills.model.DadosEmpresa(e.apelidoId, e.razaoSocial, e.tipoEmpresa, e.cnpj,
+                e.iptu, e.email, e.telefone, e.capitalSocialEmpresa, e.possuiProcuracao, e.possuiCertificado,
+                e.versao, e.enderecoEmpresa)
+            from Empresa e where e.apelidoId = :id
+            """)
+    Optional<DadosEmpresa> findDadosPorId(@Param("id") Long id);
+
+    /**
+     * Percorre em modo streaming a razão social e o CNPJ de todas as
+     * empresas, usados para montar o índice do autocompletar.
+     * 
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * 
+     * @return stream com a projeção {@link DadosSugestao} de cada empresa
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new br.com.contabills.model.DadosSugestao(e.apelidoId, e.razaoSocial, e.cnpj)
+            from Empresa e
+            """)
+    Stream<DadosSugestao> streamSugestoes();
+
+    /**
+     * Percorre em modo streaming os dados textuais de todas as empresas, usados para montar o índice
+     * da busca textual.
+     * 
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * 
+     * @return stream com a projeção {@link DadosBusca}
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new br.com.contabills.model.DadosBusca(e.apelidoId, e.razaoSocial, e.cnpj, e.tipoEmpresa, null,
+                e.enderecoEmpresa, null)
+            from Empresa e
+            """)
+    Stream<DadosBusca> streamDadosBusca();
+
+    /**
+     * Exclui a empresa em um único comando, sem carregar a entidade. Os
+     * vínculos com sócios devem ser excluídos antes.
+     * 
+     * @param id ID da empresa
+     * @return quantidade de empresas excluídas
+     */
+    @Modifying
+    @Query("delete from Empresa e where e.apelidoId = :id")
+    int excluirPorId(@Param("id") Long id);
 }
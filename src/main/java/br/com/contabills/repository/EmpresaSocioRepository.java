@@ -0,0 +1,122 @@
+package br.com.contabills.repository;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import br.com.contabills.model.CapitalVinculo;
+import br.com.contabills.model.EmpresaSocio;
+import br.com.contabills.model.EmpresaSocioId;
+import br.com.contabills.model.SocioEmpresa;
+import jakarta.persistence.QueryHint;
+
+/**
+ * Interface de repositório para a entidade {@link EmpresaSocio}.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public interface EmpresaSocioRepository extends JpaRepository<EmpresaSocio, EmpresaSocioId> {
+
+    /**
+     * Percorre todos os vínculos entre empresas e sócios em modo streaming,
+     * retornando somente as chaves.
+     *
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return stream com as chaves dos vínculos
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new br.com.contabills.model.EmpresaSocioId(es.id.empresaId, es.id.socioId) from EmpresaSocio es")
+    Stream<EmpresaSocioId> streamChaves();
+
+    /**
+     * Percorre em modo streaming o capital investido nos vínculos das empresas
+     * com ID na faixa informada.
+     *
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @param inicio menor ID de empresa da faixa (inclusivo)
+     * @param fim    maior ID de empresa da faixa (inclusivo)
+     * @return stream com a projeção {@link CapitalVinculo} de cada vínculo
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new br.com.contabills.model.CapitalVinculo(es.id.empresaId, es.id.socioId, es.capitalInvestido)
+            from EmpresaSocio es where es.id.empresaId between :inicio and :fim
+            """)
+    Stream<CapitalVinculo> streamCapitais(@Param("inicio") Long inicio, @Param("fim") Long fim);
+
+    /**
+     * Lista os sócios da empresa informada com os dados de cada vínculo.
+     *
+     * @param empresaId ID da empresa
+     * @return sócios da empresa, em ordem de nome
+     */
+    @Query("""
+            select new br.com.contabills.model.SocioEmpresa(s.id, s.nome, s.cpf, es.cargo, es.capitalInvestido,
+                s.dataDeValidadeCnh)
+            from EmpresaSocio es join es.socio s
+            where es.id.empresaId = :empresaId
+            order by s.nome, s.id
+            """)
+    List<SocioEmpresa> findSociosPorEmpresa(@Param("empresaId") Long empresaId);
+
+    /**
+     * Retorna as chaves dos vínculos do sócio informado.
+     *
+     * @param socioId ID do sócio
+     * @return chaves dos vínculos do sócio
+     */
+    @Query("""
+            select new br.com.contabills.model.EmpresaSocioId(es.id.empresaId, es.id.socioId)
+            from EmpresaSocio es where es.id.socioId = :socioId
+            """)
+    List<EmpresaSocioId> findChavesPorSocio(@Param("socioId") Long socioId);
+
+    /**
+     * Retorna as chaves dos vínculos da empresa informada.
+     *
+     * @param empresaId ID da empresa
+     * @return chaves dos vínculos da empresa
+     */
+    @Query("""
+            select new br.com.contabills.model.EmpresaSocioId(es.id.empresaId, es.id.socioId)
+            from EmpresaSocio es where es.id.empresaId = :empresaId
+            """)
+    List<EmpresaSocioId> findChavesPorEmpresa(@Param("empresaId") Long empresaId);
+
+    /**
+     * Exclui em um único comando todos os vínculos do sócio informado.
+     *
+     * @param socioId ID do sócio
+     * @return quantidade de vínculos excluídos
+     */
+    @Modifying
+    @Query("delete from EmpresaSocio es where es.id.socioId = :socioId")
+    int excluirPorSocio(@Param("socioId") Long socioId);
+
+    /**
+     * Exclui em um único comando todos os vínculos da empresa informada.
+     *
+     * @param empresaId ID da empresa
+     * @return quantidade de vínculos excluídos
+     */
+    @Modifying
+    @Query("delete from EmpresaSocio es where es.id.empresaId = :empresaId")
+    int excluirPorEmpresa(@Param("empresaId") Long empresaId);
+}
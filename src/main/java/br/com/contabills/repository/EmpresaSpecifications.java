@@ -0,0 +1,76 @@
+package br.com.contabills.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import br.com.contabills.busca.TextoNormalizado;
+import br.com.contabills.model.Empresa;
+import br.com.contabills.model.FiltroEmpresa;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+
+/**
+ * Fábrica de {@link Specification} para a listagem filtrada de empresas.
+ *
+ * Todos os critérios são comparações de igualdade sobre as colunas sem
+ * funções aplicadas, de modo que o banco de dados possa usar os índices
+ * compostos declarados em {@link Empresa}. A comparação de texto segue a
+ * collation da coluna, que no MySQL já ignora maiúsculas e minúsculas. A
+ * busca textual usa a razão social normalizada, com a mesma regra de
+ * {@link EmpresaRepository#buscarPorRazaoSocial}.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public final class EmpresaSpecifications {
+
+    private EmpresaSpecifications() {
+    }
+
+    /**
+     * Cria a especificação correspondente aos critérios informados.
+     *
+     * @param filtro critérios de filtragem
+     * @return especificação que combina os critérios informados com "e"
+     */
+    public static Specification<Empresa> filtrar(FiltroEmpresa filtro) {
+        return (root, query, cb) -> {
+            List<Predicate> predicados = new ArrayList<>();
+            String termo = TextoNormalizado.normalizar(filtro.busca());
+            if (termo != null && !termo.isEmpty()) {
+                Subquery<Long> comTermo = query.subquery(Long.class);
+                Root<Empresa> empresa = comTermo.from(Empresa.class);
+                Join<Empresa, String> termos = empresa.join("termosBusca");
+                comTermo.select(empresa.get("apelidoId")).where(cb.like(termos, termo + "%"));
+                predicados.add(root.get("apelidoId").in(comTermo));
+            }
+            Path<Object> endereco = root.get("enderecoEmpresa");
+            if (informado(filtro.uf())) {
+                predicados.add(cb.equal(endereco.get("uf"), filtro.uf().trim().toUpperCase(Locale.ROOT)));
+            }
+            if (informado(filtro.cidade())) {
+                predicados.add(cb.equal(endereco.get("cidade"), filtro.cidade().trim()));
+            }
+            if (informado(filtro.tipoEmpresa())) {
+                predicados.add(cb.equal(root.get("tipoEmpresa"), filtro.tipoEmpresa().trim()));
+            }
+            if (filtro.possuiProcuracao() != null) {
+                predicados.add(cb.equal(root.get("possuiProcuracao"), filtro.possuiProcuracao()));
+            }
+            if (filtro.possuiCertificado() != null) {
+                predicados.add(cb.equal(root.get("possuiCertificado"), filtro.possuiCertificado()));
+            }
+            return cb.and(predicados.toArray(Predicate[]::new));
+        };
+    }
+
+    private static boolean informado(String valor) {
+        return valor != null && !valor.isBlank();
+    }
+}
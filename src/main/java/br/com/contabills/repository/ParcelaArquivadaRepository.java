@@ -0,0 +1,53 @@
+package br.com.contabills.repository;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import br.com.contabills.model.LinhaArquivo;
+import br.com.contabills.model.ParcelaArquivada;
+import jakarta.persistence.QueryHint;
+
+/**
+ * Interface de repositório para a entidade {@link ParcelaArquivada}.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public interface ParcelaArquivadaRepository extends JpaRepository<ParcelaArquivada, Long> {
+
+    /**
+     * Busca as parcelas arquivadas dos parcelamentos informados.
+     *
+     * @param parcelamentoIds identificadores dos parcelamentos arquivados
+     * @return parcelas arquivadas
+     */
+    List<ParcelaArquivada> findByParcelamentoIdIn(Collection<Long> parcelamentoIds);
+
+    /**
+     * Percorre todo o arquivo em modo streaming, uma linha por parcela, para
+     * exportação.
+     *
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     *
+     * @return stream com as linhas do arquivo
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new br.com.contabills.model.LinhaArquivo(a.id, a.registroDoParcelamento, a.tipoParcelamento,
+                a.empresaId, a.dataQuitacao, p.id, p.numero, p.valor, p.enviadoMesAtual)
+            from ParcelamentoArquivado a left join ParcelaArquivada p on p.parcelamentoId = a.id
+            order by a.id, p.numero
+            """)
+    Stream<LinhaArquivo> streamLinhas();
+}
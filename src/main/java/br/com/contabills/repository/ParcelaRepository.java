@@ -1,8 +1,27 @@
 package br.com.contabills.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import br.com.contabills.model.Parcela;
+import br.com.contabills.model.ResumoParcela;
+import br.com.contabills.model.ValorParcela;
+import br.com.contabills.model.VencimentoParcela;
+import jakarta.persistence.QueryHint;
 
 /**
  * Interface de repositório para a entidade {@link Parcela}.
@@ -15,4 +34,125 @@ import br.com.contabills.model.Parcela;
  * @version 1.0
  */
 public interface ParcelaRepository extends JpaRepository<Parcela, Long> {
+
+    /**
+     * Lista as parcelas com o ID e o registro do parcelamento, sem carregar o
+     * parcelamento nem a empresa.
+     *
+     * @param pageable informações de paginação e ordenação
+     * @return página de {@link ResumoParcela}
+     */
+    @Query(value = """
+            select new br.com.contabills.model.ResumoParcela(p.id, p.numero, p.valor, p.createdAt,
+                p.dataVencimento, p.enviadoMesAtual, pc.id, pc.registroDoParcelamento, pc.empresa.apelidoId,
+                false)
+            from Parcela p left join p.parcelamento pc
+            """, countQuery = "select count(p) from Parcela p")
+    Page<ResumoParcela> listarResumos(Pageable pageable);
+
+    /**
+     * Busca as parcelas de um parcelamento com identificador maior que o
+     * cursor informado, em ordem crescente (paginação por keyset), sem
+     * carregar o parcelamento nem a empresa.
+     * 
+     * @param parcelamentoId identificador do parcelamento
+     * @param cursor         último identificador já retornado
+     * @param limite         quantidade máxima de parcelas
+     * @return página de {@link ResumoParcela}
+     */
+    @Query("""
+            select new br.com.contabills.model.ResumoParcela(p.id, p.numero, p.valor, p.createdAt,
+                p.dataVencimento, p.enviadoMesAtual, pc.id, pc.registroDoParcelamento, pc.empresa.apelidoId,
+                false)
+            from Parcela p join p.parcelamento pc
+            where pc.id = :parcelamentoId and p.id > :cursor
+            order by p.id
+            """)
+    List<ResumoParcela> listarResumosAposCursor(@Param("parcelamentoId") Long parcelamentoId,
+            @Param("cursor") Long cursor, Limit limite);
+
+    /**
+     * Percorre os valores de todas as parcelas em modo streaming, sem carregar
+     * as entidades no contexto de persistência.
+     * 
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * 
+     * @return stream com a projeção {@link ValorParcela} de cada parcela
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new br.com.contabills.model.ValorParcela(p.id, pc.id, e.apelidoId, p.valor, p.enviadoMesAtual)
+            from Parcela p left join p.parcelamento pc left join pc.empresa e
+            """)
+    Stream<ValorParcela> streamValores();
+
+    /**
+     * Percorre todas as parcelas em modo streaming, ordenadas pelo ID, já com o
+     * parcelamento e a empresa carregados na mesma consulta, para exportação.
+     * 
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * 
+     * @return stream com as parcelas
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select p from Parcela p left join fetch p.parcelamento pc left join fetch pc.empresa
+            order by p.id
+            """)
+    Stream<Parcela> streamTodas();
+
+    /**
+     * Copia as parcelas dos parcelamentos informados para a tabela de arquivo.
+     *
+     * @param parcelamentoIds identificadores dos parcelamentos
+     * @return quantidade de registros copiados
+     */
+    @Modifying
+    @Query("""
+            insert into ParcelaArquivada (id, numero, valor, createdAt, dataVencimento, enviadoMesAtual, parcelamentoId)
+            select p.id, p.numero, p.valor, p.createdAt, p.dataVencimento, p.enviadoMesAtual, p.parcelamento.id
+            from Parcela p
+            where p.parcelamento.id in :parcelamentoIds
+            """)
+    int arquivarPorParcelamentos(@Param("parcelamentoIds") Collection<Long> parcelamentoIds);
+
+    /**
+     * Exclui as parcelas dos parcelamentos informados sem carregá-las no
+     * contexto de persistência.
+     *
+     * @param parcelamentoIds identificadores dos parcelamentos
+     * @return quantidade de registros excluídos
+     */
+    @Modifying
+    @Query("delete from Parcela p where p.parcelamento.id in :parcelamentoIds")
+    int excluirPorParcelamentos(@Param("parcelamentoIds") Collection<Long> parcelamentoIds);
+
+    /**
+     * Percorre em modo streaming as parcelas ainda não enviadas com vencimento
+     * no período informado, ordenadas por empresa e data de vencimento.
+     * 
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * 
+     * @param inicio primeira data de vencimento considerada
+     * @param fim    última data de vencimento considerada
+     * @return stream com a projeção {@link VencimentoParcela} de cada parcela
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new br.com.contabills.model.VencimentoParcela(p.id, p.numero, p.valor, p.dataVencimento,
+                pc.id, pc.registroDoParcelamento, e.apelidoId, e.razaoSocial, e.email)
+            from Parcela p join p.parcelamento pc join pc.empresa e
+            where p.dataVencimento between :inicio and :fim and p.enviadoMesAtual = false
+            order by e.apelidoId, p.dataVencimento, p.id
+            """)
+    Stream<VencimentoParcela> streamVencimentos(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim);
 }
@@ -0,0 +1,42 @@
+package br.com.contabills.repository;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import java.util.stream.Stream;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import br.com.contabills.model.DadosBusca;
+import br.com.contabills.model.ParcelamentoArquivado;
+import jakarta.persistence.QueryHint;
+
+/**
+ * Interface de repositório para a entidade {@link ParcelamentoArquivado}.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public interface ParcelamentoArquivadoRepository extends JpaRepository<ParcelamentoArquivado, Long> {
+
+    /**
+     * Percorre em modo streaming os dados textuais de todos os parcelamentos
+     * arquivados, usados para montar o índice da busca textual.
+     * 
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * 
+     * @return stream com a projeção {@link DadosBusca}
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new br.com.contabills.model.DadosBusca(p.id, p.registroDoParcelamento, null, p.tipoParcelamento,
+                null, null, p.empresaId)
+            from ParcelamentoArquivado p
+            """)
+    Stream<DadosBusca> streamDadosBusca();
+}
@@ -1,8 +1,27 @@
 package br.com.contabills.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import br.com.contabills.model.DadosBusca;
 import br.com.contabills.model.Parcelamento;
+import br.com.contabills.model.ResumoParcelamento;
+import jakarta.persistence.QueryHint;
 
 /**
  * Interface de repositório para a entidade {@link Parcelamento}.
@@ -15,4 +34,103 @@ import br.com.contabills.model.Parcelamento;
  */
 public interface ParcelamentoRepository extends JpaRepository<Parcelamento, Long> {
 
+    /**
+     * Lista os parcelamentos com os totais das suas parcelas em uma única
+     * consulta agrupada.
+     *
+     * @param pageable informações de paginação e ordenação
+     * @return página de {@link ResumoParcelamento}
+     */
+    @Query(value = """
+            select new br.com.contabills.model.ResumoParcelamento(pc.id, pc.registroDoParcelamento,
+                pc.tipoParcelamento, pc.dataQuitacao, e.apelidoId, e.razaoSocial, count(p.id),
+                coalesce(sum(case when p.enviadoMesAtual = true then 1 else 0 end), 0),
+                coalesce(sum(p.valor), 0.0),
+                min(case when p.enviadoMesAtual = false then p.dataVencimento end),
+                false)
+            from Parcelamento pc left join pc.empresa e left join pc.parcelas p
+            group by pc.id, pc.registroDoParcelamento, pc.tipoParcelamento, pc.dataQuitacao,
+                e.apelidoId, e.razaoSocial
+            """, countQuery = "select count(pc) from Parcelamento pc")
+    Page<ResumoParcelamento> listarResumos(Pageable pageable);
+
+    /**
+     * Lista os parcelamentos da empresa informada com os totais das suas
+     * parcelas em uma única consulta agrupada.
+     *
+     * @param empresaId identificador (apelido) da empresa
+     * @return parcelamentos da empresa, em ordem de ID
+     */
+    @Query("""
+            select new br.com.contabills.model.ResumoParcelamento(pc.id, pc.registroDoParcelamento,
+                pc.tipoParcelamento, pc.dataQuitacao, e.apelidoId, e.razaoSocial, count(p.id),
+                coalesce(sum(case when p.enviadoMesAtual = true then 1 else 0 end), 0),
+                coalesce(sum(p.valor), 0.0),
+                min(case when p.enviadoMesAtual = false then p.dataVencimento end),
+                false)
+            from Parcelamento pc join pc.empresa e left join pc.parcelas p
+            where e.apelidoId = :empresaId
+            group by pc.id, pc.registroDoParcelamento, pc.tipoParcelamento, pc.dataQuitacao,
+                e.apelidoId, e.razaoSocial
+            order by pc.id
+            """)
+    List<ResumoParcelamento> listarResumosPorEmpresa(@Param("empresaId") Long empresaId);
+
+    /**
+     * Busca os identificadores dos parcelamentos quitados até a data informada,
+     * em ordem crescente.
+     *
+     * @param limite data de quitação máxima
+     * @param lote   quantidade máxima de identificadores retornados
+     * @return identificadores dos parcelamentos quitados
+     */
+    @Query("select p.id from Parcelamento p where p.dataQuitacao <= :limite order by p.id")
+    List<Long> findIdsQuitadosAte(@Param("limite") LocalDate limite, Limit lote);
+
+    /**
+     * Copia os parcelamentos informados para a tabela de arquivo.
+     *
+     * @param ids  identificadores dos parcelamentos
+     * @param data data e hora do arquivamento
+     * @return quantidade de registros copiados
+     */
+    @Modifying
+    @Query("""
+            insert into ParcelamentoArquivado
+                (id, registroDoParcelamento, tipoParcelamento, empresaId, dataQuitacao, dataArquivamento)
+            select p.id, p.registroDoParcelamento, p.tipoParcelamento, e.apelidoId, p.dataQuitacao, :data
+            from Parcelamento p left join p.empresa e
+            where p.id in :ids
+            """)
+    int arquivar(@Param("ids") Collection<Long> ids, @Param("data") LocalDateTime data);
+
+    /**
+     * Exclui os parcelamentos informados sem carregá-los no contexto de
+     * persistência.
+     *
+     * @param ids identificadores dos parcelamentos
+     * @return quantidade de registros excluídos
+     */
+    @Modifying
+    @Query("delete from Parcelamento p where p.id in :ids")
+    int excluirPorIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Percorre em modo streaming os dados textuais de todos os parcelamentos
+     * ativos, usados para montar o índice da busca textual.
+     * 
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * 
+     * @return stream com a projeção {@link DadosBusca}
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new br.com.contabills.model.DadosBusca(p.id, p.registroDoParcelamento, null, p.tipoParcelamento,
+                null, null, p.empresa.apelidoId)
+            from Parcelamento p
+            """)
+    Stream<DadosBusca> streamDadosBusca();
 }
@@ -1,12 +1,30 @@
 package br.com.contabills.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import br.com.contabills.model.DadosBusca;
+import br.com.contabills.model.DadosSugestao;
+import br.com.contabills.model.ResumoSocio;
 import br.com.contabills.model.Socio;
+import br.com.contabills.model.TextoPendente;
+import br.com.contabills.model.VencimentoCnh;
+import jakarta.persistence.QueryHint;
 
 /**
  * Interface de repositório para a entidade {@link Socio}.
@@ -21,27 +39,283 @@ import br.com.contabills.model.Socio;
 public interface SocioRepository extends JpaRepository<Socio, Long> {
 
     /**
-     * Busca um sócio pelo CPF.
+     * Busca um sócio pelos dígitos do CPF, usando o índice único da coluna
+     * {@code cpfDigitos}.
      * 
-     * @param cpf CPF do sócio
+     * @param cpfDigitos somente os dígitos do CPF
      * @return Optional contendo o sócio, se encontrado
      */
-    Optional<Socio> findByCpf(String cpf);
+    Optional<Socio> findByCpfDigitos(String cpfDigitos);
+
+    /**
+     * Busca, em uma única consulta, os sócios com os CPFs informados, em
+     * qualquer formato, usando o índice único da coluna {@code cpfDigitos}.
+     * 
+     * @param cpfDigitos somente os dígitos dos CPFs
+     * @return lista dos sócios encontrados
+     */
+    List<Socio> findByCpfDigitosIn(Collection<String> cpfDigitos);
 
     /**
-     * Verifica se já existe um sócio cadastrado com o CPF informado.
+     * Retorna, entre os dígitos de CPF informados, os que já pertencem a algum
+     * sócio.
      * 
-     * @param cpf CPF do sócio
+     * @param cpfsDigitos somente os dígitos dos CPFs a verificar
+     * @return dígitos dos CPFs já cadastrados
+     */
+    @Query("select s.cpfDigitos from Socio s where s.cpfDigitos in :cpfs")
+    List<String> findCpfsDigitosExistentes(@Param("cpfs") Collection<String> cpfsDigitos);
+
+    /**
+     * Retorna o CPF do sócio informado, sem carregar a entidade.
+     * 
+     * @param id ID do sócio
+     * @return Optional contendo o CPF, se o sócio existir
+     */
+    @Query("select s.cpf from Socio s where s.id = :id")
+    Optional<String> findCpfPorId(@Param("id") Long id);
+
+    /**
+     * Exclui o sócio em um único comando, sem carregar a entidade. Os
+     * vínculos com empresas devem ser excluídos antes.
+     * 
+     * @param id ID do sócio
+     * @return quantidade de sócios excluídos
+     */
+    @Modifying
+    @Query("delete from Socio s where s.id = :id")
+    int excluirPorId(@Param("id") Long id);
+
+    /**
+     * Verifica se já existe um sócio cadastrado com o CPF informado, em
+     * qualquer formato.
+     * 
+     * @param cpfDigitos somente os dígitos do CPF
      * @return true se existir, false caso contrário
      */
-    boolean existsByCpf(String cpf);
+    boolean existsByCpfDigitos(String cpfDigitos);
+
+    /**
+     * Lista os sócios com apenas as colunas exibidas na listagem, sem carregar
+     * os vínculos com empresas.
+     * 
+     * @param pageable informações de paginação e ordenação
+     * @return página de {@link ResumoSocio}
+     */
+    @Query(value = """
+            select new br.com.contabills.model.ResumoSocio(s.id, s.nome, s.cpf, s.dataNascimento, s.profissao,
+                s.dataDeValidadeCnh, s.enderecoSocio.cidade, s.enderecoSocio.uf, s.versao)
+            from Socio s
+            """, countQuery = "select count(s) from Socio s")
+    Page<ResumoSocio> listarResumos(Pageable pageable);
 
     /**
-     * Busca sócios com nome contendo o valor informado, paginando os resultados.
+     * Busca sócios em que alguma palavra do nome começa com o termo informado,
+     * ignorando acentos e maiúsculas.
+     * 
+     * A comparação usa a tabela de termos do nome ({@code termosBusca}), cujo
+     * índice atende a busca por prefixo com uma varredura de faixa.
      * 
-     * @param nome     parte do nome a ser buscada
+     * @param termo    termo normalizado, sem acentos e em minúsculas e não
+     *                 vazio
      * @param pageable informações de paginação
-     * @return página de sócios que correspondem à busca
+     * @return página de {@link ResumoSocio} que correspondem à busca
+     */
+    @Query(value = """
+            select new br.com.contabills.model.ResumoSocio(s.id, s.nome, s.cpf, s.dataNascimento, s.profissao,
+                s.dataDeValidadeCnh, s.enderecoSocio.cidade, s.enderecoSocio.uf, s.versao)
+            from Socio s
+            where s.id in (select t.id from Socio t join t.termosBusca b where b like concat(:termo, '%'))
+            """, countQuery = """
+            select count(s) from Socio s
+            where s.id in (select t.id from Socio t join t.termosBusca b where b like concat(:termo, '%'))
+            """)
+    Page<ResumoSocio> buscarPorNome(@Param("termo") String termo, Pageable pageable);
+
+    /**
+     * Busca os sócios em que alguma palavra do nome começa com o termo,
+     * retornando apenas os dados usados na busca global.
+     *
+     * @param termo  termo normalizado e não vazio
+     * @param limite quantidade máxima de sócios
+     * @return nome e CPF dos sócios encontrados
+     */
+    @Query("""
+            select new br.com.contabills.model.DadosSugestao(s.id, s.nome, s.cpf)
+            from Socio s
+            where s.id in (select t.id from Socio t join t.termosBusca b where b like concat(:termo, '%'))
+            order by s.nomeNormalizado
+            """)
+    List<DadosSugestao> buscarSugestoes(@Param("termo") String termo, Limit limite);
+
+    /**
+     * Busca os sócios cujo nome normalizado ainda não foi preenchido.
+     * 
+     * @param limite quantidade máxima de registros
+     * @return ID e nome dos sócios pendentes
+     */
+    @Query("""
+            select new br.com.contabills.model.TextoPendente(s.id, s.nome) from Socio s
+            where s.nomeNormalizado is null and s.nome is not null order by s.id
+            """)
+    List<TextoPendente> findNomesNaoNormalizados(Limit limite);
+
+    /**
+     * Grava o nome normalizado do sócio sem passar pelo controle de versão.
+     * 
+     * @param id          ID do sócio
+     * @param normalizado nome normalizado
+     * @return quantidade de registros atualizados
+     */
+    @Modifying
+    @Query("update Socio s set s.nomeNormalizado = :normalizado where s.id = :id")
+    int atualizarNomeNormalizado(@Param("id") Long id, @Param("normalizado") String normalizado);
+
+    /**
+     * Exclui os termos de busca do nome do sócio sem passar pelo controle de
+     * versão.
+     * 
+     * @param id ID do sócio
+     * @return quantidade de termos excluídos
+     */
+    @Modifying
+    @Query(value = "delete from t_c_socio_termo where socio_id = :id", nativeQuery = true)
+    int excluirTermosBusca(@Param("id") Long id);
+
+    /**
+     * Grava um termo de busca do nome do sócio sem passar pelo controle de
+     * versão.
+     * 
+     * @param id    ID do sócio
+     * @param termo trecho do nome normalizado
+     * @return quantidade de termos gravados
+     */
+    @Modifying
+    @Query(value = "insert into t_c_socio_termo (socio_id, termo) values (:id, :termo)", nativeQuery = true)
+    int inserirTermoBusca(@Param("id") Long id, @Param("termo") String termo);
+
+    /**
+     * Busca os sócios cujos dígitos do CPF ainda não foram preenchidos.
+     * 
+     * @param limite quantidade máxima de registros
+     * @return ID e CPF dos sócios pendentes
+     */
+    @Query("""
+            select new br.com.contabills.model.TextoPendente(s.id, s.cpf) from Socio s
+            where s.cpfDigitos is null and s.cpf is not null order by s.id
+            """)
+    List<TextoPendente> findCpfsSemDigitos(Limit limite);
+
+    /**
+     * Grava os dígitos do CPF do sócio sem passar pelo controle de versão.
+     * 
+     * @param id      ID do sócio
+     * @param digitos somente os dígitos do CPF
+     * @return quantidade de registros atualizados
+     */
+    @Modifying
+    @Query("update Socio s set s.cpfDigitos = :digitos where s.id = :id")
+    int atualizarCpfDigitos(@Param("id") Long id, @Param("digitos") String digitos);
+
+    /**
+     * Percorre todos os sócios em modo streaming, ordenados pelo ID, para
+     * exportação.
+     * 
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * 
+     * @return stream com os sócios
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select s from Socio s order by s.id")
+    Stream<Socio> streamTodos();
+
+    /**
+     * Percorre em modo streaming os CPFs de todos os sócios, usados para
+     * carregar o filtro de CPFs cadastrados.
+     * 
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * 
+     * @return stream com os CPFs
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("select s.cpf from Socio s")
+    Stream<String> streamCpfs();
+
+    /**
+     * Percorre em modo streaming o nome e o CPF de todos os sócios, usados para
+     * montar o índice do autocompletar.
+     * 
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * 
+     * @return stream com a projeção {@link DadosSugestao} de cada sócio
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new br.com.contabills.model.DadosSugestao(s.id, s.nome, s.cpf)
+            from Socio s
+            """)
+    Stream<DadosSugestao> streamSugestoes();
+
+    /**
+     * Percorre em modo streaming os dados textuais de todos os sócios, usados para montar o índice
+     * da busca textual.
+     * 
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * 
+     * @return stream com a projeção {@link DadosBusca}
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new br.com.contabills.model.DadosBusca(s.id, s.nome, s.cpf, null, s.profissao, s.enderecoSocio,
+                null)
+            from Socio s
+            """)
+    Stream<DadosBusca> streamDadosBusca();
+
+    /**
+     * Percorre em modo streaming os sócios com CNH vencendo no período
+     * informado, uma linha por empresa vinculada, ordenados por empresa e data
+     * de validade. Sócios sem empresa aparecem uma única vez, sem empresa.
+     * 
+     * As empresas com ID maior que {@code retomarApos} vêm primeiro, seguidas
+     * das demais e, por fim, dos sócios sem empresa. Assim, uma varredura
+     * interrompida pode ser retomada a partir da empresa seguinte à última
+     * processada.
+     * 
+     * A consulta filtra pela coluna indexada {@code dataDeValidadeCnh} e deve
+     * ser consumida dentro de uma transação e fechada ao final.
+     * 
+     * @param inicio      primeira data de validade considerada
+     * @param fim         última data de validade considerada
+     * @param retomarApos ID da última empresa processada pela varredura
+     *                    anterior ({@link Long#MIN_VALUE} para começar pela
+     *                    primeira empresa)
+     * @return stream com a projeção {@link VencimentoCnh} de cada sócio
      */
-    Page<Socio> findByNomeContaining(String nome, Pageable pageable);
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new br.com.contabills.model.VencimentoCnh(s.id, s.nome, s.cpf, s.cnh, s.dataDeValidadeCnh,
+                e.apelidoId, e.razaoSocial, e.email)
+            from Socio s left join s.empresaSocios es left join es.empresa e
+            where s.dataDeValidadeCnh between :inicio and :fim
+            order by case when e.apelidoId is null then 2 when e.apelidoId > :retomarApos then 0 else 1 end,
+                e.apelidoId, s.dataDeValidadeCnh, s.id
+            """)
+    Stream<VencimentoCnh> streamVencimentosCnh(@Param("inicio") LocalDate inicio, @Param("fim") LocalDate fim,
+            @Param("retomarApos") long retomarApos);
 }
@@ -1,12 +1,25 @@
 package br.com.contabills.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import br.com.contabills.model.DadosSugestao;
+import br.com.contabills.model.TextoPendente;
 import br.com.contabills.model.Usuario;
+import jakarta.persistence.QueryHint;
 
 /**
  * Interface de repositório para a entidade {@link Usuario}.
@@ -21,13 +34,100 @@ import br.com.contabills.model.Usuario;
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
     /**
-     * Busca usuários cujo nome contenha o valor informado, com suporte à paginação.
+     * Busca usuários em que alguma palavra do nome começa com o termo
+     * informado, ignorando acentos e maiúsculas.
+     * 
+     * A comparação usa a tabela de termos do nome ({@code termosBusca}), cujo
+     * índice atende a busca por prefixo com uma varredura de faixa.
      * 
-     * @param busca    termo a ser buscado no nome do usuário
+     * @param termo    termo normalizado, sem acentos e em minúsculas e não
+     *                 vazio
      * @param pageable informações de paginação
      * @return página de usuários que correspondem ao filtro
      */
-    Page<Usuario> findByNomeContaining(String busca, Pageable pageable);
+    @Query("""
+            select u from Usuario u
+            where u.id in (select t.id from Usuario t join t.termosBusca b where b like concat(:termo, '%'))
+            """)
+    Page<Usuario> buscarPorNome(@Param("termo") String termo, Pageable pageable);
+
+    /**
+     * Busca os usuários em que alguma palavra do nome começa com o termo,
+     * retornando apenas os dados usados na busca global.
+     *
+     * @param termo  termo normalizado e não vazio
+     * @param limite quantidade máxima de usuários
+     * @return nome e e-mail dos usuários encontrados
+     */
+    @Query("""
+            select new br.com.contabills.model.DadosSugestao(u.id, u.nome, u.email)
+            from Usuario u
+            where u.id in (select t.id from Usuario t join t.termosBusca b where b like concat(:termo, '%'))
+            order by u.nomeNormalizado
+            """)
+    List<DadosSugestao> buscarSugestoes(@Param("termo") String termo, Limit limite);
+
+    /**
+     * Busca os usuários cujo nome normalizado ainda não foi preenchido.
+     * 
+     * @param limite quantidade máxima de registros
+     * @return ID e nome dos usuários pendentes
+     */
+    @Query("""
+            select new br.com.contabills.model.TextoPendente(u.id, u.nome) from Usuario u
+            where u.nomeNormalizado is null and u.nome is not null order by u.id
+            """)
+    List<TextoPendente> findNomesNaoNormalizados(Limit limite);
+
+    /**
+     * Grava o nome normalizado do usuário.
+     * 
+     * @param id          ID do usuário
+     * @param normalizado nome normalizado
+     * @return quantidade de registros atualizados
+     */
+    @Modifying
+    @Query("update Usuario u set u.nomeNormalizado = :normalizado where u.id = :id")
+    int atualizarNomeNormalizado(@Param("id") Long id, @Param("normalizado") String normalizado);
+
+    /**
+     * Exclui os termos de busca do nome do usuário.
+     * 
+     * @param id ID do usuário
+     * @return quantidade de termos excluídos
+     */
+    @Modifying
+    @Query(value = "delete from t_c_usuario_termo where cd_usuario = :id", nativeQuery = true)
+    int excluirTermosBusca(@Param("id") Long id);
+
+    /**
+     * Grava um termo de busca do nome do usuário.
+     * 
+     * @param id    ID do usuário
+     * @param termo trecho do nome normalizado
+     * @return quantidade de termos gravados
+     */
+    @Modifying
+    @Query(value = "insert into t_c_usuario_termo (cd_usuario, termo) values (:id, :termo)", nativeQuery = true)
+    int inserirTermoBusca(@Param("id") Long id, @Param("termo") String termo);
+
+    /**
+     * Percorre em modo streaming o nome e o e-mail de todos os usuários, usados
+     * para montar o índice do autocompletar.
+     * 
+     * Deve ser consumido dentro de uma transação e fechado ao final.
+     * 
+     * @return stream com a projeção {@link DadosSugestao} de cada usuário
+     */
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new br.com.contabills.model.DadosSugestao(u.id, u.nome, u.email)
+            from Usuario u
+            """)
+    Stream<DadosSugestao> streamSugestoes();
 
     /**
      * Busca um usuário pelo e-mail.
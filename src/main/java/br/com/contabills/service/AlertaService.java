@@ -0,0 +1,119 @@
+package br.com.contabills.service;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.mail.MailException;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import br.com.contabills.model.AlertaCnh;
+import br.com.contabills.model.AlertaVencimento;
+import jakarta.mail.MessagingException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serviço responsável pela entrega dos alertas publicados pelas varreduras
+ * diárias de vencimentos de parcelas ({@link VencimentoService}) e de CNHs
+ * ({@link VencimentoCnhService}).
+ *
+ * Todo alerta é registrado no log. Quando {@code contabills.alertas.enviar-email}
+ * está habilitado, o alerta também é enviado ao e-mail da empresa. A mensagem
+ * é montada na varredura, mas o envio é feito no executor
+ * {@code alertaExecutor}: a varredura não aguarda o servidor SMTP com a
+ * transação e o streaming abertos, nem gasta com ele o seu tempo máximo. Uma
+ * falha ou recusa no envio é registrada e não interrompe a varredura que
+ * publicou o alerta.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class AlertaService {
+
+    private static final DateTimeFormatter DATA = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private static final Locale PT_BR = new Locale("pt", "BR");
+
+    /**
+     * Construtor padrão.
+     */
+    public AlertaService() {
+    }
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    @Qualifier("alertaExecutor")
+    private Executor alertaExecutor;
+
+    @Value("${contabills.alertas.enviar-email:false}")
+    private boolean enviarEmail;
+
+    /**
+     * Entrega o alerta das parcelas de uma empresa com vencimento próximo.
+     *
+     * @param alerta alerta publicado pela varredura de vencimentos
+     */
+    @EventListener
+    public void alertarVencimento(AlertaVencimento alerta) {
+        log.info("Alerta de vencimento: empresa {} ({}) possui {} parcelas a vencer", alerta.empresaId(),
+                alerta.razaoSocial(), alerta.parcelas().size());
+        String parcelas = alerta.parcelas().stream()
+                .map(p -> "<li>Parcelamento " + HtmlUtils.htmlEscape(p.registroDoParcelamento()) + ", parcela "
+                        + p.numero() + ": " + String.format(PT_BR, "R$ %,.2f", p.valor())
+                        + " em " + DATA.format(p.dataVencimento()) + "</li>")
+                .collect(Collectors.joining());
+        enviar(alerta.email(), "Parcelas a vencer - " + alerta.razaoSocial(),
+                "<p>As seguintes parcelas de " + HtmlUtils.htmlEscape(alerta.razaoSocial())
+                        + " vencem nos próximos dias:</p><ul>" + parcelas + "</ul>");
+    }
+
+    /**
+     * Entrega o alerta dos sócios de uma empresa com CNH próxima do
+     * vencimento. Sócios sem empresa são apenas registrados no log.
+     *
+     * @param alerta alerta publicado pela varredura de CNHs
+     */
+    @EventListener
+    public void alertarCnh(AlertaCnh alerta) {
+        log.info("Alerta de CNH: empresa {} ({}) possui {} sócios com CNH a vencer", alerta.empresaId(),
+                alerta.razaoSocial(), alerta.socios().size());
+        if (alerta.empresaId() == null) {
+            return;
+        }
+        String socios = alerta.socios().stream()
+                .map(s -> "<li>" + HtmlUtils.htmlEscape(s.nome()) + ": CNH válida até "
+                        + DATA.format(s.dataDeValidadeCnh()) + "</li>")
+                .collect(Collectors.joining());
+        enviar(alerta.email(), "CNHs a vencer - " + alerta.razaoSocial(),
+                "<p>A CNH dos seguintes sócios de " + HtmlUtils.htmlEscape(alerta.razaoSocial())
+                        + " vence nos próximos dias:</p><ul>" + socios + "</ul>");
+    }
+
+    private void enviar(String email, String assunto, String texto) {
+        if (!enviarEmail || email == null || email.isBlank()) {
+            return;
+        }
+        try {
+            alertaExecutor.execute(() -> {
+                try {
+                    emailService.sendEmail(email, assunto, texto);
+                } catch (MessagingException | MailException e) {
+                    log.error("Falha ao enviar alerta para {}: {}", email, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.error("Envio do alerta para {} recusado: fila de envios cheia", email);
+        }
+    }
+}
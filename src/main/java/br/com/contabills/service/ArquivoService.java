@@ -0,0 +1,334 @@
+package br.com.contabills.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.contabills.model.Empresa;
+import br.com.contabills.model.LinhaArquivo;
+import br.com.contabills.model.Parcela;
+import br.com.contabills.model.ParcelaArquivada;
+import br.com.contabills.model.Parcelamento;
+import br.com.contabills.model.ParcelamentoArquivado;
+import br.com.contabills.model.ResumoParcela;
+import br.com.contabills.model.ResumoParcelamento;
+import br.com.contabills.repository.EmpresaRepository;
+import br.com.contabills.repository.ParcelaArquivadaRepository;
+import br.com.contabills.repository.ParcelaRepository;
+import br.com.contabills.repository.ParcelamentoArquivadoRepository;
+import br.com.contabills.repository.ParcelamentoRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serviço responsável pelo arquivo de parcelamentos quitados.
+ *
+ * Periodicamente, os parcelamentos quitados há mais tempo que o período de
+ * retenção são copiados, junto com suas parcelas, para as tabelas de arquivo e
+ * excluídos das tabelas principais. O processo é feito em lotes, cada um em sua
+ * própria transação, para não manter bloqueios longos nas tabelas principais.
+ * Um único arquivamento é executado por vez, seja pelo agendamento ou sob
+ * demanda.
+ *
+ * Também oferece a leitura dos dados arquivados para as consultas que informam
+ * {@code includeArchived} e a exportação do arquivo em CSV.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class ArquivoService {
+
+    /**
+     * Construtor padrão.
+     */
+    public ArquivoService() {
+    }
+
+    @Autowired
+    private ParcelamentoRepository parcelamentoRepository;
+
+    @Autowired
+    private ParcelaRepository parcelaRepository;
+
+    @Autowired
+    private ParcelamentoArquivadoRepository parcelamentoArquivadoRepository;
+
+    @Autowired
+    private ParcelaArquivadaRepository parcelaArquivadaRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private ResumoParcelasService resumoParcelasService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${contabills.arquivo.dias-retencao:365}")
+    private int diasRetencao;
+
+    @Value("${contabills.arquivo.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    private final AtomicBoolean arquivando = new AtomicBoolean();
+
+    /**
+     * Move para o arquivo todos os parcelamentos quitados há mais tempo que o
+     * período de retenção.
+     *
+     * @return quantidade de parcelamentos arquivados
+     * @throws ResponseStatusException com status 409 se já houver um
+     *                                 arquivamento em andamento
+     */
+    @Scheduled(cron = "${contabills.arquivo.cron:0 0 3 * * *}")
+    public int arquivarQuitados() {
+        if (!arquivando.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Já existe um arquivamento em andamento");
+        }
+        try {
+            LocalDate limite = LocalDate.now().minusDays(diasRetencao);
+            int total = 0;
+            List<Long> ids;
+            do {
+                ids = transactionTemplate.execute(status -> moverLote(limite));
+                if (!ids.isEmpty()) {
+                    resumoParcelasService.removerParcelamentos(Set.copyOf(ids));
+                    total += ids.size();
+                }
+            } while (ids.size() == tamanhoLote);
+            log.info("{} parcelamentos quitados até {} movidos para o arquivo", total, limite);
+            return total;
+        } finally {
+            arquivando.set(false);
+        }
+    }
+
+    private List<Long> moverLote(LocalDate limite) {
+        List<Long> ids = parcelamentoRepository.findIdsQuitadosAte(limite, Limit.of(tamanhoLote));
+        if (ids.isEmpty()) {
+            return ids;
+        }
+        LocalDateTime agora = LocalDateTime.now();
+        parcelamentoRepository.arquivar(ids, agora);
+        parcelaRepository.arquivarPorParcelamentos(ids);
+        parcelaRepository.excluirPorParcelamentos(ids);
+        parcelamentoRepository.excluirPorIds(ids);
+        return ids;
+    }
+
+    /**
+     * Completa uma página de resumos de parcelamentos ativos com os resumos dos
+     * parcelamentos arquivados. Os registros ativos são listados primeiro e os
+     * arquivados em seguida, em ordem de identificador.
+     *
+     * @param ativos   página de resumos de parcelamentos ativos
+     * @param pageable informações de paginação
+     * @return página com parcelamentos ativos e arquivados
+     */
+    public Page<ResumoParcelamento> incluirParcelamentosArquivados(Page<ResumoParcelamento> ativos,
+            Pageable pageable) {
+        return completar(ativos, pageable, parcelamentoArquivadoRepository.count(), """
+                select new br.com.contabills.model.ResumoParcelamento(a.id, a.registroDoParcelamento,
+                    a.tipoParcelamento, a.dataQuitacao, a.empresaId, e.razaoSocial, count(p.id),
+                    coalesce(sum(case when p.enviadoMesAtual = true then 1 else 0 end), 0),
+                    coalesce(sum(p.valor), 0.0),
+                    min(case when p.enviadoMesAtual = false then p.dataVencimento end),
+                    true)
+                from ParcelamentoArquivado a
+                    left join Empresa e on e.apelidoId = a.empresaId
+                    left join ParcelaArquivada p on p.parcelamentoId = a.id
+                group by a.id, a.registroDoParcelamento, a.tipoParcelamento, a.dataQuitacao, a.empresaId,
+                    e.razaoSocial
+                order by a.id
+                """, ResumoParcelamento.class, Function.identity());
+    }
+
+    /**
+     * Completa uma página de parcelas ativas com as parcelas arquivadas.
+     *
+     * @param ativas   página de parcelas ativas
+     * @param pageable informações de paginação
+     * @return página com parcelas ativas e arquivadas
+     */
+    public Page<ResumoParcela> incluirParcelasArquivadas(Page<ResumoParcela> ativas, Pageable pageable) {
+        return completar(ativas, pageable, parcelaArquivadaRepository.count(), """
+                select new br.com.contabills.model.ResumoParcela(a.id, a.numero, a.valor, a.createdAt,
+                    a.dataVencimento, a.enviadoMesAtual, a.parcelamentoId, pa.registroDoParcelamento,
+                    pa.empresaId, true)
+                from ParcelaArquivada a
+                    left join ParcelamentoArquivado pa on pa.id = a.parcelamentoId
+                order by a.id
+                """, ResumoParcela.class, Function.identity());
+    }
+
+    /**
+     * Busca um parcelamento no arquivo.
+     *
+     * @param id identificador do parcelamento
+     * @return parcelamento arquivado, se existir
+     */
+    public Optional<Parcelamento> buscarParcelamentoArquivado(Long id) {
+        return parcelamentoArquivadoRepository.findById(id)
+                .map(a -> paraParcelamentos(List.of(a)).get(0));
+    }
+
+    /**
+     * Busca uma parcela no arquivo.
+     *
+     * @param id identificador da parcela
+     * @return parcela arquivada, se existir
+     */
+    public Optional<Parcela> buscarParcelaArquivada(Long id) {
+        return parcelaArquivadaRepository.findById(id)
+                .map(a -> paraParcelas(List.of(a)).get(0));
+    }
+
+    /**
+     * Escreve todo o arquivo em formato CSV, uma linha por parcela arquivada.
+     *
+     * @param saida fluxo de saída
+     */
+    @Transactional(readOnly = true)
+    public void exportarCsv(OutputStream saida) {
+        BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        try (Stream<LinhaArquivo> linhas = parcelaArquivadaRepository.streamLinhas()) {
+            writer.write("parcelamentoId;registroDoParcelamento;tipoParcelamento;empresaId;dataQuitacao;"
+                    + "parcelaId;numero;valor;enviadoMesAtual");
+            writer.newLine();
+            for (LinhaArquivo linha : (Iterable<LinhaArquivo>) linhas::iterator) {
+                writer.write(String.join(";",
+                        texto(linha.parcelamentoId()),
+                        csv(linha.registroDoParcelamento()),
+                        csv(linha.tipoParcelamento()),
+                        texto(linha.empresaId()),
+                        texto(linha.dataQuitacao()),
+                        texto(linha.parcelaId()),
+                        texto(linha.numero()),
+                        texto(linha.valor()),
+                        texto(linha.enviadoMesAtual())));
+                writer.newLine();
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private <T, A> Page<T> completar(Page<T> ativos, Pageable pageable, long totalArquivados, String consulta,
+            Class<A> tipo, Function<List<A>, List<T>> conversor) {
+        List<T> conteudo = new ArrayList<>(ativos.getContent());
+        var query = entityManager.createQuery(consulta, tipo);
+        if (pageable.isPaged()) {
+            int faltantes = pageable.getPageSize() - conteudo.size();
+            if (faltantes <= 0) {
+                return new PageImpl<>(conteudo, pageable, ativos.getTotalElements() + totalArquivados);
+            }
+            long inicio = Math.max(0, pageable.getOffset() - ativos.getTotalElements());
+            query.setFirstResult((int) inicio).setMaxResults(faltantes);
+        }
+        conteudo.addAll(conversor.apply(query.getResultList()));
+        return new PageImpl<>(conteudo, pageable, ativos.getTotalElements() + totalArquivados);
+    }
+
+    private List<Parcelamento> paraParcelamentos(List<ParcelamentoArquivado> arquivados) {
+        if (arquivados.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Empresa> empresas = empresaRepository.findAllById(arquivados.stream()
+                .map(ParcelamentoArquivado::getEmpresaId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Empresa::getApelidoId, Function.identity()));
+        Map<Long, List<ParcelaArquivada>> parcelas = parcelaArquivadaRepository
+                .findByParcelamentoIdIn(arquivados.stream().map(ParcelamentoArquivado::getId).toList())
+                .stream()
+                .collect(Collectors.groupingBy(ParcelaArquivada::getParcelamentoId));
+        return arquivados.stream().map(a -> {
+            Parcelamento parcelamento = Parcelamento.builder()
+                    .id(a.getId())
+                    .registroDoParcelamento(a.getRegistroDoParcelamento())
+                    .tipoParcelamento(a.getTipoParcelamento())
+                    .dataQuitacao(a.getDataQuitacao())
+                    .empresa(a.getEmpresaId() != null ? empresas.get(a.getEmpresaId()) : null)
+                    .arquivado(true)
+                    .build();
+            parcelas.getOrDefault(a.getId(), List.of())
+                    .forEach(p -> parcelamento.getParcelas().add(paraParcela(p, parcelamento)));
+            return parcelamento;
+        }).toList();
+    }
+
+    private List<Parcela> paraParcelas(List<ParcelaArquivada> arquivadas) {
+        if (arquivadas.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Parcelamento> parcelamentos = paraParcelamentos(parcelamentoArquivadoRepository
+                .findAllById(arquivadas.stream().map(ParcelaArquivada::getParcelamentoId).collect(Collectors.toSet())))
+                .stream()
+                .collect(Collectors.toMap(Parcelamento::getId, Function.identity()));
+        return arquivadas.stream().map(a -> paraParcela(a, parcelamentos.get(a.getParcelamentoId()))).toList();
+    }
+
+    private static Parcela paraParcela(ParcelaArquivada arquivada, Parcelamento parcelamento) {
+        return Parcela.builder()
+                .id(arquivada.getId())
+                .numero(arquivada.getNumero())
+                .valor(arquivada.getValor())
+                .createdAt(arquivada.getCreatedAt())
+                .dataVencimento(arquivada.getDataVencimento())
+                .enviadoMesAtual(arquivada.isEnviadoMesAtual())
+                .parcelamento(parcelamento)
+                .arquivado(true)
+                .build();
+    }
+
+    private static String texto(Object valor) {
+        return valor != null ? valor.toString() : "";
+    }
+
+    private static String csv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.contains(";") || valor.contains("\"") || valor.contains("\n")) {
+            return "\"" + valor.replace("\"", "\"\"") + "\"";
+        }
+        return valor;
+    }
+}
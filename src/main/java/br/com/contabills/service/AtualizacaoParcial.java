@@ -0,0 +1,257 @@
+package br.com.contabills.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Motor genérico de atualização parcial (PATCH) de entidades.
+ *
+ * Cada instância mantém uma tabela pré-compilada, montada uma única vez por
+ * tipo de entidade, que associa o nome do campo ao seu conversor de tipo e ao
+ * setter correspondente (referência de método, sem reflexão). Somente os campos
+ * registrados podem ser alterados, funcionando como lista de campos permitidos.
+ *
+ * Os conversores aceitam as variações de tipo produzidas pelo Jackson, como
+ * {@link Integer} em campos {@link Long} e vice-versa. Campos inteiros recusam
+ * valores fracionários ou fora do intervalo do tipo, em vez de truncá-los.
+ *
+ * O valor {@code null} só é aceito nos campos registrados com
+ * {@link Builder#campoAnulavel(String, Class, BiConsumer)}, nos quais limpa o
+ * valor atual.
+ *
+ * @param <T> tipo da entidade atualizada
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public final class AtualizacaoParcial<T> {
+
+    private final Map<String, BiConsumer<T, Object>> campos;
+
+    private final boolean ignorarDesconhecidos;
+
+    private AtualizacaoParcial(Map<String, BiConsumer<T, Object>> campos, boolean ignorarDesconhecidos) {
+        this.campos = Map.copyOf(campos);
+        this.ignorarDesconhecidos = ignorarDesconhecidos;
+    }
+
+    /**
+     * Inicia a montagem da tabela de campos de uma entidade.
+     *
+     * @param <T> tipo da entidade
+     * @return builder da tabela de campos
+     */
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Aplica as alterações informadas sobre a entidade.
+     *
+     * @param alvo    entidade a ser alterada
+     * @param updates mapa dos campos a serem atualizados e seus novos valores
+     * @throws ResponseStatusException com status 400 caso algum campo não seja
+     *                                 permitido, possua valor inválido ou
+     *                                 receba {@code null} sem ser anulável
+     */
+    public void aplicar(T alvo, Map<String, Object> updates) {
+        updates.forEach((campo, valor) -> {
+            BiConsumer<T, Object> setter = campos.get(campo);
+            if (setter == null) {
+                if (ignorarDesconhecidos) {
+                    return;
+                }
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Campo inválido: " + campo);
+            }
+            setter.accept(alvo, valor);
+        });
+    }
+
+    /**
+     * Retorna o conversor padrão para o tipo informado.
+     *
+     * @param <V>  tipo de destino
+     * @param tipo classe do tipo de destino
+     * @return função que converte o valor recebido no JSON para o tipo de destino
+     * @throws IllegalArgumentException se não houver conversor para o tipo
+     */
+    @SuppressWarnings("unchecked")
+    static <V> Function<Object, V> conversorPara(Class<V> tipo) {
+        if (tipo == String.class) {
+            return valor -> (V) valor.toString();
+        }
+        if (tipo == Integer.class) {
+            return valor -> (V) (Integer) paraInteiro(valor);
+        }
+        if (tipo == Long.class) {
+            return valor -> (V) (Long) paraLongo(valor);
+        }
+        if (tipo == Double.class) {
+            return valor -> (V) (Double) paraNumero(valor).doubleValue();
+        }
+        if (tipo == Boolean.class) {
+            return valor -> (V) paraBoolean(valor);
+        }
+        if (tipo == LocalDate.class) {
+            return valor -> (V) LocalDate.parse(valor.toString());
+        }
+        if (tipo == byte[].class) {
+            return valor -> (V) (valor instanceof byte[] bytes ? bytes : Base64.getDecoder().decode(valor.toString()));
+        }
+        throw new IllegalArgumentException("Tipo sem conversor para atualização parcial: " + tipo.getName());
+    }
+
+    private static Number paraNumero(Object valor) {
+        if (valor instanceof Number numero) {
+            return numero;
+        }
+        return new BigDecimal(valor.toString().trim());
+    }
+
+    /**
+     * Converte para {@code int}, recusando valores fracionários ou fora do
+     * intervalo com {@link ArithmeticException}.
+     */
+    private static int paraInteiro(Object valor) {
+        if (valor instanceof Integer inteiro) {
+            return inteiro;
+        }
+        if (valor instanceof Long || valor instanceof Short || valor instanceof Byte) {
+            return Math.toIntExact(((Number) valor).longValue());
+        }
+        return new BigDecimal(valor.toString().trim()).intValueExact();
+    }
+
+    /**
+     * Converte para {@code long}, recusando valores fracionários ou fora do
+     * intervalo com {@link ArithmeticException}.
+     */
+    private static long paraLongo(Object valor) {
+        if (valor instanceof Long || valor instanceof Integer || valor instanceof Short || valor instanceof Byte) {
+            return ((Number) valor).longValue();
+        }
+        return new BigDecimal(valor.toString().trim()).longValueExact();
+    }
+
+    private static Boolean paraBoolean(Object valor) {
+        if (valor instanceof Boolean booleano) {
+            return booleano;
+        }
+        String texto = valor.toString().trim();
+        if ("true".equalsIgnoreCase(texto)) {
+            return Boolean.TRUE;
+        }
+        if ("false".equalsIgnoreCase(texto)) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("Valor booleano inválido: " + texto);
+    }
+
+    /**
+     * Builder responsável por registrar os campos permitidos de uma entidade.
+     *
+     * @param <T> tipo da entidade
+     */
+    public static final class Builder<T> {
+
+        private final Map<String, BiConsumer<T, Object>> campos = new HashMap<>();
+
+        private boolean ignorarDesconhecidos;
+
+        private Builder() {
+        }
+
+        /**
+         * Registra um campo convertido pelo conversor padrão do tipo informado.
+         *
+         * @param <V>    tipo do campo
+         * @param nome   nome do campo no corpo da requisição
+         * @param tipo   classe do tipo do campo
+         * @param setter setter da entidade
+         * @return o próprio builder
+         */
+        public <V> Builder<T> campo(String nome, Class<V> tipo, BiConsumer<T, V> setter) {
+            return campo(nome, conversorPara(tipo), setter);
+        }
+
+        /**
+         * Registra um campo que aceita {@code null}, usado para limpar o valor
+         * atual (ex.: foto ou data de quitação).
+         *
+         * @param <V>    tipo do campo
+         * @param nome   nome do campo no corpo da requisição
+         * @param tipo   classe do tipo do campo
+         * @param setter setter da entidade
+         * @return o próprio builder
+         */
+        public <V> Builder<T> campoAnulavel(String nome, Class<V> tipo, BiConsumer<T, V> setter) {
+            registrar(nome, conversorPara(tipo), setter, true);
+            return this;
+        }
+
+        /**
+         * Registra um campo com conversor próprio, útil para referências a outras
+         * entidades ou valores que exigem tratamento (ex.: senha criptografada).
+         *
+         * @param <V>       tipo do campo
+         * @param nome      nome do campo no corpo da requisição
+         * @param conversor função que converte o valor recebido
+         * @param setter    setter da entidade
+         * @return o próprio builder
+         */
+        public <V> Builder<T> campo(String nome, Function<Object, V> conversor, BiConsumer<T, V> setter) {
+            registrar(nome, conversor, setter, false);
+            return this;
+        }
+
+        private <V> void registrar(String nome, Function<Object, V> conversor, BiConsumer<T, V> setter,
+                boolean anulavel) {
+            campos.put(nome, (alvo, valor) -> {
+                if (valor == null) {
+                    if (!anulavel) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                "O campo " + nome + " não pode ser nulo");
+                    }
+                    setter.accept(alvo, null);
+                    return;
+                }
+                V convertido;
+                try {
+                    convertido = conversor.apply(valor);
+                } catch (ResponseStatusException e) {
+                    throw e;
+                } catch (RuntimeException e) {
+                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Valor inválido para o campo " + nome);
+                }
+                setter.accept(alvo, convertido);
+            });
+        }
+
+        /**
+         * Faz com que campos não registrados sejam ignorados em vez de rejeitados.
+         *
+         * @return o próprio builder
+         */
+        public Builder<T> ignorandoCamposDesconhecidos() {
+            this.ignorarDesconhecidos = true;
+            return this;
+        }
+
+        /**
+         * Finaliza a montagem da tabela de campos.
+         *
+         * @return motor de atualização parcial imutável
+         */
+        public AtualizacaoParcial<T> build() {
+            return new AtualizacaoParcial<>(campos, ignorarDesconhecidos);
+        }
+    }
+}
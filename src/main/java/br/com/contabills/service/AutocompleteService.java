@@ -0,0 +1,197 @@
+package br.com.contabills.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.contabills.busca.IndiceTrigramas;
+import br.com.contabills.listener.EntidadeAlterada;
+import br.com.contabills.listener.EntidadeAlterada.Operacao;
+import br.com.contabills.model.DadosSugestao;
+import br.com.contabills.model.Empresa;
+import br.com.contabills.model.Socio;
+import br.com.contabills.model.Sugestao;
+import br.com.contabills.model.TipoEntidade;
+import br.com.contabills.model.Usuario;
+import br.com.contabills.repository.EmpresaRepository;
+import br.com.contabills.repository.SocioRepository;
+import br.com.contabills.repository.UsuarioRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serviço de autocompletar sobre empresas, sócios e usuários.
+ *
+ * As sugestões vêm de um {@link IndiceTrigramas} mantido em memória, sem
+ * acesso ao banco de dados durante a busca. O índice é montado na
+ * inicialização e atualizado pelos eventos {@link EntidadeAlterada},
+ * consumidos somente após o commit. As alterações recebidas durante a montagem
+ * são reaplicadas sobre o novo índice antes que ele substitua o atual.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class AutocompleteService {
+
+    /**
+     * Construtor padrão.
+     */
+    public AutocompleteService() {
+    }
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private SocioRepository socioRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Value("${contabills.autocomplete.limite-maximo:50}")
+    private int limiteMaximo;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final AtomicBoolean reconstruindo = new AtomicBoolean();
+
+    private final List<Consumer<IndiceTrigramas>> pendentes = new ArrayList<>();
+
+    private IndiceTrigramas indice = new IndiceTrigramas();
+
+    /**
+     * Reconstrói o índice a partir das empresas, sócios e usuários gravados no
+     * banco de dados.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        if (!reconstruindo.compareAndSet(false, true)) {
+            log.warn("Reconstrução do índice do autocompletar já em andamento");
+            return;
+        }
+        try {
+            IndiceTrigramas novo = new IndiceTrigramas();
+            carregar(novo, TipoEntidade.EMPRESA, empresaRepository::streamSugestoes);
+            carregar(novo, TipoEntidade.SOCIO, socioRepository::streamSugestoes);
+            carregar(novo, TipoEntidade.USUARIO, usuarioRepository::streamSugestoes);
+            lock.writeLock().lock();
+            try {
+                pendentes.forEach(alteracao -> alteracao.accept(novo));
+                indice = novo;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Índice do autocompletar carregado com {} itens", novo.tamanho());
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendentes.clear();
+                reconstruindo.set(false);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Busca as empresas, sócios e usuários que correspondem ao texto digitado.
+     *
+     * @param consulta parte da razão social, do nome, do CPF ou do CNPJ
+     * @param limite   quantidade máxima de sugestões
+     * @return sugestões em ordem de relevância
+     * @throws ResponseStatusException com status 400 se o limite for inválido
+     */
+    public List<Sugestao> sugerir(String consulta, int limite) {
+        if (limite < 1 || limite > limiteMaximo) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "O limite deve estar entre 1 e " + limiteMaximo);
+        }
+        lock.readLock().lock();
+        try {
+            return indice.buscar(consulta, limite);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Atualiza o índice após o commit de uma alteração de empresa.
+     *
+     * @param evento evento de alteração da empresa
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarEmpresa(EntidadeAlterada<Empresa> evento) {
+        Empresa empresa = evento.entidade();
+        aplicar(evento.operacao(), TipoEntidade.EMPRESA, empresa.getApelidoId(),
+                () -> new Sugestao(TipoEntidade.EMPRESA, empresa.getApelidoId(), empresa.getRazaoSocial(),
+                        empresa.getCnpj()));
+    }
+
+    /**
+     * Atualiza o índice após o commit de uma alteração de sócio.
+     *
+     * @param evento evento de alteração do sócio
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarSocio(EntidadeAlterada<Socio> evento) {
+        Socio socio = evento.entidade();
+        aplicar(evento.operacao(), TipoEntidade.SOCIO, socio.getId(),
+                () -> new Sugestao(TipoEntidade.SOCIO, socio.getId(), socio.getNome(), socio.getCpf()));
+    }
+
+    /**
+     * Atualiza o índice após o commit de uma alteração de usuário.
+     *
+     * @param evento evento de alteração do usuário
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarUsuario(EntidadeAlterada<Usuario> evento) {
+        Usuario usuario = evento.entidade();
+        aplicar(evento.operacao(), TipoEntidade.USUARIO, usuario.getId(),
+                () -> new Sugestao(TipoEntidade.USUARIO, usuario.getId(), usuario.getNome(), usuario.getEmail()));
+    }
+
+    private void aplicar(Operacao operacao, TipoEntidade tipo, Long id, Supplier<Sugestao> sugestao) {
+        if (id == null) {
+            return;
+        }
+        Consumer<IndiceTrigramas> alteracao;
+        if (operacao == Operacao.REMOVIDA) {
+            alteracao = i -> i.remover(tipo, id);
+        } else {
+            Sugestao item = sugestao.get();
+            alteracao = i -> i.adicionar(item);
+        }
+        lock.writeLock().lock();
+        try {
+            alteracao.accept(indice);
+            if (reconstruindo.get()) {
+                pendentes.add(alteracao);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static void carregar(IndiceTrigramas indice, TipoEntidade tipo, Supplier<Stream<DadosSugestao>> consulta) {
+        try (Stream<DadosSugestao> dados = consulta.get()) {
+            dados.forEach(d -> indice.adicionar(new Sugestao(tipo, d.id(), d.rotulo(), d.detalhe())));
+        }
+    }
+}
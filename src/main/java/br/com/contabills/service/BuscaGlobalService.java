@@ -0,0 +1,208 @@
+package br.com.contabills.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.contabills.busca.TextoNormalizado;
+import br.com.contabills.model.BuscaGlobal;
+import br.com.contabills.model.DadosSugestao;
+import br.com.contabills.model.FiltroBusca;
+import br.com.contabills.model.Sugestao;
+import br.com.contabills.model.TipoEntidade;
+import br.com.contabills.repository.EmpresaRepository;
+import br.com.contabills.repository.SocioRepository;
+import br.com.contabills.repository.UsuarioRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serviço da busca global, que consulta empresas, sócios, usuários e
+ * parcelamentos em uma única chamada.
+ *
+ * Cada tipo de entidade é consultado em paralelo no executor
+ * {@code buscaGlobalExecutor}: empresas, sócios e usuários pelo início de
+ * uma palavra da razão social ou do nome nas tabelas de termos de busca, e
+ * parcelamentos pelo início de uma palavra do registro no índice do
+ * {@link BuscaService}. A
+ * resposta aguarda no máximo o tempo configurado; os tipos que não respondem
+ * nesse prazo, que falham ou que são recusados pelo executor ficam de fora e
+ * o resultado é marcado como parcial.
+ *
+ * As consultas ao banco são executadas com o mesmo tempo limite (hint
+ * {@code jakarta.persistence.query.timeout}), para que um ramo descartado não
+ * continue ocupando uma conexão. Como o JDBC aceita apenas segundos inteiros,
+ * o tempo limite da consulta é arredondado para cima, com mínimo de um
+ * segundo.
+ *
+ * Os itens são ordenados pelo rótulo: primeiro os que começam com o termo,
+ * depois os que têm uma palavra que começa com ele e por último os demais,
+ * sempre dos rótulos mais curtos para os mais longos.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class BuscaGlobalService {
+
+    /**
+     * Construtor padrão.
+     */
+    public BuscaGlobalService() {
+    }
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private SocioRepository socioRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private BuscaService buscaService;
+
+    @Autowired
+    @Qualifier("buscaGlobalExecutor")
+    private Executor buscaGlobalExecutor;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${contabills.busca-global.tempo-limite:PT0.5S}")
+    private Duration tempoLimite;
+
+    @Value("${contabills.busca-global.limite-maximo:50}")
+    private int limiteMaximo;
+
+    /**
+     * Busca empresas, sócios, usuários e parcelamentos pelo termo informado.
+     *
+     * @param consulta início de uma palavra da razão social, do nome ou do
+     *                 registro do parcelamento
+     * @param limite   quantidade máxima de itens retornados
+     * @return itens encontrados e indicação de resultado parcial
+     * @throws ResponseStatusException com status 400 se o limite for inválido
+     *                                 ou se a consulta não tiver letras nem
+     *                                 dígitos
+     */
+    public BuscaGlobal buscar(String consulta, int limite) {
+        if (limite < 1 || limite > limiteMaximo) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "O limite deve estar entre 1 e " + limiteMaximo);
+        }
+        String termo = TermoBusca.normalizar(consulta);
+        if (termo == null) {
+            return new BuscaGlobal(List.of(), false, List.of());
+        }
+        Map<TipoEntidade, CompletableFuture<List<Sugestao>>> ramos = new EnumMap<>(TipoEntidade.class);
+        disparar(ramos, TipoEntidade.EMPRESA, () -> sugestoes(TipoEntidade.EMPRESA,
+                () -> empresaRepository.buscarSugestoes(termo, Limit.of(limite))));
+        disparar(ramos, TipoEntidade.SOCIO, () -> sugestoes(TipoEntidade.SOCIO,
+                () -> socioRepository.buscarSugestoes(termo, Limit.of(limite))));
+        disparar(ramos, TipoEntidade.USUARIO, () -> sugestoes(TipoEntidade.USUARIO,
+                () -> usuarioRepository.buscarSugestoes(termo, Limit.of(limite))));
+        disparar(ramos, TipoEntidade.PARCELAMENTO, () -> parcelamentos(termo, limite));
+
+        long prazo = System.nanoTime() + tempoLimite.toNanos();
+        List<Sugestao> resultados = new ArrayList<>();
+        List<TipoEntidade> incompletos = new ArrayList<>();
+        for (Map.Entry<TipoEntidade, CompletableFuture<List<Sugestao>>> ramo : ramos.entrySet()) {
+            try {
+                resultados.addAll(ramo.getValue().get(Math.max(0, prazo - System.nanoTime()), TimeUnit.NANOSECONDS));
+            } catch (TimeoutException e) {
+                ramo.getValue().cancel(false);
+                log.warn("Busca global sem resposta de {} em {}", ramo.getKey(), tempoLimite);
+                incompletos.add(ramo.getKey());
+            } catch (ExecutionException e) {
+                log.warn("Falha na busca global de {}", ramo.getKey(), e.getCause());
+                incompletos.add(ramo.getKey());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Busca global interrompida", e);
+            }
+        }
+        resultados.sort(relevancia(termo));
+        return new BuscaGlobal(resultados.subList(0, Math.min(limite, resultados.size())), !incompletos.isEmpty(),
+                incompletos);
+    }
+
+    private void disparar(Map<TipoEntidade, CompletableFuture<List<Sugestao>>> ramos, TipoEntidade tipo,
+            Supplier<List<Sugestao>> consulta) {
+        try {
+            ramos.put(tipo, CompletableFuture.supplyAsync(consulta, buscaGlobalExecutor));
+        } catch (RejectedExecutionException e) {
+            ramos.put(tipo, CompletableFuture.failedFuture(e));
+        }
+    }
+
+    private List<Sugestao> parcelamentos(String termo, int limite) {
+        FiltroBusca filtro = new FiltroBusca(termo + "*", TipoEntidade.PARCELAMENTO, null, null, null, null);
+        return buscaService.buscar(filtro, PageRequest.of(0, limite)).stream()
+                .map(r -> new Sugestao(TipoEntidade.PARCELAMENTO, r.id(), r.titulo(), null))
+                .toList();
+    }
+
+    /**
+     * Executa a consulta em uma transação somente leitura cujo contexto de
+     * persistência aplica o tempo limite a todas as consultas criadas nele.
+     */
+    private List<Sugestao> sugestoes(TipoEntidade tipo, Supplier<List<DadosSugestao>> consulta) {
+        TransactionTemplate leitura = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        leitura.setReadOnly(true);
+        long segundos = Math.max(1, (tempoLimite.toMillis() + 999) / 1000);
+        List<DadosSugestao> dados = leitura.execute(status -> {
+            entityManager.setProperty(SpecHints.HINT_SPEC_QUERY_TIMEOUT, (int) (segundos * 1000));
+            return consulta.get();
+        });
+        return dados.stream().map(d -> new Sugestao(tipo, d.id(), d.rotulo(), d.detalhe())).toList();
+    }
+
+    private static Comparator<Sugestao> relevancia(String termo) {
+        return Comparator.comparingInt((Sugestao s) -> posicao(s, termo))
+                .thenComparingInt(s -> s.rotulo() != null ? s.rotulo().length() : Integer.MAX_VALUE)
+                .thenComparing(Sugestao::tipo)
+                .thenComparing(Sugestao::id);
+    }
+
+    private static int posicao(Sugestao sugestao, String termo) {
+        String rotulo = TextoNormalizado.normalizar(sugestao.rotulo());
+        if (rotulo == null) {
+            return 3;
+        }
+        if (rotulo.startsWith(termo)) {
+            return 0;
+        }
+        if (rotulo.contains(" " + termo)) {
+            return 1;
+        }
+        return rotulo.contains(termo) ? 2 : 3;
+    }
+}
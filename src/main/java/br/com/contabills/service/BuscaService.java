@@ -0,0 +1,601 @@
+package br.com.contabills.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.IndexableField;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause.Occur;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TopScoreDocCollectorManager;
+import org.apache.lucene.search.uhighlight.UnifiedHighlighter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.contabills.busca.AnalisadorBusca;
+import br.com.contabills.busca.TextoNormalizado;
+import br.com.contabills.listener.EntidadeAlterada;
+import br.com.contabills.listener.EntidadeAlterada.Operacao;
+import br.com.contabills.model.DadosBusca;
+import br.com.contabills.model.Empresa;
+import br.com.contabills.model.Endereco;
+import br.com.contabills.model.FiltroBusca;
+import br.com.contabills.model.Parcelamento;
+import br.com.contabills.model.ResultadoBusca;
+import br.com.contabills.model.Socio;
+import br.com.contabills.model.TipoEntidade;
+import br.com.contabills.repository.EmpresaRepository;
+import br.com.contabills.repository.ParcelamentoArquivadoRepository;
+import br.com.contabills.repository.ParcelamentoRepository;
+import br.com.contabills.repository.SocioRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Busca textual sobre empresas, sócios e parcelamentos, apoiada em um índice
+ * Lucene gravado em disco.
+ *
+ * Cada entidade é um documento com a razão social, nome ou registro, o CPF ou
+ * CNPJ, o tipo da empresa ou do parcelamento, a profissão do sócio e o
+ * endereço. O índice é atualizado pelos eventos {@link EntidadeAlterada},
+ * consumidos somente após o commit, e as alterações ficam visíveis para as
+ * buscas no próximo ciclo de atualização do leitor, em geral em menos de um
+ * segundo. O commit em disco é feito periodicamente e ao encerrar a
+ * aplicação.
+ *
+ * O índice é montado na inicialização quando está vazio e pode ser
+ * reconstruído sob demanda: empresas, sócios, parcelamentos ativos e
+ * arquivados são carregados em paralelo no executor {@code cargaExecutor},
+ * cada um na sua própria transação somente leitura. Durante a reconstrução as buscas continuam usando a última
+ * versão completa do índice, e as alterações recebidas no período são
+ * reaplicadas ao final. O índice é gravado em disco antes de ser esvaziado;
+ * se a reconstrução falhar, as alterações dela são descartadas, o índice volta
+ * a esse commit e as alterações recebidas no período são reaplicadas.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class BuscaService {
+
+    private static final String CHAVE = "chave";
+
+    private static final String TIPO = "tipo";
+
+    private static final String ID = "id";
+
+    private static final String EMPRESA = "empresaId";
+
+    private static final String TITULO = "titulo";
+
+    private static final String DOCUMENTO = "documento";
+
+    private static final String CATEGORIA = "categoria";
+
+    private static final String PROFISSAO = "profissao";
+
+    private static final String ENDERECO = "endereco";
+
+    private static final String FILTRO_CATEGORIA = "filtroCategoria";
+
+    private static final String FILTRO_UF = "filtroUf";
+
+    private static final String FILTRO_CIDADE = "filtroCidade";
+
+    private static final Map<String, Float> PESOS = Map.of(TITULO, 4f, DOCUMENTO, 3f, CATEGORIA, 2f,
+            PROFISSAO, 2f, ENDERECO, 1f);
+
+    private static final String[] CAMPOS_DESTAQUE = { TITULO, DOCUMENTO, CATEGORIA, PROFISSAO, ENDERECO };
+
+    /**
+     * Construtor padrão.
+     */
+    public BuscaService() {
+    }
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private SocioRepository socioRepository;
+
+    @Autowired
+    private ParcelamentoRepository parcelamentoRepository;
+
+    @Autowired
+    private ParcelamentoArquivadoRepository parcelamentoArquivadoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("cargaExecutor")
+    private AsyncTaskExecutor cargaExecutor;
+
+    @Value("${contabills.busca.diretorio:indice-busca}")
+    private Path caminho;
+
+    @Value("${contabills.busca.max-resultados:1000}")
+    private int maxResultados;
+
+    private final AnalisadorBusca analisador = new AnalisadorBusca();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final AtomicBoolean reconstruindo = new AtomicBoolean();
+
+    private final AtomicBoolean alterado = new AtomicBoolean();
+
+    private final List<Alteracao> pendentes = new ArrayList<>();
+
+    private Directory diretorio;
+
+    private volatile IndexWriter writer;
+
+    private volatile SearcherManager searcherManager;
+
+    /**
+     * Abre o índice gravado em disco, criando-o se não existir.
+     *
+     * @throws IOException se o diretório do índice não puder ser aberto
+     */
+    @PostConstruct
+    public void abrir() throws IOException {
+        diretorio = FSDirectory.open(caminho);
+        writer = new IndexWriter(diretorio, configuracao());
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * Grava as alterações pendentes e fecha o índice.
+     *
+     * @throws IOException se o índice não puder ser gravado
+     */
+    @PreDestroy
+    public void fechar() throws IOException {
+        searcherManager.close();
+        writer.close();
+        diretorio.close();
+    }
+
+    /**
+     * Monta o índice na inicialização, caso esteja vazio.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregarSeVazio() {
+        if (writer.getDocStats().numDocs == 0) {
+            reconstruir();
+        }
+    }
+
+    /**
+     * Reconstrói todo o índice a partir do banco de dados, carregando cada
+     * tipo de entidade em paralelo.
+     *
+     * Se a carga falhar, o índice volta à versão anterior à reconstrução.
+     *
+     * @return quantidade de documentos indexados
+     * @throws ResponseStatusException com status 409 se já houver uma
+     *                                 reconstrução em andamento
+     */
+    public int reconstruir() {
+        if (!reconstruindo.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Já existe uma reconstrução em andamento");
+        }
+        boolean concluida = false;
+        try {
+            lock.lock();
+            try {
+                writer.commit();
+                writer.deleteAll();
+            } finally {
+                lock.unlock();
+            }
+            List<Supplier<Stream<DadosBusca>>> consultas = List.of(empresaRepository::streamDadosBusca,
+                    socioRepository::streamDadosBusca, parcelamentoRepository::streamDadosBusca,
+                    parcelamentoArquivadoRepository::streamDadosBusca);
+            List<TipoEntidade> tipos = List.of(TipoEntidade.EMPRESA, TipoEntidade.SOCIO,
+                    TipoEntidade.PARCELAMENTO, TipoEntidade.PARCELAMENTO);
+            IndexWriter destino = writer;
+            int total = 0;
+            List<Future<Integer>> parciais = new ArrayList<>();
+            try {
+                for (int i = 0; i < consultas.size(); i++) {
+                    TipoEntidade tipo = tipos.get(i);
+                    Supplier<Stream<DadosBusca>> consulta = consultas.get(i);
+                    parciais.add(cargaExecutor.submit(() -> carregar(destino, tipo, consulta)));
+                }
+                for (Future<Integer> parcial : parciais) {
+                    total += parcial.get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Reconstrução do índice de busca interrompida", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falha ao reconstruir o índice de busca", e.getCause());
+            } finally {
+                parciais.forEach(parcial -> parcial.cancel(true));
+            }
+            lock.lock();
+            try {
+                for (Alteracao alteracao : pendentes) {
+                    alteracao.aplicar();
+                }
+                writer.commit();
+                concluida = true;
+                pendentes.clear();
+                reconstruindo.set(false);
+            } finally {
+                lock.unlock();
+            }
+            searcherManager.maybeRefreshBlocking();
+            log.info("Índice de busca reconstruído com {} documentos", total);
+            return total;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.lock();
+            try {
+                if (!concluida) {
+                    descartarReconstrucao();
+                }
+                pendentes.clear();
+                reconstruindo.set(false);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Descarta uma reconstrução que falhou: desfaz as alterações do índice
+     * desde o commit feito no início da reconstrução, reabre o índice e
+     * reaplica as alterações recebidas no período. Deve ser chamado com o lock
+     * adquirido.
+     */
+    private void descartarReconstrucao() {
+        try {
+            writer.rollback();
+            writer = new IndexWriter(diretorio, configuracao());
+            SearcherManager anterior = searcherManager;
+            searcherManager = new SearcherManager(writer, null);
+            anterior.close();
+            for (Alteracao alteracao : pendentes) {
+                alteracao.aplicar();
+            }
+            alterado.set(true);
+            log.warn("Reconstrução do índice de busca descartada; índice anterior restaurado");
+        } catch (IOException e) {
+            log.error("Falha ao restaurar o índice de busca após a reconstrução", e);
+        }
+    }
+
+    /**
+     * Torna as alterações indexadas visíveis para as buscas.
+     *
+     * Não tem efeito durante uma reconstrução, para que as buscas não vejam o
+     * índice incompleto.
+     */
+    @Scheduled(fixedDelayString = "${contabills.busca.intervalo-atualizacao:PT1S}")
+    public void atualizarLeitor() {
+        if (reconstruindo.get() || !alterado.getAndSet(false)) {
+            return;
+        }
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            alterado.set(true);
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Grava em disco as alterações indexadas desde o último commit.
+     *
+     * Não tem efeito durante uma reconstrução, para que o commit feito no
+     * início dela continue sendo a última versão completa do índice.
+     */
+    @Scheduled(fixedDelayString = "${contabills.busca.intervalo-commit:PT1M}")
+    public void gravar() {
+        lock.lock();
+        try {
+            if (reconstruindo.get() || !writer.hasUncommittedChanges()) {
+                return;
+            }
+            writer.commit();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Busca empresas, sócios e parcelamentos pelo texto e pelos filtros
+     * informados.
+     *
+     * Sem texto, retorna todos os documentos que atendem aos filtros, sem
+     * destaques.
+     *
+     * @param filtro   texto e filtros da busca
+     * @param pageable página e tamanho da página; a ordenação é sempre por
+     *                 relevância
+     * @return página de resultados com os trechos encontrados em destaque
+     * @throws ResponseStatusException com status 400 se a página ultrapassar
+     *                                 a quantidade máxima de resultados
+     */
+    public Page<ResultadoBusca> buscar(FiltroBusca filtro, Pageable pageable) {
+        long fim = pageable.getOffset() + pageable.getPageSize();
+        if (fim > maxResultados) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "A busca retorna no máximo " + maxResultados + " resultados");
+        }
+        Query texto = filtro.q() == null || filtro.q().isBlank() ? null : parser().parse(filtro.q());
+        Query consulta = consulta(texto, filtro);
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs encontrados = searcher.search(consulta,
+                        new TopScoreDocCollectorManager((int) fim, Integer.MAX_VALUE));
+                ScoreDoc[] pagina = Arrays.copyOfRange(encontrados.scoreDocs,
+                        (int) Math.min(pageable.getOffset(), encontrados.scoreDocs.length),
+                        encontrados.scoreDocs.length);
+                Map<String, String[]> destaques = texto == null ? Map.of()
+                        : UnifiedHighlighter.builder(searcher, analisador).withMaxNoHighlightPassages(0).build()
+                                .highlightFields(CAMPOS_DESTAQUE, texto, new TopDocs(encontrados.totalHits, pagina),
+                                        new int[] { 1, 1, 1, 1, 2 });
+                List<ResultadoBusca> resultados = new ArrayList<>(pagina.length);
+                for (int i = 0; i < pagina.length; i++) {
+                    resultados.add(resultado(searcher.storedFields().document(pagina[i].doc), pagina[i].score,
+                            destaques, i));
+                }
+                return new PageImpl<>(resultados, pageable, encontrados.totalHits.value);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Atualiza o índice após o commit de uma alteração de empresa.
+     *
+     * @param evento evento de alteração da empresa
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarEmpresa(EntidadeAlterada<Empresa> evento) {
+        indexar(TipoEntidade.EMPRESA, evento.operacao(), () -> DadosBusca.de(evento.entidade()),
+                evento.entidade().getApelidoId());
+    }
+
+    /**
+     * Atualiza o índice após o commit de uma alteração de sócio.
+     *
+     * @param evento evento de alteração do sócio
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarSocio(EntidadeAlterada<Socio> evento) {
+        indexar(TipoEntidade.SOCIO, evento.operacao(), () -> DadosBusca.de(evento.entidade()),
+                evento.entidade().getId());
+    }
+
+    /**
+     * Atualiza o índice após o commit de uma alteração de parcelamento.
+     *
+     * @param evento evento de alteração do parcelamento
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarParcelamento(EntidadeAlterada<Parcelamento> evento) {
+        indexar(TipoEntidade.PARCELAMENTO, evento.operacao(), () -> DadosBusca.de(evento.entidade()),
+                evento.entidade().getId());
+    }
+
+    private void indexar(TipoEntidade tipo, Operacao operacao, Supplier<DadosBusca> dados, Long id) {
+        if (id == null) {
+            return;
+        }
+        Term chave = new Term(CHAVE, chave(tipo, id));
+        Alteracao alteracao;
+        if (operacao == Operacao.REMOVIDA) {
+            alteracao = () -> writer.deleteDocuments(chave);
+        } else {
+            Document documento = documento(tipo, dados.get());
+            alteracao = () -> writer.updateDocument(chave, documento);
+        }
+        lock.lock();
+        try {
+            alteracao.aplicar();
+            if (reconstruindo.get()) {
+                pendentes.add(alteracao);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+        alterado.set(true);
+    }
+
+    private int carregar(IndexWriter destino, TipoEntidade tipo, Supplier<Stream<DadosBusca>> consulta) {
+        TransactionTemplate leitura = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        leitura.setReadOnly(true);
+        return leitura.execute(status -> {
+            int quantidade = 0;
+            try (Stream<DadosBusca> dados = consulta.get()) {
+                for (DadosBusca d : (Iterable<DadosBusca>) dados::iterator) {
+                    destino.addDocument(documento(tipo, d));
+                    quantidade++;
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return quantidade;
+        });
+    }
+
+    private IndexWriterConfig configuracao() {
+        return new IndexWriterConfig(analisador).setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+    }
+
+    private SimpleQueryParser parser() {
+        SimpleQueryParser parser = new SimpleQueryParser(analisador, PESOS);
+        parser.setDefaultOperator(Occur.MUST);
+        return parser;
+    }
+
+    private static Query consulta(Query texto, FiltroBusca filtro) {
+        BooleanQuery.Builder consulta = new BooleanQuery.Builder()
+                .add(texto != null ? texto : new MatchAllDocsQuery(), Occur.MUST);
+        if (filtro.tipo() != null) {
+            consulta.add(new TermQuery(new Term(TIPO, filtro.tipo().name())), Occur.FILTER);
+        }
+        filtrar(consulta, FILTRO_CATEGORIA, filtro.categoria());
+        filtrar(consulta, FILTRO_UF, filtro.uf());
+        filtrar(consulta, FILTRO_CIDADE, filtro.cidade());
+        if (filtro.empresaId() != null) {
+            consulta.add(LongPoint.newExactQuery(EMPRESA, filtro.empresaId()), Occur.FILTER);
+        }
+        return consulta.build();
+    }
+
+    private static void filtrar(BooleanQuery.Builder consulta, String campo, String valor) {
+        String normalizado = TextoNormalizado.normalizar(valor);
+        if (normalizado != null && !normalizado.isEmpty()) {
+            consulta.add(new TermQuery(new Term(campo, normalizado)), Occur.FILTER);
+        }
+    }
+
+    private static Document documento(TipoEntidade tipo, DadosBusca dados) {
+        Document documento = new Document();
+        documento.add(new StringField(CHAVE, chave(tipo, dados.id()), Store.NO));
+        documento.add(new StringField(TIPO, tipo.name(), Store.YES));
+        documento.add(new StoredField(ID, dados.id()));
+        if (dados.empresaId() != null) {
+            documento.add(new LongPoint(EMPRESA, dados.empresaId()));
+            documento.add(new StoredField(EMPRESA, dados.empresaId()));
+        }
+        texto(documento, TITULO, dados.titulo());
+        if (dados.documento() != null) {
+            texto(documento, DOCUMENTO, dados.documento() + " " + dados.documento().replaceAll("\\D", ""));
+        }
+        texto(documento, CATEGORIA, dados.categoria());
+        texto(documento, PROFISSAO, dados.profissao());
+        filtro(documento, FILTRO_CATEGORIA, dados.categoria());
+        Endereco endereco = dados.endereco();
+        if (endereco != null) {
+            texto(documento, ENDERECO, formatar(endereco));
+            filtro(documento, FILTRO_UF, endereco.getUf());
+            filtro(documento, FILTRO_CIDADE, endereco.getCidade());
+        }
+        return documento;
+    }
+
+    private static void texto(Document documento, String campo, String valor) {
+        if (valor != null && !valor.isBlank()) {
+            documento.add(new TextField(campo, valor, Store.YES));
+        }
+    }
+
+    private static void filtro(Document documento, String campo, String valor) {
+        String normalizado = TextoNormalizado.normalizar(valor);
+        if (normalizado != null && !normalizado.isEmpty()) {
+            documento.add(new StringField(campo, normalizado, Store.NO));
+        }
+    }
+
+    private static String formatar(Endereco endereco) {
+        StringBuilder texto = new StringBuilder();
+        juntar(texto, ", ", endereco.getLogradouro());
+        juntar(texto, ", ", String.valueOf(endereco.getNumero()));
+        juntar(texto, " - ", endereco.getComplemento());
+        juntar(texto, ", ", endereco.getBairro());
+        juntar(texto, ", ", endereco.getCidade());
+        juntar(texto, "/", endereco.getUf());
+        juntar(texto, ", ", endereco.getCep());
+        return texto.toString();
+    }
+
+    private static void juntar(StringBuilder texto, String separador, String valor) {
+        if (valor == null || valor.isBlank()) {
+            return;
+        }
+        if (!texto.isEmpty()) {
+            texto.append(separador);
+        }
+        texto.append(valor);
+    }
+
+    private static ResultadoBusca resultado(Document documento, float relevancia, Map<String, String[]> destaques,
+            int posicao) {
+        Map<String, String> trechos = new LinkedHashMap<>();
+        for (String campo : CAMPOS_DESTAQUE) {
+            String[] valores = destaques.get(campo);
+            if (valores != null && valores[posicao] != null) {
+                trechos.put(campo, valores[posicao]);
+            }
+        }
+        IndexableField empresa = documento.getField(EMPRESA);
+        return new ResultadoBusca(TipoEntidade.valueOf(documento.get(TIPO)),
+                documento.getField(ID).numericValue().longValue(), documento.get(TITULO),
+                empresa != null ? empresa.numericValue().longValue() : null, relevancia, trechos);
+    }
+
+    private static String chave(TipoEntidade tipo, Long id) {
+        return tipo.name() + ":" + id;
+    }
+
+    /**
+     * Alteração do índice que pode ser reaplicada após uma reconstrução.
+     */
+    @FunctionalInterface
+    private interface Alteracao {
+
+        void aplicar() throws IOException;
+    }
+}
@@ -0,0 +1,324 @@
+package br.com.contabills.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.contabills.listener.EntidadeAlterada;
+import br.com.contabills.listener.EntidadeAlterada.Operacao;
+import br.com.contabills.model.CapitalEmpresa;
+import br.com.contabills.model.CapitalVinculo;
+import br.com.contabills.model.DivergenciaCapital;
+import br.com.contabills.model.Empresa;
+import br.com.contabills.model.EmpresaSocio;
+import br.com.contabills.model.EmpresaSocioId;
+import br.com.contabills.repository.EmpresaRepository;
+import br.com.contabills.repository.EmpresaSocioRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice em memória que confronta o capital social declarado de cada empresa
+ * com a soma do capital investido pelos seus sócios.
+ *
+ * Os valores são mantidos em centavos ({@code long}). O índice é atualizado de
+ * forma incremental pelos eventos {@link EntidadeAlterada} de {@link Empresa}
+ * e {@link EmpresaSocio}, consumidos somente após o commit, de modo que o
+ * relatório de divergências não acessa o banco de dados.
+ *
+ * A reconstrução completa divide as empresas em faixas de ID carregadas em
+ * paralelo no executor {@code cargaExecutor}, cada uma em sua própria
+ * transação somente leitura. As alterações
+ * recebidas durante a reconstrução são reaplicadas sobre o novo índice antes
+ * que ele substitua o atual.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class CapitalSocialService {
+
+    /**
+     * Construtor padrão.
+     */
+    public CapitalSocialService() {
+    }
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private EmpresaSocioRepository empresaSocioRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    @Qualifier("cargaExecutor")
+    private AsyncTaskExecutor cargaExecutor;
+
+    @Value("${contabills.capital.particoes:4}")
+    private int particoes;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final AtomicBoolean reconstruindo = new AtomicBoolean();
+
+    private final List<Consumer<Indice>> pendentes = new ArrayList<>();
+
+    private Indice indice = new Indice();
+
+    /**
+     * Reconstrói todo o índice a partir do banco de dados, carregando as faixas
+     * de empresas em paralelo.
+     *
+     * @return quantidade de empresas com divergência após a reconstrução
+     * @throws ResponseStatusException com status 409 se já houver uma
+     *                                 reconstrução em andamento
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${contabills.capital.cron:0 30 3 * * *}")
+    public int reconstruir() {
+        if (!reconstruindo.compareAndSet(false, true)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Já existe uma reconstrução em andamento");
+        }
+        try {
+            Indice novo = carregar();
+            lock.writeLock().lock();
+            try {
+                pendentes.forEach(alteracao -> alteracao.accept(novo));
+                pendentes.clear();
+                indice = novo;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            int divergentes = divergencias().size();
+            log.info("Índice de capital social reconstruído com {} empresas, {} divergentes", novo.saldos.size(),
+                    divergentes);
+            return divergentes;
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendentes.clear();
+                reconstruindo.set(false);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Lista as empresas cujo capital social declarado difere da soma do
+     * capital investido pelos sócios.
+     *
+     * @return divergências em ordem decrescente de diferença absoluta
+     */
+    public List<DivergenciaCapital> divergencias() {
+        lock.readLock().lock();
+        try {
+            return indice.saldos.entrySet().stream()
+                    .filter(e -> e.getValue().cadastrada && e.getValue().declarado != e.getValue().investido)
+                    .sorted(Comparator.comparingLong((Map.Entry<Long, Saldo> e) -> Math.abs(
+                            e.getValue().declarado - e.getValue().investido)).reversed()
+                            .thenComparing(Map.Entry::getKey))
+                    .map(e -> e.getValue().divergencia(e.getKey()))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Atualiza o capital declarado após o commit de uma alteração de empresa.
+     *
+     * @param evento evento de alteração da empresa
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarEmpresa(EntidadeAlterada<Empresa> evento) {
+        Empresa empresa = evento.entidade();
+        Long empresaId = empresa.getApelidoId();
+        if (evento.operacao() == Operacao.REMOVIDA) {
+            aplicar(i -> i.removerEmpresa(empresaId));
+        } else {
+            String razaoSocial = empresa.getRazaoSocial();
+            long declarado = paraCentavos(empresa.getCapitalSocialEmpresa());
+            aplicar(i -> i.declarar(empresaId, razaoSocial, declarado));
+        }
+    }
+
+    /**
+     * Atualiza a soma do capital investido após o commit de uma alteração de
+     * vínculo.
+     *
+     * @param evento evento de alteração do vínculo
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarVinculo(EntidadeAlterada<EmpresaSocio> evento) {
+        EmpresaSocio vinculo = evento.entidade();
+        EmpresaSocioId chave = vinculo.getId();
+        if (chave == null || chave.getEmpresaId() == null) {
+            return;
+        }
+        EmpresaSocioId copia = new EmpresaSocioId(chave.getEmpresaId(), chave.getSocioId());
+        if (evento.operacao() == Operacao.REMOVIDA) {
+            aplicar(i -> i.removerVinculo(copia));
+        } else {
+            long investido = paraCentavos(vinculo.getCapitalInvestido());
+            aplicar(i -> i.investir(copia, investido));
+        }
+    }
+
+    private void aplicar(Consumer<Indice> alteracao) {
+        lock.writeLock().lock();
+        try {
+            alteracao.accept(indice);
+            if (reconstruindo.get()) {
+                pendentes.add(alteracao);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Indice carregar() {
+        Long menor = empresaRepository.findMenorId();
+        Long maior = empresaRepository.findMaiorId();
+        Indice novo = new Indice();
+        if (menor == null || maior == null) {
+            return novo;
+        }
+        long faixas = Math.max(1, Math.min(particoes, maior - menor + 1));
+        long largura = (maior - menor) / faixas + 1;
+        List<Future<Indice>> parciais = new ArrayList<>();
+        try {
+            for (long inicio = menor; inicio <= maior; inicio += largura) {
+                long fim = Math.min(maior, inicio + largura - 1);
+                long inicioFaixa = inicio;
+                parciais.add(cargaExecutor.submit(() -> carregarFaixa(inicioFaixa, fim)));
+                if (fim == maior) {
+                    break;
+                }
+            }
+            for (Future<Indice> parcial : parciais) {
+                novo.incorporar(parcial.get());
+            }
+            return novo;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Reconstrução do índice de capital social interrompida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falha ao reconstruir o índice de capital social", e.getCause());
+        } finally {
+            parciais.forEach(parcial -> parcial.cancel(true));
+        }
+    }
+
+    private Indice carregarFaixa(long inicio, long fim) {
+        TransactionTemplate leitura = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        leitura.setReadOnly(true);
+        return leitura.execute(status -> {
+            Indice parcial = new Indice();
+            try (Stream<CapitalEmpresa> empresas = empresaRepository.streamCapitais(inicio, fim)) {
+                empresas.forEach(e -> parcial.declarar(e.empresaId(), e.razaoSocial(),
+                        paraCentavos(e.capitalSocial())));
+            }
+            try (Stream<CapitalVinculo> vinculos = empresaSocioRepository.streamCapitais(inicio, fim)) {
+                vinculos.forEach(v -> parcial.investir(new EmpresaSocioId(v.empresaId(), v.socioId()),
+                        paraCentavos(v.capitalInvestido())));
+            }
+            return parcial;
+        });
+    }
+
+    private static long paraCentavos(double valor) {
+        return Math.round(valor * 100);
+    }
+
+    /**
+     * Capital declarado e investido de uma empresa.
+     */
+    private static final class Saldo {
+
+        private String razaoSocial;
+
+        private boolean cadastrada;
+
+        private long declarado;
+
+        private long investido;
+
+        private int socios;
+
+        DivergenciaCapital divergencia(Long empresaId) {
+            return new DivergenciaCapital(empresaId, razaoSocial, BigDecimal.valueOf(declarado, 2),
+                    BigDecimal.valueOf(investido, 2), BigDecimal.valueOf(declarado - investido, 2), socios);
+        }
+    }
+
+    /**
+     * Saldos por empresa e capital de cada vínculo, necessário para calcular a
+     * diferença quando um vínculo é alterado ou removido.
+     */
+    private static final class Indice {
+
+        private final Map<Long, Saldo> saldos = new HashMap<>();
+
+        private final Map<EmpresaSocioId, Long> vinculos = new HashMap<>();
+
+        void declarar(Long empresaId, String razaoSocial, long declarado) {
+            Saldo saldo = saldos.computeIfAbsent(empresaId, id -> new Saldo());
+            saldo.razaoSocial = razaoSocial;
+            saldo.declarado = declarado;
+            saldo.cadastrada = true;
+        }
+
+        void removerEmpresa(Long empresaId) {
+            saldos.remove(empresaId);
+        }
+
+        void investir(EmpresaSocioId chave, long investido) {
+            Long anterior = vinculos.put(chave, investido);
+            Saldo saldo = saldos.computeIfAbsent(chave.getEmpresaId(), id -> new Saldo());
+            saldo.investido += investido - (anterior != null ? anterior : 0);
+            if (anterior == null) {
+                saldo.socios++;
+            }
+        }
+
+        void removerVinculo(EmpresaSocioId chave) {
+            Long anterior = vinculos.remove(chave);
+            Saldo saldo = saldos.get(chave.getEmpresaId());
+            if (anterior != null && saldo != null) {
+                saldo.investido -= anterior;
+                saldo.socios--;
+            }
+        }
+
+        void incorporar(Indice parcial) {
+            saldos.putAll(parcial.saldos);
+            vinculos.putAll(parcial.vinculos);
+        }
+    }
+}
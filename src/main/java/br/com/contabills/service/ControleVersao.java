@@ -0,0 +1,163 @@
+package br.com.contabills.service;
+
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Utilitário para o controle de concorrência otimista baseado na coluna
+ * {@code @Version} das entidades.
+ *
+ * A versão da entidade é exposta no cabeçalho {@code ETag}. Requisições de
+ * alteração podem enviar {@code If-Match} para garantir que estão alterando a
+ * versão que leram, e requisições de leitura podem enviar
+ * {@code If-None-Match} para receber 304 quando nada mudou.
+ *
+ * Recursos cuja representação incorpora outras entidades (a empresa com seus
+ * sócios e parcelamentos, o parcelamento com suas parcelas, o sócio com suas
+ * empresas e a parcela com seu parcelamento e empresa) usam como ETag um
+ * resumo da representação serializada, pois a alteração de uma entidade
+ * incorporada não altera a versão da entidade principal.
+ *
+ * {@code If-None-Match} usa a comparação fraca e {@code If-Match} a comparação
+ * forte: uma ETag fraca ({@code W/"..."}) nunca satisfaz {@code If-Match}.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public final class ControleVersao {
+
+    private ControleVersao() {
+    }
+
+    /**
+     * Monta o valor do cabeçalho ETag para a versão informada.
+     *
+     * @param versao versão da entidade
+     * @return ETag no formato {@code "<versao>"}
+     */
+    public static String etag(Long versao) {
+        return "\"" + (versao != null ? versao : 0L) + "\"";
+    }
+
+    /**
+     * Monta o valor do cabeçalho ETag a partir da representação JSON completa
+     * do recurso, incluindo as entidades incorporadas.
+     *
+     * @param representacao corpo da resposta
+     * @param objectMapper  serializador utilizado nas respostas
+     * @return ETag no formato {@code "<resumo SHA-256 da representação>"}
+     */
+    public static String etag(Object representacao, ObjectMapper objectMapper) {
+        try {
+            byte[] resumo = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(representacao));
+            return "\"" + HexFormat.of().formatHex(resumo, 0, 16) + "\"";
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Monta a resposta de leitura com o cabeçalho ETag, retornando 304 caso o
+     * cliente já possua a versão atual.
+     *
+     * @param <T>         tipo do corpo da resposta
+     * @param corpo       corpo da resposta
+     * @param versao      versão atual da entidade
+     * @param ifNoneMatch valor do cabeçalho If-None-Match (opcional)
+     * @return resposta 200 com o corpo ou 304 sem corpo
+     */
+    public static <T> ResponseEntity<T> responder(T corpo, Long versao, String ifNoneMatch) {
+        return responder(corpo, etag(versao), ifNoneMatch);
+    }
+
+    /**
+     * Monta a resposta de leitura com a ETag informada, retornando 304 caso o
+     * cliente já possua a representação atual.
+     *
+     * @param <T>         tipo do corpo da resposta
+     * @param corpo       corpo da resposta
+     * @param etag        ETag da representação atual
+     * @param ifNoneMatch valor do cabeçalho If-None-Match (opcional)
+     * @return resposta 200 com o corpo ou 304 sem corpo
+     */
+    public static <T> ResponseEntity<T> responder(T corpo, String etag, String ifNoneMatch) {
+        if (ifNoneMatch != null && contem(ifNoneMatch, etag, true)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+        return ResponseEntity.ok().eTag(etag).body(corpo);
+    }
+
+    /**
+     * Verifica se a versão informada pelo cliente corresponde à versão atual da
+     * entidade.
+     *
+     * @param ifMatch         valor do cabeçalho If-Match (opcional)
+     * @param versaoInformada versão enviada no corpo da requisição (opcional)
+     * @param versaoAtual     versão atual da entidade
+     * @throws ResponseStatusException com status 412 se alguma das versões
+     *                                 informadas estiver desatualizada
+     */
+    public static void verificar(String ifMatch, Long versaoInformada, Long versaoAtual) {
+        verificar(ifMatch, versaoInformada, versaoAtual, () -> etag(versaoAtual));
+    }
+
+    /**
+     * Verifica se a representação e a versão informadas pelo cliente
+     * correspondem ao estado atual do recurso.
+     *
+     * A ETag só é calculada quando o cliente envia {@code If-Match} ou quando
+     * a versão informada está desatualizada, pois o resumo da representação
+     * exige serializar o recurso com as entidades incorporadas.
+     *
+     * @param ifMatch         valor do cabeçalho If-Match (opcional)
+     * @param versaoInformada versão enviada no corpo da requisição (opcional)
+     * @param versaoAtual     versão atual da entidade
+     * @param etag            calcula a ETag da representação atual
+     * @throws ResponseStatusException com status 412 se alguma das versões
+     *                                 informadas estiver desatualizada
+     */
+    public static void verificar(String ifMatch, Long versaoInformada, Long versaoAtual, Supplier<String> etag) {
+        if (ifMatch != null && !ifMatch.isBlank()) {
+            String atual = etag.get();
+            if (!contem(ifMatch, atual, false)) {
+                throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                        "O registro foi alterado por outro usuário. Versão atual: " + atual);
+            }
+        }
+        if (versaoInformada != null && !versaoInformada.equals(versaoAtual)) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                    "O registro foi alterado por outro usuário. Versão atual: " + etag.get());
+        }
+    }
+
+    private static boolean contem(String cabecalho, String etag, boolean comparacaoFraca) {
+        for (String valor : cabecalho.split(",")) {
+            String tag = valor.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                if (!comparacaoFraca) {
+                    continue;
+                }
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
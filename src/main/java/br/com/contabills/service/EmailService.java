@@ -16,7 +16,7 @@ import jakarta.mail.internet.MimeMessage;
  * Serviço responsável por envio de e-mails com ou sem anexos.
  * Utiliza o {@link JavaMailSender} para criar e enviar mensagens do tipo MIME.
  *
- * Atualmente, suporta envio de e-mail com anexo (PDF ou outro tipo de arquivo).
+ * Suporta envio de e-mail simples ou com anexo (PDF ou outro tipo de arquivo).
  * 
  * @author Gerson
  * @version 1.0
@@ -34,6 +34,25 @@ public class EmailService {
         // Construtor padrão necessário para frameworks e ferramentas de análise
     }
 
+    /**
+     * Envia um e-mail sem anexos.
+     *
+     * @param to      Endereço de destino
+     * @param subject Assunto do e-mail
+     * @param text    Mensagem do e-mail (pode conter HTML)
+     * @throws MessagingException Em caso de erro no envio.
+     */
+    public void sendEmail(String to, String subject, String text) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setTo(to);
+        helper.setSubject(subject);
+        helper.setText(text, true); // true = conteúdo HTML
+
+        mailSender.send(message);
+    }
+
     /**
      * Envia um e-mail com um anexo.
      *
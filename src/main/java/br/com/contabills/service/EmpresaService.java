@@ -1,17 +1,36 @@
 package br.com.contabills.service;
 
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.contabills.listener.EntidadeAlterada;
+import br.com.contabills.listener.EntidadeAlterada.Operacao;
+import br.com.contabills.model.DadosEmpresa;
 import br.com.contabills.model.Empresa;
 import br.com.contabills.model.EmpresaSocio;
+import br.com.contabills.model.EmpresaSocioId;
+import br.com.contabills.model.FiltroEmpresa;
 import br.com.contabills.model.Socio;
 import br.com.contabills.repository.EmpresaRepository;
+import br.com.contabills.repository.EmpresaSocioRepository;
+import br.com.contabills.repository.EmpresaSpecifications;
 import br.com.contabills.repository.SocioRepository;
+import br.com.contabills.validacao.Documentos;
 
 /**
  * Serviço responsável pela manipulação das regras de negócio relacionadas à
@@ -39,14 +58,34 @@ public class EmpresaService {
     @Autowired
     private SocioRepository socioRepository;
 
+    @Autowired
+    private EmpresaSocioRepository empresaSocioRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
-     * Retorna uma página de empresas com base nas informações de paginação.
+     * Retorna uma página com os dados cadastrais das empresas que atendem aos
+     * critérios informados.
+     * 
+     * A página é lida por uma consulta de projeção, sem carregar os sócios e
+     * os parcelamentos, e a contagem total considera os mesmos critérios.
      *
+     * @param filtro   critérios de filtragem (opcional)
      * @param pageable informações de paginação e ordenação
-     * @return uma página contendo as empresas
+     * @return uma página contendo as empresas filtradas
+     * @throws ResponseStatusException com status 400 se o termo de busca não
+     *                                 tiver letras nem dígitos
      */
-    public Page<Empresa> listarEmpresas(Pageable pageable) {
-        return empresaRepository.findAll(pageable);
+    public Page<DadosEmpresa> listarEmpresas(FiltroEmpresa filtro, Pageable pageable) {
+        if (filtro != null) {
+            TermoBusca.normalizar(filtro.busca());
+        }
+        return empresaRepository.listarDados(
+                filtro == null || filtro.vazio() ? null : EmpresaSpecifications.filtrar(filtro), pageable);
     }
 
     /**
@@ -62,17 +101,41 @@ public class EmpresaService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Empresa não encontrada"));
     }
 
+    /**
+     * Busca uma empresa pelo seu CNPJ, em qualquer formato.
+     *
+     * @param cnpj - CNPJ da empresa, com ou sem máscara.
+     * @return Empresa - empresa encontrada.
+     * @throws ResponseStatusException com status 400 se o CNPJ não tiver 14
+     *                                 dígitos, ou 404 caso a empresa não seja
+     *                                 encontrada.
+     */
+    public Empresa buscarEmpresaPorCnpj(String cnpj) {
+        String digitos = Documentos.digitos(cnpj);
+        if (digitos == null || digitos.length() != Documentos.TAMANHO_CNPJ) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O CNPJ deve ter 14 dígitos");
+        }
+        return empresaRepository.findByCnpjDigitos(digitos)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Empresa não encontrada"));
+    }
+
     /**
      * Cadastra uma nova empresa.
      * 
      * Antes de persistir, o método trata (sincroniza) as associações com sócios
-     * verificando se cada sócio informado existe com base no CPF.
+     * verificando se cada sócio informado existe com base no CPF. A empresa é
+     * sempre inserida como nova; se o ID já existir, o banco rejeita o cadastro.
      *
      * @param empresa - objeto Empresa a ser cadastrado.
      * @return Empresa - empresa cadastrada.
-     * @throws ResponseStatusException se algum sócio informado não for encontrado.
+     * @throws ResponseStatusException se algum sócio informado não for encontrado,
+     *                                 ou com status 409 se o CNPJ já pertencer a
+     *                                 outra empresa.
      */
+    @Transactional
     public Empresa cadastrarEmpresa(Empresa empresa) {
+        verificarCnpj(empresa, empresa.getApelidoId());
+        empresa.setVersao(null);
         tratarSocios(empresa);
         return empresaRepository.save(empresa);
     }
@@ -80,17 +143,26 @@ public class EmpresaService {
     /**
      * Atualiza os dados de uma empresa existente.
      * 
-     * Verifica a existência da empresa pelo ID, trata as associações com sócios e
-     * salva os novos dados.
+     * Verifica a existência da empresa pelo ID e a versão informada, trata as
+     * associações com sócios e salva os novos dados.
      *
      * @param id      - ID da empresa a ser atualizada.
      * @param empresa - objeto Empresa com os novos dados.
+     * @param ifMatch - ETag esperada da empresa (cabeçalho If-Match, opcional).
      * @return Empresa - empresa atualizada.
      * @throws ResponseStatusException se a empresa ou algum sócio não for
-     *                                 encontrado.
+     *                                 encontrado, se a versão informada
+     *                                 estiver desatualizada (412) ou se o CNPJ
+     *                                 já pertencer a outra empresa (409).
      */
-    public Empresa atualizarEmpresa(Long id, Empresa empresa) {
-        buscarEmpresaPorId(id);
+    @Transactional
+    public Empresa atualizarEmpresa(Long id, Empresa empresa, String ifMatch) {
+        Empresa existente = buscarEmpresaPorId(id);
+        ControleVersao.verificar(ifMatch, empresa.getVersao(), existente.getVersao(),
+                () -> ControleVersao.etag(existente, objectMapper));
+        verificarCnpj(empresa, id);
+        empresa.setApelidoId(id);
+        empresa.setVersao(existente.getVersao());
         tratarSocios(empresa);
         return empresaRepository.save(empresa);
     }
@@ -98,47 +170,100 @@ public class EmpresaService {
     /**
      * Exclui uma empresa pelo seu ID.
      * 
-     * Antes da exclusão, remove as associações com sócios para evitar que os
-     * relacionamentos fiquem inconsistentes.
+     * Os vínculos da empresa com os sócios e a própria empresa são excluídos
+     * com um comando cada, na mesma transação, sem carregar os sócios. Como
+     * esses comandos não passam pelos callbacks JPA, os eventos de remoção são
+     * publicados aqui para manter os índices em memória atualizados após o
+     * commit.
      *
      * @param id - ID da empresa a ser excluída.
      * @throws ResponseStatusException se a empresa não for encontrada.
      */
+    @Transactional
     public void excluirEmpresa(Long id) {
-        Empresa empresa = buscarEmpresaPorId(id);
-        if (empresa.getEmpresaSocios() != null) {
-            for (EmpresaSocio es : empresa.getEmpresaSocios()) {
-                Socio socio = es.getSocio();
-                if (socio != null && socio.getEmpresaSocios() != null) {
-                    socio.getEmpresaSocios().remove(es);
-                }
-            }
+        if (!empresaRepository.existsById(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Empresa não encontrada");
+        }
+        List<EmpresaSocioId> vinculos = empresaSocioRepository.findChavesPorEmpresa(id);
+        if (!vinculos.isEmpty()) {
+            empresaSocioRepository.excluirPorEmpresa(id);
+        }
+        empresaRepository.excluirPorId(id);
+        vinculos.forEach(chave -> eventPublisher.publishEvent(
+                new EntidadeAlterada<>(EmpresaSocio.builder().id(chave).build(), Operacao.REMOVIDA)));
+        eventPublisher.publishEvent(new EntidadeAlterada<>(Empresa.builder().apelidoId(id).build(), Operacao.REMOVIDA));
+    }
+
+    /**
+     * Impede que duas empresas tenham o mesmo CNPJ, ainda que informado com e
+     * sem máscara.
+     *
+     * @param empresa - empresa a ser gravada.
+     * @param id      - ID da empresa a desconsiderar, ou null no cadastro.
+     * @throws ResponseStatusException com status 409 se o CNPJ já pertencer a
+     *                                 outra empresa.
+     */
+    private void verificarCnpj(Empresa empresa, Long id) {
+        String digitos = Documentos.digitos(empresa.getCnpj());
+        if (digitos == null) {
+            return;
+        }
+        boolean existe = id == null
+                ? empresaRepository.existsByCnpjDigitos(digitos)
+                : empresaRepository.existsByCnpjDigitosAndApelidoIdNot(digitos, id);
+        if (existe) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "CNPJ " + empresa.getCnpj() + " já cadastrado");
         }
-        empresaRepository.deleteById(id);
     }
 
     /**
      * Trata as associações entre Empresa e Sócio.
      * 
-     * Para cada associação existente na empresa, verifica se o sócio informado
-     * possui
-     * um CPF e busca o sócio correspondente no repositório. Caso o sócio seja
-     * encontrado, atualiza o ID do sócio na associação para sincronizar os dados.
+     * Os CPFs de todas as associações são resolvidos em uma única consulta e
+     * cada associação passa a apontar para o sócio cadastrado, com a chave
+     * composta e a referência à empresa preenchidas.
      *
      * @param empresa - objeto Empresa cujas associações com sócios serão tratadas.
-     * @throws ResponseStatusException se o CPF de algum sócio não for encontrado.
+     * @throws ResponseStatusException com status 404 listando todos os CPFs que
+     *                                 não pertencem a nenhum sócio.
      */
     private void tratarSocios(Empresa empresa) {
-        if (empresa.getEmpresaSocios() != null) {
-            for (EmpresaSocio es : empresa.getEmpresaSocios()) {
-                Socio socio = es.getSocio();
-                if (socio != null && socio.getCpf() != null) {
-                    Socio socioExistente = socioRepository.findByCpf(socio.getCpf())
-                            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
-                                    "CPF " + socio.getCpf() + " não pertence a nenhum sócio"));
-                    socio.setId(socioExistente.getId());
-                    es.setSocio(socio);
-                }
+        if (empresa.getEmpresaSocios() == null || empresa.getEmpresaSocios().isEmpty()) {
+            return;
+        }
+        Set<String> cpfs = empresa.getEmpresaSocios().stream()
+                .map(EmpresaSocio::getSocio)
+                .filter(Objects::nonNull)
+                .map(Socio::getCpf)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        if (cpfs.isEmpty()) {
+            return;
+        }
+        Map<String, Socio> sociosPorCpf = socioRepository.findByCpfDigitosIn(cpfs.stream()
+                .map(Documentos::digitos)
+                .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Socio::getCpfDigitos, Function.identity()));
+        List<String> desconhecidos = cpfs.stream()
+                .filter(cpf -> !sociosPorCpf.containsKey(Documentos.digitos(cpf)))
+                .sorted()
+                .toList();
+        if (desconhecidos.size() == 1) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    "CPF " + desconhecidos.get(0) + " não pertence a nenhum sócio");
+        }
+        if (!desconhecidos.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+                    "CPFs não pertencem a nenhum sócio: " + String.join(", ", desconhecidos));
+        }
+        for (EmpresaSocio es : empresa.getEmpresaSocios()) {
+            Socio socio = es.getSocio();
+            if (socio != null && socio.getCpf() != null) {
+                Socio socioExistente = sociosPorCpf.get(Documentos.digitos(socio.getCpf()));
+                es.setSocio(socioExistente);
+                es.setEmpresa(empresa);
+                es.setId(new EmpresaSocioId(empresa.getApelidoId(), socioExistente.getId()));
             }
         }
     }
@@ -0,0 +1,336 @@
+package br.com.contabills.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.contabills.model.Empresa;
+import br.com.contabills.model.Parcela;
+import br.com.contabills.model.Parcelamento;
+import br.com.contabills.model.Socio;
+import br.com.contabills.repository.EmpresaRepository;
+import br.com.contabills.repository.ParcelaRepository;
+import br.com.contabills.repository.SocioRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serviço responsável pela exportação completa de empresas, sócios e parcelas
+ * em CSV ou NDJSON.
+ *
+ * Os registros são lidos com consultas em streaming (cursor somente para
+ * frente) e escritos diretamente na saída, linha a linha. O contexto de
+ * persistência é limpo periodicamente, de modo que o consumo de memória não
+ * depende da quantidade de registros exportados.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class ExportacaoService {
+
+    private static final List<Coluna<Empresa>> COLUNAS_EMPRESA = List.of(
+            new Coluna<>("apelidoId", Empresa::getApelidoId),
+            new Coluna<>("razaoSocial", Empresa::getRazaoSocial),
+            new Coluna<>("tipoEmpresa", Empresa::getTipoEmpresa),
+            new Coluna<>("cnpj", Empresa::getCnpj),
+            new Coluna<>("iptu", Empresa::getIptu),
+            new Coluna<>("email", Empresa::getEmail),
+            new Coluna<>("telefone", Empresa::getTelefone),
+            new Coluna<>("capitalSocialEmpresa", Empresa::getCapitalSocialEmpresa),
+            new Coluna<>("possuiProcuracao", Empresa::isPossuiProcuracao),
+            new Coluna<>("possuiCertificado", Empresa::isPossuiCertificado),
+            new Coluna<>("logradouro", e -> e.getEnderecoEmpresa() != null ? e.getEnderecoEmpresa().getLogradouro() : null),
+            new Coluna<>("numero", e -> e.getEnderecoEmpresa() != null ? e.getEnderecoEmpresa().getNumero() : null),
+            new Coluna<>("complemento", e -> e.getEnderecoEmpresa() != null ? e.getEnderecoEmpresa().getComplemento() : null),
+            new Coluna<>("bairro", e -> e.getEnderecoEmpresa() != null ? e.getEnderecoEmpresa().getBairro() : null),
+            new Coluna<>("cidade", e -> e.getEnderecoEmpresa() != null ? e.getEnderecoEmpresa().getCidade() : null),
+            new Coluna<>("uf", e -> e.getEnderecoEmpresa() != null ? e.getEnderecoEmpresa().getUf() : null),
+            new Coluna<>("cep", e -> e.getEnderecoEmpresa() != null ? e.getEnderecoEmpresa().getCep() : null));
+
+    private static final List<Coluna<Socio>> COLUNAS_SOCIO = List.of(
+            new Coluna<>("id", Socio::getId),
+            new Coluna<>("nome", Socio::getNome),
+            new Coluna<>("dataNascimento", Socio::getDataNascimento),
+            new Coluna<>("cpf", Socio::getCpf),
+            new Coluna<>("rg", Socio::getRg),
+            new Coluna<>("dataDeEmissaoRg", Socio::getDataDeEmissaoRg),
+            new Coluna<>("cnh", Socio::getCnh),
+            new Coluna<>("dataDeEmissaoCnh", Socio::getDataDeEmissaoCnh),
+            new Coluna<>("dataDeValidadeCnh", Socio::getDataDeValidadeCnh),
+            new Coluna<>("nomeDaMae", Socio::getNomeDaMae),
+            new Coluna<>("nomeDoPai", Socio::getNomeDoPai),
+            new Coluna<>("nacionalidade", Socio::getNacionalidade),
+            new Coluna<>("estadoCivil", Socio::getEstadoCivil),
+            new Coluna<>("tipoDeComunhao", Socio::getTipoDeComunhao),
+            new Coluna<>("profissao", Socio::getProfissao),
+            new Coluna<>("logradouro", s -> s.getEnderecoSocio() != null ? s.getEnderecoSocio().getLogradouro() : null),
+            new Coluna<>("numero", s -> s.getEnderecoSocio() != null ? s.getEnderecoSocio().getNumero() : null),
+            new Coluna<>("complemento", s -> s.getEnderecoSocio() != null ? s.getEnderecoSocio().getComplemento() : null),
+            new Coluna<>("bairro", s -> s.getEnderecoSocio() != null ? s.getEnderecoSocio().getBairro() : null),
+            new Coluna<>("cidade", s -> s.getEnderecoSocio() != null ? s.getEnderecoSocio().getCidade() : null),
+            new Coluna<>("uf", s -> s.getEnderecoSocio() != null ? s.getEnderecoSocio().getUf() : null),
+            new Coluna<>("cep", s -> s.getEnderecoSocio() != null ? s.getEnderecoSocio().getCep() : null));
+
+    private static final List<Coluna<Parcela>> COLUNAS_PARCELA = List.of(
+            new Coluna<>("id", Parcela::getId),
+            new Coluna<>("numero", Parcela::getNumero),
+            new Coluna<>("valor", Parcela::getValor),
+            new Coluna<>("dataVencimento", Parcela::getDataVencimento),
+            new Coluna<>("enviadoMesAtual", Parcela::isEnviadoMesAtual),
+            new Coluna<>("createdAt", Parcela::getCreatedAt),
+            new Coluna<>("parcelamentoId", p -> p.getParcelamento() != null ? p.getParcelamento().getId() : null),
+            new Coluna<>("registroDoParcelamento",
+                    p -> p.getParcelamento() != null ? p.getParcelamento().getRegistroDoParcelamento() : null),
+            new Coluna<>("empresaId", ExportacaoService::empresaId));
+
+    /**
+     * Construtor padrão.
+     */
+    public ExportacaoService() {
+    }
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private SocioRepository socioRepository;
+
+    @Autowired
+    private ParcelaRepository parcelaRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${contabills.exportacao.intervalo-limpeza:1000}")
+    private int intervaloLimpeza;
+
+    /**
+     * Formatos de exportação suportados.
+     */
+    public enum Formato {
+
+        /** Valores separados por ponto e vírgula, com cabeçalho. */
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+
+        /** Um objeto JSON por linha. */
+        NDJSON(new MediaType("application", "x-ndjson", StandardCharsets.UTF_8), "ndjson");
+
+        private final MediaType mediaType;
+
+        private final String extensao;
+
+        Formato(MediaType mediaType, String extensao) {
+            this.mediaType = mediaType;
+            this.extensao = extensao;
+        }
+
+        /**
+         * @return tipo de conteúdo da resposta
+         */
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        /**
+         * @return extensão do arquivo gerado
+         */
+        public String getExtensao() {
+            return extensao;
+        }
+
+        /**
+         * Converte o valor informado na requisição, sem diferenciar maiúsculas.
+         *
+         * @param valor nome do formato
+         * @return formato correspondente
+         * @throws ResponseStatusException com status 400 se o formato não for
+         *                                 suportado
+         */
+        public static Formato de(String valor) {
+            try {
+                return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Formato não suportado: " + valor + ". Utilize csv ou ndjson");
+            }
+        }
+    }
+
+    /**
+     * Exporta todas as empresas.
+     *
+     * @param formato formato da exportação
+     * @param saida   destino dos dados
+     */
+    @Transactional(readOnly = true)
+    public void exportarEmpresas(Formato formato, OutputStream saida) {
+        try (Stream<Empresa> empresas = empresaRepository.streamTodas()) {
+            exportar(empresas, COLUNAS_EMPRESA, formato, saida);
+        }
+    }
+
+    /**
+     * Exporta todos os sócios.
+     *
+     * @param formato formato da exportação
+     * @param saida   destino dos dados
+     */
+    @Transactional(readOnly = true)
+    public void exportarSocios(Formato formato, OutputStream saida) {
+        try (Stream<Socio> socios = socioRepository.streamTodos()) {
+            exportar(socios, COLUNAS_SOCIO, formato, saida);
+        }
+    }
+
+    /**
+     * Exporta todas as parcelas ativas, com o parcelamento e a empresa a que
+     * pertencem.
+     *
+     * @param formato formato da exportação
+     * @param saida   destino dos dados
+     */
+    @Transactional(readOnly = true)
+    public void exportarParcelas(Formato formato, OutputStream saida) {
+        try (Stream<Parcela> parcelas = parcelaRepository.streamTodas()) {
+            exportar(parcelas, COLUNAS_PARCELA, formato, saida);
+        }
+    }
+
+    private <T> void exportar(Stream<T> registros, List<Coluna<T>> colunas, Formato formato, OutputStream saida) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8));
+        long total = 0;
+        try {
+            Escritor<T> escritor = formato == Formato.CSV ? new EscritorCsv<>(writer, colunas)
+                    : new EscritorNdjson<>(objectMapper.getFactory().createGenerator(writer), colunas);
+            for (T registro : (Iterable<T>) registros::iterator) {
+                escritor.escrever(registro);
+                if (++total % intervaloLimpeza == 0) {
+                    entityManager.clear();
+                }
+            }
+            escritor.finalizar();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("{} registros exportados em {}", total, formato);
+    }
+
+    private static Long empresaId(Parcela parcela) {
+        Parcelamento parcelamento = parcela.getParcelamento();
+        return parcelamento != null && parcelamento.getEmpresa() != null
+                ? parcelamento.getEmpresa().getApelidoId()
+                : null;
+    }
+
+    /**
+     * Coluna exportada: nome do campo e função que extrai o valor do registro.
+     */
+    private record Coluna<T>(String nome, Function<T, Object> valor) {
+    }
+
+    private interface Escritor<T> {
+
+        void escrever(T registro) throws IOException;
+
+        void finalizar() throws IOException;
+    }
+
+    private static final class EscritorCsv<T> implements Escritor<T> {
+
+        private final Writer writer;
+
+        private final List<Coluna<T>> colunas;
+
+        EscritorCsv(Writer writer, List<Coluna<T>> colunas) throws IOException {
+            this.writer = writer;
+            this.colunas = colunas;
+            writer.write(colunas.stream().map(Coluna::nome).collect(Collectors.joining(";")));
+            writer.write('\n');
+        }
+
+        @Override
+        public void escrever(T registro) throws IOException {
+            for (int i = 0; i < colunas.size(); i++) {
+                if (i > 0) {
+                    writer.write(';');
+                }
+                writer.write(csv(colunas.get(i).valor().apply(registro)));
+            }
+            writer.write('\n');
+        }
+
+        @Override
+        public void finalizar() {
+        }
+
+        private static String csv(Object valor) {
+            if (valor == null) {
+                return "";
+            }
+            String texto = valor.toString();
+            if (texto.indexOf(';') >= 0 || texto.indexOf('"') >= 0 || texto.indexOf('\n') >= 0) {
+                return "\"" + texto.replace("\"", "\"\"") + "\"";
+            }
+            return texto;
+        }
+    }
+
+    private static final class EscritorNdjson<T> implements Escritor<T> {
+
+        private final JsonGenerator generator;
+
+        private final List<Coluna<T>> colunas;
+
+        EscritorNdjson(JsonGenerator generator, List<Coluna<T>> colunas) {
+            this.generator = generator;
+            this.colunas = colunas;
+            generator.setPrettyPrinter(new MinimalPrettyPrinter("\n"));
+        }
+
+        @Override
+        public void escrever(T registro) throws IOException {
+            generator.writeStartObject();
+            for (Coluna<T> coluna : colunas) {
+                generator.writeFieldName(coluna.nome());
+                generator.writeObject(coluna.valor().apply(registro));
+            }
+            generator.writeEndObject();
+        }
+
+        @Override
+        public void finalizar() throws IOException {
+            if (generator.getOutputContext().getEntryCount() > 0) {
+                generator.writeRaw('\n');
+            }
+            generator.flush();
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package br.com.contabills.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import br.com.contabills.listener.EntidadeAlterada;
+import br.com.contabills.listener.EntidadeAlterada.Operacao;
+import br.com.contabills.model.Socio;
+import br.com.contabills.repository.SocioRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Filtro de Bloom em memória com os CPFs dos sócios cadastrados, usado para
+ * evitar a consulta de unicidade no banco de dados durante cadastros e
+ * importações.
+ *
+ * Se o filtro indicar que um CPF não está cadastrado, a resposta é definitiva;
+ * se indicar que talvez esteja, o chamador deve confirmar com uma consulta
+ * exata. O filtro guarda contadores em vez de bits, o que permite retirar os
+ * CPFs de sócios excluídos. Os contadores saturados deixam de ser
+ * decrementados e apenas aumentam a taxa de falsos positivos até a próxima
+ * reconstrução.
+ *
+ * O filtro é carregado na inicialização, reconstruído periodicamente e
+ * atualizado pelos eventos {@link EntidadeAlterada} de {@link Socio},
+ * consumidos somente após o commit. Enquanto a primeira carga não termina,
+ * todos os CPFs são tratados como possivelmente cadastrados.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class FiltroCpfService {
+
+    /**
+     * Construtor padrão.
+     */
+    public FiltroCpfService() {
+    }
+
+    @Autowired
+    private SocioRepository socioRepository;
+
+    @Value("${contabills.filtro-cpf.capacidade:100000}")
+    private int capacidade;
+
+    @Value("${contabills.filtro-cpf.taxa-falsos-positivos:0.01}")
+    private double taxaFalsosPositivos;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final AtomicBoolean reconstruindo = new AtomicBoolean();
+
+    private final List<String> pendentes = new ArrayList<>();
+
+    private Filtro filtro;
+
+    /**
+     * Reconstrói o filtro a partir dos CPFs gravados no banco de dados.
+     *
+     * Os CPFs cadastrados durante a reconstrução são reaplicados sobre o novo
+     * filtro antes que ele substitua o atual. As exclusões do mesmo período
+     * são descartadas: o CPF permanece como falso positivo até a próxima
+     * reconstrução, o que nunca gera um falso negativo.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${contabills.filtro-cpf.cron:0 0 4 * * *}")
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        if (!reconstruindo.compareAndSet(false, true)) {
+            log.warn("Reconstrução do filtro de CPFs já em andamento");
+            return;
+        }
+        try {
+            long cadastrados = socioRepository.count();
+            Filtro novo = new Filtro(Math.max(capacidade, cadastrados * 2), taxaFalsosPositivos);
+            try (Stream<String> cpfs = socioRepository.streamCpfs()) {
+                cpfs.forEach(novo::adicionar);
+            }
+            lock.writeLock().lock();
+            try {
+                pendentes.forEach(novo::adicionar);
+                filtro = novo;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("Filtro de CPFs carregado com {} sócios ({} contadores, {} funções de hash)", cadastrados,
+                    novo.contadores.length, novo.funcoes);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                pendentes.clear();
+                reconstruindo.set(false);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Indica se o CPF pode pertencer a algum sócio cadastrado.
+     *
+     * @param cpf CPF, com ou sem máscara
+     * @return {@code false} somente se o CPF certamente não estiver cadastrado
+     */
+    public boolean possivelmenteCadastrado(String cpf) {
+        lock.readLock().lock();
+        try {
+            return filtro == null || cpf == null || filtro.contem(cpf);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Atualiza o filtro após o commit de uma alteração de sócio.
+     *
+     * Atualizações também adicionam o CPF, pois ele pode ter sido alterado; o
+     * CPF anterior permanece como falso positivo até a próxima reconstrução.
+     *
+     * @param evento evento de alteração do sócio
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarSocio(EntidadeAlterada<Socio> evento) {
+        String cpf = evento.entidade().getCpf();
+        if (cpf == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (evento.operacao() == Operacao.REMOVIDA) {
+                if (filtro != null && !reconstruindo.get()) {
+                    filtro.remover(cpf);
+                }
+            } else {
+                if (filtro != null) {
+                    filtro.adicionar(cpf);
+                }
+                if (reconstruindo.get()) {
+                    pendentes.add(cpf);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Filtro de Bloom com contadores de 8 bits, indexado pelos dígitos do CPF
+     * por hash duplo.
+     */
+    private static final class Filtro {
+
+        private static final int SATURADO = 0xFF;
+
+        private final byte[] contadores;
+
+        private final int funcoes;
+
+        Filtro(long capacidade, double taxaFalsosPositivos) {
+            double ln2 = Math.log(2);
+            long tamanho = (long) Math.ceil(-capacidade * Math.log(taxaFalsosPositivos) / (ln2 * ln2));
+            contadores = new byte[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(64, tamanho))];
+            funcoes = (int) Math.max(1, Math.round((double) contadores.length / capacidade * ln2));
+        }
+
+        void adicionar(String cpf) {
+            long hash = hash(cpf);
+            for (int i = 0; i < funcoes; i++) {
+                int posicao = posicao(hash, i);
+                if ((contadores[posicao] & SATURADO) != SATURADO) {
+                    contadores[posicao]++;
+                }
+            }
+        }
+
+        void remover(String cpf) {
+            if (!contem(cpf)) {
+                return;
+            }
+            long hash = hash(cpf);
+            for (int i = 0; i < funcoes; i++) {
+                int posicao = posicao(hash, i);
+                if ((contadores[posicao] & SATURADO) != SATURADO) {
+                    contadores[posicao]--;
+                }
+            }
+        }
+
+        boolean contem(String cpf) {
+            long hash = hash(cpf);
+            for (int i = 0; i < funcoes; i++) {
+                if (contadores[posicao(hash, i)] == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int posicao(long hash, int i) {
+            long combinado = (int) hash + (long) i * (int) (hash >>> 32);
+            return (int) Math.floorMod(combinado, (long) contadores.length);
+        }
+
+        /**
+         * Calcula o hash a partir dos dígitos do CPF, de modo que o valor com e
+         * sem máscara ocupem as mesmas posições.
+         */
+        private static long hash(String cpf) {
+            long valor = 0;
+            for (int i = 0; i < cpf.length(); i++) {
+                char c = cpf.charAt(i);
+                if (c >= '0' && c <= '9') {
+                    valor = valor * 10 + (c - '0');
+                }
+            }
+            valor ^= valor >>> 33;
+            valor *= 0xff51afd7ed558ccdL;
+            valor ^= valor >>> 33;
+            valor *= 0xc4ceb9fe1a85ec53L;
+            valor ^= valor >>> 33;
+            return valor;
+        }
+    }
+}
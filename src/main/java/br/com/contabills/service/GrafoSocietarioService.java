@@ -0,0 +1,460 @@
+package br.com.contabills.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.contabills.listener.EntidadeAlterada;
+import br.com.contabills.listener.EntidadeAlterada.Operacao;
+import br.com.contabills.model.ComponenteSocietario;
+import br.com.contabills.model.EmpresaRelacionada;
+import br.com.contabills.model.EmpresaSocio;
+import br.com.contabills.model.EmpresaSocioId;
+import br.com.contabills.repository.EmpresaRepository;
+import br.com.contabills.repository.EmpresaSocioRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice em memória do grafo societário: empresas ligadas a sócios pelos
+ * vínculos de {@link EmpresaSocio}.
+ *
+ * Empresas e sócios recebem índices inteiros sequenciais e as adjacências são
+ * guardadas em arrays {@code int[]} no formato CSR (um array de início por
+ * vértice e um array contíguo de vizinhos), nos dois sentidos. As alterações
+ * recebidas pelos eventos {@link EntidadeAlterada} de {@link EmpresaSocio} são
+ * mantidas em uma pequena camada de pendências, consultada junto com o CSR, e
+ * incorporadas a ele quando ultrapassam o limite configurado.
+ *
+ * As buscas em largura percorrem somente arrays primitivos, sem acessar o banco
+ * de dados.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class GrafoSocietarioService {
+
+    /**
+     * Construtor padrão.
+     */
+    public GrafoSocietarioService() {
+    }
+
+    @Autowired
+    private EmpresaSocioRepository empresaSocioRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Value("${contabills.grafo.limite-pendencias:1024}")
+    private int limitePendencias;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Vertices empresas = new Vertices();
+
+    private final Vertices socios = new Vertices();
+
+    private Csr sociosPorEmpresa = Csr.VAZIO;
+
+    private Csr empresasPorSocio = Csr.VAZIO;
+
+    private final Set<Long> removidas = new HashSet<>();
+
+    private final Set<Long> adicionadas = new HashSet<>();
+
+    private final Map<Integer, List<Integer>> adicionadasPorEmpresa = new HashMap<>();
+
+    private final Map<Integer, List<Integer>> adicionadasPorSocio = new HashMap<>();
+
+    /**
+     * Reconstrói o índice a partir do banco de dados.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        lock.writeLock().lock();
+        try (Stream<EmpresaSocioId> chaves = empresaSocioRepository.streamChaves()) {
+            empresas.limpar();
+            socios.limpar();
+            limparPendencias();
+            Arestas arestas = new Arestas();
+            chaves.forEach(chave -> arestas.adicionar(empresas.registrar(chave.getEmpresaId()),
+                    socios.registrar(chave.getSocioId())));
+            montar(arestas);
+            log.info("Grafo societário montado com {} empresas, {} sócios e {} vínculos", empresas.tamanho,
+                    socios.tamanho, arestas.tamanho);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna as empresas ligadas à empresa informada por sócios em comum, até
+     * a quantidade de saltos informada, em ordem de distância.
+     *
+     * @param empresaId identificador (apelido) da empresa de origem
+     * @param saltos    quantidade máxima de saltos empresa-sócio-empresa
+     * @return empresas alcançadas, sem incluir a de origem
+     * @throws ResponseStatusException com status 400 se a quantidade de saltos
+     *                                 for menor que 1, ou 404 se a empresa não
+     *                                 existir
+     */
+    public List<EmpresaRelacionada> relacionadas(Long empresaId, int saltos) {
+        if (saltos < 1) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "A quantidade de saltos deve ser maior que zero");
+        }
+        List<EmpresaRelacionada> relacionadas;
+        lock.readLock().lock();
+        try {
+            int origem = empresas.indice(empresaId);
+            relacionadas = origem < 0 ? null : buscarEmLargura(origem, saltos);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (relacionadas == null || relacionadas.isEmpty()) {
+            verificarEmpresa(empresaId);
+            return List.of();
+        }
+        return relacionadas;
+    }
+
+    /**
+     * Agrupa as empresas em componentes conexos, isto é, conjuntos de empresas
+     * ligadas entre si por qualquer cadeia de sócios em comum.
+     *
+     * @param minimoEmpresas quantidade mínima de empresas do componente
+     * @param limite         quantidade máxima de componentes retornados
+     * @return componentes em ordem decrescente de tamanho
+     */
+    public List<ComponenteSocietario> componentes(int minimoEmpresas, int limite) {
+        lock.readLock().lock();
+        try {
+            int[] raiz = new int[empresas.tamanho];
+            for (int i = 0; i < raiz.length; i++) {
+                raiz[i] = i;
+            }
+            int[] primeiraEmpresa = new int[socios.tamanho];
+            for (int socio = 0; socio < socios.tamanho; socio++) {
+                int[] primeira = { -1 };
+                paraCadaEmpresa(socio, empresa -> {
+                    if (primeira[0] < 0) {
+                        primeira[0] = empresa;
+                    } else {
+                        unir(raiz, primeira[0], empresa);
+                    }
+                });
+                primeiraEmpresa[socio] = primeira[0];
+            }
+            int[] quantidadeEmpresas = new int[empresas.tamanho];
+            int[] quantidadeSocios = new int[empresas.tamanho];
+            for (int socio = 0; socio < socios.tamanho; socio++) {
+                if (primeiraEmpresa[socio] >= 0) {
+                    quantidadeSocios[encontrar(raiz, primeiraEmpresa[socio])]++;
+                }
+            }
+            for (int empresa = 0; empresa < empresas.tamanho; empresa++) {
+                quantidadeEmpresas[encontrar(raiz, empresa)]++;
+            }
+            Map<Integer, List<Long>> membros = new HashMap<>();
+            for (int empresa = 0; empresa < empresas.tamanho; empresa++) {
+                int componente = encontrar(raiz, empresa);
+                if (quantidadeSocios[componente] > 0 && quantidadeEmpresas[componente] >= minimoEmpresas) {
+                    membros.computeIfAbsent(componente, c -> new ArrayList<>()).add(empresas.ids[empresa]);
+                }
+            }
+            return membros.entrySet().stream()
+                    .map(e -> new ComponenteSocietario(e.getValue().size(), quantidadeSocios[e.getKey()],
+                            e.getValue().stream().sorted().toList()))
+                    .sorted(Comparator.comparingInt(ComponenteSocietario::quantidadeEmpresas).reversed()
+                            .thenComparing(c -> c.empresaIds().get(0)))
+                    .limit(Math.max(limite, 0))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Atualiza o índice após o commit de uma alteração de vínculo.
+     *
+     * @param evento evento de alteração do vínculo
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarVinculo(EntidadeAlterada<EmpresaSocio> evento) {
+        EmpresaSocioId chave = evento.entidade().getId();
+        if (chave == null || chave.getEmpresaId() == null || chave.getSocioId() == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            int empresa = empresas.registrar(chave.getEmpresaId());
+            int socio = socios.registrar(chave.getSocioId());
+            if (evento.operacao() == Operacao.REMOVIDA) {
+                desvincular(empresa, socio);
+            } else {
+                vincular(empresa, socio);
+            }
+            if (removidas.size() + adicionadas.size() > limitePendencias) {
+                compactar();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private List<EmpresaRelacionada> buscarEmLargura(int origem, int saltos) {
+        int[] distancia = new int[empresas.tamanho];
+        Arrays.fill(distancia, -1);
+        int[] viaSocio = new int[empresas.tamanho];
+        boolean[] socioVisitado = new boolean[socios.tamanho];
+        int[] fila = new int[empresas.tamanho];
+        int[] fim = { 0 };
+        distancia[origem] = 0;
+        fila[fim[0]++] = origem;
+        for (int inicio = 0; inicio < fim[0]; inicio++) {
+            int empresa = fila[inicio];
+            int proximaDistancia = distancia[empresa] + 1;
+            if (proximaDistancia > saltos) {
+                break;
+            }
+            paraCadaSocio(empresa, socio -> {
+                if (socioVisitado[socio]) {
+                    return;
+                }
+                socioVisitado[socio] = true;
+                paraCadaEmpresa(socio, vizinha -> {
+                    if (distancia[vizinha] < 0) {
+                        distancia[vizinha] = proximaDistancia;
+                        viaSocio[vizinha] = socio;
+                        fila[fim[0]++] = vizinha;
+                    }
+                });
+            });
+        }
+        List<EmpresaRelacionada> relacionadas = new ArrayList<>(fim[0] - 1);
+        for (int i = 1; i < fim[0]; i++) {
+            int empresa = fila[i];
+            relacionadas.add(new EmpresaRelacionada(empresas.ids[empresa], distancia[empresa],
+                    socios.ids[viaSocio[empresa]]));
+        }
+        return relacionadas;
+    }
+
+    private void verificarEmpresa(Long empresaId) {
+        if (!empresaRepository.existsById(empresaId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Empresa não encontrada");
+        }
+    }
+
+    private void paraCadaSocio(int empresa, IntConsumer acao) {
+        for (int i = sociosPorEmpresa.inicio(empresa); i < sociosPorEmpresa.fim(empresa); i++) {
+            int socio = sociosPorEmpresa.vizinhos[i];
+            if (removidas.isEmpty() || !removidas.contains(aresta(empresa, socio))) {
+                acao.accept(socio);
+            }
+        }
+        adicionadasPorEmpresa.getOrDefault(empresa, List.of()).forEach(acao::accept);
+    }
+
+    private void paraCadaEmpresa(int socio, IntConsumer acao) {
+        for (int i = empresasPorSocio.inicio(socio); i < empresasPorSocio.fim(socio); i++) {
+            int empresa = empresasPorSocio.vizinhos[i];
+            if (removidas.isEmpty() || !removidas.contains(aresta(empresa, socio))) {
+                acao.accept(empresa);
+            }
+        }
+        adicionadasPorSocio.getOrDefault(socio, List.of()).forEach(acao::accept);
+    }
+
+    private void vincular(int empresa, int socio) {
+        long aresta = aresta(empresa, socio);
+        if (removidas.remove(aresta) || adicionadas.contains(aresta) || sociosPorEmpresa.contem(empresa, socio)) {
+            return;
+        }
+        adicionadas.add(aresta);
+        adicionadasPorEmpresa.computeIfAbsent(empresa, e -> new ArrayList<>()).add(socio);
+        adicionadasPorSocio.computeIfAbsent(socio, s -> new ArrayList<>()).add(empresa);
+    }
+
+    private void desvincular(int empresa, int socio) {
+        long aresta = aresta(empresa, socio);
+        if (adicionadas.remove(aresta)) {
+            adicionadasPorEmpresa.get(empresa).remove(Integer.valueOf(socio));
+            adicionadasPorSocio.get(socio).remove(Integer.valueOf(empresa));
+        } else if (sociosPorEmpresa.contem(empresa, socio)) {
+            removidas.add(aresta);
+        }
+    }
+
+    /**
+     * Incorpora as pendências ao CSR, gerando novos arrays de adjacência.
+     */
+    private void compactar() {
+        Arestas arestas = new Arestas();
+        for (int empresa = 0; empresa < empresas.tamanho; empresa++) {
+            int origem = empresa;
+            paraCadaSocio(empresa, socio -> arestas.adicionar(origem, socio));
+        }
+        limparPendencias();
+        montar(arestas);
+        log.debug("Grafo societário compactado com {} vínculos", arestas.tamanho);
+    }
+
+    private void montar(Arestas arestas) {
+        sociosPorEmpresa = Csr.montar(empresas.tamanho, arestas.empresas, arestas.socios, arestas.tamanho);
+        empresasPorSocio = Csr.montar(socios.tamanho, arestas.socios, arestas.empresas, arestas.tamanho);
+    }
+
+    private void limparPendencias() {
+        removidas.clear();
+        adicionadas.clear();
+        adicionadasPorEmpresa.clear();
+        adicionadasPorSocio.clear();
+    }
+
+    private static long aresta(int empresa, int socio) {
+        return ((long) empresa << 32) | (socio & 0xFFFFFFFFL);
+    }
+
+    private static int encontrar(int[] raiz, int no) {
+        while (raiz[no] != no) {
+            raiz[no] = raiz[raiz[no]];
+            no = raiz[no];
+        }
+        return no;
+    }
+
+    private static void unir(int[] raiz, int a, int b) {
+        int raizA = encontrar(raiz, a);
+        int raizB = encontrar(raiz, b);
+        if (raizA != raizB) {
+            raiz[Math.max(raizA, raizB)] = Math.min(raizA, raizB);
+        }
+    }
+
+    /**
+     * Associa os identificadores das entidades a índices inteiros sequenciais.
+     */
+    private static final class Vertices {
+
+        private final Map<Long, Integer> indices = new HashMap<>();
+
+        private long[] ids = new long[64];
+
+        private int tamanho;
+
+        int indice(Long id) {
+            Integer indice = indices.get(id);
+            return indice != null ? indice : -1;
+        }
+
+        int registrar(Long id) {
+            return indices.computeIfAbsent(id, chave -> {
+                if (tamanho == ids.length) {
+                    ids = Arrays.copyOf(ids, tamanho * 2);
+                }
+                ids[tamanho] = chave;
+                return tamanho++;
+            });
+        }
+
+        void limpar() {
+            indices.clear();
+            tamanho = 0;
+        }
+    }
+
+    /**
+     * Lista de arestas em arrays paralelos, usada na montagem do CSR.
+     */
+    private static final class Arestas {
+
+        private int[] empresas = new int[1024];
+
+        private int[] socios = new int[1024];
+
+        private int tamanho;
+
+        void adicionar(int empresa, int socio) {
+            if (tamanho == empresas.length) {
+                empresas = Arrays.copyOf(empresas, tamanho * 2);
+                socios = Arrays.copyOf(socios, tamanho * 2);
+            }
+            empresas[tamanho] = empresa;
+            socios[tamanho] = socio;
+            tamanho++;
+        }
+    }
+
+    /**
+     * Adjacências no formato CSR: os vizinhos do vértice {@code v} ficam em
+     * {@code vizinhos[inicios[v]..inicios[v + 1])}. Vértices registrados após a
+     * montagem são tratados como sem vizinhos.
+     */
+    private static final class Csr {
+
+        static final Csr VAZIO = new Csr(new int[1], new int[0]);
+
+        private final int[] inicios;
+
+        private final int[] vizinhos;
+
+        private Csr(int[] inicios, int[] vizinhos) {
+            this.inicios = inicios;
+            this.vizinhos = vizinhos;
+        }
+
+        static Csr montar(int vertices, int[] origens, int[] destinos, int quantidade) {
+            int[] inicios = new int[vertices + 1];
+            for (int i = 0; i < quantidade; i++) {
+                inicios[origens[i] + 1]++;
+            }
+            for (int v = 0; v < vertices; v++) {
+                inicios[v + 1] += inicios[v];
+            }
+            int[] posicoes = Arrays.copyOf(inicios, vertices);
+            int[] vizinhos = new int[quantidade];
+            for (int i = 0; i < quantidade; i++) {
+                vizinhos[posicoes[origens[i]]++] = destinos[i];
+            }
+            return new Csr(inicios, vizinhos);
+        }
+
+        int inicio(int vertice) {
+            return vertice < inicios.length - 1 ? inicios[vertice] : 0;
+        }
+
+        int fim(int vertice) {
+            return vertice < inicios.length - 1 ? inicios[vertice + 1] : 0;
+        }
+
+        boolean contem(int vertice, int vizinho) {
+            for (int i = inicio(vertice); i < fim(vertice); i++) {
+                if (vizinhos[i] == vizinho) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package br.com.contabills.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.contabills.model.Empresa;
+import br.com.contabills.model.EmpresaSocio;
+import br.com.contabills.model.EmpresaSocioId;
+import br.com.contabills.model.Endereco;
+import br.com.contabills.model.ErroImportacao;
+import br.com.contabills.model.RelatorioImportacao;
+import br.com.contabills.model.Socio;
+import br.com.contabills.repository.EmpresaRepository;
+import br.com.contabills.repository.SocioRepository;
+import br.com.contabills.validacao.Cadastro;
+import br.com.contabills.validacao.Documentos;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import jakarta.validation.groups.Default;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serviço responsável pela importação em lote de empresas e sócios a partir de
+ * arquivos CSV.
+ *
+ * O arquivo é lido em lotes de tamanho fixo. As linhas de cada lote são
+ * convertidas e validadas em paralelo, os CPFs e IDs são conferidos com uma
+ * consulta por lote e as linhas válidas são gravadas em uma transação por
+ * lote, com o contexto de persistência limpo ao final. Assim, o consumo de
+ * memória depende do tamanho do lote e não do tamanho do arquivo. Se a
+ * gravação de um lote falhar, suas linhas são gravadas uma a uma, e apenas as
+ * que falharem são relatadas como erro.
+ *
+ * Formato dos arquivos (com cabeçalho, separados por ponto e vírgula, datas no
+ * formato yyyy-MM-dd):
+ * <ul>
+ * <li>Sócios: nome; dataNascimento; cpf; rg; dataDeEmissaoRg; cnh;
+ * dataDeEmissaoCnh; dataDeValidadeCnh; nomeDaMae; nomeDoPai; nacionalidade;
+ * estadoCivil; tipoDeComunhao; profissao; logradouro; numero; complemento;
+ * bairro; cidade; uf; cep</li>
+ * <li>Empresas: apelidoId; razaoSocial; tipoEmpresa; cnpj; iptu; email;
+ * telefone; capitalSocialEmpresa; possuiProcuracao; possuiCertificado;
+ * logradouro; numero; complemento; bairro; cidade; uf; cep; socios (lista
+ * {@code cpf:capitalInvestido:cargo} separada por {@code |})</li>
+ * </ul>
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class ImportacaoService {
+
+    private static final int COLUNAS_SOCIO = 21;
+
+    private static final int COLUNAS_EMPRESA = 18;
+
+    /**
+     * Construtor padrão.
+     */
+    public ImportacaoService() {
+    }
+
+    @Autowired
+    private SocioRepository socioRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private FiltroCpfService filtroCpf;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${contabills.importacao.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${contabills.importacao.max-erros:1000}")
+    private int maxErros;
+
+    /**
+     * Importa sócios a partir de um arquivo CSV.
+     *
+     * @param entrada conteúdo do arquivo
+     * @return relatório da importação
+     */
+    public RelatorioImportacao importarSocios(InputStream entrada) {
+        Relatorio relatorio = new Relatorio(maxErros);
+        try (LeitorCsv leitor = new LeitorCsv(entrada)) {
+            leitor.proximaLinha();
+            List<LeitorCsv.Linha> lote;
+            while (!(lote = leitor.proximoLote(tamanhoLote)).isEmpty()) {
+                gravarSocios(validar(lote, COLUNAS_SOCIO, this::paraSocio, relatorio), relatorio);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Importação de sócios concluída: {} importados, {} com erro", relatorio.importadas,
+                relatorio.comErro);
+        return relatorio.gerar();
+    }
+
+    /**
+     * Importa empresas, com seus vínculos com sócios já cadastrados, a partir de
+     * um arquivo CSV.
+     *
+     * @param entrada conteúdo do arquivo
+     * @return relatório da importação
+     */
+    public RelatorioImportacao importarEmpresas(InputStream entrada) {
+        Relatorio relatorio = new Relatorio(maxErros);
+        try (LeitorCsv leitor = new LeitorCsv(entrada)) {
+            leitor.proximaLinha();
+            List<LeitorCsv.Linha> lote;
+            while (!(lote = leitor.proximoLote(tamanhoLote)).isEmpty()) {
+                gravarEmpresas(validar(lote, COLUNAS_EMPRESA, this::paraEmpresa, relatorio), relatorio);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Importação de empresas concluída: {} importadas, {} com erro", relatorio.importadas,
+                relatorio.comErro);
+        return relatorio.gerar();
+    }
+
+    private void gravarSocios(List<Valida<Socio>> validas, Relatorio relatorio) {
+        Set<String> cpfs = new HashSet<>();
+        List<Valida<Socio>> unicas = new ArrayList<>();
+        for (Valida<Socio> valida : validas) {
+            if (cpfs.add(Documentos.digitos(valida.entidade().getCpf()))) {
+                unicas.add(valida);
+            } else {
+                relatorio.erro(valida.linha(), "CPF repetido no arquivo");
+            }
+        }
+        if (unicas.isEmpty()) {
+            return;
+        }
+        List<String> suspeitos = cpfs.stream().filter(filtroCpf::possivelmenteCadastrado).toList();
+        Set<String> existentes = suspeitos.isEmpty() ? Set.of()
+                : new HashSet<>(socioRepository.findCpfsDigitosExistentes(suspeitos));
+        List<Valida<Socio>> novas = new ArrayList<>();
+        for (Valida<Socio> valida : unicas) {
+            if (existentes.contains(Documentos.digitos(valida.entidade().getCpf()))) {
+                relatorio.erro(valida.linha(), "CPF " + valida.entidade().getCpf() + " já cadastrado");
+            } else {
+                novas.add(valida);
+            }
+        }
+        gravar(novas, relatorio, socioRepository::saveAll, socio -> {
+            socio.setId(null);
+            socio.setVersao(null);
+        });
+    }
+
+    private void gravarEmpresas(List<Valida<Empresa>> validas, Relatorio relatorio) {
+        Set<Long> ids = new HashSet<>();
+        Set<String> cnpjs = new HashSet<>();
+        List<Valida<Empresa>> unicas = new ArrayList<>();
+        for (Valida<Empresa> valida : validas) {
+            if (!ids.add(valida.entidade().getApelidoId())) {
+                relatorio.erro(valida.linha(), "ID repetido no arquivo");
+            } else if (!cnpjs.add(Documentos.digitos(valida.entidade().getCnpj()))) {
+                relatorio.erro(valida.linha(), "CNPJ repetido no arquivo");
+            } else {
+                unicas.add(valida);
+            }
+        }
+        if (unicas.isEmpty()) {
+            return;
+        }
+        Set<Long> existentes = new HashSet<>(empresaRepository.findIdsExistentes(ids));
+        Set<String> cnpjsExistentes = new HashSet<>(empresaRepository.findCnpjsDigitosExistentes(cnpjs));
+        List<Valida<Empresa>> novas = new ArrayList<>();
+        for (Valida<Empresa> valida : unicas) {
+            if (existentes.contains(valida.entidade().getApelidoId())) {
+                relatorio.erro(valida.linha(), "Empresa " + valida.entidade().getApelidoId() + " já cadastrada");
+            } else if (cnpjsExistentes.contains(Documentos.digitos(valida.entidade().getCnpj()))) {
+                relatorio.erro(valida.linha(), "CNPJ " + valida.entidade().getCnpj() + " já cadastrado");
+            } else {
+                novas.add(valida);
+            }
+        }
+        Set<String> cpfs = novas.stream()
+                .flatMap(v -> v.entidade().getEmpresaSocios().stream())
+                .map(es -> Documentos.digitos(es.getSocio().getCpf()))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<String, Long> sociosPorCpf = cpfs.isEmpty() ? Map.of()
+                : socioRepository.findByCpfDigitosIn(cpfs).stream()
+                        .collect(Collectors.toMap(Socio::getCpfDigitos, Socio::getId));
+        List<Valida<Empresa>> vinculadas = novas.stream()
+                .filter(valida -> vincularSocios(valida, sociosPorCpf, relatorio))
+                .toList();
+        gravar(vinculadas, relatorio, empresas -> {
+            empresas.forEach(empresa -> empresa.getEmpresaSocios().forEach(es -> es.setSocio(
+                    entityManager.getReference(Socio.class, es.getId().getSocioId()))));
+            empresaRepository.saveAll(empresas);
+        }, empresa -> empresa.setVersao(null));
+    }
+
+    private boolean vincularSocios(Valida<Empresa> valida, Map<String, Long> sociosPorCpf, Relatorio relatorio) {
+        Empresa empresa = valida.entidade();
+        List<String> desconhecidos = empresa.getEmpresaSocios().stream()
+                .map(es -> es.getSocio().getCpf())
+                .filter(cpf -> !sociosPorCpf.containsKey(Documentos.digitos(cpf)))
+                .toList();
+        if (!desconhecidos.isEmpty()) {
+            relatorio.erro(valida.linha(),
+                    "CPFs não pertencem a nenhum sócio: " + String.join(", ", desconhecidos));
+            return false;
+        }
+        for (EmpresaSocio es : empresa.getEmpresaSocios()) {
+            es.setEmpresa(empresa);
+            es.setId(new EmpresaSocioId(empresa.getApelidoId(),
+                    sociosPorCpf.get(Documentos.digitos(es.getSocio().getCpf()))));
+        }
+        return true;
+    }
+
+    /**
+     * Grava um lote em uma transação própria. Se o lote falhar, suas linhas são
+     * gravadas novamente uma a uma, cada uma em sua própria transação, e apenas
+     * as que falharem de novo são registradas como erro.
+     *
+     * @param reiniciar desfaz nas entidades o estado atribuído pela tentativa
+     *                  que falhou (ID gerado e versão), para que sejam
+     *                  inseridas outra vez
+     */
+    private <T> void gravar(List<Valida<T>> lote, Relatorio relatorio, Consumer<List<T>> gravacao,
+            Consumer<T> reiniciar) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> gravacao.accept(lote.stream()
+                    .map(Valida::entidade)
+                    .toList()));
+            relatorio.importadas += lote.size();
+        } catch (DataAccessException e) {
+            log.warn("Falha ao gravar lote de importação; gravando as {} linhas individualmente: {}", lote.size(),
+                    e.getMostSpecificCause().getMessage());
+            entityManager.clear();
+            gravarIndividualmente(lote, relatorio, gravacao, reiniciar);
+        } finally {
+            entityManager.clear();
+        }
+    }
+
+    private <T> void gravarIndividualmente(List<Valida<T>> lote, Relatorio relatorio, Consumer<List<T>> gravacao,
+            Consumer<T> reiniciar) {
+        for (Valida<T> valida : lote) {
+            reiniciar.accept(valida.entidade());
+            try {
+                transactionTemplate.executeWithoutResult(status -> gravacao.accept(List.of(valida.entidade())));
+                relatorio.importadas++;
+            } catch (DataAccessException e) {
+                String causa = e.getMostSpecificCause().getMessage();
+                log.error("Falha ao gravar a linha {} da importação: {}", valida.linha(), causa);
+                relatorio.erro(valida.linha(), "Falha ao gravar a linha: " + causa);
+            } finally {
+                entityManager.clear();
+            }
+        }
+    }
+
+    private <T> List<Valida<T>> validar(List<LeitorCsv.Linha> lote, int colunas,
+            Function<List<String>, T> conversor, Relatorio relatorio) {
+        List<Object> resultados = lote.parallelStream()
+                .map(linha -> validarLinha(linha, colunas, conversor))
+                .toList();
+        List<Valida<T>> validas = new ArrayList<>();
+        for (Object resultado : resultados) {
+            if (resultado instanceof ErroImportacao erro) {
+                relatorio.erro(erro.linha(), erro.mensagem());
+            } else {
+                @SuppressWarnings("unchecked")
+                Valida<T> valida = (Valida<T>) resultado;
+                validas.add(valida);
+            }
+        }
+        return validas;
+    }
+
+    private <T> Object validarLinha(LeitorCsv.Linha linha, int colunas, Function<List<String>, T> conversor) {
+        if (linha.campos().size() != colunas) {
+            return new ErroImportacao(linha.numero(), "Quantidade de colunas inválida: esperado " + colunas
+                    + ", encontrado " + linha.campos().size());
+        }
+        T entidade;
+        try {
+            entidade = conversor.apply(linha.campos());
+        } catch (IllegalArgumentException e) {
+            return new ErroImportacao(linha.numero(), e.getMessage());
+        }
+        Set<ConstraintViolation<T>> violacoes = validator.validate(entidade, Default.class, Cadastro.class);
+        if (!violacoes.isEmpty()) {
+            return new ErroImportacao(linha.numero(), violacoes.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        return new Valida<>(linha.numero(), entidade);
+    }
+
+    private Socio paraSocio(List<String> c) {
+        return Socio.builder()
+                .nome(c.get(0))
+                .dataNascimento(campo(c, 1, "dataNascimento", LocalDate.class))
+                .cpf(c.get(2))
+                .rg(c.get(3))
+                .dataDeEmissaoRg(campo(c, 4, "dataDeEmissaoRg", LocalDate.class))
+                .cnh(vazioComoNulo(c.get(5)))
+                .dataDeEmissaoCnh(campo(c, 6, "dataDeEmissaoCnh", LocalDate.class))
+                .dataDeValidadeCnh(campo(c, 7, "dataDeValidadeCnh", LocalDate.class))
+                .nomeDaMae(c.get(8))
+                .nomeDoPai(c.get(9))
+                .nacionalidade(c.get(10))
+                .estadoCivil(c.get(11))
+                .tipoDeComunhao(vazioComoNulo(c.get(12)))
+                .profissao(c.get(13))
+                .enderecoSocio(paraEndereco(c, 14))
+                .build();
+    }
+
+    private Empresa paraEmpresa(List<String> c) {
+        Empresa empresa = Empresa.builder()
+                .apelidoId(campo(c, 0, "apelidoId", Long.class))
+                .razaoSocial(c.get(1))
+                .tipoEmpresa(c.get(2))
+                .cnpj(c.get(3))
+                .iptu(c.get(4))
+                .email(c.get(5))
+                .telefone(c.get(6))
+                .capitalSocialEmpresa(valorOuZero(campo(c, 7, "capitalSocialEmpresa", Double.class)))
+                .possuiProcuracao(Boolean.TRUE.equals(campo(c, 8, "possuiProcuracao", Boolean.class)))
+                .possuiCertificado(Boolean.TRUE.equals(campo(c, 9, "possuiCertificado", Boolean.class)))
+                .enderecoEmpresa(paraEndereco(c, 10))
+                .empresaSocios(new ArrayList<>())
+                .build();
+        if (!c.get(17).isEmpty()) {
+            for (String vinculo : c.get(17).split("\\|")) {
+                String[] partes = vinculo.split(":", 3);
+                if (partes.length != 3) {
+                    throw new IllegalArgumentException("Sócio inválido: " + vinculo
+                            + " (formato esperado cpf:capitalInvestido:cargo)");
+                }
+                empresa.getEmpresaSocios().add(EmpresaSocio.builder()
+                        .socio(new Socio(partes[0].trim()))
+                        .capitalInvestido(valorOuZero(converter(partes[1].trim(), "capitalInvestido", Double.class)))
+                        .cargo(partes[2].trim())
+                        .build());
+            }
+        }
+        return empresa;
+    }
+
+    private Endereco paraEndereco(List<String> c, int inicio) {
+        Integer numero = campo(c, inicio + 1, "numero", Integer.class);
+        return Endereco.builder()
+                .logradouro(c.get(inicio))
+                .numero(numero != null ? numero : 0)
+                .complemento(vazioComoNulo(c.get(inicio + 2)))
+                .bairro(c.get(inicio + 3))
+                .cidade(c.get(inicio + 4))
+                .uf(c.get(inicio + 5))
+                .cep(c.get(inicio + 6))
+                .build();
+    }
+
+    private static <V> V campo(List<String> campos, int indice, String nome, Class<V> tipo) {
+        return converter(campos.get(indice), nome, tipo);
+    }
+
+    private static <V> V converter(String valor, String nome, Class<V> tipo) {
+        if (valor.isEmpty()) {
+            return null;
+        }
+        try {
+            return AtualizacaoParcial.conversorPara(tipo).apply(valor);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Valor inválido para o campo " + nome + ": " + valor);
+        }
+    }
+
+    private static String vazioComoNulo(String valor) {
+        return valor.isEmpty() ? null : valor;
+    }
+
+    private static double valorOuZero(Double valor) {
+        return valor != null ? valor : 0;
+    }
+
+    /**
+     * Entidade convertida e validada, com o número da linha de origem.
+     */
+    private record Valida<T>(long linha, T entidade) {
+    }
+
+    /**
+     * Acumula os totais e os erros da importação, limitando a quantidade de
+     * erros guardados.
+     */
+    private static final class Relatorio {
+
+        private final int maxErros;
+
+        private final List<ErroImportacao> erros = new ArrayList<>();
+
+        private long importadas;
+
+        private long comErro;
+
+        Relatorio(int maxErros) {
+            this.maxErros = maxErros;
+        }
+
+        void erro(long linha, String mensagem) {
+            comErro++;
+            if (erros.size() < maxErros) {
+                erros.add(new ErroImportacao(linha, mensagem));
+            }
+        }
+
+        RelatorioImportacao gerar() {
+            erros.sort(Comparator.comparingLong(ErroImportacao::linha));
+            return new RelatorioImportacao(importadas + comErro, importadas, comErro, List.copyOf(erros),
+                    comErro > erros.size());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.contabills.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor de arquivos CSV separados por ponto e vírgula, lido linha a linha a
+ * partir de um {@link InputStream}, sem carregar o arquivo em memória.
+ *
+ * Campos podem estar entre aspas duplas, com aspas internas escritas em dobro
+ * ({@code ""}). Linhas em branco são ignoradas.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public final class LeitorCsv implements Closeable {
+
+    private static final char SEPARADOR = ';';
+
+    private final BufferedReader reader;
+
+    private long numeroLinha;
+
+    /**
+     * Cria um leitor para o conteúdo informado, codificado em UTF-8.
+     *
+     * @param entrada conteúdo do arquivo CSV
+     */
+    public LeitorCsv(InputStream entrada) {
+        this.reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lê a próxima linha não vazia do arquivo.
+     *
+     * @return a linha lida ou {@code null} ao final do arquivo
+     */
+    public Linha proximaLinha() {
+        try {
+            String texto;
+            do {
+                texto = reader.readLine();
+                numeroLinha++;
+            } while (texto != null && texto.isBlank());
+            return texto != null ? new Linha(numeroLinha, separar(texto)) : null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Lê até {@code tamanho} linhas do arquivo.
+     *
+     * @param tamanho quantidade máxima de linhas
+     * @return linhas lidas (vazia ao final do arquivo)
+     */
+    public List<Linha> proximoLote(int tamanho) {
+        List<Linha> lote = new ArrayList<>(tamanho);
+        Linha linha;
+        while (lote.size() < tamanho && (linha = proximaLinha()) != null) {
+            lote.add(linha);
+        }
+        return lote;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static List<String> separar(String texto) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < texto.length() && texto.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == SEPARADOR) {
+                campos.add(campo.toString().trim());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        campos.add(campo.toString().trim());
+        return campos;
+    }
+
+    /**
+     * Linha lida do arquivo.
+     *
+     * @param numero número da linha no arquivo (a partir de 1)
+     * @param campos valores dos campos da linha
+     */
+    public record Linha(long numero, List<String> campos) {
+    }
+}
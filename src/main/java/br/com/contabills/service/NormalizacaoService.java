@@ -0,0 +1,143 @@
+package br.com.contabills.service;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import br.com.contabills.busca.TextoNormalizado;
+import br.com.contabills.model.TextoPendente;
+import br.com.contabills.repository.EmpresaRepository;
+import br.com.contabills.repository.SocioRepository;
+import br.com.contabills.repository.UsuarioRepository;
+import br.com.contabills.validacao.Documentos;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serviço que preenche, na inicialização, as colunas de busca normalizadas e
+ * os dígitos de CPF e CNPJ dos registros gravados antes da sua criação.
+ *
+ * Os registros novos e alterados são normalizados pelo
+ * {@link br.com.contabills.listener.NormalizacaoListener}; aqui apenas os
+ * pendentes são tratados, em lotes, cada um na sua própria transação. A
+ * atualização é feita por comandos JPQL, sem incrementar a versão dos
+ * registros nem publicar eventos de alteração. Junto com o nome ou a razão
+ * social normalizada são gravados os seus termos de busca
+ * ({@link TextoNormalizado#termos(String)}).
+ *
+ * Os dígitos de CPF e CNPJ têm índice único. Se dois registros antigos tiverem
+ * o mesmo documento com máscaras diferentes, o lote é refeito registro a
+ * registro, os conflitos são registrados no log e o preenchimento daquela
+ * coluna é interrompido até que os cadastros duplicados sejam corrigidos.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class NormalizacaoService {
+
+    /**
+     * Construtor padrão.
+     */
+    public NormalizacaoService() {
+    }
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private SocioRepository socioRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${contabills.normalizacao.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    /**
+     * Preenche as colunas normalizadas e os dígitos de documentos pendentes de
+     * empresas, sócios e usuários.
+     *
+     * @return quantidade de registros atualizados
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public int preencherPendentes() {
+        int empresas = preencher(() -> empresaRepository.findRazoesSociaisNaoNormalizadas(Limit.of(tamanhoLote)),
+                TextoNormalizado::normalizar, comTermos(empresaRepository::atualizarRazaoSocialNormalizada,
+                        empresaRepository::excluirTermosBusca, empresaRepository::inserirTermoBusca));
+        int socios = preencher(() -> socioRepository.findNomesNaoNormalizados(Limit.of(tamanhoLote)),
+                TextoNormalizado::normalizar, comTermos(socioRepository::atualizarNomeNormalizado,
+                        socioRepository::excluirTermosBusca, socioRepository::inserirTermoBusca));
+        int usuarios = preencher(() -> usuarioRepository.findNomesNaoNormalizados(Limit.of(tamanhoLote)),
+                TextoNormalizado::normalizar, comTermos(usuarioRepository::atualizarNomeNormalizado,
+                        usuarioRepository::excluirTermosBusca, usuarioRepository::inserirTermoBusca));
+        int cnpjs = preencher(() -> empresaRepository.findCnpjsSemDigitos(Limit.of(tamanhoLote)),
+                Documentos::digitos, empresaRepository::atualizarCnpjDigitos);
+        int cpfs = preencher(() -> socioRepository.findCpfsSemDigitos(Limit.of(tamanhoLote)),
+                Documentos::digitos, socioRepository::atualizarCpfDigitos);
+        int total = empresas + socios + usuarios + cnpjs + cpfs;
+        if (total > 0) {
+            log.info("Colunas de busca preenchidas: {} empresas, {} sócios, {} usuários, {} CNPJs, {} CPFs",
+                    empresas, socios, usuarios, cnpjs, cpfs);
+        }
+        return total;
+    }
+
+    private static BiConsumer<Long, String> comTermos(BiConsumer<Long, String> atualizar,
+            Consumer<Long> excluirTermos, BiConsumer<Long, String> inserirTermo) {
+        return (id, normalizado) -> {
+            atualizar.accept(id, normalizado);
+            excluirTermos.accept(id);
+            TextoNormalizado.termos(normalizado).forEach(termo -> inserirTermo.accept(id, termo));
+        };
+    }
+
+    private int preencher(Supplier<List<TextoPendente>> pendentes, Function<String, String> converter,
+            BiConsumer<Long, String> atualizar) {
+        int total = 0;
+        int lote;
+        do {
+            try {
+                lote = transactionTemplate.execute(status -> {
+                    List<TextoPendente> textos = pendentes.get();
+                    textos.forEach(t -> atualizar.accept(t.id(), converter.apply(t.texto())));
+                    return textos.size();
+                });
+            } catch (DataIntegrityViolationException e) {
+                return total + preencherIndividualmente(pendentes, converter, atualizar);
+            }
+            total += lote;
+        } while (lote == tamanhoLote);
+        return total;
+    }
+
+    private int preencherIndividualmente(Supplier<List<TextoPendente>> pendentes, Function<String, String> converter,
+            BiConsumer<Long, String> atualizar) {
+        int total = 0;
+        for (TextoPendente texto : transactionTemplate.execute(status -> pendentes.get())) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> atualizar.accept(texto.id(),
+                        converter.apply(texto.texto())));
+                total++;
+            } catch (DataIntegrityViolationException e) {
+                log.error("Registro {} com valor '{}' em conflito com outro registro; preenchimento interrompido",
+                        texto.id(), texto.texto());
+            }
+        }
+        return total;
+    }
+}
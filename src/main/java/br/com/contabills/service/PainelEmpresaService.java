@@ -0,0 +1,95 @@
+package br.com.contabills.service;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.contabills.model.DadosEmpresa;
+import br.com.contabills.model.PainelEmpresa;
+import br.com.contabills.model.ResumoParcelamento;
+import br.com.contabills.model.SocioEmpresa;
+import br.com.contabills.repository.EmpresaRepository;
+import br.com.contabills.repository.EmpresaSocioRepository;
+import br.com.contabills.repository.ParcelamentoRepository;
+
+/**
+ * Serviço responsável por montar o {@link PainelEmpresa}.
+ *
+ * O painel é composto por três consultas de projeção independentes — dados da
+ * empresa, sócios e parcelamentos agrupados — disparadas em paralelo no
+ * executor {@code painelExecutor}. Os totais de parcelas vêm do índice em
+ * memória do {@link ResumoParcelasService}, sem acesso ao banco de dados.
+ * Nenhuma coleção das entidades é carregada, de modo que a quantidade de
+ * consultas não depende do volume de dados da empresa.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@Service
+public class PainelEmpresaService {
+
+    /**
+     * Construtor padrão.
+     */
+    public PainelEmpresaService() {
+    }
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private EmpresaSocioRepository empresaSocioRepository;
+
+    @Autowired
+    private ParcelamentoRepository parcelamentoRepository;
+
+    @Autowired
+    private ResumoParcelasService resumoParcelasService;
+
+    @Autowired
+    @Qualifier("painelExecutor")
+    private Executor painelExecutor;
+
+    /**
+     * Monta o painel da empresa informada.
+     *
+     * @param empresaId identificador (apelido) da empresa
+     * @return painel da empresa
+     * @throws ResponseStatusException com status 404 se a empresa não existir
+     */
+    public PainelEmpresa montar(Long empresaId) {
+        CompletableFuture<Optional<DadosEmpresa>> dados = consultar(
+                () -> empresaRepository.findDadosPorId(empresaId));
+        CompletableFuture<List<SocioEmpresa>> socios = consultar(
+                () -> empresaSocioRepository.findSociosPorEmpresa(empresaId));
+        CompletableFuture<List<ResumoParcelamento>> parcelamentos = consultar(
+                () -> parcelamentoRepository.listarResumosPorEmpresa(empresaId));
+        try {
+            CompletableFuture.allOf(dados, socios, parcelamentos).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw e;
+        }
+        DadosEmpresa empresa = dados.join()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Empresa não encontrada"));
+        List<SocioEmpresa> lista = socios.join();
+        double capitalInvestido = lista.stream().mapToDouble(SocioEmpresa::capitalInvestido).sum();
+        return new PainelEmpresa(empresa, lista.size(), capitalInvestido, lista, parcelamentos.join(),
+                resumoParcelasService.resumoPorEmpresa(empresaId));
+    }
+
+    private <T> CompletableFuture<T> consultar(Supplier<T> consulta) {
+        return CompletableFuture.supplyAsync(consulta, painelExecutor);
+    }
+}
@@ -1,5 +1,6 @@
 package br.com.contabills.service;
 
+import java.time.LocalDate;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -7,10 +8,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import br.com.contabills.model.Parcela;
 import br.com.contabills.model.Parcelamento;
+import br.com.contabills.model.ResumoParcela;
 import br.com.contabills.repository.ParcelaRepository;
 import br.com.contabills.repository.ParcelamentoRepository;
 
@@ -38,14 +43,42 @@ public class ParcelaService {
     @Autowired
     private ParcelamentoRepository parcelamentoRepository;
 
+    @Autowired
+    private ArquivoService arquivoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtualizacaoParcial<Parcela> atualizacaoParcial = AtualizacaoParcial.<Parcela>builder()
+            .campo("numero", Integer.class, Parcela::setNumero)
+            .campo("valor", Double.class, Parcela::setValor)
+            .campo("dataVencimento", LocalDate.class, Parcela::setDataVencimento)
+            .campo("enviadoMesAtual", Boolean.class, Parcela::setEnviadoMesAtual)
+            .campo("parcelamento", this::resolverParcelamento, Parcela::setParcelamento)
+            .build();
+
+    /**
+     * Lista todas as parcelas paginadas, por uma consulta de projeção que não
+     * carrega o parcelamento nem a empresa.
+     * 
+     * @param pageable informações de paginação e ordenação
+     * @return página de {@link ResumoParcela}
+     */
+    public Page<ResumoParcela> listarParcelas(Pageable pageable) {
+        return parcelaRepository.listarResumos(pageable);
+    }
+
     /**
-     * Lista todas as parcelas paginadas.
+     * Lista as parcelas paginadas, incluindo opcionalmente as parcelas
+     * arquivadas após as ativas.
      * 
      * @param pageable informações de paginação e ordenação
-     * @return página de {@link Parcela}
+     * @param incluirArquivadas se verdadeiro, inclui as parcelas arquivadas
+     * @return página de {@link ResumoParcela}
      */
-    public Page<Parcela> listarParcelas(Pageable pageable) {
-        return parcelaRepository.findAll(pageable);
+    public Page<ResumoParcela> listarParcelas(Pageable pageable, boolean incluirArquivadas) {
+        Page<ResumoParcela> ativas = listarParcelas(pageable);
+        return incluirArquivadas ? arquivoService.incluirParcelasArquivadas(ativas, pageable) : ativas;
     }
 
     /**
@@ -60,6 +93,24 @@ public class ParcelaService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parcela não encontrada"));
     }
 
+    /**
+     * Busca uma parcela pelo seu ID, procurando também no arquivo quando
+     * solicitado.
+     * 
+     * @param id ID da parcela
+     * @param incluirArquivadas se verdadeiro, procura também no arquivo
+     * @return a {@link Parcela} encontrada
+     * @throws ResponseStatusException caso a parcela não seja encontrada
+     */
+    public Parcela buscarParcelaPorId(Long id, boolean incluirArquivadas) {
+        if (!incluirArquivadas) {
+            return buscarParcelaPorId(id);
+        }
+        return parcelaRepository.findById(id)
+                .or(() -> arquivoService.buscarParcelaArquivada(id))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parcela não encontrada"));
+    }
+
     /**
      * Cadastra uma nova parcela.
      * 
@@ -75,13 +126,19 @@ public class ParcelaService {
      * 
      * @param id ID da parcela a ser atualizada
      * @param parcelaAtualizada objeto {@link Parcela} com os novos dados
+     * @param ifMatch ETag esperada da parcela (cabeçalho If-Match, opcional)
      * @return a {@link Parcela} atualizada
+     * @throws ResponseStatusException com status 412 caso a versão informada esteja desatualizada
      */
-    public Parcela atualizarParcela(Long id, Parcela parcelaAtualizada) {
+    @Transactional
+    public Parcela atualizarParcela(Long id, Parcela parcelaAtualizada, String ifMatch) {
         Parcela parcelaExistente = buscarParcelaPorId(id);
+        ControleVersao.verificar(ifMatch, parcelaAtualizada.getVersao(), parcelaExistente.getVersao(),
+                () -> ControleVersao.etag(parcelaExistente, objectMapper));
 
         parcelaExistente.setNumero(parcelaAtualizada.getNumero());
         parcelaExistente.setValor(parcelaAtualizada.getValor());
+        parcelaExistente.setDataVencimento(parcelaAtualizada.getDataVencimento());
         parcelaExistente.setEnviadoMesAtual(parcelaAtualizada.isEnviadoMesAtual());
 
         return parcelaRepository.save(parcelaExistente);
@@ -94,46 +151,43 @@ public class ParcelaService {
      * <ul>
      * <li>numero: (Integer)</li>
      * <li>valor: (Double)</li>
+     * <li>dataVencimento: (String no formato yyyy-MM-dd)</li>
      * <li>enviadoMesAtual: (Boolean)</li>
      * <li>parcelamento: (Map com o id, ex.: {"id": 123}) – opcional</li>
      * </ul>
      * 
      * @param id ID da parcela
      * @param updates mapa dos campos a serem atualizados e seus respectivos novos valores
+     * @param ifMatch ETag esperada da parcela (cabeçalho If-Match, opcional)
      * @return a {@link Parcela} atualizada
-     * @throws ResponseStatusException caso algum campo seja inválido ou o parcelamento não exista
+     * @throws ResponseStatusException caso algum campo seja inválido, o parcelamento não exista
+     *                                 ou a versão informada esteja desatualizada
      */
-    public Parcela atualizarDadosParcialmente(Long id, Map<String, Object> updates) {
+    @Transactional
+    public Parcela atualizarDadosParcialmente(Long id, Map<String, Object> updates, String ifMatch) {
         Parcela parcela = buscarParcelaPorId(id);
-
-        updates.forEach((key, value) -> {
-            switch (key) {
-                case "numero":
-                    parcela.setNumero((Integer) value);
-                    break;
-                case "valor":
-                    parcela.setValor(Double.valueOf(value.toString()));
-                    break;
-                case "enviadoMesAtual":
-                    parcela.setEnviadoMesAtual((Boolean) value);
-                    break;
-                case "parcelamento":
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> parcelamentoData = (Map<String, Object>) value;
-                    Long parcelamentoId = Long.valueOf(parcelamentoData.get("id").toString());
-                    Parcelamento parcelamento = parcelamentoRepository.findById(parcelamentoId)
-                            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
-                                    "Parcelamento não encontrado"));
-                    parcela.setParcelamento(parcelamento);
-                    break;
-                default:
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Campo inválido: " + key);
-            }
-        });
-
+        ControleVersao.verificar(ifMatch, null, parcela.getVersao(),
+                () -> ControleVersao.etag(parcela, objectMapper));
+        atualizacaoParcial.aplicar(parcela, updates);
         return parcelaRepository.save(parcela);
     }
 
+    /**
+     * Resolve a referência ao parcelamento informada na atualização parcial.
+     *
+     * @param valor mapa com o id do parcelamento, ex.: {"id": 123}
+     * @return o {@link Parcelamento} encontrado
+     * @throws ResponseStatusException caso o parcelamento não exista
+     */
+    private Parcelamento resolverParcelamento(Object valor) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> parcelamentoData = (Map<String, Object>) valor;
+        Long parcelamentoId = AtualizacaoParcial.conversorPara(Long.class).apply(parcelamentoData.get("id"));
+        return parcelamentoRepository.findById(parcelamentoId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+                        "Parcelamento não encontrado"));
+    }
+
     /**
      * Exclui uma parcela pelo seu ID.
      * 
@@ -1,17 +1,27 @@
 package br.com.contabills.service;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import br.com.contabills.model.Empresa;
+import br.com.contabills.model.PaginaCursor;
 import br.com.contabills.model.Parcelamento;
+import br.com.contabills.model.ResumoParcela;
+import br.com.contabills.model.ResumoParcelamento;
 import br.com.contabills.repository.EmpresaRepository;
+import br.com.contabills.repository.ParcelaRepository;
 import br.com.contabills.repository.ParcelamentoRepository;
 
 /**
@@ -40,14 +50,59 @@ public class ParcelamentoService {
     @Autowired
     private EmpresaRepository empresaRepository;
 
+    @Autowired
+    private ParcelaRepository parcelaRepository;
+
+    @Autowired
+    private ArquivoService arquivoService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final AtualizacaoParcial<Parcelamento> atualizacaoParcial = AtualizacaoParcial.<Parcelamento>builder()
+            .campo("registroDoParcelamento", String.class, Parcelamento::setRegistroDoParcelamento)
+            .campo("tipoParcelamento", String.class, Parcelamento::setTipoParcelamento)
+            .campoAnulavel("dataQuitacao", LocalDate.class, Parcelamento::setDataQuitacao)
+            .campo("empresa", this::resolverEmpresa, Parcelamento::setEmpresa)
+            .build();
+
     /**
-     * Lista os parcelamentos em formato paginado.
+     * Lista os parcelamentos em formato paginado com os totais das suas
+     * parcelas, incluindo opcionalmente os parcelamentos arquivados após os
+     * ativos.
      *
-     * @param pageable - informações de paginação e ordenação.
-     * @return {@code Page<Parcelamento>} - página contendo os parcelamentos.
+     * @param pageable          - informações de paginação e ordenação.
+     * @param incluirArquivados - se verdadeiro, inclui os parcelamentos arquivados.
+     * @return {@code Page<ResumoParcelamento>} - página contendo os resumos.
      */
-    public Page<Parcelamento> listarParcelamentos(Pageable pageable) {
-        return parcelamentoRepository.findAll(pageable);
+    public Page<ResumoParcelamento> listarResumos(Pageable pageable, boolean incluirArquivados) {
+        Page<ResumoParcelamento> ativos = parcelamentoRepository.listarResumos(pageable);
+        return incluirArquivados ? arquivoService.incluirParcelamentosArquivados(ativos, pageable) : ativos;
+    }
+
+    /**
+     * Lista as parcelas de um parcelamento com paginação por cursor.
+     *
+     * @param id     - ID do parcelamento.
+     * @param cursor - ID da última parcela já recebida (opcional).
+     * @param limite - quantidade máxima de parcelas (entre 1 e 100).
+     * @return {@code PaginaCursor<ResumoParcela>} - parcelas e cursor da próxima
+     *         página, lidas por uma consulta de projeção.
+     * @throws ResponseStatusException com status 404 se o parcelamento não for
+     *                                 encontrado.
+     */
+    public PaginaCursor<ResumoParcela> listarParcelas(Long id, Long cursor, int limite) {
+        if (!parcelamentoRepository.existsById(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Parcelamento não encontrado");
+        }
+        int tamanho = Math.max(1, Math.min(limite, 100));
+        List<ResumoParcela> parcelas = parcelaRepository.listarResumosAposCursor(id,
+                cursor != null ? cursor : 0L, Limit.of(tamanho + 1));
+        if (parcelas.size() <= tamanho) {
+            return new PaginaCursor<>(parcelas, null);
+        }
+        List<ResumoParcela> pagina = parcelas.subList(0, tamanho);
+        return new PaginaCursor<>(List.copyOf(pagina), pagina.get(tamanho - 1).id());
     }
 
     /**
@@ -63,6 +118,25 @@ public class ParcelamentoService {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parcelamento não encontrado"));
     }
 
+    /**
+     * Busca um parcelamento pelo seu ID, procurando também no arquivo quando
+     * solicitado.
+     *
+     * @param id                - ID do parcelamento a ser buscado.
+     * @param incluirArquivados - se verdadeiro, procura também no arquivo.
+     * @return Parcelamento - parcelamento encontrado.
+     * @throws ResponseStatusException com status 404 se o parcelamento não for
+     *                                 encontrado.
+     */
+    public Parcelamento buscarParcelamentoPorId(Long id, boolean incluirArquivados) {
+        if (!incluirArquivados) {
+            return buscarParcelamentoPorId(id);
+        }
+        return parcelamentoRepository.findById(id)
+                .or(() -> arquivoService.buscarParcelamentoArquivado(id))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Parcelamento não encontrado"));
+    }
+
     /**
      * Cadastra um novo parcelamento.
      *
@@ -78,13 +152,19 @@ public class ParcelamentoService {
      *
      * @param id                     - ID do parcelamento a ser atualizado.
      * @param parcelamentoAtualizado - objeto parcelamento contendo os novos dados.
+     * @param ifMatch                - ETag esperada do parcelamento (cabeçalho If-Match, opcional).
      * @return Parcelamento - parcelamento atualizado.
-     * @throws ResponseStatusException se o parcelamento não for encontrado.
+     * @throws ResponseStatusException se o parcelamento não for encontrado ou se a
+     *                                 versão informada estiver desatualizada (412).
      */
-    public Parcelamento atualizarParcelamento(Long id, Parcelamento parcelamentoAtualizado) {
+    @Transactional
+    public Parcelamento atualizarParcelamento(Long id, Parcelamento parcelamentoAtualizado, String ifMatch) {
         Parcelamento parcelamentoExistente = buscarParcelamentoPorId(id);
+        ControleVersao.verificar(ifMatch, parcelamentoAtualizado.getVersao(), parcelamentoExistente.getVersao(),
+                () -> ControleVersao.etag(parcelamentoExistente, objectMapper));
         parcelamentoExistente.setRegistroDoParcelamento(parcelamentoAtualizado.getRegistroDoParcelamento());
         parcelamentoExistente.setTipoParcelamento(parcelamentoAtualizado.getTipoParcelamento());
+        parcelamentoExistente.setDataQuitacao(parcelamentoAtualizado.getDataQuitacao());
         return parcelamentoRepository.save(parcelamentoExistente);
     }
 
@@ -94,43 +174,43 @@ public class ParcelamentoService {
      * Campos permitidos para atualização parcial:
      * - registroDoParcelamento: (String)
      * - tipoParcelamento: (String)
+     * - dataQuitacao: (String no formato yyyy-MM-dd, ou null para desfazer a
+     *   quitação)
      * - empresa: (Map com a chave "apelidoId", exemplo: {"apelidoId": 123})
      *
      * @param id      - ID do parcelamento a ser atualizado.
      * @param updates - Map dos campos a serem atualizados e seus respectivos novos
      *                valores.
+     * @param ifMatch - ETag esperada do parcelamento (cabeçalho If-Match, opcional).
      * @return Parcelamento - parcelamento atualizado.
-     * @throws ResponseStatusException se algum campo inválido for informado ou se a
-     *                                 empresa não for encontrada.
+     * @throws ResponseStatusException se algum campo inválido for informado, se a
+     *                                 empresa não for encontrada ou se a versão
+     *                                 informada estiver desatualizada (412).
      */
-    public Parcelamento atualizarDadosParcialmente(Long id, Map<String, Object> updates) {
+    @Transactional
+    public Parcelamento atualizarDadosParcialmente(Long id, Map<String, Object> updates, String ifMatch) {
         Parcelamento parcelamento = buscarParcelamentoPorId(id);
-
-        updates.forEach((key, value) -> {
-            switch (key) {
-                case "registroDoParcelamento":
-                    parcelamento.setRegistroDoParcelamento((String) value);
-                    break;
-                case "tipoParcelamento":
-                    parcelamento.setTipoParcelamento((String) value);
-                    break;
-                case "empresa":
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> empresaData = (Map<String, Object>) value;
-                    Long empresaId = (Long) empresaData.get("apelidoId");
-                    Empresa empresa = empresaRepository.findById(empresaId)
-                            .orElseThrow(
-                                    () -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Empresa não encontrada"));
-                    parcelamento.setEmpresa(empresa);
-                    break;
-                default:
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Campo inválido: " + key);
-            }
-        });
-
+        ControleVersao.verificar(ifMatch, null, parcelamento.getVersao(),
+                () -> ControleVersao.etag(parcelamento, objectMapper));
+        atualizacaoParcial.aplicar(parcelamento, updates);
         return parcelamentoRepository.save(parcelamento);
     }
 
+    /**
+     * Resolve a referência à empresa informada na atualização parcial.
+     *
+     * @param valor - Map com a chave "apelidoId", exemplo: {"apelidoId": 123}
+     * @return Empresa - empresa encontrada.
+     * @throws ResponseStatusException se a empresa não for encontrada.
+     */
+    private Empresa resolverEmpresa(Object valor) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> empresaData = (Map<String, Object>) valor;
+        Long empresaId = AtualizacaoParcial.conversorPara(Long.class).apply(empresaData.get("apelidoId"));
+        return empresaRepository.findById(empresaId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Empresa não encontrada"));
+    }
+
     /**
      * Exclui um parcelamento pelo seu ID.
      *
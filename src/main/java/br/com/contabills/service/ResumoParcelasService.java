@@ -0,0 +1,271 @@
+package br.com.contabills.service;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import br.com.contabills.listener.EntidadeAlterada;
+import br.com.contabills.listener.EntidadeAlterada.Operacao;
+import br.com.contabills.model.Parcela;
+import br.com.contabills.model.Parcelamento;
+import br.com.contabills.model.ResumoParcelas;
+import br.com.contabills.model.ValorParcela;
+import br.com.contabills.repository.ParcelaRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Índice em memória com os totais de parcelas por empresa e por parcelamento.
+ *
+ * Os valores são mantidos em centavos ({@code long}) em arrays colunares,
+ * separados pelo status de envio. O índice é montado na inicialização da
+ * aplicação a partir de uma consulta em streaming e mantido atualizado pelos
+ * eventos {@link EntidadeAlterada} de {@link Parcela} e {@link Parcelamento},
+ * consumidos somente após o commit. Assim, as consultas de resumo não acessam o
+ * banco de dados.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class ResumoParcelasService {
+
+    /**
+     * Construtor padrão.
+     */
+    public ResumoParcelasService() {
+    }
+
+    @Autowired
+    private ParcelaRepository parcelaRepository;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Registro> parcelas = new HashMap<>();
+
+    private final Acumulador porEmpresa = new Acumulador();
+
+    private final Acumulador porParcelamento = new Acumulador();
+
+    /**
+     * Reconstrói o índice a partir do banco de dados.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        lock.writeLock().lock();
+        try (Stream<ValorParcela> valores = parcelaRepository.streamValores()) {
+            parcelas.clear();
+            porEmpresa.limpar();
+            porParcelamento.limpar();
+            valores.forEach(v -> registrar(v.parcelaId(),
+                    new Registro(v.parcelamentoId(), v.empresaId(), paraCentavos(v.valor()), v.enviadoMesAtual())));
+            log.info("Índice de resumo de parcelas montado com {} parcelas", parcelas.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna os totais de parcelas de uma empresa.
+     *
+     * @param empresaId identificador (apelido) da empresa
+     * @return resumo das parcelas da empresa
+     */
+    public ResumoParcelas resumoPorEmpresa(Long empresaId) {
+        lock.readLock().lock();
+        try {
+            return porEmpresa.resumo(empresaId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Retorna os totais de parcelas de um parcelamento.
+     *
+     * @param parcelamentoId identificador do parcelamento
+     * @return resumo das parcelas do parcelamento
+     */
+    public ResumoParcelas resumoPorParcelamento(Long parcelamentoId) {
+        lock.readLock().lock();
+        try {
+            return porParcelamento.resumo(parcelamentoId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Atualiza o índice após o commit de uma alteração de parcela.
+     *
+     * @param evento evento de alteração da parcela
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarParcela(EntidadeAlterada<Parcela> evento) {
+        Parcela parcela = evento.entidade();
+        lock.writeLock().lock();
+        try {
+            if (evento.operacao() == Operacao.REMOVIDA) {
+                remover(parcela.getId());
+            } else {
+                Parcelamento parcelamento = parcela.getParcelamento();
+                Long parcelamentoId = parcelamento != null ? parcelamento.getId() : null;
+                Long empresaId = parcelamento != null && parcelamento.getEmpresa() != null
+                        ? parcelamento.getEmpresa().getApelidoId()
+                        : null;
+                registrar(parcela.getId(), new Registro(parcelamentoId, empresaId,
+                        paraCentavos(parcela.getValor()), parcela.isEnviadoMesAtual()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reatribui as parcelas de um parcelamento quando a empresa dele é alterada.
+     *
+     * @param evento evento de alteração do parcelamento
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarParcelamento(EntidadeAlterada<Parcelamento> evento) {
+        if (evento.operacao() != Operacao.ATUALIZADA) {
+            return;
+        }
+        Parcelamento parcelamento = evento.entidade();
+        Long empresaId = parcelamento.getEmpresa() != null ? parcelamento.getEmpresa().getApelidoId() : null;
+        lock.writeLock().lock();
+        try {
+            parcelas.entrySet().stream()
+                    .filter(e -> parcelamento.getId().equals(e.getValue().parcelamentoId()))
+                    .filter(e -> !Objects.equals(empresaId, e.getValue().empresaId()))
+                    .toList()
+                    .forEach(e -> registrar(e.getKey(), new Registro(e.getValue().parcelamentoId(), empresaId,
+                            e.getValue().centavos(), e.getValue().enviado())));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove do índice as parcelas dos parcelamentos informados. Utilizado por
+     * operações em lote que não passam pelos eventos das entidades, como o
+     * arquivamento.
+     *
+     * @param parcelamentoIds identificadores dos parcelamentos removidos
+     */
+    public void removerParcelamentos(Collection<Long> parcelamentoIds) {
+        lock.writeLock().lock();
+        try {
+            parcelas.entrySet().stream()
+                    .filter(e -> parcelamentoIds.contains(e.getValue().parcelamentoId()))
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(this::remover);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void registrar(Long parcelaId, Registro registro) {
+        remover(parcelaId);
+        parcelas.put(parcelaId, registro);
+        porEmpresa.somar(registro.empresaId(), registro.centavos(), registro.enviado(), 1);
+        porParcelamento.somar(registro.parcelamentoId(), registro.centavos(), registro.enviado(), 1);
+    }
+
+    private void remover(Long parcelaId) {
+        Registro anterior = parcelas.remove(parcelaId);
+        if (anterior != null) {
+            porEmpresa.somar(anterior.empresaId(), anterior.centavos(), anterior.enviado(), -1);
+            porParcelamento.somar(anterior.parcelamentoId(), anterior.centavos(), anterior.enviado(), -1);
+        }
+    }
+
+    private static long paraCentavos(double valor) {
+        return Math.round(valor * 100);
+    }
+
+    /**
+     * Estado de uma parcela já contabilizada no índice.
+     */
+    private record Registro(Long parcelamentoId, Long empresaId, long centavos, boolean enviado) {
+    }
+
+    /**
+     * Armazena, em colunas de tipos primitivos, as quantidades e somas em
+     * centavos de cada chave (empresa ou parcelamento).
+     */
+    private static final class Acumulador {
+
+        private final Map<Long, Integer> posicoes = new HashMap<>();
+
+        private int tamanho;
+
+        private int[] quantidadeEnviadas = new int[64];
+
+        private int[] quantidadePendentes = new int[64];
+
+        private long[] centavosEnviados = new long[64];
+
+        private long[] centavosPendentes = new long[64];
+
+        void somar(Long chave, long centavos, boolean enviado, int sinal) {
+            if (chave == null) {
+                return;
+            }
+            int posicao = posicoes.computeIfAbsent(chave, k -> alocar());
+            if (enviado) {
+                quantidadeEnviadas[posicao] += sinal;
+                centavosEnviados[posicao] += sinal * centavos;
+            } else {
+                quantidadePendentes[posicao] += sinal;
+                centavosPendentes[posicao] += sinal * centavos;
+            }
+        }
+
+        ResumoParcelas resumo(Long chave) {
+            Integer posicao = posicoes.get(chave);
+            if (posicao == null) {
+                return new ResumoParcelas(0, 0, BigDecimal.ZERO.setScale(2), BigDecimal.ZERO.setScale(2));
+            }
+            return new ResumoParcelas(
+                    quantidadeEnviadas[posicao],
+                    quantidadePendentes[posicao],
+                    BigDecimal.valueOf(centavosEnviados[posicao], 2),
+                    BigDecimal.valueOf(centavosPendentes[posicao], 2));
+        }
+
+        void limpar() {
+            posicoes.clear();
+            tamanho = 0;
+            Arrays.fill(quantidadeEnviadas, 0);
+            Arrays.fill(quantidadePendentes, 0);
+            Arrays.fill(centavosEnviados, 0);
+            Arrays.fill(centavosPendentes, 0);
+        }
+
+        private int alocar() {
+            if (tamanho == quantidadeEnviadas.length) {
+                int novaCapacidade = tamanho * 2;
+                quantidadeEnviadas = Arrays.copyOf(quantidadeEnviadas, novaCapacidade);
+                quantidadePendentes = Arrays.copyOf(quantidadePendentes, novaCapacidade);
+                centavosEnviados = Arrays.copyOf(centavosEnviados, novaCapacidade);
+                centavosPendentes = Arrays.copyOf(centavosPendentes, novaCapacidade);
+            }
+            return tamanho++;
+        }
+    }
+}
@@ -1,17 +1,27 @@
 package br.com.contabills.service;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
-import br.com.contabills.model.Empresa;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.contabills.listener.EntidadeAlterada;
+import br.com.contabills.listener.EntidadeAlterada.Operacao;
 import br.com.contabills.model.EmpresaSocio;
+import br.com.contabills.model.EmpresaSocioId;
+import br.com.contabills.model.ResumoSocio;
 import br.com.contabills.model.Socio;
-import br.com.contabills.repository.EmpresaRepository;
+import br.com.contabills.repository.EmpresaSocioRepository;
 import br.com.contabills.repository.SocioRepository;
+import br.com.contabills.validacao.Documentos;
 
 /**
  * Serviço responsável pelas regras de negócio relacionadas à entidade
@@ -38,19 +48,35 @@ public class SocioService {
     private SocioRepository socioRepository;
 
     @Autowired
-    private EmpresaRepository empresaRepository;
+    private EmpresaSocioRepository empresaSocioRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private FiltroCpfService filtroCpf;
+
+    @Autowired
+    private ObjectMapper objectMapper;
 
     /**
      * Lista os sócios paginados, com opção de busca por nome.
+     * 
+     * A busca ignora acentos e maiúsculas e encontra os nomes em que alguma
+     * palavra começa com o termo informado.
      *
-     * @param busca    - termo de busca para filtrar os sócios pelo nome. Se nulo,
-     *                 retorna todos.
+     * @param busca    - termo de busca para filtrar os sócios pelo nome. Se nulo
+     *                 ou em branco, retorna todos.
      * @param pageable - informações de paginação e ordenação.
-     * @return {@code Page<Socio>} - página contendo os sócios.
+     * @return {@code Page<ResumoSocio>} - página contendo os sócios, lida por
+     *         uma consulta de projeção sem os vínculos com empresas.
+     * @throws ResponseStatusException com status 400 se o termo não tiver
+     *                                 letras nem dígitos.
      */
-    public Page<Socio> listarSocios(String busca, Pageable pageable) {
-        return (busca == null) ? socioRepository.findAll(pageable)
-                : socioRepository.findByNomeContaining(busca, pageable);
+    public Page<ResumoSocio> listarSocios(String busca, Pageable pageable) {
+        String termo = TermoBusca.normalizar(busca);
+        return termo == null ? socioRepository.listarResumos(pageable)
+                : socioRepository.buscarPorNome(termo, pageable);
     }
 
     /**
@@ -67,60 +93,84 @@ public class SocioService {
 
     /**
      * Cadastra um novo sócio.
+     * 
+     * A unicidade do CPF só é consultada no banco de dados quando o
+     * {@link FiltroCpfService} indica que ele pode já estar cadastrado.
      *
      * @param socio - objeto sócio a ser cadastrado.
      * @return Socio - sócio cadastrado.
+     * @throws ResponseStatusException caso já exista um sócio com o mesmo CPF
+     *                                 (409).
      */
     public Socio cadastrar(Socio socio) {
+        if (filtroCpf.possivelmenteCadastrado(socio.getCpf())
+                && socioRepository.existsByCpfDigitos(Documentos.digitos(socio.getCpf()))) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "CPF " + socio.getCpf() + " já cadastrado");
+        }
         return socioRepository.save(socio);
     }
 
     /**
      * Atualiza as informações de um sócio existente.
      *
-     * @param id    - ID do sócio a ser atualizado.
-     * @param socio - objeto sócio com os novos dados.
+     * @param id      - ID do sócio a ser atualizado.
+     * @param socio   - objeto sócio com os novos dados.
+     * @param ifMatch - ETag esperada do sócio (cabeçalho If-Match, opcional).
      * @return Socio - sócio atualizado.
-     * @throws ResponseStatusException caso o sócio não seja encontrado.
+     * @throws ResponseStatusException caso o sócio não seja encontrado ou a versão
+     *                                 informada esteja desatualizada (412).
      */
-    public Socio atualizar(Long id, Socio socio) {
-        buscarPorId(id);
+    @Transactional
+    public Socio atualizar(Long id, Socio socio, String ifMatch) {
+        Socio existente = buscarPorId(id);
+        ControleVersao.verificar(ifMatch, socio.getVersao(), existente.getVersao(),
+                () -> ControleVersao.etag(existente, objectMapper));
         socio.setId(id);
+        socio.setVersao(existente.getVersao());
         return socioRepository.save(socio);
     }
 
     /**
      * Exclui um sócio pelo seu ID.
      * 
-     * Antes de excluir, remove as associações do sócio com as empresas para evitar
-     * inconsistências.
+     * Os vínculos do sócio com as empresas e o próprio sócio são excluídos com
+     * um comando cada, na mesma transação, sem carregar as empresas. Como
+     * esses comandos não passam pelos callbacks JPA, os eventos de remoção são
+     * publicados aqui para manter os índices em memória atualizados após o
+     * commit.
      *
      * @param id - ID do sócio a ser removido.
      * @throws ResponseStatusException caso o sócio não seja encontrado.
      */
+    @Transactional
     public void deletar(Long id) {
-        Socio socio = buscarPorId(id);
-        if (socio.getEmpresaSocios() != null) {
-            for (EmpresaSocio es : socio.getEmpresaSocios()) {
-                Empresa empresa = es.getEmpresa();
-                if (empresa != null && empresa.getEmpresaSocios() != null) {
-                    empresa.getEmpresaSocios().remove(es);
-                    empresaRepository.save(empresa);
-                }
-            }
+        String cpf = socioRepository.findCpfPorId(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Sócio não encontrado"));
+        List<EmpresaSocioId> vinculos = empresaSocioRepository.findChavesPorSocio(id);
+        if (!vinculos.isEmpty()) {
+            empresaSocioRepository.excluirPorSocio(id);
         }
-        socioRepository.deleteById(id);
+        socioRepository.excluirPorId(id);
+        vinculos.forEach(chave -> eventPublisher.publishEvent(
+                new EntidadeAlterada<>(EmpresaSocio.builder().id(chave).build(), Operacao.REMOVIDA)));
+        eventPublisher.publishEvent(new EntidadeAlterada<>(Socio.builder().id(id).cpf(cpf).build(), Operacao.REMOVIDA));
     }
 
     /**
-     * Busca um sócio pelo seu CPF.
+     * Busca um sócio pelo seu CPF, em qualquer formato.
      *
-     * @param cpf - CPF do sócio.
+     * @param cpf - CPF do sócio, com ou sem máscara.
      * @return Socio - sócio encontrado.
-     * @throws ResponseStatusException caso o sócio não seja encontrado.
+     * @throws ResponseStatusException com status 400 se o CPF não tiver 11
+     *                                 dígitos, ou 404 caso o sócio não seja
+     *                                 encontrado.
      */
     public Socio buscarPorCpf(String cpf) {
-        return socioRepository.findByCpf(cpf)
+        String digitos = Documentos.digitos(cpf);
+        if (digitos == null || digitos.length() != Documentos.TAMANHO_CPF) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "O CPF deve ter 11 dígitos");
+        }
+        return socioRepository.findByCpfDigitos(digitos)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Sócio não encontrado"));
     }
 }
@@ -0,0 +1,45 @@
+package br.com.contabills.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.contabills.busca.TextoNormalizado;
+
+/**
+ * Utilitário para os termos das buscas por início de palavra na razão social
+ * e nos nomes.
+ *
+ * As consultas comparam os termos de busca
+ * ({@link TextoNormalizado#termos(String)}) com {@code like 'termo%'}, uma
+ * varredura de faixa no índice. Um termo que não tenha letras nem dígitos
+ * seria normalizado para o texto vazio e corresponderia a todos os registros,
+ * por isso é recusado.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public final class TermoBusca {
+
+    private TermoBusca() {
+    }
+
+    /**
+     * Normaliza o termo de busca informado.
+     *
+     * @param busca termo de busca (opcional)
+     * @return termo normalizado, ou {@code null} se nenhum termo for informado
+     * @throws ResponseStatusException com status 400 se o termo não tiver
+     *                                 letras nem dígitos
+     */
+    public static String normalizar(String busca) {
+        if (busca == null || busca.isBlank()) {
+            return null;
+        }
+        String termo = TextoNormalizado.normalizar(busca);
+        if (termo.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "O termo de busca deve conter letras ou dígitos");
+        }
+        return termo;
+    }
+}
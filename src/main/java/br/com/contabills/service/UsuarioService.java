@@ -49,20 +49,34 @@ public class UsuarioService {
     @Autowired
     private AuthenticationManager manager;
 
+    private final AtualizacaoParcial<Usuario> atualizacaoParcial = AtualizacaoParcial.<Usuario>builder()
+            .campo("nome", String.class, Usuario::setNome)
+            .campoAnulavel("telefone", String.class, Usuario::setTelefone)
+            .campo("data", this::converterData, Usuario::setData)
+            .campo("senha", valor -> encoder.encode(valor.toString()), Usuario::setSenha)
+            .campoAnulavel("foto", byte[].class, Usuario::setFoto)
+            .ignorandoCamposDesconhecidos()
+            .build();
+
     /**
      * Retorna uma página de usuários com base em um termo de busca.
      * 
-     * Caso o parâmetro "busca" seja nulo, retorna todos os usuários paginados.
+     * Caso o parâmetro "busca" seja nulo ou em branco, retorna todos os
+     * usuários paginados. A busca ignora acentos e maiúsculas e encontra os
+     * nomes em que alguma palavra começa com o termo informado.
      *
      * @param busca    - termo para filtrar pelo nome (opcional).
      * @param pageable - informações de paginação e ordenação.
      * @return {@code Page<Usuario>} - página contendo os usuários.
+     * @throws ResponseStatusException com status 400 se o termo não tiver
+     *                                 letras nem dígitos.
      */
     public Page<Usuario> findUsuarios(String busca, Pageable pageable) {
-        if (busca == null) {
+        String termo = TermoBusca.normalizar(busca);
+        if (termo == null) {
             return usuarioRepository.findAll(pageable);
         } else {
-            return usuarioRepository.findByNomeContaining(busca, pageable);
+            return usuarioRepository.buscarPorNome(termo, pageable);
         }
     }
 
@@ -106,10 +120,11 @@ public class UsuarioService {
      * 
      * Os campos permitidos para atualização parcial são:
      * - nome: String
-     * - telefone: String
+     * - telefone: String ou null
      * - data: String no formato ISO (YYYY-MM-DD) a ser convertido para LocalDate
      * - senha: String, que será criptografada
-     * - foto: byte[] (representa imagem do usuário)
+     * - foto: byte[], String Base64 (representa imagem do usuário) ou null para
+     *   removê-la
      *
      * @param id      - ID do usuário a ser atualizado.
      * @param updates - Map contendo os campos a serem atualizados e seus novos valores.
@@ -118,31 +133,23 @@ public class UsuarioService {
      */
     public Usuario updateUsuarioParcial(Long id, Map<String, Object> updates) {
         Usuario existingUser = findUsuarioById(id);
+        atualizacaoParcial.aplicar(existingUser, updates);
+        return usuarioRepository.save(existingUser);
+    }
 
-        if (updates.containsKey("nome")) {
-            existingUser.setNome((String) updates.get("nome"));
-        }
-        if (updates.containsKey("telefone")) {
-            existingUser.setTelefone((String) updates.get("telefone"));
-        }
-        if (updates.containsKey("data")) {
-            Object dataObj = updates.get("data");
-            if (dataObj instanceof String) {
-                try {
-                    existingUser.setData(LocalDate.parse((String) dataObj));
-                } catch (Exception e) {
-                    throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Data inválida");
-                }
-            }
-        }
-        if (updates.containsKey("senha")) {
-            existingUser.setSenha(encoder.encode((String) updates.get("senha")));
-        }
-        if (updates.containsKey("foto")) {
-            existingUser.setFoto((byte[]) updates.get("foto"));
+    /**
+     * Converte a data de nascimento informada na atualização parcial.
+     *
+     * @param valor - String no formato ISO (YYYY-MM-DD).
+     * @return LocalDate - data convertida.
+     * @throws ResponseStatusException caso a data esteja em formato incorreto.
+     */
+    private LocalDate converterData(Object valor) {
+        try {
+            return LocalDate.parse(valor.toString());
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Data inválida");
         }
-
-        return usuarioRepository.save(existingUser);
     }
 
     /**
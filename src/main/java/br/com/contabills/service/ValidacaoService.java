@@ -0,0 +1,60 @@
+package br.com.contabills.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.contabills.model.DocumentoInvalido;
+import br.com.contabills.model.ResultadoValidacao;
+import br.com.contabills.validacao.Documentos;
+
+/**
+ * Serviço responsável pela validação em lote de CPFs e CNPJs.
+ *
+ * Cada documento é conferido pelos dígitos verificadores com
+ * {@link Documentos}, com ou sem máscara, e o tipo é identificado pelo
+ * tamanho.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@Service
+public class ValidacaoService {
+
+    /**
+     * Construtor padrão.
+     */
+    public ValidacaoService() {
+    }
+
+    @Value("${contabills.validacao.max-documentos:100000}")
+    private int maxDocumentos;
+
+    /**
+     * Valida uma lista de CPFs e CNPJs.
+     *
+     * @param documentos CPFs e CNPJs, com ou sem máscara
+     * @return totais e documentos inválidos
+     * @throws ResponseStatusException com status 400 se a lista exceder o
+     *                                 tamanho máximo configurado
+     */
+    public ResultadoValidacao validarDocumentos(List<String> documentos) {
+        if (documentos.size() > maxDocumentos) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Envie no máximo " + maxDocumentos + " documentos por requisição");
+        }
+        List<DocumentoInvalido> invalidos = new ArrayList<>();
+        for (int i = 0; i < documentos.size(); i++) {
+            String documento = documentos.get(i);
+            if (!Documentos.cpfValido(documento) && !Documentos.cnpjValido(documento)) {
+                invalidos.add(new DocumentoInvalido(i, documento));
+            }
+        }
+        return new ResultadoValidacao(documentos.size(), documentos.size() - invalidos.size(), invalidos.size(),
+                invalidos);
+    }
+}
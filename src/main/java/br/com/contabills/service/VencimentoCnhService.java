@@ -0,0 +1,128 @@
+package br.com.contabills.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.contabills.model.AlertaCnh;
+import br.com.contabills.model.VencimentoCnh;
+import br.com.contabills.repository.SocioRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serviço responsável pela varredura diária dos sócios com CNH próxima do
+ * vencimento.
+ *
+ * Os sócios são buscados pela faixa de validade, coluna indexada, lidos em
+ * streaming já ordenados por empresa e agrupados à medida que são percorridos:
+ * somente os sócios da empresa atual ficam em memória. Para cada empresa é
+ * publicado um {@link AlertaCnh}, entregue pelo {@link AlertaService} e que
+ * pode ser consumido por qualquer outro {@code @EventListener}.
+ *
+ * A varredura respeita um tempo máximo de execução: ao atingi-lo, o resumo é
+ * interrompido após a empresa em andamento e o ID dessa empresa é guardado.
+ * A execução seguinte começa pelas empresas posteriores a ela e só então
+ * volta às primeiras, de modo que as empresas não processadas não sejam
+ * sempre preteridas. O ponto de retomada é mantido em memória; após um
+ * reinício da aplicação, a varredura volta a começar pela primeira empresa.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class VencimentoCnhService {
+
+    /**
+     * Construtor padrão.
+     */
+    public VencimentoCnhService() {
+    }
+
+    @Autowired
+    private SocioRepository socioRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${contabills.cnh.dias-antecedencia:30}")
+    private int diasAntecedencia;
+
+    @Value("${contabills.cnh.tempo-maximo:PT2M}")
+    private Duration tempoMaximo;
+
+    /**
+     * ID da última empresa processada por uma varredura interrompida, ou
+     * {@code null} se a última varredura foi concluída.
+     */
+    private volatile Long retomarApos;
+
+    /**
+     * Publica os alertas dos sócios cuja CNH vence entre hoje e o número de
+     * dias de antecedência configurado, começando pela empresa seguinte àquela
+     * em que a varredura anterior foi interrompida.
+     *
+     * @return quantidade de alertas publicados
+     */
+    @Scheduled(cron = "${contabills.cnh.cron:0 0 8 * * *}")
+    @Transactional(readOnly = true)
+    public int verificarVencimentos() {
+        LocalDate hoje = LocalDate.now();
+        LocalDate fim = hoje.plusDays(diasAntecedencia);
+        long limite = System.nanoTime() + tempoMaximo.toNanos();
+        int alertas = 0;
+        boolean interrompida = false;
+        Long inicioVarredura = retomarApos;
+        try (Stream<VencimentoCnh> vencimentos = socioRepository.streamVencimentosCnh(hoje, fim,
+                inicioVarredura != null ? inicioVarredura : Long.MIN_VALUE)) {
+            List<VencimentoCnh> grupo = new ArrayList<>();
+            Iterator<VencimentoCnh> iterator = vencimentos.iterator();
+            while (iterator.hasNext()) {
+                VencimentoCnh vencimento = iterator.next();
+                if (!grupo.isEmpty() && !Objects.equals(grupo.get(0).empresaId(), vencimento.empresaId())) {
+                    publicar(grupo);
+                    alertas++;
+                    if (System.nanoTime() > limite) {
+                        retomarApos = grupo.get(0).empresaId();
+                        interrompida = true;
+                        break;
+                    }
+                    grupo = new ArrayList<>();
+                }
+                grupo.add(vencimento);
+            }
+            if (!interrompida) {
+                if (!grupo.isEmpty()) {
+                    publicar(grupo);
+                    alertas++;
+                }
+                retomarApos = null;
+            }
+        }
+        if (interrompida) {
+            log.warn("Varredura de CNHs interrompida após {} ao atingir o tempo máximo; {} alertas publicados, "
+                    + "a próxima execução continua após a empresa {}", tempoMaximo, alertas, retomarApos);
+        } else {
+            log.info("{} alertas de CNH publicados para o período de {} a {}", alertas, hoje, fim);
+        }
+        return alertas;
+    }
+
+    private void publicar(List<VencimentoCnh> grupo) {
+        VencimentoCnh primeiro = grupo.get(0);
+        log.info("Empresa {} possui {} sócios com CNH a vencer", primeiro.empresaId(), grupo.size());
+        eventPublisher.publishEvent(new AlertaCnh(primeiro.empresaId(), primeiro.razaoSocial(), primeiro.email(),
+                List.copyOf(grupo)));
+    }
+}
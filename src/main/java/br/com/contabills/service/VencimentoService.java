@@ -0,0 +1,90 @@
+package br.com.contabills.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import br.com.contabills.model.AlertaVencimento;
+import br.com.contabills.model.VencimentoParcela;
+import br.com.contabills.repository.ParcelaRepository;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serviço responsável pela varredura diária das parcelas com vencimento
+ * próximo.
+ *
+ * As parcelas pendentes são lidas em streaming, já ordenadas por empresa, e
+ * agrupadas à medida que são percorridas: somente as parcelas da empresa atual
+ * ficam em memória. Para cada empresa é publicado um {@link AlertaVencimento},
+ * entregue pelo {@link AlertaService} e que pode ser consumido por qualquer
+ * outro {@code @EventListener}.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@Slf4j
+@Service
+public class VencimentoService {
+
+    /**
+     * Construtor padrão.
+     */
+    public VencimentoService() {
+    }
+
+    @Autowired
+    private ParcelaRepository parcelaRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${contabills.vencimentos.dias-antecedencia:7}")
+    private int diasAntecedencia;
+
+    /**
+     * Publica os alertas das parcelas pendentes que vencem entre hoje e o
+     * número de dias de antecedência configurado.
+     *
+     * @return quantidade de alertas publicados
+     */
+    @Scheduled(cron = "${contabills.vencimentos.cron:0 0 7 * * *}")
+    @Transactional(readOnly = true)
+    public int verificarVencimentos() {
+        LocalDate hoje = LocalDate.now();
+        int alertas = 0;
+        try (Stream<VencimentoParcela> vencimentos = parcelaRepository.streamVencimentos(hoje,
+                hoje.plusDays(diasAntecedencia))) {
+            List<VencimentoParcela> grupo = new ArrayList<>();
+            for (VencimentoParcela vencimento : (Iterable<VencimentoParcela>) vencimentos::iterator) {
+                if (!grupo.isEmpty() && !grupo.get(0).empresaId().equals(vencimento.empresaId())) {
+                    publicar(grupo);
+                    alertas++;
+                    grupo = new ArrayList<>();
+                }
+                grupo.add(vencimento);
+            }
+            if (!grupo.isEmpty()) {
+                publicar(grupo);
+                alertas++;
+            }
+        }
+        log.info("{} alertas de vencimento publicados para o período de {} a {}", alertas, hoje,
+                hoje.plusDays(diasAntecedencia));
+        return alertas;
+    }
+
+    private void publicar(List<VencimentoParcela> grupo) {
+        VencimentoParcela primeira = grupo.get(0);
+        log.info("Empresa {} possui {} parcelas a vencer", primeira.empresaId(), grupo.size());
+        eventPublisher.publishEvent(new AlertaVencimento(primeira.empresaId(), primeira.razaoSocial(),
+                primeira.email(), List.copyOf(grupo)));
+    }
+}
@@ -0,0 +1,16 @@
+package br.com.contabills.validacao;
+
+/**
+ * Grupo de validação aplicado somente ao cadastro de novos registros.
+ *
+ * As restrições deste grupo são verificadas, além das do grupo padrão, ao
+ * inserir a entidade ({@code pre-persist}) e na importação em lote, mas não
+ * nas alterações. Assim regras mais rígidas, como os dígitos verificadores de
+ * CPF e CNPJ, valem para os novos cadastros sem impedir a alteração de
+ * registros gravados antes delas.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public interface Cadastro {
+}
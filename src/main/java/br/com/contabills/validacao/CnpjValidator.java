@@ -0,0 +1,40 @@
+package br.com.contabills.validacao;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Implementação da restrição {@link Cnpj} com {@link Documentos#cnpjValido}.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public class CnpjValidator implements ConstraintValidator<Cnpj, CharSequence> {
+
+    private boolean formatado;
+
+    private boolean digitosVerificadores;
+
+    /**
+     * Construtor padrão.
+     */
+    public CnpjValidator() {
+    }
+
+    @Override
+    public void initialize(Cnpj anotacao) {
+        this.formatado = anotacao.formatado();
+        this.digitosVerificadores = anotacao.digitosVerificadores();
+    }
+
+    @Override
+    public boolean isValid(CharSequence valor, ConstraintValidatorContext context) {
+        if (valor == null) {
+            return true;
+        }
+        if (formatado && !Documentos.cnpjFormatado(valor)) {
+            return false;
+        }
+        return digitosVerificadores ? Documentos.cnpjValido(valor) : Documentos.formatoCnpjValido(valor);
+    }
+}
@@ -0,0 +1,73 @@
+package br.com.contabills.validacao;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.PARAMETER;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+/**
+ * Valida o formato e os dígitos verificadores de um CPF.
+ *
+ * Valores nulos são considerados válidos; utilize {@code @NotBlank} quando o
+ * campo for obrigatório.
+ *
+ * Com {@code digitosVerificadores = false} apenas o formato é verificado. A
+ * restrição pode ser repetida em grupos diferentes, por exemplo para exigir
+ * os dígitos verificadores somente no grupo {@link Cadastro}.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+@Documented
+@Target({ FIELD, PARAMETER })
+@Retention(RUNTIME)
+@Constraint(validatedBy = CpfValidator.class)
+@Repeatable(Cpf.List.class)
+public @interface Cpf {
+
+    /**
+     * @return mensagem de erro
+     */
+    String message() default "CPF inválido";
+
+    /**
+     * @return exige a máscara {@code 000.000.000-00}
+     */
+    boolean formatado() default true;
+
+    /**
+     * @return confere os dígitos verificadores, além do formato
+     */
+    boolean digitosVerificadores() default true;
+
+    /**
+     * @return grupos de validação
+     */
+    Class<?>[] groups() default {};
+
+    /**
+     * @return payload da validação
+     */
+    Class<? extends Payload>[] payload() default {};
+
+    /**
+     * Agrupa as restrições {@link Cpf} repetidas no mesmo elemento.
+     */
+    @Documented
+    @Target({ FIELD, PARAMETER })
+    @Retention(RUNTIME)
+    @interface List {
+
+        /**
+         * @return restrições agrupadas
+         */
+        Cpf[] value();
+    }
+}
@@ -0,0 +1,40 @@
+package br.com.contabills.validacao;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Implementação da restrição {@link Cpf} com {@link Documentos#cpfValido}.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public class CpfValidator implements ConstraintValidator<Cpf, CharSequence> {
+
+    private boolean formatado;
+
+    private boolean digitosVerificadores;
+
+    /**
+     * Construtor padrão.
+     */
+    public CpfValidator() {
+    }
+
+    @Override
+    public void initialize(Cpf anotacao) {
+        this.formatado = anotacao.formatado();
+        this.digitosVerificadores = anotacao.digitosVerificadores();
+    }
+
+    @Override
+    public boolean isValid(CharSequence valor, ConstraintValidatorContext context) {
+        if (valor == null) {
+            return true;
+        }
+        if (formatado && !Documentos.cpfFormatado(valor)) {
+            return false;
+        }
+        return digitosVerificadores ? Documentos.cpfValido(valor) : Documentos.formatoCpfValido(valor);
+    }
+}
@@ -0,0 +1,253 @@
+package br.com.contabills.validacao;
+
+/**
+ * Validação dos dígitos verificadores de CPF e CNPJ.
+ *
+ * Os métodos percorrem a sequência de caracteres uma única vez, conferindo a
+ * máscara e acumulando as somas ponderadas dos dígitos, sem criar objetos
+ * (expressões regulares, substrings ou arrays). São aceitos os documentos com
+ * máscara ({@code 000.000.000-00} e {@code 00.000.000/0000-00}) ou somente com
+ * os dígitos.
+ *
+ * @author Gerson
+ * @version 1.0
+ */
+public final class Documentos {
+
+    /** Tamanho do CPF com máscara. */
+    public static final int TAMANHO_CPF_FORMATADO = 14;
+
+    /** Tamanho do CPF sem máscara. */
+    public static final int TAMANHO_CPF = 11;
+
+    /** Tamanho do CNPJ com máscara. */
+    public static final int TAMANHO_CNPJ_FORMATADO = 18;
+
+    /** Tamanho do CNPJ sem máscara. */
+    public static final int TAMANHO_CNPJ = 14;
+
+    private Documentos() {
+    }
+
+    /**
+     * Verifica se o CPF é válido.
+     *
+     * @param cpf CPF com ou sem máscara
+     * @return true se o formato e os dígitos verificadores estiverem corretos
+     */
+    public static boolean cpfValido(CharSequence cpf) {
+        if (cpf == null) {
+            return false;
+        }
+        boolean formatado;
+        if (cpf.length() == TAMANHO_CPF_FORMATADO) {
+            if (cpf.charAt(3) != '.' || cpf.charAt(7) != '.' || cpf.charAt(11) != '-') {
+                return false;
+            }
+            formatado = true;
+        } else if (cpf.length() == TAMANHO_CPF) {
+            formatado = false;
+        } else {
+            return false;
+        }
+        int soma1 = 0;
+        int soma2 = 0;
+        int primeiro = -1;
+        boolean repetidos = true;
+        for (int i = 0; i < 9; i++) {
+            int digito = digito(cpf, formatado ? i + i / 3 : i);
+            if (digito < 0) {
+                return false;
+            }
+            if (i == 0) {
+                primeiro = digito;
+            } else if (digito != primeiro) {
+                repetidos = false;
+            }
+            soma1 += digito * (10 - i);
+            soma2 += digito * (11 - i);
+        }
+        int verificador1 = verificador(soma1);
+        if (repetidos || digito(cpf, formatado ? 12 : 9) != verificador1) {
+            return false;
+        }
+        return digito(cpf, formatado ? 13 : 10) == verificador(soma2 + verificador1 * 2);
+    }
+
+    /**
+     * Verifica se o CNPJ é válido.
+     *
+     * @param cnpj CNPJ com ou sem máscara
+     * @return true se o formato e os dígitos verificadores estiverem corretos
+     */
+    public static boolean cnpjValido(CharSequence cnpj) {
+        if (cnpj == null) {
+            return false;
+        }
+        boolean formatado;
+        if (cnpj.length() == TAMANHO_CNPJ_FORMATADO) {
+            if (cnpj.charAt(2) != '.' || cnpj.charAt(6) != '.' || cnpj.charAt(10) != '/'
+                    || cnpj.charAt(15) != '-') {
+                return false;
+            }
+            formatado = true;
+        } else if (cnpj.length() == TAMANHO_CNPJ) {
+            formatado = false;
+        } else {
+            return false;
+        }
+        int soma1 = 0;
+        int soma2 = 0;
+        int primeiro = -1;
+        boolean repetidos = true;
+        for (int i = 0; i < 12; i++) {
+            int digito = digito(cnpj, formatado ? posicaoCnpj(i) : i);
+            if (digito < 0) {
+                return false;
+            }
+            if (i == 0) {
+                primeiro = digito;
+            } else if (digito != primeiro) {
+                repetidos = false;
+            }
+            soma1 += digito * (i < 4 ? 5 - i : 13 - i);
+            soma2 += digito * (i < 5 ? 6 - i : 14 - i);
+        }
+        int verificador1 = verificador(soma1);
+        if (repetidos || digito(cnpj, formatado ? 16 : 12) != verificador1) {
+            return false;
+        }
+        return digito(cnpj, formatado ? 17 : 13) == verificador(soma2 + verificador1 * 2);
+    }
+
+    /**
+     * Verifica o formato do CPF, com ou sem máscara, sem conferir os dígitos
+     * verificadores.
+     *
+     * @param cpf CPF com ou sem máscara
+     * @return true se a máscara e as posições dos dígitos estiverem corretas
+     */
+    public static boolean formatoCpfValido(CharSequence cpf) {
+        if (cpf == null) {
+            return false;
+        }
+        boolean formatado;
+        if (cpf.length() == TAMANHO_CPF_FORMATADO) {
+            if (cpf.charAt(3) != '.' || cpf.charAt(7) != '.' || cpf.charAt(11) != '-') {
+                return false;
+            }
+            formatado = true;
+        } else if (cpf.length() == TAMANHO_CPF) {
+            formatado = false;
+        } else {
+            return false;
+        }
+        for (int i = 0; i < TAMANHO_CPF; i++) {
+            if (digito(cpf, formatado ? i + i / 3 : i) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Verifica o formato do CNPJ, com ou sem máscara, sem conferir os dígitos
+     * verificadores.
+     *
+     * @param cnpj CNPJ com ou sem máscara
+     * @return true se a máscara e as posições dos dígitos estiverem corretas
+     */
+    public static boolean formatoCnpjValido(CharSequence cnpj) {
+        if (cnpj == null) {
+            return false;
+        }
+        boolean formatado;
+        if (cnpj.length() == TAMANHO_CNPJ_FORMATADO) {
+            if (cnpj.charAt(2) != '.' || cnpj.charAt(6) != '.' || cnpj.charAt(10) != '/'
+                    || cnpj.charAt(15) != '-') {
+                return false;
+            }
+            formatado = true;
+        } else if (cnpj.length() == TAMANHO_CNPJ) {
+            formatado = false;
+        } else {
+            return false;
+        }
+        for (int i = 0; i < TAMANHO_CNPJ; i++) {
+            if (digito(cnpj, formatado ? posicaoCnpj(i) : i) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Verifica se o texto está no formato com máscara do CPF, sem validar os
+     * dígitos verificadores.
+     *
+     * @param cpf texto a verificar
+     * @return true se tiver o tamanho do CPF com máscara
+     */
+    public static boolean cpfFormatado(CharSequence cpf) {
+        return cpf != null && cpf.length() == TAMANHO_CPF_FORMATADO;
+    }
+
+    /**
+     * Verifica se o texto está no formato com máscara do CNPJ, sem validar os
+     * dígitos verificadores.
+     *
+     * @param cnpj texto a verificar
+     * @return true se tiver o tamanho do CNPJ com máscara
+     */
+    public static boolean cnpjFormatado(CharSequence cnpj) {
+        return cnpj != null && cnpj.length() == TAMANHO_CNPJ_FORMATADO;
+    }
+
+    /**
+     * Extrai os dígitos de um CPF ou CNPJ, descartando a máscara e qualquer
+     * outro caractere.
+     *
+     * @param documento CPF ou CNPJ em qualquer formato
+     * @return somente os dígitos, ou {@code null} se o documento for nulo
+     */
+    public static String digitos(CharSequence documento) {
+        if (documento == null) {
+            return null;
+        }
+        StringBuilder digitos = new StringBuilder(TAMANHO_CNPJ);
+        for (int i = 0; i < documento.length(); i++) {
+            char c = documento.charAt(i);
+            if (c >= '0' && c <= '9') {
+                digitos.append(c);
+            }
+        }
+        return digitos.toString();
+    }
+
+    /**
+     * Posição, no CNPJ com máscara {@code 00.000.000/0000-00}, do dígito de
+     * índice informado.
+     */
+    private static int posicaoCnpj(int indice) {
+        if (indice < 2) {
+            return indice;
+        }
+        if (indice < 5) {
+            return indice + 1;
+        }
+        if (indice < 8) {
+            return indice + 2;
+        }
+        return indice < 12 ? indice + 3 : indice + 4;
+    }
+
+    private static int digito(CharSequence texto, int posicao) {
+        char c = texto.charAt(posicao);
+        return c >= '0' && c <= '9' ? c - '0' : -1;
+    }
+
+    private static int verificador(int soma) {
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
+    }
+}
@@ -0,0 +1,58 @@
+-- Termos de busca da razão social e dos nomes: o texto normalizado a partir
+-- do início de cada palavra. A busca por prefixo nesses termos encontra os
+-- registros em que alguma palavra começa com o termo buscado, com uma
+-- varredura de faixa no índice.
+--
+-- As colunas normalizadas são limpas para que o NormalizacaoService as
+-- preencha novamente na inicialização, gravando junto os termos de busca.
+
+create table t_c_empresa_termo (
+    empresa_id bigint not null,
+    termo varchar(255) not null,
+    primary key (empresa_id, termo)
+) engine=InnoDB;
+
+create table t_c_socio_termo (
+    socio_id bigint not null,
+    termo varchar(255) not null,
+    primary key (socio_id, termo)
+) engine=InnoDB;
+
+create table t_c_usuario_termo (
+    cd_usuario bigint not null,
+    termo varchar(40) not null,
+    primary key (cd_usuario, termo)
+) engine=InnoDB;
+
+create index IDX_EMPRESA_TERMO
+   on t_c_empresa_termo (termo, empresa_id);
+
+create index IDX_SOCIO_TERMO
+   on t_c_socio_termo (termo, socio_id);
+
+create index IDX_USUARIO_TERMO
+   on t_c_usuario_termo (termo, cd_usuario);
+
+alter table t_c_empresa_termo
+   add constraint FK_EMPRESA_TERMO_EMPRESA
+   foreign key (empresa_id)
+   references t_c_empresa (apelido_id)
+   on delete cascade;
+
+alter table t_c_socio_termo
+   add constraint FK_SOCIO_TERMO_SOCIO
+   foreign key (socio_id)
+   references t_c_socio (id)
+   on delete cascade;
+
+alter table t_c_usuario_termo
+   add constraint FK_USUARIO_TERMO_USUARIO
+   foreign key (cd_usuario)
+   references t_c_usuario (cd_usuario)
+   on delete cascade;
+
+update t_c_empresa set razao_social_normalizada = null;
+
+update t_c_socio set nome_normalizado = null;
+
+update t_c_usuario set nm_usuario_normalizado = null;
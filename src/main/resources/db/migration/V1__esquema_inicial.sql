@@ -0,0 +1,117 @@
+-- Esquema inicial do Contabills.
+--
+-- Corresponde ao esquema criado pelo Hibernate com ddl-auto=update antes da
+-- adoção das migrações. Bancos já existentes são registrados nesta versão pelo
+-- baseline do Flyway, sem executar este script, e recebem as versões seguintes.
+-- Neles as chaves únicas e estrangeiras mantêm os nomes gerados pelo
+-- Hibernate; a validação do esquema não compara nomes de restrições.
+
+create table t_c_empresa (
+    apelido_id bigint not null,
+    capital_social_empresa float(53) not null,
+    cnpj varchar(255),
+    email varchar(255),
+    bairro varchar(255),
+    cep varchar(255),
+    cidade varchar(255),
+    complemento varchar(255),
+    logradouro varchar(255),
+    numero integer,
+    uf varchar(255),
+    iptu varchar(255),
+    possui_certificado bit not null,
+    possui_procuracao bit not null,
+    razao_social varchar(255),
+    telefone varchar(255),
+    tipo_empresa varchar(255),
+    primary key (apelido_id)
+) engine=InnoDB;
+
+create table t_c_empresa_socio (
+    capital_investido float(53) not null,
+    cargo varchar(255),
+    empresa_id bigint not null,
+    socio_id bigint not null,
+    primary key (empresa_id, socio_id)
+) engine=InnoDB;
+
+create table t_c_parcela (
+    id bigint not null auto_increment,
+    created_at datetime(6),
+    enviado_mes_atual bit not null,
+    numero integer,
+    valor float(53) not null,
+    parcelamento_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+create table t_c_parcelamento (
+    id bigint not null auto_increment,
+    registro_do_parcelamento varchar(255),
+    tipo_parcelamento varchar(255),
+    empresa_apelido_id bigint,
+    primary key (id)
+) engine=InnoDB;
+
+create table t_c_socio (
+    id bigint not null auto_increment,
+    cnh varchar(255),
+    cpf varchar(255),
+    data_de_emissao_cnh date,
+    data_de_emissao_rg date,
+    data_de_validade_cnh date,
+    data_nascimento date,
+    bairro varchar(255),
+    cep varchar(255),
+    cidade varchar(255),
+    complemento varchar(255),
+    logradouro varchar(255),
+    numero integer,
+    uf varchar(255),
+    estado_civil varchar(255),
+    nacionalidade varchar(255),
+    nome varchar(255),
+    nome_da_mae varchar(255),
+    nome_do_pai varchar(255),
+    profissao varchar(255),
+    rg varchar(255),
+    tipo_de_comunhao varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table t_c_usuario (
+    cd_usuario bigint not null auto_increment,
+    dt_nascimento date,
+    ds_email varchar(255),
+    ds_foto LONGBLOB,
+    nm_usuario varchar(255),
+    ds_senha varchar(255),
+    nr_telefone varchar(255),
+    primary key (cd_usuario)
+) engine=InnoDB;
+
+alter table t_c_socio
+   add constraint UK_SOCIO_CPF unique (cpf);
+
+alter table t_c_usuario
+   add constraint UK_USUARIO_EMAIL unique (ds_email);
+
+alter table t_c_empresa_socio
+   add constraint FK_EMPRESA_SOCIO_EMPRESA
+   foreign key (empresa_id)
+   references t_c_empresa (apelido_id);
+
+alter table t_c_empresa_socio
+   add constraint FK_EMPRESA_SOCIO_SOCIO
+   foreign key (socio_id)
+   references t_c_socio (id);
+
+alter table t_c_parcela
+   add constraint FK_PARCELA_PARCELAMENTO
+   foreign key (parcelamento_id)
+   references t_c_parcelamento (id);
+
+alter table t_c_parcelamento
+   add constraint FK_PARCELAMENTO_EMPRESA
+   foreign key (empresa_apelido_id)
+   references t_c_empresa (apelido_id);
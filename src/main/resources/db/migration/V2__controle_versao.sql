@@ -0,0 +1,13 @@
+-- Coluna de versão para o controle otimista de concorrência (ETag/If-Match).
+--
+-- Os registros existentes recebem a versão 0. Com a versão nula o Hibernate
+-- trata a entidade como nova e não consegue incrementar a versão, o que
+-- impediria a alteração de registros anteriores a esta migração.
+
+alter table t_c_empresa add column versao bigint default 0 not null;
+
+alter table t_c_parcela add column versao bigint default 0 not null;
+
+alter table t_c_parcelamento add column versao bigint default 0 not null;
+
+alter table t_c_socio add column versao bigint default 0 not null;
@@ -0,0 +1,31 @@
+-- Data de quitação dos parcelamentos e tabelas de arquivo para onde os
+-- parcelamentos quitados e suas parcelas são movidos.
+
+alter table t_c_parcelamento add column data_quitacao date;
+
+create table t_c_parcelamento_arquivo (
+    id bigint not null,
+    data_arquivamento datetime(6),
+    data_quitacao date,
+    empresa_id bigint,
+    registro_do_parcelamento varchar(255),
+    tipo_parcelamento varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table t_c_parcela_arquivo (
+    id bigint not null,
+    created_at datetime(6),
+    data_vencimento date,
+    enviado_mes_atual bit not null,
+    numero integer,
+    parcelamento_id bigint,
+    valor float(53) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index IDX_PARCELAMENTO_ARQUIVO_EMPRESA
+   on t_c_parcelamento_arquivo (empresa_id);
+
+create index IDX_PARCELA_ARQUIVO_PARCELAMENTO
+   on t_c_parcela_arquivo (parcelamento_id);
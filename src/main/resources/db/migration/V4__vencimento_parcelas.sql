@@ -0,0 +1,6 @@
+-- Data de vencimento das parcelas, consultada pelo alerta de vencimentos.
+
+alter table t_c_parcela add column data_vencimento date;
+
+create index IDX_PARCELA_VENCIMENTO
+   on t_c_parcela (data_vencimento);
@@ -0,0 +1,5 @@
+-- Índice da validade da CNH, consultado pela verificação periódica de CNHs
+-- vencidas ou a vencer.
+
+create index IDX_SOCIO_VALIDADE_CNH
+   on t_c_socio (data_de_validade_cnh);
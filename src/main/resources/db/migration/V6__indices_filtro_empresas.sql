@@ -0,0 +1,10 @@
+-- Índices dos filtros da listagem de empresas (tipo, UF, cidade e flags).
+
+create index IDX_EMPRESA_UF_CIDADE_TIPO
+   on t_c_empresa (uf, cidade, tipo_empresa);
+
+create index IDX_EMPRESA_TIPO_FLAGS
+   on t_c_empresa (tipo_empresa, possui_procuracao, possui_certificado);
+
+create index IDX_EMPRESA_FLAGS
+   on t_c_empresa (possui_procuracao, possui_certificado);
@@ -0,0 +1,20 @@
+-- Colunas normalizadas (minúsculas e sem acentos) usadas nas buscas por
+-- prefixo de razão social e nomes.
+--
+-- O preenchimento das linhas existentes é feito pelo NormalizacaoService na
+-- inicialização da aplicação, com a mesma normalização aplicada às gravações.
+
+alter table t_c_empresa add column razao_social_normalizada varchar(255);
+
+alter table t_c_socio add column nome_normalizado varchar(255);
+
+alter table t_c_usuario add column nm_usuario_normalizado varchar(40);
+
+create index IDX_EMPRESA_RAZAO_SOCIAL_NORM
+   on t_c_empresa (razao_social_normalizada);
+
+create index IDX_SOCIO_NOME_NORM
+   on t_c_socio (nome_normalizado);
+
+create index IDX_USUARIO_NOME_NORM
+   on t_c_usuario (nm_usuario_normalizado);
@@ -0,0 +1,16 @@
+-- Somente os dígitos de CPF e CNPJ, com índice único, usados nas buscas por
+-- documento e na verificação de duplicidade.
+--
+-- O preenchimento das linhas existentes é feito pelo NormalizacaoService na
+-- inicialização da aplicação, que registra em log os documentos que colidem
+-- com outro já preenchido em vez de interromper a migração.
+
+alter table t_c_empresa add column cnpj_digitos varchar(14);
+
+alter table t_c_socio add column cpf_digitos varchar(11);
+
+alter table t_c_empresa
+   add constraint IDX_EMPRESA_CNPJ_DIGITOS unique (cnpj_digitos);
+
+alter table t_c_socio
+   add constraint IDX_SOCIO_CPF_DIGITOS unique (cpf_digitos);
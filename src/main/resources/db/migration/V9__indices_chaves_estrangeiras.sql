@@ -0,0 +1,19 @@
+-- Índices explícitos para as chaves estrangeiras e para o arquivamento de
+-- parcelamentos quitados.
+--
+-- O MySQL cria um índice implícito para cada chave estrangeira sem índice
+-- utilizável e o descarta quando um índice explícito sobre a mesma coluna é
+-- criado. A chave estrangeira empresa_id de t_c_empresa_socio já é atendida
+-- pela chave primária (empresa_id, socio_id).
+
+create index IDX_PARCELA_PARCELAMENTO
+   on t_c_parcela (parcelamento_id);
+
+create index IDX_PARCELAMENTO_EMPRESA
+   on t_c_parcelamento (empresa_apelido_id);
+
+create index IDX_PARCELAMENTO_QUITACAO
+   on t_c_parcelamento (data_quitacao);
+
+create index IDX_EMPRESA_SOCIO_SOCIO
+   on t_c_empresa_socio (socio_id);
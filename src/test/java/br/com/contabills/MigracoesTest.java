@@ -0,0 +1,223 @@
+package br.com.contabills;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationState;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import jakarta.validation.ConstraintViolationException;
+
+import br.com.contabills.config.DatabaseSeeder;
+import br.com.contabills.model.Empresa;
+import br.com.contabills.model.Socio;
+import br.com.contabills.service.EmpresaService;
+import br.com.contabills.service.ParcelaService;
+import br.com.contabills.service.ParcelamentoService;
+import br.com.contabills.service.SocioService;
+
+/**
+ * Executa as migrações do Flyway sobre um banco vazio e valida o esquema
+ * resultante contra as entidades (ddl-auto=validate).
+ *
+ * Antes das demais versões, o banco é migrado apenas até a versão 1 e recebe
+ * registros no formato anterior às migrações, para verificar que as versões
+ * seguintes se aplicam a bancos já populados.
+ *
+ * Utiliza o H2 em memória no modo MySQL.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:migracoes;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "contabills.busca.diretorio=target/indice-busca-migracoes"
+})
+class MigracoesTest {
+
+    @MockitoBean
+    private DatabaseSeeder databaseSeeder;
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SocioService socioService;
+
+    @Autowired
+    private EmpresaService empresaService;
+
+    @Autowired
+    private ParcelamentoService parcelamentoService;
+
+    @Autowired
+    private ParcelaService parcelaService;
+
+    /**
+     * Migra até a versão 1, grava registros legados e conclui as migrações.
+     */
+    @TestConfiguration
+    static class MigracaoComLegado {
+
+        @Bean
+        FlywayMigrationStrategy migracaoComLegado() {
+            return flyway -> {
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .target("1")
+                        .load()
+                        .migrate();
+                JdbcTemplate jdbc = new JdbcTemplate(flyway.getConfiguration().getDataSource());
+                jdbc.update("""
+                        insert into t_c_empresa (apelido_id, capital_social_empresa, cnpj, email, bairro, cep,
+                            cidade, logradouro, numero, uf, iptu, possui_certificado, possui_procuracao,
+                            razao_social, telefone, tipo_empresa)
+                        values (1, 1000, '11.222.333/0001-81', 'padaria@email.com', 'Centro', '01000-000',
+                            'São Paulo', 'Rua A', 1, 'SP', '123', false, false, 'Padaria São João',
+                            '(11) 91234-5678', 'LTDA')""");
+                jdbc.update("""
+                        insert into t_c_socio (id, cpf, data_de_emissao_rg, data_nascimento, bairro, cep, cidade,
+                            logradouro, numero, uf, estado_civil, nacionalidade, nome, nome_da_mae, nome_do_pai,
+                            profissao, rg)
+                        values (1, '529.982.247-25', '2000-01-01', '1980-01-01', 'Centro', '01000-000',
+                            'São Paulo', 'Rua A', 1, 'SP', 'Casado', 'Brasileira', 'José da Conceição',
+                            'Maria da Conceição', 'João da Conceição', 'Padeiro', '12.345.678-9')""");
+                jdbc.update("""
+                        insert into t_c_socio (id, cpf, data_de_emissao_rg, data_nascimento, bairro, cep, cidade,
+                            logradouro, numero, uf, estado_civil, nacionalidade, nome, nome_da_mae, nome_do_pai,
+                            profissao, rg)
+                        values (2, '123.456.789-00', '2000-01-01', '1980-01-01', 'Centro', '01000-000',
+                            'São Paulo', 'Rua A', 1, 'SP', 'Solteira', 'Brasileira', 'Ana da Conceição',
+                            'Maria da Conceição', 'João da Conceição', 'Confeiteira', '98.765.432-1')""");
+                jdbc.update("""
+                        insert into t_c_empresa_socio (empresa_id, socio_id, capital_investido, cargo)
+                        values (1, 1, 1000, 'Sócio administrador')""");
+                jdbc.update("""
+                        insert into t_c_parcelamento (id, registro_do_parcelamento, tipo_parcelamento, empresa_apelido_id)
+                        values (1, 'REG-1', 'SIMPLES', 1)""");
+                jdbc.update("""
+                        insert into t_c_parcela (id, numero, valor, enviado_mes_atual, parcelamento_id)
+                        values (1, 1, 100, false, 1)""");
+                flyway.migrate();
+            };
+        }
+    }
+
+    @Test
+    void aplicaTodasAsMigracoes() {
+        MigrationInfo[] aplicadas = flyway.info().applied();
+        MigrationInfo[] todas = flyway.info().all();
+
+        assertEquals(todas.length, aplicadas.length);
+        for (MigrationInfo migracao : aplicadas) {
+            assertEquals(MigrationState.SUCCESS, migracao.getState(), migracao.getScript());
+        }
+        assertEquals("10", flyway.info().current().getVersion().getVersion());
+    }
+
+    @Test
+    void preservaEPreencheRegistrosLegados() {
+        assertEquals("11222333000181",
+                jdbcTemplate.queryForObject("select cnpj_digitos from t_c_empresa where apelido_id = 1", String.class));
+        assertEquals("padaria sao joao",
+                jdbcTemplate.queryForObject("select razao_social_normalizada from t_c_empresa where apelido_id = 1",
+                        String.class));
+        assertEquals("52998224725",
+                jdbcTemplate.queryForObject("select cpf_digitos from t_c_socio where id = 1", String.class));
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from t_c_parcela where parcelamento_id = 1",
+                Integer.class));
+        assertEquals(List.of("conceicao", "da conceicao", "jose da conceicao"), jdbcTemplate.queryForList(
+                "select termo from t_c_socio_termo where socio_id = 1 order by termo", String.class));
+        assertEquals(List.of("joao", "padaria sao joao", "sao joao"), jdbcTemplate.queryForList(
+                "select termo from t_c_empresa_termo where empresa_id = 1 order by termo", String.class));
+    }
+
+    @Test
+    void nomeiaAsRestricoes() {
+        List<String> restricoes = jdbcTemplate.queryForList(
+                "select constraint_name from information_schema.table_constraints where table_schema = 'public'",
+                String.class);
+
+        for (String nome : List.of("uk_socio_cpf", "uk_usuario_email", "fk_empresa_socio_empresa",
+                "fk_empresa_socio_socio", "fk_parcela_parcelamento", "fk_parcelamento_empresa", "fk_empresa_termo_empresa",
+                "fk_socio_termo_socio", "fk_usuario_termo_usuario")) {
+            assertTrue(restricoes.contains(nome), nome);
+        }
+    }
+
+    @Test
+    void criaOsIndices() {
+        List<String> indices = jdbcTemplate.queryForList(
+                "select lower(index_name) from information_schema.indexes where table_schema = 'public'",
+                String.class);
+
+        for (String nome : List.of("idx_parcela_parcelamento", "idx_parcelamento_empresa", "idx_empresa_socio_socio",
+                "idx_parcela_vencimento", "idx_socio_validade_cnh", "idx_empresa_uf_cidade_tipo",
+                "idx_empresa_razao_social_norm", "idx_socio_nome_norm", "idx_usuario_nome_norm", "idx_empresa_termo",
+                "idx_socio_termo", "idx_usuario_termo")) {
+            assertTrue(indices.contains(nome), nome);
+        }
+    }
+
+    @Test
+    void atualizaRegistrosLegados() {
+        for (String tabela : List.of("t_c_empresa", "t_c_socio", "t_c_parcelamento", "t_c_parcela")) {
+            assertEquals(0, jdbcTemplate.queryForObject("select count(*) from " + tabela + " where versao is null",
+                    Integer.class), tabela);
+        }
+
+        Socio socio = socioService.buscarPorId(1L);
+        socio.setProfissao("Confeiteiro");
+        assertEquals(1L, socioService.atualizar(1L, socio, null).getVersao());
+        assertEquals(1L, parcelamentoService
+                .atualizarDadosParcialmente(1L, Map.of("registroDoParcelamento", "REG-2"), null).getVersao());
+        assertEquals(1L, parcelaService.atualizarDadosParcialmente(1L, Map.of("valor", 150.0), null).getVersao());
+    }
+
+    @Test
+    void atualizaSocioLegadoComDigitosVerificadoresInvalidos() {
+        Socio socio = socioService.buscarPorId(2L);
+        socio.setProfissao("Padeira");
+
+        assertEquals("Padeira", socioService.atualizar(2L, socio, null).getProfissao());
+
+        Socio novo = socioService.buscarPorId(2L);
+        novo.setId(null);
+        novo.setVersao(null);
+        novo.setCpf("123.456.789-01");
+        assertThrows(ConstraintViolationException.class, () -> socioService.cadastrar(novo));
+    }
+
+    @Test
+    void atualizaEmpresaLegada() {
+        Empresa empresa = empresaService.buscarEmpresaPorId(1L);
+        empresa.setVersao(null);
+        empresa.setEmpresaSocios(null);
+        empresa.setParcelamentos(null);
+        empresa.setRazaoSocial("Padaria e Confeitaria São João");
+
+        Empresa atualizada = empresaService.atualizarEmpresa(1L, empresa, null);
+
+        assertEquals(1L, atualizada.getVersao());
+        assertEquals(1, jdbcTemplate.queryForObject("select count(*) from t_c_empresa", Integer.class));
+        assertEquals("Padaria e Confeitaria São João", jdbcTemplate.queryForObject(
+                "select razao_social from t_c_empresa where apelido_id = 1", String.class));
+    }
+}
@@ -0,0 +1,48 @@
+package br.com.contabills.config;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+/**
+ * Verifica que as requisições assíncronas do Spring MVC, como as exportações
+ * em streaming, são executadas no executor da aplicação, e não em uma thread
+ * nova por requisição, mesmo com os executores do painel e da busca global
+ * declarados.
+ *
+ * Utiliza o H2 em memória no modo MySQL.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:executor-config;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "contabills.busca.diretorio=target/indice-busca-executor"
+})
+class ExecutorConfigTest {
+
+    @MockitoBean
+    private DatabaseSeeder databaseSeeder;
+
+    @Autowired
+    @Qualifier("applicationTaskExecutor")
+    private ThreadPoolTaskExecutor applicationTaskExecutor;
+
+    @Autowired
+    private RequestMappingHandlerAdapter requestMappingHandlerAdapter;
+
+    @Test
+    void requisicoesAssincronasUsamOExecutorDaAplicacao() {
+        assertSame(applicationTaskExecutor, ReflectionTestUtils.getField(requestMappingHandlerAdapter, "taskExecutor"));
+    }
+}
@@ -0,0 +1,205 @@
+package br.com.contabills.service;
+
+import static br.com.contabills.service.Cadastros.empresa;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.contabills.config.DatabaseSeeder;
+import br.com.contabills.model.Parcela;
+import br.com.contabills.model.Parcelamento;
+import br.com.contabills.model.ResumoParcela;
+import br.com.contabills.model.ResumoParcelamento;
+import br.com.contabills.repository.EmpresaRepository;
+import br.com.contabills.repository.ParcelamentoRepository;
+
+/**
+ * Verifica que o arquivamento move, em lotes, somente os parcelamentos
+ * quitados antes do período de retenção, com suas parcelas e sem alterar os
+ * dados, que os registros arquivados continuam acessíveis nas consultas que
+ * incluem o arquivo e que um segundo arquivamento simultâneo é recusado.
+ *
+ * Utiliza o H2 em memória no modo MySQL, com lotes de dois parcelamentos.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:arquivo;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "contabills.busca.diretorio=target/indice-busca-arquivo",
+        "contabills.arquivo.dias-retencao=30",
+        "contabills.arquivo.tamanho-lote=2"
+})
+class ArquivoTest {
+
+    private static final int PARCELAS = 3;
+
+    @MockitoBean
+    private DatabaseSeeder databaseSeeder;
+
+    @MockitoSpyBean
+    private ResumoParcelasService resumoParcelasService;
+
+    @Autowired
+    private ArquivoService arquivoService;
+
+    @Autowired
+    private EmpresaService empresaService;
+
+    @Autowired
+    private ParcelamentoService parcelamentoService;
+
+    @Autowired
+    private ParcelaService parcelaService;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private ParcelamentoRepository parcelamentoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void limpar() {
+        reset(resumoParcelasService);
+        for (String tabela : List.of("t_c_parcela", "t_c_parcelamento", "t_c_parcela_arquivo",
+                "t_c_parcelamento_arquivo", "t_c_empresa_termo", "t_c_empresa")) {
+            jdbcTemplate.update("delete from " + tabela);
+        }
+        empresaService.cadastrarEmpresa(empresa(1L, List.of()));
+    }
+
+    @Test
+    void moveOsQuitadosAntesDaRetencaoComSuasParcelas() {
+        List<Long> antigos = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            antigos.add(cadastrar("ANTIGO-" + i, LocalDate.now().minusDays(60)).getId());
+        }
+        Long recente = cadastrar("RECENTE", LocalDate.now().minusDays(10)).getId();
+        Long pendente = cadastrar("PENDENTE", null).getId();
+
+        assertEquals(5, arquivoService.arquivarQuitados());
+
+        assertEquals(2, contar("t_c_parcelamento"));
+        assertEquals(2 * PARCELAS, contar("t_c_parcela"));
+        assertEquals(5, contar("t_c_parcelamento_arquivo"));
+        assertEquals(5 * PARCELAS, contar("t_c_parcela_arquivo"));
+        assertTrue(parcelamentoRepository.existsById(recente));
+        assertTrue(parcelamentoRepository.existsById(pendente));
+
+        Long arquivado = antigos.get(2);
+        assertEquals(List.of("ANTIGO-3", "SIMPLES", "1", LocalDate.now().minusDays(60).toString()),
+                jdbcTemplate.queryForList("""
+                        select registro_do_parcelamento, tipo_parcelamento, cast(empresa_id as varchar),
+                            cast(data_quitacao as varchar)
+                        from t_c_parcelamento_arquivo where id = ?""", arquivado).get(0).values().stream()
+                        .map(String::valueOf)
+                        .toList());
+        assertEquals(List.of(1, 2, 3), jdbcTemplate.queryForList(
+                "select numero from t_c_parcela_arquivo where parcelamento_id = ? order by numero", Integer.class,
+                arquivado));
+        assertEquals(0, arquivoService.arquivarQuitados());
+    }
+
+    @Test
+    void consultasQueIncluemOArquivoListamEBuscamOsArquivados() {
+        Long arquivado = cadastrar("ANTIGO", LocalDate.now().minusDays(60)).getId();
+        Long ativo = cadastrar("ATIVO", null).getId();
+        Long parcelaArquivada = jdbcTemplate.queryForObject(
+                "select min(id) from t_c_parcela where parcelamento_id = ?", Long.class, arquivado);
+        arquivoService.arquivarQuitados();
+
+        Page<ResumoParcelamento> parcelamentos = parcelamentoService.listarResumos(PageRequest.of(0, 10), true);
+        assertEquals(2, parcelamentos.getTotalElements());
+        assertEquals(ativo, parcelamentos.getContent().get(0).id());
+        ResumoParcelamento resumo = parcelamentos.getContent().get(1);
+        assertEquals(arquivado, resumo.id());
+        assertTrue(resumo.arquivado());
+        assertEquals(PARCELAS, resumo.quantidadeParcelas());
+        assertEquals(PARCELAS * 100.0, resumo.valorTotal());
+        assertEquals(1, parcelamentoService.listarResumos(PageRequest.of(0, 10), false).getTotalElements());
+
+        Page<ResumoParcela> parcelas = parcelaService.listarParcelas(PageRequest.of(1, 4), true);
+        assertEquals(2 * PARCELAS, parcelas.getTotalElements());
+        assertEquals(2, parcelas.getNumberOfElements());
+        assertTrue(parcelas.getContent().stream().allMatch(ResumoParcela::arquivado));
+
+        Parcelamento parcelamento = parcelamentoService.buscarParcelamentoPorId(arquivado, true);
+        assertTrue(parcelamento.isArquivado());
+        assertEquals("ANTIGO", parcelamento.getRegistroDoParcelamento());
+        assertEquals(PARCELAS, parcelamento.getParcelas().size());
+        assertEquals("Empresa 1", parcelamento.getEmpresa().getRazaoSocial());
+
+        Parcela parcela = parcelaService.buscarParcelaPorId(parcelaArquivada, true);
+        assertTrue(parcela.isArquivado());
+        assertEquals(arquivado, parcela.getParcelamento().getId());
+        assertEquals(HttpStatus.NOT_FOUND, assertThrows(ResponseStatusException.class,
+                () -> parcelamentoService.buscarParcelamentoPorId(arquivado, false)).getStatusCode());
+    }
+
+    @Test
+    void recusaArquivamentoSimultaneo() {
+        cadastrar("ANTIGO", LocalDate.now().minusDays(60));
+        List<HttpStatus> recusas = new ArrayList<>();
+        doAnswer(invocacao -> {
+            // Execução sob demanda recebida durante a execução agendada.
+            recusas.add((HttpStatus) assertThrows(ResponseStatusException.class,
+                    arquivoService::arquivarQuitados).getStatusCode());
+            return invocacao.callRealMethod();
+        }).when(resumoParcelasService).removerParcelamentos(any());
+
+        assertEquals(1, arquivoService.arquivarQuitados());
+
+        assertEquals(List.of(HttpStatus.CONFLICT), recusas);
+        reset(resumoParcelasService);
+        cadastrar("ANTIGO-2", LocalDate.now().minusDays(60));
+        assertEquals(1, arquivoService.arquivarQuitados());
+    }
+
+    private Parcelamento cadastrar(String registro, LocalDate dataQuitacao) {
+        Parcelamento parcelamento = Parcelamento.builder()
+                .registroDoParcelamento(registro)
+                .tipoParcelamento("SIMPLES")
+                .dataQuitacao(dataQuitacao)
+                .empresa(empresaRepository.getReferenceById(1L))
+                .build();
+        for (int numero = 1; numero <= PARCELAS; numero++) {
+            parcelamento.getParcelas().add(Parcela.builder()
+                    .numero(numero)
+                    .valor(100)
+                    .dataVencimento(LocalDate.now().minusMonths(PARCELAS - numero + 2))
+                    .enviadoMesAtual(true)
+                    .parcelamento(parcelamento)
+                    .build());
+        }
+        return parcelamentoRepository.save(parcelamento);
+    }
+
+    private int contar(String tabela) {
+        return jdbcTemplate.queryForObject("select count(*) from " + tabela, Integer.class);
+    }
+}
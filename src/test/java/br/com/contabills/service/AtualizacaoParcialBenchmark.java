@@ -0,0 +1,81 @@
+package br.com.contabills.service;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import br.com.contabills.model.Parcela;
+
+/**
+ * Benchmark JMH que compara o motor {@link AtualizacaoParcial} com o bloco
+ * {@code switch} escrito à mão utilizado anteriormente em
+ * {@link ParcelaService}.
+ *
+ * Para executar, rode o método {@link #main(String[])} após
+ * {@code mvn test-compile}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AtualizacaoParcialBenchmark {
+
+    private final AtualizacaoParcial<Parcela> atualizacaoParcial = AtualizacaoParcial.<Parcela>builder()
+            .campo("numero", Integer.class, Parcela::setNumero)
+            .campo("valor", Double.class, Parcela::setValor)
+            .campo("enviadoMesAtual", Boolean.class, Parcela::setEnviadoMesAtual)
+            .build();
+
+    private final Map<String, Object> updates = Map.of(
+            "numero", 2,
+            "valor", 1500.75,
+            "enviadoMesAtual", true);
+
+    private final Parcela parcela = new Parcela();
+
+    @Benchmark
+    public Parcela switchManual() {
+        updates.forEach((key, value) -> {
+            switch (key) {
+                case "numero":
+                    parcela.setNumero((Integer) value);
+                    break;
+                case "valor":
+                    parcela.setValor(Double.valueOf(value.toString()));
+                    break;
+                case "enviadoMesAtual":
+                    parcela.setEnviadoMesAtual((Boolean) value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Campo inválido: " + key);
+            }
+        });
+        return parcela;
+    }
+
+    @Benchmark
+    public Parcela tabelaPreCompilada() {
+        atualizacaoParcial.aplicar(parcela, updates);
+        return parcela;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AtualizacaoParcialBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
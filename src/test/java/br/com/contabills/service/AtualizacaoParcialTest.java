@@ -0,0 +1,85 @@
+package br.com.contabills.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.contabills.model.Parcela;
+import br.com.contabills.model.Parcelamento;
+
+/**
+ * Verifica a conversão dos valores numéricos e o tratamento de {@code null}
+ * no motor de atualização parcial.
+ */
+class AtualizacaoParcialTest {
+
+    private final AtualizacaoParcial<Parcela> parcela = AtualizacaoParcial.<Parcela>builder()
+            .campo("numero", Integer.class, Parcela::setNumero)
+            .campo("valor", Double.class, Parcela::setValor)
+            .build();
+
+    private final AtualizacaoParcial<Parcelamento> parcelamento = AtualizacaoParcial.<Parcelamento>builder()
+            .campo("registroDoParcelamento", String.class, Parcelamento::setRegistroDoParcelamento)
+            .campoAnulavel("dataQuitacao", LocalDate.class, Parcelamento::setDataQuitacao)
+            .build();
+
+    @Test
+    void converteNumerosInteiros() {
+        Parcela alvo = new Parcela();
+        for (Object valor : new Object[] { 3, 3L, 3.0, "3", " 3 ", BigInteger.valueOf(3) }) {
+            alvo.setNumero(0);
+            parcela.aplicar(alvo, Map.of("numero", valor));
+            assertEquals(3, alvo.getNumero(), String.valueOf(valor));
+        }
+    }
+
+    @Test
+    void recusaNumerosFracionariosOuForaDoIntervalo() {
+        for (Object valor : new Object[] { 1.5, "1.5", 3_000_000_000L, "3000000000", 1e30, Double.NaN, "abc" }) {
+            ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                    () -> parcela.aplicar(new Parcela(), Map.of("numero", valor)), String.valueOf(valor));
+            assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+        }
+    }
+
+    @Test
+    void recusaLongosFracionariosOuForaDoIntervalo() {
+        assertEquals(3_000_000_000L, AtualizacaoParcial.conversorPara(Long.class).apply(3_000_000_000L));
+        assertEquals(7L, AtualizacaoParcial.conversorPara(Long.class).apply(7));
+        assertThrows(ArithmeticException.class, () -> AtualizacaoParcial.conversorPara(Long.class).apply(7.25));
+        assertThrows(ArithmeticException.class,
+                () -> AtualizacaoParcial.conversorPara(Long.class).apply("99999999999999999999"));
+    }
+
+    @Test
+    void limpaCamposAnulaveis() {
+        Parcelamento alvo = new Parcelamento();
+        alvo.setDataQuitacao(LocalDate.of(2025, 1, 10));
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("dataQuitacao", null);
+
+        parcelamento.aplicar(alvo, updates);
+
+        assertNull(alvo.getDataQuitacao());
+    }
+
+    @Test
+    void recusaNuloEmCamposObrigatorios() {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("registroDoParcelamento", null);
+
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> parcelamento.aplicar(new Parcelamento(), updates));
+
+        assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+    }
+}
@@ -0,0 +1,71 @@
+package br.com.contabills.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.hibernate.jpa.SpecHints;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import br.com.contabills.config.DatabaseSeeder;
+import br.com.contabills.model.BuscaGlobal;
+import br.com.contabills.model.DadosSugestao;
+import br.com.contabills.repository.EmpresaRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * Verifica que as consultas da busca global são executadas com o tempo limite
+ * configurado, arredondado para cima em segundos inteiros.
+ *
+ * A consulta de empresas é simulada e registra o tempo limite do contexto de
+ * persistência em que é executada. Utiliza o H2 em memória no modo MySQL.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:busca-global;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "contabills.busca.diretorio=target/indice-busca-global",
+        "contabills.busca-global.tempo-limite=PT1.2S"
+})
+class BuscaGlobalTest {
+
+    @MockitoBean
+    private DatabaseSeeder databaseSeeder;
+
+    @MockitoBean
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private BuscaGlobalService buscaGlobalService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Test
+    void aplicaOTempoLimiteAsConsultas() {
+        AtomicReference<Object> tempoLimite = new AtomicReference<>();
+        when(empresaRepository.buscarSugestoes(eq("padaria"), any())).thenAnswer(invocacao -> {
+            tempoLimite.set(entityManager.getProperties().get(SpecHints.HINT_SPEC_QUERY_TIMEOUT));
+            return List.of(new DadosSugestao(1L, "Padaria São João", "11.222.333/0001-81"));
+        });
+
+        BuscaGlobal resultado = buscaGlobalService.buscar("Padaria", 10);
+
+        assertEquals(2000, tempoLimite.get());
+        assertEquals(1, resultado.resultados().size());
+        assertFalse(resultado.parcial());
+    }
+}
@@ -0,0 +1,134 @@
+package br.com.contabills.service;
+
+import static br.com.contabills.service.Cadastros.cpf;
+import static br.com.contabills.service.Cadastros.empresa;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import br.com.contabills.config.DatabaseSeeder;
+import br.com.contabills.model.DadosEmpresa;
+import br.com.contabills.model.Empresa;
+import br.com.contabills.model.FiltroEmpresa;
+import br.com.contabills.model.ResumoSocio;
+import br.com.contabills.model.Socio;
+import br.com.contabills.model.Sugestao;
+import br.com.contabills.model.Usuario;
+
+/**
+ * Verifica que as buscas por nome e razão social encontram os registros em que
+ * qualquer palavra começa com o termo, como o sobrenome, e não apenas os que
+ * começam com ele, e que os termos de busca acompanham as alterações do nome.
+ *
+ * Utiliza o H2 em memória no modo MySQL.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:busca-por-palavra;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "contabills.busca.diretorio=target/indice-busca-palavra"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BuscaPorPalavraTest {
+
+    private static final Pageable PAGINA = PageRequest.of(0, 10);
+
+    @MockitoBean
+    private DatabaseSeeder databaseSeeder;
+
+    @Autowired
+    private SocioService socioService;
+
+    @Autowired
+    private EmpresaService empresaService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private BuscaGlobalService buscaGlobalService;
+
+    private Long usuarioId;
+
+    @BeforeAll
+    void cadastrar() {
+        socioService.cadastrar(socio(cpf(501), "João da Silva"));
+        socioService.cadastrar(socio(cpf(502), "Silvana Souza"));
+        socioService.cadastrar(socio(cpf(503), "Maria Oliveira"));
+        Empresa empresa = empresa(50L, List.of(cpf(503)));
+        empresa.setRazaoSocial("Padaria São João Ltda");
+        empresaService.cadastrarEmpresa(empresa);
+        usuarioId = usuarioService.createUsuario(Usuario.builder()
+                .nome("Ana Paula Silva")
+                .email("ana@contabills.com.br")
+                .senha("senha123")
+                .telefone("(11) 99999-8888")
+                .data(LocalDate.of(1990, 1, 1))
+                .build()).getId();
+    }
+
+    @Test
+    void socioEncontradoPeloSobrenome() {
+        assertEquals(List.of("João da Silva", "Silvana Souza"), nomes("silva"));
+        assertEquals(List.of("João da Silva"), nomes("Da Sil"));
+        assertEquals(List.of("João da Silva"), nomes("JOAO"));
+        assertEquals(List.of(), nomes("ilva"));
+    }
+
+    @Test
+    void empresaEncontradaPorPalavraDaRazaoSocial() {
+        FiltroEmpresa filtro = new FiltroEmpresa("sao joao", null, null, null, null, null);
+        assertEquals(List.of("Padaria São João Ltda"),
+                empresaService.listarEmpresas(filtro, PAGINA).map(DadosEmpresa::razaoSocial).getContent());
+    }
+
+    @Test
+    void usuarioEncontradoPeloSobrenomeDepoisDeRenomeado() {
+        assertEquals(List.of("Ana Paula Silva"),
+                usuarioService.findUsuarios("paula", PAGINA).map(Usuario::getNome).getContent());
+
+        usuarioService.updateUsuarioParcial(usuarioId, Map.of("nome", "Ana Paula Costa"));
+
+        assertEquals(0, usuarioService.findUsuarios("silva", PAGINA).getTotalElements());
+        assertEquals(List.of("Ana Paula Costa"),
+                usuarioService.findUsuarios("costa", PAGINA).map(Usuario::getNome).getContent());
+    }
+
+    @Test
+    void buscaGlobalSugerePorPalavra() {
+        List<String> rotulos = buscaGlobalService.buscar("joao", 10).resultados().stream()
+                .map(Sugestao::rotulo)
+                .toList();
+        assertEquals(2, rotulos.size());
+        assertTrue(rotulos.containsAll(List.of("João da Silva", "Padaria São João Ltda")));
+    }
+
+    private List<String> nomes(String busca) {
+        return socioService.listarSocios(busca, PageRequest.of(0, 10, Sort.by("nome")))
+                .map(ResumoSocio::nome)
+                .getContent();
+    }
+
+    private static Socio socio(String cpf, String nome) {
+        Socio socio = Cadastros.socio(cpf);
+        socio.setNome(nome);
+        return socio;
+    }
+}
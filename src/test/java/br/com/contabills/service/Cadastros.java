@@ -0,0 +1,132 @@
+package br.com.contabills.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import br.com.contabills.model.Empresa;
+import br.com.contabills.model.EmpresaSocio;
+import br.com.contabills.model.Endereco;
+import br.com.contabills.model.Socio;
+
+/**
+ * Cadastros válidos usados nos testes de serviço, com CPFs e CNPJs gerados a
+ * partir de números sequenciais.
+ */
+final class Cadastros {
+
+    private Cadastros() {
+    }
+
+    static Socio socio(String cpf) {
+        return Socio.builder()
+                .nome("Sócio " + cpf)
+                .dataNascimento(LocalDate.of(1980, 5, 20))
+                .cpf(cpf)
+                .rg("MG1234567")
+                .dataDeEmissaoRg(LocalDate.of(2000, 5, 30))
+                .cnh("12345678901")
+                .dataDeEmissaoCnh(LocalDate.of(2015, 6, 15))
+                .dataDeValidadeCnh(LocalDate.now().plusYears(3))
+                .nomeDaMae("Mãe")
+                .nomeDoPai("Pai")
+                .nacionalidade("Brasileira")
+                .estadoCivil("Casado")
+                .tipoDeComunhao("Parcial")
+                .profissao("Engenheiro")
+                .enderecoSocio(endereco())
+                .build();
+    }
+
+    static Empresa empresa(Long id, List<String> cpfs) {
+        List<EmpresaSocio> vinculos = cpfs.stream()
+                .map(cpf -> EmpresaSocio.builder()
+                        .socio(Socio.builder().cpf(cpf).build())
+                        .capitalInvestido(100)
+                        .cargo("Sócio")
+                        .build())
+                .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        return Empresa.builder()
+                .apelidoId(id)
+                .razaoSocial("Empresa " + id)
+                .tipoEmpresa("TI")
+                .cnpj(cnpj(id))
+                .iptu("123")
+                .email("empresa@contabills.com.br")
+                .telefone("(11) 99999-8888")
+                .enderecoEmpresa(endereco())
+                .empresaSocios(vinculos)
+                .build();
+    }
+
+    static Endereco endereco() {
+        return Endereco.builder()
+                .logradouro("Rua A")
+                .numero(1)
+                .bairro("Centro")
+                .cidade("São Paulo")
+                .uf("SP")
+                .cep("01000-000")
+                .build();
+    }
+
+    /**
+     * Gera um CPF válido e formatado a partir de um número sequencial.
+     */
+    static String cpf(int sequencial) {
+        int[] digitos = new int[11];
+        String base = String.format("%09d", 100000000 + sequencial);
+        for (int i = 0; i < 9; i++) {
+            digitos[i] = base.charAt(i) - '0';
+        }
+        for (int posicao = 9; posicao < 11; posicao++) {
+            int soma = 0;
+            for (int i = 0; i < posicao; i++) {
+                soma += digitos[i] * (posicao + 1 - i);
+            }
+            int resto = soma % 11;
+            digitos[posicao] = resto < 2 ? 0 : 11 - resto;
+        }
+        StringBuilder cpf = new StringBuilder();
+        for (int i = 0; i < 11; i++) {
+            if (i == 3 || i == 6) {
+                cpf.append('.');
+            } else if (i == 9) {
+                cpf.append('-');
+            }
+            cpf.append(digitos[i]);
+        }
+        return cpf.toString();
+    }
+
+    /**
+     * Gera um CNPJ válido e formatado a partir de um número sequencial.
+     */
+    static String cnpj(long sequencial) {
+        int[] digitos = new int[14];
+        String base = String.format("%08d0001", 10000000 + sequencial);
+        for (int i = 0; i < 12; i++) {
+            digitos[i] = base.charAt(i) - '0';
+        }
+        for (int posicao = 12; posicao < 14; posicao++) {
+            int soma = 0;
+            for (int i = 0; i < posicao; i++) {
+                soma += digitos[i] * ((posicao - i - 1) % 8 + 2);
+            }
+            int resto = soma % 11;
+            digitos[posicao] = resto < 2 ? 0 : 11 - resto;
+        }
+        StringBuilder cnpj = new StringBuilder();
+        for (int i = 0; i < 14; i++) {
+            if (i == 2 || i == 5) {
+                cnpj.append('.');
+            } else if (i == 8) {
+                cnpj.append('/');
+            } else if (i == 12) {
+                cnpj.append('-');
+            }
+            cnpj.append(digitos[i]);
+        }
+        return cnpj.toString();
+    }
+}
@@ -0,0 +1,168 @@
+package br.com.contabills.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.contabills.listener.EntidadeAlterada;
+import br.com.contabills.listener.EntidadeAlterada.Operacao;
+import br.com.contabills.model.CapitalEmpresa;
+import br.com.contabills.model.CapitalVinculo;
+import br.com.contabills.model.DivergenciaCapital;
+import br.com.contabills.model.Empresa;
+import br.com.contabills.model.EmpresaSocio;
+import br.com.contabills.model.EmpresaSocioId;
+import br.com.contabills.repository.EmpresaRepository;
+import br.com.contabills.repository.EmpresaSocioRepository;
+
+/**
+ * Verifica o índice de capital social: a reconstrução em faixas paralelas, as
+ * inclusões, alterações e exclusões de vínculos e de empresas recebidas pelos
+ * eventos e as alterações recebidas durante uma reconstrução, que são
+ * reaplicadas sobre o novo índice.
+ *
+ * O banco de dados é simulado com três empresas, carregadas em duas faixas: a
+ * empresa 1 tem capital 1000 integralizado por dois sócios, a empresa 2 tem
+ * capital 500 e um sócio com 200, e a empresa 3 tem capital 100 e nenhum
+ * sócio.
+ */
+class CapitalSocialServiceTest {
+
+    private final EmpresaRepository empresaRepository = mock(EmpresaRepository.class);
+
+    private final EmpresaSocioRepository empresaSocioRepository = mock(EmpresaSocioRepository.class);
+
+    private final List<CapitalEmpresa> empresas = List.of(new CapitalEmpresa(1L, "Empresa 1", 1000),
+            new CapitalEmpresa(2L, "Empresa 2", 500), new CapitalEmpresa(3L, "Empresa 3", 100));
+
+    private final List<CapitalVinculo> vinculos = List.of(new CapitalVinculo(1L, 10L, 600),
+            new CapitalVinculo(1L, 11L, 400), new CapitalVinculo(2L, 10L, 200));
+
+    private final ThreadPoolTaskExecutor cargaExecutor = new ThreadPoolTaskExecutor();
+
+    private final CapitalSocialService capitalSocialService = new CapitalSocialService();
+
+    @BeforeEach
+    void configurar() {
+        cargaExecutor.setCorePoolSize(2);
+        cargaExecutor.initialize();
+        ReflectionTestUtils.setField(capitalSocialService, "empresaRepository", empresaRepository);
+        ReflectionTestUtils.setField(capitalSocialService, "empresaSocioRepository", empresaSocioRepository);
+        ReflectionTestUtils.setField(capitalSocialService, "transactionTemplate",
+                new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        ReflectionTestUtils.setField(capitalSocialService, "cargaExecutor", cargaExecutor);
+        ReflectionTestUtils.setField(capitalSocialService, "particoes", 2);
+        when(empresaRepository.findMenorId()).thenReturn(1L);
+        when(empresaRepository.findMaiorId()).thenReturn(3L);
+        when(empresaRepository.streamCapitais(any(), any())).thenAnswer(invocacao -> empresas.stream()
+                .filter(e -> entre(e.empresaId(), invocacao.getArgument(0), invocacao.getArgument(1))));
+        when(empresaSocioRepository.streamCapitais(any(), any())).thenAnswer(invocacao -> vinculos.stream()
+                .filter(v -> entre(v.empresaId(), invocacao.getArgument(0), invocacao.getArgument(1))));
+    }
+
+    @AfterEach
+    void encerrar() {
+        cargaExecutor.shutdown();
+    }
+
+    @Test
+    void reconstroiEmFaixas() {
+        assertEquals(2, capitalSocialService.reconstruir());
+
+        assertEquals(List.of(divergencia(2, 500, 200, 1), divergencia(3, 100, 0, 0)),
+                capitalSocialService.divergencias());
+    }
+
+    @Test
+    void aplicaAsAlteracoesDeVinculos() {
+        capitalSocialService.reconstruir();
+
+        vinculo(3, 12, 100, Operacao.CRIADA);
+        assertEquals(List.of(divergencia(2, 500, 200, 1)), capitalSocialService.divergencias());
+
+        vinculo(2, 10, 500, Operacao.ATUALIZADA);
+        vinculo(1, 10, 700, Operacao.ATUALIZADA);
+        assertEquals(List.of(divergencia(1, 1000, 1100, 2)), capitalSocialService.divergencias());
+
+        vinculo(1, 11, 0, Operacao.REMOVIDA);
+        assertEquals(List.of(divergencia(1, 1000, 700, 1)), capitalSocialService.divergencias());
+        vinculo(1, 11, 0, Operacao.REMOVIDA);
+        assertEquals(List.of(divergencia(1, 1000, 700, 1)), capitalSocialService.divergencias());
+    }
+
+    @Test
+    void aplicaAsAlteracoesDeEmpresas() {
+        capitalSocialService.reconstruir();
+
+        empresa(2, 200, Operacao.ATUALIZADA);
+        empresa(3, 0, Operacao.REMOVIDA);
+        assertEquals(List.of(), capitalSocialService.divergencias());
+
+        empresa(4, 50, Operacao.CRIADA);
+        assertEquals(List.of(divergencia(4, 50, 0, 0)), capitalSocialService.divergencias());
+    }
+
+    @Test
+    void reaplicaAsAlteracoesRecebidasDuranteAReconstrucao() {
+        capitalSocialService.reconstruir();
+        List<HttpStatus> recusas = new ArrayList<>();
+        when(empresaSocioRepository.streamCapitais(any(), any())).thenAnswer(invocacao -> {
+            Long inicio = invocacao.getArgument(0);
+            if (inicio == 1L) {
+                // Alterações concluídas depois que as faixas começaram a ser lidas.
+                vinculo(2, 10, 500, Operacao.ATUALIZADA);
+                vinculo(1, 11, 0, Operacao.REMOVIDA);
+                vinculo(3, 12, 100, Operacao.CRIADA);
+                recusas.add((HttpStatus) assertThrows(ResponseStatusException.class,
+                        capitalSocialService::reconstruir).getStatusCode());
+            }
+            return vinculos.stream().filter(v -> entre(v.empresaId(), inicio, invocacao.getArgument(1)));
+        });
+
+        assertEquals(1, capitalSocialService.reconstruir());
+
+        assertEquals(List.of(HttpStatus.CONFLICT), recusas);
+        assertEquals(List.of(divergencia(1, 1000, 600, 1)), capitalSocialService.divergencias());
+    }
+
+    private void vinculo(long empresaId, long socioId, double capital, Operacao operacao) {
+        capitalSocialService.aoAlterarVinculo(new EntidadeAlterada<>(EmpresaSocio.builder()
+                .id(new EmpresaSocioId(empresaId, socioId))
+                .capitalInvestido(capital)
+                .build(), operacao));
+    }
+
+    private void empresa(long empresaId, double capital, Operacao operacao) {
+        capitalSocialService.aoAlterarEmpresa(new EntidadeAlterada<>(Empresa.builder()
+                .apelidoId(empresaId)
+                .razaoSocial("Empresa " + empresaId)
+                .capitalSocialEmpresa(capital)
+                .build(), operacao));
+    }
+
+    private static DivergenciaCapital divergencia(long empresaId, long declarado, long investido, int socios) {
+        return new DivergenciaCapital(empresaId, "Empresa " + empresaId, BigDecimal.valueOf(declarado * 100, 2),
+                BigDecimal.valueOf(investido * 100, 2), BigDecimal.valueOf((declarado - investido) * 100, 2),
+                socios);
+    }
+
+    private static boolean entre(Long id, Long inicio, Long fim) {
+        return id >= inicio && id <= fim;
+    }
+}
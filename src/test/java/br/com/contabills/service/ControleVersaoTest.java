@@ -0,0 +1,107 @@
+package br.com.contabills.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Verifica as respostas 304 de {@code If-None-Match}, as respostas 412 de
+ * {@code If-Match} e a ETag calculada a partir da representação completa.
+ */
+class ControleVersaoTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void responde304QuandoOClienteJaPossuiARepresentacao() {
+        ResponseEntity<String> resposta = ControleVersao.responder("corpo", 3L, "\"3\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, resposta.getStatusCode());
+        assertEquals("\"3\"", resposta.getHeaders().getETag());
+        assertNull(resposta.getBody());
+    }
+
+    @Test
+    void responde304ComComparacaoFraca() {
+        assertEquals(HttpStatus.NOT_MODIFIED, ControleVersao.responder("corpo", 3L, "W/\"3\"").getStatusCode());
+        assertEquals(HttpStatus.NOT_MODIFIED, ControleVersao.responder("corpo", 3L, "\"1\", \"3\"").getStatusCode());
+    }
+
+    @Test
+    void responde200QuandoARepresentacaoMudou() {
+        ResponseEntity<String> resposta = ControleVersao.responder("corpo", 4L, "\"3\"");
+
+        assertEquals(HttpStatus.OK, resposta.getStatusCode());
+        assertEquals("\"4\"", resposta.getHeaders().getETag());
+        assertEquals("corpo", resposta.getBody());
+    }
+
+    @Test
+    void aceitaIfMatchIgualOuCoringa() {
+        assertDoesNotThrow(() -> ControleVersao.verificar("\"3\"", null, 3L));
+        assertDoesNotThrow(() -> ControleVersao.verificar("*", null, 3L));
+        assertDoesNotThrow(() -> ControleVersao.verificar(null, 3L, 3L));
+    }
+
+    @Test
+    void responde412ParaIfMatchDesatualizado() {
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> ControleVersao.verificar("\"2\"", null, 3L));
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, erro.getStatusCode());
+    }
+
+    @Test
+    void responde412ParaIfMatchFraco() {
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> ControleVersao.verificar("W/\"3\"", null, 3L));
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, erro.getStatusCode());
+    }
+
+    @Test
+    void responde412ParaVersaoDoCorpoDesatualizada() {
+        ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                () -> ControleVersao.verificar(null, 2L, 3L));
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, erro.getStatusCode());
+    }
+
+    @Test
+    void etagDaRepresentacaoMudaComAsEntidadesIncorporadas() {
+        Map<String, Object> empresa = Map.of("versao", 0, "parcelamentos",
+                List.of(Map.of("id", 1, "versao", 0)));
+        Map<String, Object> mesmaEmpresa = Map.of("versao", 0, "parcelamentos",
+                List.of(Map.of("id", 1, "versao", 0)));
+        Map<String, Object> parcelamentoAlterado = Map.of("versao", 0, "parcelamentos",
+                List.of(Map.of("id", 1, "versao", 1)));
+
+        String etag = ControleVersao.etag(empresa, objectMapper);
+
+        assertEquals(etag, ControleVersao.etag(mesmaEmpresa, objectMapper));
+        assertNotEquals(etag, ControleVersao.etag(parcelamentoAlterado, objectMapper));
+        assertThrows(ResponseStatusException.class, () -> ControleVersao.verificar(etag, null, 0L,
+                () -> ControleVersao.etag(parcelamentoAlterado, objectMapper)));
+        assertEquals(HttpStatus.NOT_MODIFIED,
+                ControleVersao.responder(empresa, etag, etag).getStatusCode());
+    }
+
+    @Test
+    void naoCalculaAEtagSemIfMatch() {
+        assertDoesNotThrow(() -> ControleVersao.verificar(null, 3L, 3L, () -> {
+            throw new AssertionError("ETag calculada sem If-Match");
+        }));
+    }
+}
@@ -0,0 +1,225 @@
+package br.com.contabills.service;
+
+import static br.com.contabills.service.Cadastros.cpf;
+import static br.com.contabills.service.Cadastros.empresa;
+import static br.com.contabills.service.Cadastros.socio;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.contabills.config.DatabaseSeeder;
+import br.com.contabills.model.Parcela;
+import br.com.contabills.model.Parcelamento;
+import br.com.contabills.model.Socio;
+import br.com.contabills.repository.EmpresaRepository;
+import br.com.contabills.repository.ParcelamentoRepository;
+
+/**
+ * Verifica as ETags de empresas, parcelamentos, sócios e parcelas, cuja
+ * representação incorpora outras entidades: 304 enquanto nada muda, nova ETag
+ * quando uma entidade incorporada é alterada e 412 para alterações com a ETag
+ * antiga.
+ *
+ * Utiliza o H2 em memória no modo MySQL, sem os filtros de segurança.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:etag;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "contabills.busca.diretorio=target/indice-busca-etag"
+})
+@AutoConfigureMockMvc(addFilters = false)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EtagRepresentacaoTest {
+
+    private static final long EMPRESA = 1L;
+
+    @MockitoBean
+    private DatabaseSeeder databaseSeeder;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SocioService socioService;
+
+    @Autowired
+    private EmpresaService empresaService;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private ParcelamentoRepository parcelamentoRepository;
+
+    @Autowired
+    private ParcelaService parcelaService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long socioId;
+
+    private Long parcelamentoId;
+
+    private Long parcelaId;
+
+    @BeforeAll
+    void cadastrar() {
+        socioId = socioService.cadastrar(socio(cpf(1))).getId();
+        empresaService.cadastrarEmpresa(empresa(EMPRESA, List.of(cpf(1))));
+        Parcelamento parcelamento = Parcelamento.builder()
+                .registroDoParcelamento("REG-1")
+                .tipoParcelamento("Simples Nacional")
+                .empresa(empresaRepository.getReferenceById(EMPRESA))
+                .build();
+        parcelamento.getParcelas().add(Parcela.builder()
+                .numero(1)
+                .valor(100)
+                .dataVencimento(LocalDate.now().plusMonths(1))
+                .parcelamento(parcelamento)
+                .build());
+        parcelamento = parcelamentoRepository.save(parcelamento);
+        parcelamentoId = parcelamento.getId();
+        parcelaId = parcelamento.getParcelas().get(0).getId();
+    }
+
+    @Test
+    void parcelamentoMudaDeEtagQuandoUmaParcelaMuda() throws Exception {
+        String url = "/parcelamentos/" + parcelamentoId;
+        String etag = etag(url);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        alterarParcela();
+
+        String novaEtag = etag(url);
+        assertNotEquals(etag, novaEtag);
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch(url).header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"registroDoParcelamento\": \"REG-2\"}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch(url).header(HttpHeaders.IF_MATCH, "W/" + novaEtag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"registroDoParcelamento\": \"REG-2\"}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch(url).header(HttpHeaders.IF_MATCH, novaEtag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"registroDoParcelamento\": \"REG-2\"}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void empresaMudaDeEtagQuandoUmParcelamentoMuda() throws Exception {
+        String url = "/empresas/" + EMPRESA;
+        String etag = etag(url);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        alterarParcela();
+
+        assertNotEquals(etag, etag(url));
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void socioMudaDeEtagQuandoAEmpresaMuda() throws Exception {
+        String url = "/socios/" + socioId;
+        String etag = etag(url);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        alterarEmpresa();
+
+        String novaEtag = etag(url);
+        assertNotEquals(etag, novaEtag);
+        Socio socio = socio(cpf(1));
+        socio.setProfissao("Contador");
+        String corpo = objectMapper.writeValueAsString(socio);
+        mockMvc.perform(put(url).header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(corpo))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(put(url).header(HttpHeaders.IF_MATCH, novaEtag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(corpo))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void parcelaMudaDeEtagQuandoOParcelamentoMuda() throws Exception {
+        String url = "/parcelas/" + parcelaId;
+        String etag = etag(url);
+
+        mockMvc.perform(get(url).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(patch("/parcelamentos/" + parcelamentoId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"tipoParcelamento\": \"Parcelamento Ordinário\"}"))
+                .andExpect(status().isOk());
+
+        String novaEtag = etag(url);
+        assertNotEquals(etag, novaEtag);
+        mockMvc.perform(patch(url).header(HttpHeaders.IF_MATCH, etag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"valor\": 150}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch(url).header(HttpHeaders.IF_MATCH, novaEtag)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"valor\": 150}"))
+                .andExpect(status().isOk());
+    }
+
+    private String etag(String url) throws Exception {
+        return mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private void alterarEmpresa() {
+        transactionTemplate.executeWithoutResult(status -> empresaRepository.findById(EMPRESA)
+                .orElseThrow()
+                .setTelefone("(11) 98888-7777"));
+    }
+
+    private void alterarParcela() {
+        Parcela parcela = parcelaService.buscarParcelaPorId(parcelaId);
+        parcela.setValor(parcela.getValor() + 10);
+        parcelaService.atualizarParcela(parcelaId, parcela, null);
+    }
+}
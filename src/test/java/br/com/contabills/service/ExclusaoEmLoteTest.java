@@ -0,0 +1,131 @@
+package br.com.contabills.service;
+
+import static br.com.contabills.service.Cadastros.cpf;
+import static br.com.contabills.service.Cadastros.empresa;
+import static br.com.contabills.service.Cadastros.socio;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import br.com.contabills.config.DatabaseSeeder;
+import br.com.contabills.model.Socio;
+import br.com.contabills.repository.EmpresaRepository;
+import br.com.contabills.repository.EmpresaSocioRepository;
+import br.com.contabills.repository.SocioRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifica que a exclusão de sócios e empresas executa uma quantidade fixa de
+ * comandos SQL, independentemente da quantidade de vínculos.
+ *
+ * Utiliza o H2 em memória no modo MySQL e as estatísticas do Hibernate.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:exclusao-em-lote;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "contabills.busca.diretorio=target/indice-busca-exclusao",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"
+})
+class ExclusaoEmLoteTest {
+
+    private static final int VINCULOS = 20;
+
+    @MockitoBean
+    private DatabaseSeeder databaseSeeder;
+
+    @Autowired
+    private SocioService socioService;
+
+    @Autowired
+    private EmpresaService empresaService;
+
+    @Autowired
+    private GrafoSocietarioService grafoSocietarioService;
+
+    @Autowired
+    private FiltroCpfService filtroCpfService;
+
+    @Autowired
+    private SocioRepository socioRepository;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private EmpresaSocioRepository empresaSocioRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void limpar() {
+        empresaSocioRepository.deleteAllInBatch();
+        empresaRepository.deleteAllInBatch();
+        socioRepository.deleteAllInBatch();
+        grafoSocietarioService.reconstruir();
+        filtroCpfService.reconstruir();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void deletarSocioExecutaQuantidadeFixaDeComandos() {
+        String cpf = cpf(1);
+        Socio socio = socioService.cadastrar(socio(cpf));
+        for (long id = 1; id <= VINCULOS; id++) {
+            empresaService.cadastrarEmpresa(empresa(id, List.of(cpf)));
+        }
+        assertFalse(grafoSocietarioService.relacionadas(1L, 1).isEmpty());
+
+        statistics.clear();
+        socioService.deletar(socio.getId());
+
+        // CPF, vínculos, exclusão dos vínculos, dos termos de busca e do sócio.
+        assertEquals(5, statistics.getPrepareStatementCount());
+        assertFalse(socioRepository.existsById(socio.getId()));
+        assertEquals(0, empresaSocioRepository.count());
+        assertEquals(VINCULOS, empresaRepository.count());
+        assertTrue(grafoSocietarioService.relacionadas(1L, 1).isEmpty());
+        assertFalse(filtroCpfService.possivelmenteCadastrado(cpf));
+    }
+
+    @Test
+    void excluirEmpresaExecutaQuantidadeFixaDeComandos() {
+        List<String> cpfs = new ArrayList<>();
+        for (int i = 1; i <= VINCULOS; i++) {
+            cpfs.add(cpf(i));
+            socioService.cadastrar(socio(cpf(i)));
+        }
+        empresaService.cadastrarEmpresa(empresa(1L, cpfs));
+        empresaService.cadastrarEmpresa(empresa(2L, List.of(cpf(1))));
+        assertEquals(1, grafoSocietarioService.relacionadas(2L, 1).size());
+
+        statistics.clear();
+        empresaService.excluirEmpresa(1L);
+
+        // Existência, vínculos, exclusão dos vínculos, dos termos de busca e da empresa.
+        assertEquals(5, statistics.getPrepareStatementCount());
+        assertFalse(empresaRepository.existsById(1L));
+        assertEquals(1, empresaSocioRepository.count());
+        assertEquals(VINCULOS, socioRepository.count());
+        assertTrue(grafoSocietarioService.relacionadas(2L, 1).isEmpty());
+    }
+}
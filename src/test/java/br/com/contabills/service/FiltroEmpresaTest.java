@@ -0,0 +1,126 @@
+package br.com.contabills.service;
+
+import static br.com.contabills.service.Cadastros.empresa;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import br.com.contabills.config.DatabaseSeeder;
+import br.com.contabills.model.DadosEmpresa;
+import br.com.contabills.model.Empresa;
+import br.com.contabills.model.FiltroEmpresa;
+
+/**
+ * Verifica a listagem filtrada de empresas: a combinação dos critérios de UF,
+ * cidade, tipo e indicadores com "e", o conteúdo e o total de cada página e o
+ * tratamento dos valores informados, em que a UF é convertida para maiúsculas
+ * e a cidade é comparada como informada.
+ *
+ * Utiliza o H2 em memória no modo MySQL, cujas comparações de texto, ao
+ * contrário da collation do MySQL, diferenciam maiúsculas e minúsculas.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:filtro-empresa;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "contabills.busca.diretorio=target/indice-busca-filtro"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class FiltroEmpresaTest {
+
+    @MockitoBean
+    private DatabaseSeeder databaseSeeder;
+
+    @Autowired
+    private EmpresaService empresaService;
+
+    @BeforeAll
+    void cadastrar() {
+        cadastrar(1L, "SP", "São Paulo", "TI", true, true);
+        cadastrar(2L, "SP", "São Paulo", "TI", true, false);
+        cadastrar(3L, "SP", "Campinas", "TI", true, true);
+        cadastrar(4L, "RJ", "Rio de Janeiro", "TI", true, true);
+        cadastrar(5L, "SP", "São Paulo", "Comércio", true, true);
+        cadastrar(6L, "SP", "São Paulo", "TI", false, true);
+        cadastrar(7L, "SP", "São Paulo", "TI", true, true);
+    }
+
+    @Test
+    void combinaOsCriteriosEPagina() {
+        FiltroEmpresa filtro = new FiltroEmpresa(null, "TI", "SP", "São Paulo", true, null);
+
+        Page<DadosEmpresa> primeira = listar(filtro, 0);
+        assertEquals(List.of(1L, 2L), ids(primeira));
+        assertEquals(3, primeira.getTotalElements());
+        assertEquals(2, primeira.getTotalPages());
+
+        Page<DadosEmpresa> segunda = listar(filtro, 1);
+        assertEquals(List.of(7L), ids(segunda));
+        assertEquals(3, segunda.getTotalElements());
+
+        Page<DadosEmpresa> certificadas = listar(new FiltroEmpresa(null, "TI", "SP", "São Paulo", true, true), 0);
+        assertEquals(List.of(1L, 7L), ids(certificadas));
+        assertEquals(2, certificadas.getTotalElements());
+
+        assertEquals(List.of(6L), ids(listar(new FiltroEmpresa(null, null, null, null, false, null), 0)));
+        assertEquals(List.of(3L), ids(listar(new FiltroEmpresa(null, null, null, "Campinas", null, null), 0)));
+    }
+
+    @Test
+    void combinaABuscaComOsCriterios() {
+        assertEquals(List.of(4L), ids(listar(new FiltroEmpresa("empresa", null, "RJ", null, null, null), 0)));
+        assertEquals(List.of(5L), ids(listar(new FiltroEmpresa("empresa 5", null, "SP", null, null, null), 0)));
+        assertEquals(0, listar(new FiltroEmpresa("empresa 5", "TI", null, null, null, null), 0).getTotalElements());
+    }
+
+    @Test
+    void converteAUfParaMaiusculasEMantemACidade() {
+        Page<DadosEmpresa> pagina = listar(new FiltroEmpresa(null, null, " rj ", null, null, null), 0);
+        assertEquals(List.of(4L), ids(pagina));
+        assertEquals(1, pagina.getTotalElements());
+
+        assertEquals(List.of(4L),
+                ids(listar(new FiltroEmpresa(null, null, null, " Rio de Janeiro ", null, null), 0)));
+        assertEquals(0, listar(new FiltroEmpresa(null, null, null, "RIO DE JANEIRO", null, null), 0)
+                .getTotalElements());
+    }
+
+    @Test
+    void filtroVazioListaTodas() {
+        Page<DadosEmpresa> pagina = listar(new FiltroEmpresa(" ", "", null, null, null, null), 0);
+        assertEquals(List.of(1L, 2L), ids(pagina));
+        assertEquals(7, pagina.getTotalElements());
+    }
+
+    private void cadastrar(Long id, String uf, String cidade, String tipo, boolean procuracao, boolean certificado) {
+        Empresa empresa = empresa(id, List.of());
+        empresa.getEnderecoEmpresa().setUf(uf);
+        empresa.getEnderecoEmpresa().setCidade(cidade);
+        empresa.setTipoEmpresa(tipo);
+        empresa.setPossuiProcuracao(procuracao);
+        empresa.setPossuiCertificado(certificado);
+        empresaService.cadastrarEmpresa(empresa);
+    }
+
+    private Page<DadosEmpresa> listar(FiltroEmpresa filtro, int pagina) {
+        return empresaService.listarEmpresas(filtro, PageRequest.of(pagina, 2, Sort.by("apelidoId")));
+    }
+
+    private static List<Long> ids(Page<DadosEmpresa> pagina) {
+        return pagina.map(DadosEmpresa::id).getContent();
+    }
+}
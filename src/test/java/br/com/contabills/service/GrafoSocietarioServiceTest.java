@@ -0,0 +1,141 @@
+package br.com.contabills.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import br.com.contabills.listener.EntidadeAlterada;
+import br.com.contabills.listener.EntidadeAlterada.Operacao;
+import br.com.contabills.model.ComponenteSocietario;
+import br.com.contabills.model.EmpresaRelacionada;
+import br.com.contabills.model.EmpresaSocio;
+import br.com.contabills.model.EmpresaSocioId;
+import br.com.contabills.repository.EmpresaRepository;
+import br.com.contabills.repository.EmpresaSocioRepository;
+
+/**
+ * Verifica o grafo societário em memória: as alterações de vínculos sobre o
+ * CSR e a camada de pendências, a compactação ao ultrapassar o limite, o
+ * limite de saltos das empresas relacionadas e os componentes conexos.
+ *
+ * Os vínculos iniciais são informados como pares {@code {empresa, sócio}} e o
+ * banco de dados é simulado.
+ */
+class GrafoSocietarioServiceTest {
+
+    private final EmpresaSocioRepository empresaSocioRepository = mock(EmpresaSocioRepository.class);
+
+    private final EmpresaRepository empresaRepository = mock(EmpresaRepository.class);
+
+    @Test
+    void readicionaUmVinculoRemovido() {
+        GrafoSocietarioService grafo = grafo(1024, new long[] { 1, 10 }, new long[] { 2, 10 });
+
+        alterar(grafo, 2, 10, Operacao.REMOVIDA);
+        assertEquals(List.of(), ids(grafo.relacionadas(1L, 1)));
+        alterar(grafo, 2, 10, Operacao.CRIADA);
+        assertEquals(List.of(2L), ids(grafo.relacionadas(1L, 1)));
+
+        alterar(grafo, 3, 10, Operacao.CRIADA);
+        alterar(grafo, 3, 10, Operacao.REMOVIDA);
+        alterar(grafo, 3, 10, Operacao.CRIADA);
+        alterar(grafo, 3, 10, Operacao.CRIADA);
+        assertEquals(List.of(2L, 3L), ids(grafo.relacionadas(1L, 1)).stream().sorted().toList());
+        assertTrue(pendencias(grafo, "removidas").isEmpty());
+        assertEquals(1, pendencias(grafo, "adicionadas").size());
+    }
+
+    @Test
+    void compactaAsPendenciasAoUltrapassarOLimite() {
+        GrafoSocietarioService grafo = grafo(2, new long[] { 1, 10 }, new long[] { 2, 10 }, new long[] { 3, 10 });
+
+        alterar(grafo, 3, 10, Operacao.REMOVIDA);
+        alterar(grafo, 4, 10, Operacao.CRIADA);
+        assertEquals(1, pendencias(grafo, "removidas").size());
+        assertEquals(1, pendencias(grafo, "adicionadas").size());
+
+        alterar(grafo, 5, 10, Operacao.CRIADA);
+        assertTrue(pendencias(grafo, "removidas").isEmpty());
+        assertTrue(pendencias(grafo, "adicionadas").isEmpty());
+        assertEquals(List.of(2L, 4L, 5L), ids(grafo.relacionadas(1L, 1)).stream().sorted().toList());
+
+        alterar(grafo, 4, 10, Operacao.REMOVIDA);
+        alterar(grafo, 3, 10, Operacao.CRIADA);
+        assertEquals(List.of(2L, 3L, 5L), ids(grafo.relacionadas(1L, 1)).stream().sorted().toList());
+    }
+
+    @Test
+    void respeitaOLimiteDeSaltos() {
+        GrafoSocietarioService grafo = grafo(1024, new long[] { 1, 10 }, new long[] { 2, 10 }, new long[] { 2, 20 },
+                new long[] { 3, 20 }, new long[] { 3, 30 }, new long[] { 4, 30 });
+
+        assertEquals(List.of(new EmpresaRelacionada(2L, 1, 10L)), grafo.relacionadas(1L, 1));
+        assertEquals(List.of(new EmpresaRelacionada(2L, 1, 10L), new EmpresaRelacionada(3L, 2, 20L)),
+                grafo.relacionadas(1L, 2));
+        assertEquals(List.of(new EmpresaRelacionada(2L, 1, 10L), new EmpresaRelacionada(3L, 2, 20L),
+                new EmpresaRelacionada(4L, 3, 30L)), grafo.relacionadas(1L, 5));
+        assertEquals(List.of(new EmpresaRelacionada(1L, 1, 10L), new EmpresaRelacionada(3L, 1, 20L),
+                new EmpresaRelacionada(4L, 2, 30L)), grafo.relacionadas(2L, 2));
+
+        assertEquals(HttpStatus.BAD_REQUEST,
+                assertThrows(ResponseStatusException.class, () -> grafo.relacionadas(1L, 0)).getStatusCode());
+        when(empresaRepository.existsById(99L)).thenReturn(false);
+        assertEquals(HttpStatus.NOT_FOUND,
+                assertThrows(ResponseStatusException.class, () -> grafo.relacionadas(99L, 1)).getStatusCode());
+    }
+
+    @Test
+    void ordenaOsComponentesEAplicaOMinimoDeEmpresas() {
+        GrafoSocietarioService grafo = grafo(1024, new long[] { 6, 60 }, new long[] { 4, 40 },
+                new long[] { 5, 40 }, new long[] { 5, 50 }, new long[] { 1, 10 }, new long[] { 2, 10 },
+                new long[] { 2, 20 }, new long[] { 3, 20 }, new long[] { 8, 80 });
+        alterar(grafo, 7, 70, Operacao.CRIADA);
+        alterar(grafo, 7, 70, Operacao.REMOVIDA);
+
+        ComponenteSocietario maior = new ComponenteSocietario(3, 2, List.of(1L, 2L, 3L));
+        ComponenteSocietario medio = new ComponenteSocietario(2, 2, List.of(4L, 5L));
+        assertEquals(List.of(maior, medio, new ComponenteSocietario(1, 1, List.of(6L)),
+                new ComponenteSocietario(1, 1, List.of(8L))), grafo.componentes(1, 10));
+        assertEquals(List.of(maior, medio), grafo.componentes(2, 10));
+        assertEquals(List.of(maior), grafo.componentes(3, 10));
+        assertEquals(List.of(maior), grafo.componentes(1, 1));
+        assertEquals(List.of(), grafo.componentes(4, 10));
+    }
+
+    private GrafoSocietarioService grafo(int limitePendencias, long[]... vinculos) {
+        GrafoSocietarioService grafo = new GrafoSocietarioService();
+        ReflectionTestUtils.setField(grafo, "empresaSocioRepository", empresaSocioRepository);
+        ReflectionTestUtils.setField(grafo, "empresaRepository", empresaRepository);
+        ReflectionTestUtils.setField(grafo, "limitePendencias", limitePendencias);
+        when(empresaSocioRepository.streamChaves()).thenReturn(Arrays.stream(vinculos)
+                .map(v -> new EmpresaSocioId(v[0], v[1])));
+        when(empresaRepository.existsById(any())).thenReturn(true);
+        grafo.reconstruir();
+        return grafo;
+    }
+
+    private static void alterar(GrafoSocietarioService grafo, long empresaId, long socioId, Operacao operacao) {
+        grafo.aoAlterarVinculo(new EntidadeAlterada<>(
+                EmpresaSocio.builder().id(new EmpresaSocioId(empresaId, socioId)).build(), operacao));
+    }
+
+    private static Collection<?> pendencias(GrafoSocietarioService grafo, String campo) {
+        return (Collection<?>) ReflectionTestUtils.getField(grafo, campo);
+    }
+
+    private static List<Long> ids(List<EmpresaRelacionada> relacionadas) {
+        return relacionadas.stream().map(EmpresaRelacionada::empresaId).toList();
+    }
+}
@@ -0,0 +1,113 @@
+package br.com.contabills.service;
+
+import static br.com.contabills.service.Cadastros.cnpj;
+import static br.com.contabills.service.Cadastros.cpf;
+import static br.com.contabills.service.Cadastros.empresa;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import br.com.contabills.config.DatabaseSeeder;
+import br.com.contabills.model.RelatorioImportacao;
+import br.com.contabills.repository.SocioRepository;
+import br.com.contabills.validacao.Documentos;
+
+/**
+ * Verifica que, quando a gravação de um lote falha no banco, apenas as linhas
+ * que de fato falham são relatadas como erro e as demais são importadas, e que
+ * os sócios vinculados às empresas são encontrados pelo CPF em qualquer
+ * formato.
+ *
+ * Utiliza o H2 em memória no modo MySQL.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:importacao;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "contabills.busca.diretorio=target/indice-busca-importacao"
+})
+class ImportacaoTest {
+
+    private static final String CABECALHO = "nome;dataNascimento;cpf;rg;dataDeEmissaoRg;cnh;dataDeEmissaoCnh;"
+            + "dataDeValidadeCnh;nomeDaMae;nomeDoPai;nacionalidade;estadoCivil;tipoDeComunhao;profissao;"
+            + "logradouro;numero;complemento;bairro;cidade;uf;cep\n";
+
+    @MockitoBean
+    private DatabaseSeeder databaseSeeder;
+
+    @Autowired
+    private ImportacaoService importacaoService;
+
+    @Autowired
+    private EmpresaService empresaService;
+
+    @Autowired
+    private SocioRepository socioRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void relataApenasAsLinhasQueFalhamNoBanco() {
+        // O nome excede o tamanho da coluna: a validação aceita, o banco recusa.
+        String csv = CABECALHO + linha("Sócio 1", cpf(101)) + linha("S".repeat(300), cpf(102))
+                + linha("Sócio 3", cpf(103));
+
+        RelatorioImportacao relatorio = importacaoService.importarSocios(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(3, relatorio.linhasProcessadas());
+        assertEquals(2, relatorio.linhasImportadas());
+        assertEquals(1, relatorio.linhasComErro());
+        assertEquals(3, relatorio.erros().get(0).linha());
+        assertTrue(socioRepository.existsByCpfDigitos(Documentos.digitos(cpf(101))));
+        assertFalse(socioRepository.existsByCpfDigitos(Documentos.digitos(cpf(102))));
+        assertTrue(socioRepository.existsByCpfDigitos(Documentos.digitos(cpf(103))));
+    }
+
+    @Test
+    void vinculaSociosPeloCpfSemMascara() {
+        String csv = CABECALHO + linha("Sócio 201", cpf(201)) + linha("Sócio 202", cpf(202));
+        importacaoService.importarSocios(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+        String cpf201 = Documentos.digitos(cpf(201));
+        String cpf202 = Documentos.digitos(cpf(202));
+
+        String empresas = "apelidoId;razaoSocial;tipoEmpresa;cnpj;iptu;email;telefone;capitalSocialEmpresa;"
+                + "possuiProcuracao;possuiCertificado;logradouro;numero;complemento;bairro;cidade;uf;cep;socios\n"
+                + "201;Empresa 201;TI;" + cnpj(201) + ";123;contato@empresa201.com.br;(11) 3333-4444;1000;"
+                + "false;false;Rua A;1;;Centro;São Paulo;SP;01000-000;" + cpf201 + ":500:Sócio|"
+                + cpf202 + ":500:Sócio\n";
+        RelatorioImportacao relatorio = importacaoService.importarEmpresas(
+                new ByteArrayInputStream(empresas.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(1, relatorio.linhasImportadas(), () -> relatorio.erros().toString());
+
+        empresaService.cadastrarEmpresa(empresa(202L, List.of(cpf201)));
+
+        assertEquals(2, vinculos(201L));
+        assertEquals(1, vinculos(202L));
+    }
+
+    private int vinculos(Long empresaId) {
+        return jdbcTemplate.queryForObject("select count(*) from t_c_empresa_socio where empresa_id = ?",
+                Integer.class, empresaId);
+    }
+
+    private static String linha(String nome, String cpf) {
+        return nome + ";1980-05-20;" + cpf + ";MG1234567;2000-05-30;;;;Mãe;Pai;Brasileira;Casado;;Engenheiro;"
+                + "Rua A;1;;Centro;São Paulo;SP;01000-000\n";
+    }
+}
@@ -0,0 +1,188 @@
+package br.com.contabills.service;
+
+import static br.com.contabills.service.Cadastros.cpf;
+import static br.com.contabills.service.Cadastros.empresa;
+import static br.com.contabills.service.Cadastros.socio;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import br.com.contabills.config.DatabaseSeeder;
+import br.com.contabills.model.FiltroEmpresa;
+import br.com.contabills.model.PaginaCursor;
+import br.com.contabills.model.Parcela;
+import br.com.contabills.model.Parcelamento;
+import br.com.contabills.model.ResumoParcela;
+import br.com.contabills.repository.EmpresaRepository;
+import br.com.contabills.repository.ParcelamentoRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifica que as listagens paginadas de empresas, sócios, parcelamentos e
+ * parcelas executam uma consulta para a página e outra para a contagem (ou,
+ * na paginação por cursor, para a existência do parcelamento),
+ * independentemente da quantidade de vínculos, inclusive ao serializar a
+ * resposta em JSON.
+ *
+ * Utiliza o H2 em memória no modo MySQL e as estatísticas do Hibernate.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:listagem;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "contabills.busca.diretorio=target/indice-busca-listagem",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ListagemTest {
+
+    private static final int EMPRESAS = 15;
+
+    private static final int SOCIOS = 5;
+
+    private static final int PARCELAS = 4;
+
+    private static final Pageable PAGINA = PageRequest.of(0, 10);
+
+    @MockitoBean
+    private DatabaseSeeder databaseSeeder;
+
+    @Autowired
+    private SocioService socioService;
+
+    @Autowired
+    private EmpresaService empresaService;
+
+    @Autowired
+    private ParcelamentoService parcelamentoService;
+
+    @Autowired
+    private ParcelaService parcelaService;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private ParcelamentoRepository parcelamentoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeAll
+    void cadastrar() {
+        List<String> cpfs = new ArrayList<>();
+        for (int i = 1; i <= SOCIOS; i++) {
+            cpfs.add(cpf(i));
+            socioService.cadastrar(socio(cpf(i)));
+        }
+        for (long id = 1; id <= EMPRESAS; id++) {
+            empresaService.cadastrarEmpresa(empresa(id, cpfs));
+            Parcelamento parcelamento = Parcelamento.builder()
+                    .registroDoParcelamento("REG-" + id)
+                    .tipoParcelamento("Simples Nacional")
+                    .empresa(empresaRepository.getReferenceById(id))
+                    .build();
+            for (int numero = 1; numero <= PARCELAS; numero++) {
+                parcelamento.getParcelas().add(Parcela.builder()
+                        .numero(numero)
+                        .valor(100)
+                        .dataVencimento(LocalDate.now().plusMonths(numero))
+                        .parcelamento(parcelamento)
+                        .build());
+            }
+            parcelamentoRepository.save(parcelamento);
+        }
+    }
+
+    @BeforeEach
+    void limparEstatisticas() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listarEmpresasExecutaDuasConsultas() throws JsonProcessingException {
+        assertPagina(empresaService.listarEmpresas(null, PAGINA), EMPRESAS);
+    }
+
+    @Test
+    void listarEmpresasFiltradasExecutaDuasConsultas() throws JsonProcessingException {
+        FiltroEmpresa filtro = new FiltroEmpresa(null, "TI", "SP", null, null, null);
+        assertPagina(empresaService.listarEmpresas(filtro, PageRequest.of(0, 10, Sort.by("razaoSocial"))),
+                EMPRESAS);
+    }
+
+    @Test
+    void listarSociosExecutaDuasConsultas() throws JsonProcessingException {
+        assertPagina(socioService.listarSocios(null, PageRequest.of(0, 2)), SOCIOS);
+        statistics.clear();
+        assertPagina(socioService.listarSocios("socio", PageRequest.of(0, 2)), SOCIOS);
+    }
+
+    @Test
+    void listarParcelamentosExecutaDuasConsultas() throws JsonProcessingException {
+        assertPagina(parcelamentoService.listarResumos(PAGINA, false), EMPRESAS);
+    }
+
+    @Test
+    void listarParcelasExecutaDuasConsultas() throws JsonProcessingException {
+        assertPagina(parcelaService.listarParcelas(PAGINA, false), EMPRESAS * PARCELAS);
+    }
+
+    @Test
+    void listarParcelasDoParcelamentoPorCursorExecutaDuasConsultas() throws JsonProcessingException {
+        Long parcelamentoId = parcelamentoRepository.findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+        statistics.clear();
+
+        PaginaCursor<ResumoParcela> primeira = parcelamentoService.listarParcelas(parcelamentoId, null, PARCELAS - 1);
+        objectMapper.writeValueAsString(primeira);
+        assertEquals(PARCELAS - 1, primeira.itens().size());
+        assertEquals(2, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        PaginaCursor<ResumoParcela> segunda = parcelamentoService.listarParcelas(parcelamentoId,
+                primeira.proximoCursor(), PARCELAS - 1);
+        objectMapper.writeValueAsString(segunda);
+        assertEquals(1, segunda.itens().size());
+        assertNull(segunda.proximoCursor());
+        assertEquals(parcelamentoId, segunda.itens().get(0).parcelamentoId());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    private void assertPagina(Page<?> pagina, long total) throws JsonProcessingException {
+        objectMapper.writeValueAsString(pagina.getContent());
+        assertEquals(total, pagina.getTotalElements());
+        assertEquals(Math.min(total, pagina.getSize()), pagina.getNumberOfElements());
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,114 @@
+package br.com.contabills.service;
+
+import static br.com.contabills.service.Cadastros.cpf;
+import static br.com.contabills.service.Cadastros.empresa;
+import static br.com.contabills.service.Cadastros.socio;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import br.com.contabills.config.DatabaseSeeder;
+import br.com.contabills.model.PainelEmpresa;
+import br.com.contabills.model.Parcela;
+import br.com.contabills.model.Parcelamento;
+import br.com.contabills.repository.EmpresaRepository;
+import br.com.contabills.repository.ParcelamentoRepository;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifica que o painel da empresa executa uma consulta para os dados da
+ * empresa, outra para os sócios e outra para os parcelamentos,
+ * independentemente da quantidade de sócios, parcelamentos e parcelas.
+ *
+ * Utiliza o H2 em memória no modo MySQL e as estatísticas do Hibernate.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:painel-empresa;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "contabills.busca.diretorio=target/indice-busca-painel",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=warn"
+})
+class PainelEmpresaTest {
+
+    private static final int SOCIOS = 12;
+
+    private static final int PARCELAMENTOS = 6;
+
+    private static final int PARCELAS = 5;
+
+    @MockitoBean
+    private DatabaseSeeder databaseSeeder;
+
+    @Autowired
+    private SocioService socioService;
+
+    @Autowired
+    private EmpresaService empresaService;
+
+    @Autowired
+    private PainelEmpresaService painelEmpresaService;
+
+    @Autowired
+    private EmpresaRepository empresaRepository;
+
+    @Autowired
+    private ParcelamentoRepository parcelamentoRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void montarExecutaTresConsultas() {
+        List<String> cpfs = new ArrayList<>();
+        for (int i = 1; i <= SOCIOS; i++) {
+            cpfs.add(cpf(400 + i));
+            socioService.cadastrar(socio(cpf(400 + i)));
+        }
+        empresaService.cadastrarEmpresa(empresa(40L, cpfs));
+        for (int p = 1; p <= PARCELAMENTOS; p++) {
+            Parcelamento parcelamento = Parcelamento.builder()
+                    .registroDoParcelamento("REG-" + p)
+                    .tipoParcelamento("Simples Nacional")
+                    .empresa(empresaRepository.getReferenceById(40L))
+                    .build();
+            for (int numero = 1; numero <= PARCELAS; numero++) {
+                parcelamento.getParcelas().add(Parcela.builder()
+                        .numero(numero)
+                        .valor(100)
+                        .dataVencimento(LocalDate.now().plusMonths(numero))
+                        .parcelamento(parcelamento)
+                        .build());
+            }
+            parcelamentoRepository.save(parcelamento);
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        PainelEmpresa painel = painelEmpresaService.montar(40L);
+
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals("Empresa 40", painel.empresa().razaoSocial());
+        assertEquals(SOCIOS, painel.quantidadeSocios());
+        assertEquals(SOCIOS * 100.0, painel.capitalInvestido());
+        assertEquals(PARCELAMENTOS, painel.parcelamentos().size());
+        assertEquals(PARCELAS, painel.parcelamentos().get(0).quantidadeParcelas());
+        assertEquals(PARCELAMENTOS * PARCELAS, painel.parcelas().quantidadePendentes());
+        assertEquals(0, new BigDecimal(PARCELAMENTOS * PARCELAS * 100).compareTo(painel.parcelas().valorPendente()));
+    }
+}
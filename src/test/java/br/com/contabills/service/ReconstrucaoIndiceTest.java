@@ -0,0 +1,86 @@
+package br.com.contabills.service;
+
+import static br.com.contabills.service.Cadastros.cpf;
+import static br.com.contabills.service.Cadastros.socio;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.when;
+
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import br.com.contabills.config.DatabaseSeeder;
+import br.com.contabills.model.DadosBusca;
+import br.com.contabills.model.FiltroBusca;
+import br.com.contabills.model.TipoEntidade;
+import br.com.contabills.repository.ParcelamentoArquivadoRepository;
+
+/**
+ * Verifica que uma reconstrução do índice de busca que falha no meio da carga
+ * não deixa o índice vazio nem parcial: a versão anterior é restaurada e as
+ * alterações recebidas durante a reconstrução são mantidas.
+ *
+ * A falha é simulada na carga dos parcelamentos arquivados. Utiliza o H2 em
+ * memória no modo MySQL.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reconstrucao-indice;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "contabills.busca.diretorio=target/indice-busca-reconstrucao"
+})
+class ReconstrucaoIndiceTest {
+
+    private static final FiltroBusca SOCIOS = new FiltroBusca(null, TipoEntidade.SOCIO, null, null, null, null);
+
+    private static final FiltroBusca PARCELAMENTOS = new FiltroBusca(null, TipoEntidade.PARCELAMENTO, null, null,
+            null, null);
+
+    @MockitoBean
+    private DatabaseSeeder databaseSeeder;
+
+    @MockitoBean
+    private ParcelamentoArquivadoRepository parcelamentoArquivadoRepository;
+
+    @Autowired
+    private SocioService socioService;
+
+    @Autowired
+    private BuscaService buscaService;
+
+    @Test
+    void restauraOIndiceAnteriorQuandoAReconstrucaoFalha() {
+        socioService.cadastrar(socio(cpf(301)));
+        socioService.cadastrar(socio(cpf(302)));
+        doReturn(Stream.of(new DadosBusca(1L, "REG-ARQUIVADO", null, "Simples Nacional", null, null, null)))
+                .when(parcelamentoArquivadoRepository).streamDadosBusca();
+        assertEquals(3, buscaService.reconstruir());
+
+        when(parcelamentoArquivadoRepository.streamDadosBusca()).thenAnswer(invocacao -> {
+            // Cadastro concluído por outra requisição durante a reconstrução.
+            Thread cadastro = new Thread(() -> socioService.cadastrar(socio(cpf(303))));
+            cadastro.start();
+            cadastro.join();
+            throw new IllegalStateException("Falha simulada na carga");
+        });
+        assertThrows(IllegalStateException.class, buscaService::reconstruir);
+
+        buscaService.gravar();
+        buscaService.atualizarLeitor();
+        assertEquals(3, buscaService.buscar(SOCIOS, PageRequest.of(0, 10)).getTotalElements());
+        assertEquals(1, buscaService.buscar(PARCELAMENTOS, PageRequest.of(0, 10)).getTotalElements());
+
+        doReturn(Stream.empty()).when(parcelamentoArquivadoRepository).streamDadosBusca();
+        assertEquals(3, buscaService.reconstruir());
+    }
+}
@@ -0,0 +1,36 @@
+package br.com.contabills.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Verifica a normalização dos termos de busca por prefixo.
+ */
+class TermoBuscaTest {
+
+    @Test
+    void ignoraTermoAusenteOuEmBranco() {
+        assertNull(TermoBusca.normalizar(null));
+        assertNull(TermoBusca.normalizar(""));
+        assertNull(TermoBusca.normalizar("   "));
+    }
+
+    @Test
+    void normalizaAcentosEMaiusculas() {
+        assertEquals("joao da", TermoBusca.normalizar("  João-DA "));
+    }
+
+    @Test
+    void recusaTermoSemLetrasNemDigitos() {
+        for (String termo : new String[] { "%", "_", "%%", "-.-", "!" }) {
+            ResponseStatusException erro = assertThrows(ResponseStatusException.class,
+                    () -> TermoBusca.normalizar(termo), termo);
+            assertEquals(HttpStatus.BAD_REQUEST, erro.getStatusCode());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.contabills.service;
+
+import static br.com.contabills.service.Cadastros.cpf;
+import static br.com.contabills.service.Cadastros.empresa;
+import static br.com.contabills.service.Cadastros.socio;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import br.com.contabills.config.DatabaseSeeder;
+import br.com.contabills.model.AlertaCnh;
+import br.com.contabills.model.Socio;
+
+/**
+ * Verifica que uma varredura de CNHs interrompida pelo tempo máximo é
+ * retomada, na execução seguinte, a partir da empresa posterior à última
+ * processada, e que cada alerta é enviado ao e-mail da empresa no executor de
+ * alertas, fora da transação da varredura.
+ *
+ * Com tempo máximo zero, cada execução publica o alerta de uma única empresa.
+ * Utiliza o H2 em memória no modo MySQL.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:vencimento-cnh;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false",
+        "contabills.busca.diretorio=target/indice-busca-vencimento-cnh",
+        "contabills.cnh.tempo-maximo=PT0S",
+        "contabills.alertas.enviar-email=true"
+})
+@RecordApplicationEvents
+class VencimentoCnhTest {
+
+    @MockitoBean
+    private DatabaseSeeder databaseSeeder;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    @Autowired
+    private SocioService socioService;
+
+    @Autowired
+    private EmpresaService empresaService;
+
+    @Autowired
+    private VencimentoCnhService vencimentoCnhService;
+
+    @Autowired
+    private ApplicationEvents eventos;
+
+    @Test
+    void retomaAVarreduraInterrompidaAPartirDaEmpresaSeguinte() throws Exception {
+        List<String> envios = new CopyOnWriteArrayList<>();
+        doAnswer(invocacao -> envios.add(Thread.currentThread().getName() + " "
+                + TransactionSynchronizationManager.isActualTransactionActive()))
+                .when(emailService).sendEmail(anyString(), anyString(), anyString());
+        for (int i = 1; i <= 3; i++) {
+            Socio socio = socio(cpf(200 + i));
+            socio.setDataDeValidadeCnh(LocalDate.now().plusDays(10));
+            socioService.cadastrar(socio);
+            empresaService.cadastrarEmpresa(empresa((long) i, List.of(cpf(200 + i))));
+        }
+
+        for (int execucao = 0; execucao < 4; execucao++) {
+            assertEquals(1, vencimentoCnhService.verificarVencimentos());
+        }
+
+        assertEquals(List.of(1L, 2L, 3L, 1L), eventos.stream(AlertaCnh.class)
+                .map(AlertaCnh::empresaId)
+                .toList());
+        verify(emailService, timeout(5000).times(4)).sendEmail(eq("empresa@contabills.com.br"),
+                startsWith("CNHs a vencer"), anyString());
+        assertTrue(envios.stream().allMatch(envio -> envio.matches("alerta-\\d+ false")), envios.toString());
+    }
+}
@@ -0,0 +1,70 @@
+package br.com.contabills.validacao;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmark JMH que compara a validação de {@link Documentos} com as
+ * expressões regulares do {@code @Pattern} utilizadas anteriormente em
+ * {@code Socio.cpf} e {@code Empresa.cnpj}, pré-compiladas como faz o
+ * validador do Hibernate.
+ *
+ * Para executar, rode o método {@link #main(String[])} após
+ * {@code mvn test-compile}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DocumentosBenchmark {
+
+    private static final Pattern REGEX_CPF = Pattern.compile("^\\d{3}\\.\\d{3}\\.\\d{3}-\\d{2}$");
+
+    private static final Pattern REGEX_CNPJ = Pattern
+            .compile("^[0-9]{2}\\.([0-9]{3})\\.([0-9]{3})\\/([0-9]{4})-([0-9]{2})$");
+
+    private final String cpf = "123.456.789-09";
+
+    private final String cnpj = "12.345.678/0001-95";
+
+    @Benchmark
+    public boolean cpfRegex() {
+        return REGEX_CPF.matcher(cpf).matches();
+    }
+
+    @Benchmark
+    public boolean cpfDigitos() {
+        return Documentos.cpfValido(cpf);
+    }
+
+    @Benchmark
+    public boolean cnpjRegex() {
+        return REGEX_CNPJ.matcher(cnpj).matches();
+    }
+
+    @Benchmark
+    public boolean cnpjDigitos() {
+        return Documentos.cnpjValido(cnpj);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DocumentosBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,97 @@
+package br.com.contabills.validacao;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifica a validação de CPF e CNPJ com e sem máscara.
+ */
+class DocumentosTest {
+
+    @Test
+    void aceitaCpfsValidos() {
+        for (String cpf : new String[] { "529.982.247-25", "52998224725", "111.444.777-35", "11144477735" }) {
+            assertTrue(Documentos.cpfValido(cpf), cpf);
+            assertTrue(Documentos.formatoCpfValido(cpf), cpf);
+        }
+    }
+
+    @Test
+    void recusaCpfComDigitosVerificadoresErrados() {
+        for (String cpf : new String[] { "529.982.247-24", "52998224735", "123.456.789-00", "11144477736" }) {
+            assertFalse(Documentos.cpfValido(cpf), cpf);
+            assertTrue(Documentos.formatoCpfValido(cpf), cpf);
+        }
+    }
+
+    @Test
+    void recusaCpfComTodosOsDigitosIguais() {
+        for (char c = '0'; c <= '9'; c++) {
+            String digitos = String.valueOf(c).repeat(11);
+            String formatado = digitos.substring(0, 3) + "." + digitos.substring(3, 6) + "."
+                    + digitos.substring(6, 9) + "-" + digitos.substring(9);
+            assertFalse(Documentos.cpfValido(digitos), digitos);
+            assertFalse(Documentos.cpfValido(formatado), formatado);
+        }
+    }
+
+    @Test
+    void recusaCpfComMascaraOuTamanhoErrados() {
+        for (String cpf : new String[] { "529-982.247.25", "5299.82.247-25", "529.982.24725", "529.982.247-2a",
+                "529 982 247 25", "5299822472", "529982247250", "", "52998224725 " }) {
+            assertFalse(Documentos.cpfValido(cpf), cpf);
+            assertFalse(Documentos.formatoCpfValido(cpf), cpf);
+        }
+        assertFalse(Documentos.cpfValido(null));
+        assertFalse(Documentos.formatoCpfValido(null));
+    }
+
+    @Test
+    void aceitaCnpjsValidos() {
+        for (String cnpj : new String[] { "11.222.333/0001-81", "11222333000181", "45.723.174/0001-10",
+                "45723174000110" }) {
+            assertTrue(Documentos.cnpjValido(cnpj), cnpj);
+            assertTrue(Documentos.formatoCnpjValido(cnpj), cnpj);
+        }
+    }
+
+    @Test
+    void recusaCnpjComDigitosVerificadoresErrados() {
+        for (String cnpj : new String[] { "11.222.333/0001-80", "11222333000191", "12.345.678/0001-00" }) {
+            assertFalse(Documentos.cnpjValido(cnpj), cnpj);
+            assertTrue(Documentos.formatoCnpjValido(cnpj), cnpj);
+        }
+    }
+
+    @Test
+    void recusaCnpjComTodosOsDigitosIguais() {
+        for (char c = '0'; c <= '9'; c++) {
+            String digitos = String.valueOf(c).repeat(14);
+            assertFalse(Documentos.cnpjValido(digitos), digitos);
+        }
+        assertFalse(Documentos.cnpjValido("00.000.000/0000-00"));
+        assertFalse(Documentos.cnpjValido("11.111.111/1111-11"));
+    }
+
+    @Test
+    void recusaCnpjComMascaraOuTamanhoErrados() {
+        for (String cnpj : new String[] { "11.222.333-0001/81", "112.22.333/0001-81", "11.222.333.0001-81",
+                "11.222.333/0001-8a", "1122233300018", "112223330001810", "11.222.333/000181", "" }) {
+            assertFalse(Documentos.cnpjValido(cnpj), cnpj);
+            assertFalse(Documentos.formatoCnpjValido(cnpj), cnpj);
+        }
+        assertFalse(Documentos.cnpjValido(null));
+        assertFalse(Documentos.formatoCnpjValido(null));
+    }
+
+    @Test
+    void extraiOsDigitos() {
+        assertEquals("52998224725", Documentos.digitos("529.982.247-25"));
+        assertEquals("11222333000181", Documentos.digitos("11.222.333/0001-81"));
+        assertNull(Documentos.digitos(null));
+    }
+}